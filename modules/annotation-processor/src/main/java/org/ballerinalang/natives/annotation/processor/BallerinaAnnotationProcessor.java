@@ -27,6 +27,7 @@ import org.ballerinalang.natives.annotations.BallerinaAction;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.BallerinaTypeMapper;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.IOException;
@@ -41,6 +42,8 @@ import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 
 /**
@@ -64,6 +67,7 @@ public class BallerinaAnnotationProcessor extends AbstractProcessor {
     private static final String TARGET_DIR = "targetDir";
     private static final String IGNORE = "ignore";
     private Map<String, PackageHolder> nativePackages;
+    private NativeFunctionInvokerClassBuilder invokerClassBuilder;
 
     public BallerinaAnnotationProcessor() throws IOException {
         super();
@@ -89,6 +93,8 @@ public class BallerinaAnnotationProcessor extends AbstractProcessor {
         }
 
         // Process all native function, actions and type converters
+        invokerClassBuilder = new NativeFunctionInvokerClassBuilder(processingEnv.getFiler(),
+                processingEnv.getTypeUtils());
         processNativeFunctions(balFunctionElements);
 
         processNativeActions(balActionElements);
@@ -176,10 +182,36 @@ public class BallerinaAnnotationProcessor extends AbstractProcessor {
             String packageName = balFunction.packageName();
             String className = Utils.getClassName(element);
             FunctionHolder function = new FunctionHolder(balFunction, className, annot);
+            ExecutableElement typedMethod = getTypedNativeMethod(element);
+            if (typedMethod != null) {
+                function.setInvokerClassName(invokerClassBuilder.build((TypeElement) element, typedMethod));
+            }
             getPackage(packageName).addFunction(function);
         }
     }
 
+    /**
+     * Get the method of a native function class, annotated with {@link TypedNativeFunction}.
+     *
+     * @param element Native function class
+     * @return Typed implementation of the function, or null if there is none
+     */
+    private ExecutableElement getTypedNativeMethod(Element element) {
+        ExecutableElement typedMethod = null;
+        for (Element enclosedElement : element.getEnclosedElements()) {
+            if (enclosedElement.getKind() != ElementKind.METHOD ||
+                    enclosedElement.getAnnotation(TypedNativeFunction.class) == null) {
+                continue;
+            }
+            if (typedMethod != null) {
+                throw new BallerinaException("native function class '" + Utils.getClassName(element) +
+                        "' must not have more than one typed implementation");
+            }
+            typedMethod = (ExecutableElement) enclosedElement;
+        }
+        return typedMethod;
+    }
+
     private BallerinaAnnotation[] getBallerinaAnnotations(Element element) {
         BallerinaAnnotation[] annot = new BallerinaAnnotation[0];
         if (element.getAnnotationsByType(BallerinaAnnotation.class).length > 0) {
@@ -25,6 +25,7 @@ import org.ballerinalang.model.NativeUnit;
 import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.model.types.SimpleTypeName;
 import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.NativeConstructLoader;
 import org.ballerinalang.natives.NativePackageProxy;
 import org.ballerinalang.natives.NativeUnitProxy;
@@ -284,7 +285,7 @@ public class ConstructProviderClassBuilder {
             String pkgName = function.packageName();
             String className = functionHolder.getClassName();
             writeNativeConstruct(pkgName, function.functionName(), className,
-                function.args(), function.returnType());
+                function.args(), function.returnType(), functionHolder.getInvokerClassName());
         }
     }
     
@@ -349,12 +350,19 @@ public class ConstructProviderClassBuilder {
      * @param constructImplClassName Name of the construct implementation class
      * @param arguments Input parameters for the native construct
      * @param returnTypes Return types of the native construct
+     * @param invokerClassName Name of the generated invoker class of the construct, or null if there is none
      */
     public void writeNativeConstruct(String packageName, String constructName,
-            String constructImplClassName, Argument[] arguments, ReturnType[] returnTypes) {
+            String constructImplClassName, Argument[] arguments, ReturnType[] returnTypes, String invokerClassName) {
+        String scopeElements = null;
+        if (invokerClassName != null) {
+            scopeElements = "((" + AbstractNativeFunction.class.getCanonicalName() + ") nativeCallableUnit)" +
+                    ".setInvoker(new " + invokerClassName + "((" + constructImplClassName +
+                    ") nativeCallableUnit));\n";
+        }
         String functionSupplier = getFunctionConstructInsertStr(PACKAGE_SCOPE, DEFINE_METHOD, packageName,
                 constructName, null, null, constructImplClassName, arguments, returnTypes,
-                "nativeCallableUnit", null, nativeUnitClass, "nativeUnitClass", null, null);
+                "nativeCallableUnit", scopeElements, nativeUnitClass, "nativeUnitClass", null, null);
         try {
             sourceFileWriter.write(functionSupplier);
         } catch (IOException e) {
@@ -471,7 +479,8 @@ public class ConstructProviderClassBuilder {
      * @param arguments Input parameters for the native construct
      * @param returnTypes Return types of the native construct
      * @param constructVarName Name of the variable that holds the instance of this construct in generated class
-     * @param scopeElements Child elements insertion string for the current construct. Only applicable for connectors
+     * @param scopeElements Statements run on the function instance after it is created, such as attaching the
+     * generated invoker of a typed native function. Null if there are none
      * @param nativeUnitClass Class type of the current construct instance
      * @param nativeUnitClassVarName Name of the temp variable which holds the class of the native construct in the
      * generated source.
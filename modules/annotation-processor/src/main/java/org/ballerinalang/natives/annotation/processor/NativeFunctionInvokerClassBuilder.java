@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.natives.annotation.processor;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.natives.NativeFunctionInvoker;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+
+/**
+ * Builder class to generate the {@link NativeFunctionInvoker} of a native function, from the method annotated with
+ * {@link org.ballerinalang.natives.annotations.TypedNativeFunction}.
+ * The generated invoker reads the arguments from, and writes the return value to, the registers of the caller.
+ */
+public class NativeFunctionInvokerClassBuilder {
+
+    private static final String INVOKER_CLASS_SUFFIX = "Invoker";
+    private static final String FUNCTION = "function";
+    private static final String CONTEXT = "context";
+    private static final String CALLER_SF = "callerSF";
+    private static final String ARG_REGS = "argRegs";
+    private static final String RET_REGS = "retRegs";
+
+    private Filer filer;
+    private Types typeUtils;
+
+    /**
+     * Create a native function invoker builder.
+     *
+     * @param filer {@link Filer} of the current processing environment
+     * @param typeUtils {@link Types} of the current processing environment
+     */
+    public NativeFunctionInvokerClassBuilder(Filer filer, Types typeUtils) {
+        this.filer = filer;
+        this.typeUtils = typeUtils;
+    }
+
+    /**
+     * Generate the invoker class of a native function.
+     *
+     * @param functionElement Class of the native function
+     * @param method Typed implementation of the native function
+     * @return Fully qualified name of the generated invoker class
+     */
+    public String build(TypeElement functionElement, ExecutableElement method) {
+        BallerinaFunction balFunction = functionElement.getAnnotation(BallerinaFunction.class);
+        String functionClassName = functionElement.getQualifiedName().toString();
+        String functionName = balFunction.packageName() + ":" + balFunction.functionName();
+        if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+            throw new BallerinaException("typed implementation of native function '" + functionName +
+                    "' must be public");
+        }
+
+        String invocation = getInvocation(functionName, functionClassName, method, balFunction.args());
+        String statement = getReturnStatement(functionName, method, balFunction.returnType(), invocation);
+
+        int lastDot = functionClassName.lastIndexOf('.');
+        String packageName = functionClassName.substring(0, lastDot);
+        String invokerSimpleName = functionClassName.substring(lastDot + 1) + INVOKER_CLASS_SUFFIX;
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import ").append(Context.class.getCanonicalName()).append(";\n");
+        sb.append("import ").append(StackFrame.class.getCanonicalName()).append(";\n");
+        sb.append("import ").append(NativeFunctionInvoker.class.getCanonicalName()).append(";\n\n");
+        sb.append("public final class ").append(invokerSimpleName).append(" implements ")
+                .append(NativeFunctionInvoker.class.getSimpleName()).append(" {\n\n");
+        sb.append("    private final ").append(functionClassName).append(" ").append(FUNCTION).append(";\n\n");
+        sb.append("    public ").append(invokerSimpleName).append("(").append(functionClassName).append(" ")
+                .append(FUNCTION).append(") {\n");
+        sb.append("        this.").append(FUNCTION).append(" = ").append(FUNCTION).append(";\n");
+        sb.append("    }\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public void invoke(").append(Context.class.getSimpleName()).append(" ").append(CONTEXT)
+                .append(", ").append(StackFrame.class.getSimpleName()).append(" ").append(CALLER_SF)
+                .append(", int[] ").append(ARG_REGS).append(", int[] ").append(RET_REGS).append(") {\n");
+        sb.append("        ").append(statement).append(";\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        String invokerClassName = packageName + "." + invokerSimpleName;
+        Writer writer = null;
+        try {
+            JavaFileObject javaFile = filer.createSourceFile(invokerClassName, functionElement);
+            writer = javaFile.openWriter();
+            writer.write(sb.toString());
+        } catch (IOException e) {
+            throw new BallerinaException("failed to generate the invoker of native function '" + functionName +
+                    "': " + e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException ignore) {
+                }
+            }
+        }
+        return invokerClassName;
+    }
+
+    private String getInvocation(String functionName, String functionClassName, ExecutableElement method,
+                                 Argument[] arguments) {
+        List<? extends VariableElement> params = method.getParameters();
+        StringBuilder sb = new StringBuilder();
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            sb.append(functionClassName);
+        } else {
+            sb.append(FUNCTION);
+        }
+        sb.append(".").append(method.getSimpleName()).append("(");
+
+        int paramIndex = 0;
+        if (!params.isEmpty() && getTypeName(params.get(0).asType()).equals(Context.class.getCanonicalName())) {
+            sb.append(CONTEXT);
+            paramIndex++;
+        }
+
+        if (params.size() - paramIndex != arguments.length) {
+            throw new BallerinaException("typed implementation of native function '" + functionName +
+                    "' must have " + arguments.length + " parameter(s) matching the function arguments");
+        }
+
+        for (int i = 0; i < arguments.length; i++, paramIndex++) {
+            if (paramIndex > 0) {
+                sb.append(", ");
+            }
+            TypeMirror paramType = params.get(paramIndex).asType();
+            String register = "[" + ARG_REGS + "[" + i + "]]";
+            TypeEnum argType = arguments[i].type();
+            checkType(functionName, "argument '" + arguments[i].name() + "'", argType, paramType);
+            switch (argType) {
+                case INT:
+                    sb.append(CALLER_SF).append(".getLongRegs()").append(register);
+                    break;
+                case FLOAT:
+                    sb.append(CALLER_SF).append(".getDoubleRegs()").append(register);
+                    break;
+                case STRING:
+                    sb.append(CALLER_SF).append(".getStringRegs()").append(register);
+                    break;
+                case BOOLEAN:
+                    sb.append(CALLER_SF).append(".getIntRegs()").append(register).append(" == 1");
+                    break;
+                case BLOB:
+                    sb.append(CALLER_SF).append(".getByteRegs()").append(register);
+                    break;
+                default:
+                    sb.append("(").append(getTypeName(paramType)).append(") ").append(CALLER_SF)
+                            .append(".getRefRegs()").append(register);
+            }
+        }
+        return sb.append(")").toString();
+    }
+
+    private String getReturnStatement(String functionName, ExecutableElement method, ReturnType[] returnTypes,
+                                      String invocation) {
+        TypeMirror javaReturnType = method.getReturnType();
+        if (returnTypes.length == 0) {
+            if (javaReturnType.getKind() != TypeKind.VOID) {
+                throw new BallerinaException("typed implementation of native function '" + functionName +
+                        "' must be void");
+            }
+            return invocation;
+        }
+
+        if (returnTypes.length > 1) {
+            throw new BallerinaException("native function '" + functionName + "' with multiple return values " +
+                    "cannot have a typed implementation");
+        }
+
+        TypeEnum returnType = returnTypes[0].type();
+        checkType(functionName, "return value", returnType, javaReturnType);
+        String register = "[" + RET_REGS + "[0]] = ";
+        switch (returnType) {
+            case INT:
+                return CALLER_SF + ".getLongRegs()" + register + invocation;
+            case FLOAT:
+                return CALLER_SF + ".getDoubleRegs()" + register + invocation;
+            case STRING:
+                return CALLER_SF + ".getStringRegs()" + register + invocation;
+            case BOOLEAN:
+                return CALLER_SF + ".getIntRegs()" + register + invocation + " ? 1 : 0";
+            case BLOB:
+                return CALLER_SF + ".getByteRegs()" + register + invocation;
+            default:
+                return CALLER_SF + ".getRefRegs()" + register + invocation;
+        }
+    }
+
+    private void checkType(String functionName, String valueName, TypeEnum ballerinaType, TypeMirror javaType) {
+        String expectedType;
+        switch (ballerinaType) {
+            case INT:
+                expectedType = "long";
+                break;
+            case FLOAT:
+                expectedType = "double";
+                break;
+            case STRING:
+                expectedType = String.class.getCanonicalName();
+                break;
+            case BOOLEAN:
+                expectedType = "boolean";
+                break;
+            case BLOB:
+                expectedType = "byte[]";
+                break;
+            default:
+                if (javaType.getKind() != TypeKind.DECLARED) {
+                    throw new BallerinaException("typed implementation of native function '" + functionName +
+                            "' must use a reference type for the " + valueName);
+                }
+                return;
+        }
+
+        if (!getTypeName(javaType).equals(expectedType)) {
+            throw new BallerinaException("typed implementation of native function '" + functionName +
+                    "' must use " + expectedType + " for the " + valueName);
+        }
+    }
+
+    private String getTypeName(TypeMirror type) {
+        return typeUtils.erasure(type).toString();
+    }
+}
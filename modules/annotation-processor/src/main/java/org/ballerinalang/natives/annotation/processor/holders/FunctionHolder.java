@@ -30,6 +30,7 @@ public class FunctionHolder {
     BallerinaFunction function;
     private String functionClassName;
     private List<AnnotationHolder> annotations;
+    private String invokerClassName;
     
     public FunctionHolder(BallerinaFunction function, String className, BallerinaAnnotation[] annotations) {
         this.function = function;
@@ -44,6 +45,19 @@ public class FunctionHolder {
     public BallerinaFunction getBalFunction() {
         return function;
     }
+
+    /**
+     * Get the generated invoker class of the function.
+     *
+     * @return Fully qualified name of the invoker class, or null if the function has no typed implementation
+     */
+    public String getInvokerClassName() {
+        return invokerClassName;
+    }
+
+    public void setInvokerClassName(String invokerClassName) {
+        this.invokerClassName = invokerClassName;
+    }
     
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -19,6 +19,8 @@ package org.ballerinalang;
 
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.util.codegen.CodeGenerator;
+import org.ballerinalang.util.codegen.ProgramFileWriter;
 import org.ballerinalang.util.program.BLangPackages;
 import org.ballerinalang.util.repository.BLangProgramArchive;
 import org.ballerinalang.util.repository.BuiltinPackageRepository;
@@ -27,6 +29,7 @@ import org.ballerinalang.util.repository.PackageRepository;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
@@ -94,6 +97,7 @@ public class BLangProgramArchiveBuilder {
         try (FileSystem zipFS = FileSystems.newFileSystem(zipFileURI, zipFSEnv)) {
             addProgramToArchive(bLangProgram, zipFS);
             addBallerinaConfFile(zipFS, bLangProgram);
+            addProgramFile(zipFS, bLangProgram);
         } catch (IOException e) {
             throw new RuntimeException("error in creating program archive '" +
                     bLangProgram.getProgramFilePath() + "': " + e.getMessage());
@@ -176,4 +180,18 @@ public class BLangProgramArchiveBuilder {
         InputStream stream = new ByteArrayInputStream(balConfContent.getBytes(StandardCharsets.UTF_8));
         copyFileToZip(stream, destPath);
     }
+
+    private void addProgramFile(FileSystem zipFS, BLangProgram bLangProgram) throws IOException {
+        final Path rootPath = zipFS.getPath("/");
+        final Path destPath = zipFS.getPath(rootPath.toString(), BLangProgramArchive.BAL_INF_DIR_NAME,
+                BLangProgramArchive.PROGRAM_FILE);
+
+        // Store the compiled program, so that the archive can be executed without compiling the sources again
+        CodeGenerator codeGenerator = new CodeGenerator();
+        bLangProgram.accept(codeGenerator);
+
+        try (OutputStream outputStream = Files.newOutputStream(destPath)) {
+            new ProgramFileWriter().writeProgram(codeGenerator.getProgramFile(), outputStream);
+        }
+    }
 }
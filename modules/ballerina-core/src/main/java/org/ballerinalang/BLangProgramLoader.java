@@ -25,6 +25,7 @@ import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.util.BLangDiagnosticListener;
 import org.ballerinalang.util.codegen.CodeGenerator;
 import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ProgramFileReader;
 import org.ballerinalang.util.program.BLangPackages;
 import org.ballerinalang.util.program.BLangPrograms;
 import org.ballerinalang.util.repository.BLangProgramArchive;
@@ -33,6 +34,8 @@ import org.ballerinalang.util.repository.FileSystemPackageRepository;
 import org.ballerinalang.util.repository.PackageRepository;
 import org.ballerinalang.util.semantics.SemanticAnalyzer;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
@@ -50,6 +53,7 @@ public class BLangProgramLoader {
     private boolean disableSemanticAnalyzer = false;
     private PackageRepository packageRepository;
     private BLangDiagnosticListener diagnosticListener;
+    private PrintStream phaseTimeStream;
 
     @Deprecated
     public BLangProgram loadMain(Path programDirPath, Path sourcePath) {
@@ -121,22 +125,35 @@ public class BLangProgramLoader {
 
         BuiltinPackageRepository[] builtinPkgRepositories = BLangPrograms.populateBuiltinPackageRepositories();
 
+        // Archives which contain the compiled program are loaded without compiling the sources
+        ProgramFile compiledProgramFile = loadCompiledProgramFile(sourcePath,
+                BLangProgram.Category.MAIN_PROGRAM, builtinPkgRepositories);
+        if (compiledProgramFile != null) {
+            return compiledProgramFile;
+        }
+
         // Creates program scope for this Ballerina program
         BLangProgram bLangProgram = new BLangProgram(globalScope, nativeScope, BLangProgram.Category.MAIN_PROGRAM);
         bLangProgram.setProgramFilePath(sourcePath);
 
+        long startTime = System.nanoTime();
         BLangPackage[] bLangPackages = loadPackages(programDirPath, sourcePath,
                 bLangProgram, builtinPkgRepositories);
+        printPhaseTime("parsed and loaded packages", startTime);
         BLangPackage mainPackage = bLangPackages[0];
         bLangProgram.setMainPackage(mainPackage);
         bLangProgram.define(new SymbolName(mainPackage.getPackagePath()), mainPackage);
 
         // Analyze the semantic properties of the Ballerina program
+        startTime = System.nanoTime();
         SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram);
         bLangProgram.accept(semanticAnalyzer);
+        printPhaseTime("analyzed semantics", startTime);
 
+        startTime = System.nanoTime();
         CodeGenerator codeGenerator = new CodeGenerator();
         bLangProgram.accept(codeGenerator);
+        printPhaseTime("generated code", startTime);
 
         ProgramFile programFile = codeGenerator.getProgramFile();
         programFile.setProgramFilePath(bLangProgram.getProgramFilePath());
@@ -152,22 +169,35 @@ public class BLangProgramLoader {
 
         BuiltinPackageRepository[] builtinPkgRepositories = BLangPrograms.populateBuiltinPackageRepositories();
 
+        // Archives which contain the compiled program are loaded without compiling the sources
+        ProgramFile compiledProgramFile = loadCompiledProgramFile(servicePath,
+                BLangProgram.Category.SERVICE_PROGRAM, builtinPkgRepositories);
+        if (compiledProgramFile != null) {
+            return compiledProgramFile;
+        }
+
         // Creates program scope for this Ballerina program
         BLangProgram bLangProgram = new BLangProgram(globalScope, nativeScope, BLangProgram.Category.SERVICE_PROGRAM);
         bLangProgram.setProgramFilePath(servicePath);
 
+        long startTime = System.nanoTime();
         BLangPackage[] servicePackages = loadPackages(programDirPath, servicePath,
                 bLangProgram, builtinPkgRepositories);
+        printPhaseTime("parsed and loaded packages", startTime);
         for (BLangPackage servicePkg : servicePackages) {
             bLangProgram.addServicePackage(servicePkg);
             bLangProgram.define(new SymbolName(servicePkg.getPackagePath()), servicePkg);
         }
 
+        startTime = System.nanoTime();
         SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram);
         bLangProgram.accept(semanticAnalyzer);
+        printPhaseTime("analyzed semantics", startTime);
 
+        startTime = System.nanoTime();
         CodeGenerator codeGenerator = new CodeGenerator();
         bLangProgram.accept(codeGenerator);
+        printPhaseTime("generated code", startTime);
 
         ProgramFile programFile = codeGenerator.getProgramFile();
         programFile.setProgramFilePath(bLangProgram.getProgramFilePath());
@@ -187,7 +217,9 @@ public class BLangProgramLoader {
         BLangProgram bLangProgram = new BLangProgram(globalScope, nativeScope, BLangProgram.Category.LIBRARY_PROGRAM);
         bLangProgram.setProgramFilePath(sourcePath);
 
+        long startTime = System.nanoTime();
         BLangPackage[] bLangPackages = loadPackages(programDirPath, sourcePath, bLangProgram, builtinPkgRepositories);
+        printPhaseTime("parsed and loaded packages", startTime);
 
         for (BLangPackage bLangPackage : bLangPackages) {
             bLangProgram.addLibraryPackage(bLangPackage);
@@ -195,11 +227,15 @@ public class BLangProgramLoader {
         }
 
         // Analyze the semantic properties of the Ballerina program
+        startTime = System.nanoTime();
         SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram);
         bLangProgram.accept(semanticAnalyzer);
+        printPhaseTime("analyzed semantics", startTime);
 
+        startTime = System.nanoTime();
         CodeGenerator codeGenerator = new CodeGenerator();
         bLangProgram.accept(codeGenerator);
+        printPhaseTime("generated code", startTime);
 
         ProgramFile programFile = codeGenerator.getProgramFile();
         programFile.setProgramFilePath(bLangProgram.getProgramFilePath());
@@ -250,6 +286,24 @@ public class BLangProgramLoader {
         return this;
     }
 
+    /**
+     * Print the time taken by each phase of compiling a program file to the given stream.
+     *
+     * @param phaseTimeStream stream to print the times, or null to not print them
+     * @return this program loader
+     */
+    public BLangProgramLoader printPhaseTimes(PrintStream phaseTimeStream) {
+        this.phaseTimeStream = phaseTimeStream;
+        return this;
+    }
+
+    private void printPhaseTime(String phase, long startTime) {
+        if (phaseTimeStream != null) {
+            phaseTimeStream.println("ballerina: " + phase + " in " + (System.nanoTime() - startTime) / 1000000 +
+                    " ms");
+        }
+    }
+
     private BLangPackage[] loadPackages(Path programDirPath,
                                         Path sourcePath,
                                         BLangProgram bLangProgram,
@@ -276,6 +330,29 @@ public class BLangProgramLoader {
         }
     }
 
+    private ProgramFile loadCompiledProgramFile(Path sourcePath, BLangProgram.Category programCategory,
+                                                BuiltinPackageRepository[] builtinPackageRepositories) {
+        if (sourcePath == null || !sourcePath.toString().endsWith(programCategory.getExtension())) {
+            return null;
+        }
+
+        Path archivePath = BLangPrograms.validateAndResolveArchivePath(sourcePath, programCategory);
+        try (BLangProgramArchive programArchive = new BLangProgramArchive(archivePath, builtinPackageRepositories)) {
+            programArchive.loadArchive();
+            if (!programArchive.hasProgramFile()) {
+                return null;
+            }
+
+            try (InputStream inputStream = programArchive.getProgramFileInputStream()) {
+                ProgramFile programFile = new ProgramFileReader().readProgram(inputStream);
+                programFile.setProgramFilePath(sourcePath);
+                return programFile;
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     private BLangPackage[] loadFromArchive(Path archivePath, BLangProgram bLangProgram,
                                            BuiltinPackageRepository[] builtinPackageRepositories) {
 
@@ -54,6 +54,9 @@ public class Context {
     private int startIP;
     private BStruct unhandledError;
 
+    // Set when the result of this context is no longer awaited, e.g. a timed out fork-join worker
+    private volatile boolean cancelled = false;
+
     // TODO : Temporary solution to make non-blocking working.
     public boolean disableNonBlocking = false;
     public BValue[] nativeArgValues;
@@ -154,6 +157,14 @@ public class Context {
         }
     }
 
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
     public int getStartIP() {
         return startIP;
     }
@@ -21,13 +21,13 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.ballerinalang.bre.BallerinaTransactionManager;
 import org.ballerinalang.bre.Context;
-import org.ballerinalang.bre.StackVarLocation;
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
+import org.ballerinalang.bre.bvm.jit.JITCompiler;
+import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.bre.nonblocking.debugger.BreakPointInfo;
 import org.ballerinalang.bre.nonblocking.debugger.FrameInfo;
 import org.ballerinalang.bre.nonblocking.debugger.VariableInfo;
 import org.ballerinalang.model.NodeLocation;
-import org.ballerinalang.model.Worker;
-import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BType;
@@ -62,10 +62,12 @@ import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.StructureType;
 import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.NativeFunctionInvoker;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
 import org.ballerinalang.natives.connectors.BalConnectorCallback;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
 import org.ballerinalang.runtime.DefaultBalCallback;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.runtime.worker.WorkerCallback;
 import org.ballerinalang.runtime.worker.WorkerDataChannel;
 import org.ballerinalang.services.DefaultServerConnectorErrorHandler;
@@ -82,6 +84,7 @@ import org.ballerinalang.util.codegen.LocalVariableAttributeInfo;
 import org.ballerinalang.util.codegen.LocalVariableInfo;
 import org.ballerinalang.util.codegen.Mnemonics;
 import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.PackedInstructions;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.StructureTypeInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
@@ -118,7 +121,6 @@ import java.util.StringJoiner;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -130,6 +132,17 @@ import java.util.concurrent.TimeoutException;
 public class BLangVM {
 
     private static final Logger logger = LoggerFactory.getLogger(BLangVM.class);
+
+    // Opcode families of the packed dispatch. Opcodes of the other family are executed by execInstruction.
+    private static final byte OPCODE_FAMILY_OTHER = 0;
+    private static final byte OPCODE_FAMILY_CONST = 1;
+    private static final byte OPCODE_FAMILY_LOAD_STORE = 2;
+    private static final byte OPCODE_FAMILY_ARITHMETIC = 3;
+    private static final byte OPCODE_FAMILY_COMPARISON = 4;
+    private static final byte OPCODE_FAMILY_BRANCH = 5;
+    private static final byte OPCODE_FAMILY_SUPERINSTRUCTION = 6;
+    private static final byte[] OPCODE_FAMILIES = createOpcodeFamilies();
+
     private Context context;
     private ControlStackNew controlStack;
     private ProgramFile programFile;
@@ -208,6 +221,91 @@ public class BLangVM {
      * Act as a virtual CPU.
      */
     private void exec() {
+        if (ModeResolver.getInstance().isTieredExecutionEnabled() && !context.isDebugEnabled()) {
+            execTiered();
+            return;
+        }
+
+        if (ModeResolver.getInstance().isPackedDispatchEnabled()) {
+            execPacked();
+            return;
+        }
+
+        boolean isDebugging = context.isDebugEnabled();
+        while (ip >= 0 && ip < code.length && controlStack.fp >= 0) {
+            Instruction instruction = code[ip];
+            ip++;
+            execInstruction(controlStack.getCurrentFrame(), instruction.getOpcode(), instruction.getOperands());
+            if (isDebugging) {
+                debugging(ip);
+            }
+        }
+    }
+
+    /**
+     * Act as a virtual CPU, which runs the compiled code of the hot workers.
+     * <p>
+     * The interpreter counts the invocations and the backward jumps of each worker, and compiles a worker to JVM
+     * bytecode once a count reaches its threshold. The compiled code runs on the registers of the current frame until
+     * an instruction which is not compiled, such as a call or a return, which the interpreter executes before going
+     * back to the compiled code.
+     */
+    private void execTiered() {
+        while (ip >= 0 && ip < code.length && controlStack.fp >= 0) {
+            StackFrame sf = controlStack.getCurrentFrame();
+            WorkerInfo workerInfo = sf.workerInfo;
+            CompiledCode compiledCode = workerInfo != null ? workerInfo.getCompiledCode() : null;
+            if (compiledCode != null) {
+                int nextIp = compiledCode.exec(sf.longRegs, sf.doubleRegs, sf.stringRegs, sf.intRegs, sf.refRegs,
+                        sf.longLocalVars, sf.doubleLocalVars, sf.stringLocalVars, sf.intLocalVars,
+                        sf.refLocalVars, context, ip);
+                if (nextIp != ip) {
+                    ip = nextIp;
+                    continue;
+                }
+            }
+
+            int currentIp = ip;
+            Instruction instruction = code[ip];
+            ip++;
+            execInstruction(sf, instruction.getOpcode(), instruction.getOperands());
+
+            if (compiledCode == null && workerInfo != null && instruction.getOpcode() == InstructionCodes.GOTO
+                    && ip >= 0 && ip <= currentIp
+                    && workerInfo.incrementBackEdgeCount() >= JITCompiler.BACK_EDGE_THRESHOLD) {
+                compileWorker(sf.packageInfo, workerInfo);
+            }
+
+            if (controlStack.fp < 0) {
+                break;
+            }
+            StackFrame calleeSF = controlStack.getCurrentFrame();
+            WorkerInfo calleeWorkerInfo = calleeSF.workerInfo;
+            if (calleeSF != sf && calleeWorkerInfo != null && calleeWorkerInfo.getCompiledCode() == null
+                    && ip == calleeWorkerInfo.getCodeAttributeInfo().getCodeAddrs()
+                    && calleeWorkerInfo.incrementInvocationCount() >= JITCompiler.INVOCATION_THRESHOLD) {
+                compileWorker(calleeSF.packageInfo, calleeWorkerInfo);
+            }
+        }
+    }
+
+    private static void compileWorker(PackageInfo packageInfo, WorkerInfo workerInfo) {
+        // Workers are shared by the contexts running the program, hence compile each worker once
+        synchronized (workerInfo) {
+            if (workerInfo.getCompiledCode() == null) {
+                workerInfo.setCompiledCode(JITCompiler.compile(packageInfo, workerInfo));
+            }
+        }
+    }
+
+    /**
+     * Execute a single instruction. The instruction pointer should already point to the next instruction.
+     *
+     * @param sf       current stack frame
+     * @param opcode   opcode of the instruction
+     * @param operands operands of the instruction
+     */
+    private void execInstruction(StackFrame sf, int opcode, int[] operands) {
         int i;
         int j;
         int k;
@@ -244,1273 +342,1701 @@ public class BLangVM {
         WorkerDataChannel workerDataChannel;
         ForkJoinCPEntry forkJoinCPEntry;
 
-        boolean isDebugging = context.isDebugEnabled();
-
         StackFrame currentSF, callersSF;
         int callersRetRegIndex;
 
-        while (ip >= 0 && ip < code.length && controlStack.fp >= 0) {
-
-            Instruction instruction = code[ip];
-            int opcode = instruction.getOpcode();
-            int[] operands = instruction.getOperands();
-            ip++;
-            StackFrame sf = controlStack.getCurrentFrame();
-
-            switch (opcode) {
-                case InstructionCodes.ICONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.longRegs[i] = ((IntegerCPEntry) constPool[cpIndex]).getValue();
-                    break;
-                case InstructionCodes.FCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.doubleRegs[i] = ((FloatCPEntry) constPool[cpIndex]).getValue();
-                    break;
-                case InstructionCodes.SCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.stringRegs[i] = ((StringCPEntry) constPool[cpIndex]).getValue();
-                    break;
-                case InstructionCodes.ICONST_0:
-                    i = operands[0];
-                    sf.longRegs[i] = 0;
-                    break;
-                case InstructionCodes.ICONST_1:
-                    i = operands[0];
-                    sf.longRegs[i] = 1;
-                    break;
-                case InstructionCodes.ICONST_2:
-                    i = operands[0];
-                    sf.longRegs[i] = 2;
-                    break;
-                case InstructionCodes.ICONST_3:
-                    i = operands[0];
-                    sf.longRegs[i] = 3;
-                    break;
-                case InstructionCodes.ICONST_4:
-                    i = operands[0];
-                    sf.longRegs[i] = 4;
-                    break;
-                case InstructionCodes.ICONST_5:
-                    i = operands[0];
-                    sf.longRegs[i] = 5;
-                    break;
-                case InstructionCodes.FCONST_0:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 0;
-                    break;
-                case InstructionCodes.FCONST_1:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 1;
-                    break;
-                case InstructionCodes.FCONST_2:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 2;
-                    break;
-                case InstructionCodes.FCONST_3:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 3;
-                    break;
-                case InstructionCodes.FCONST_4:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 4;
-                    break;
-                case InstructionCodes.FCONST_5:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 5;
-                    break;
-                case InstructionCodes.BCONST_0:
-                    i = operands[0];
-                    sf.intRegs[i] = 0;
-                    break;
-                case InstructionCodes.BCONST_1:
-                    i = operands[0];
-                    sf.intRegs[i] = 1;
-                    break;
-                case InstructionCodes.RCONST_NULL:
-                    i = operands[0];
-                    sf.refRegs[i] = null;
-                    break;
-
-                case InstructionCodes.ILOAD:
-                    lvIndex = operands[0];
-                    i = operands[1];
-                    sf.longRegs[i] = sf.longLocalVars[lvIndex];
-                    break;
-                case InstructionCodes.FLOAD:
-                    lvIndex = operands[0];
-                    i = operands[1];
-                    sf.doubleRegs[i] = sf.doubleLocalVars[lvIndex];
-                    break;
-                case InstructionCodes.SLOAD:
-                    lvIndex = operands[0];
-                    i = operands[1];
-                    sf.stringRegs[i] = sf.stringLocalVars[lvIndex];
-                    break;
-                case InstructionCodes.BLOAD:
-                    lvIndex = operands[0];
-                    i = operands[1];
-                    sf.intRegs[i] = sf.intLocalVars[lvIndex];
-                    break;
-                case InstructionCodes.LLOAD:
-                    lvIndex = operands[0];
-                    i = operands[1];
-                    sf.byteRegs[i] = sf.byteLocalVars[lvIndex];
-                    break;
-                case InstructionCodes.RLOAD:
-                    lvIndex = operands[0];
-                    i = operands[1];
-                    sf.refRegs[i] = sf.refLocalVars[lvIndex];
-                    break;
-                case InstructionCodes.IALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bIntArray = (BIntArray) sf.refRegs[i];
-                    if (bIntArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
-
-                    try {
-                        sf.longRegs[k] = bIntArray.get(sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
-                    break;
-                case InstructionCodes.FALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bFloatArray = (BFloatArray) sf.refRegs[i];
-                    if (bFloatArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+                cpIndex = operands[0];
+                i = operands[1];
+                sf.longRegs[i] = ((IntegerCPEntry) constPool[cpIndex]).getValue();
+                break;
+            case InstructionCodes.FCONST:
+                cpIndex = operands[0];
+                i = operands[1];
+                sf.doubleRegs[i] = ((FloatCPEntry) constPool[cpIndex]).getValue();
+                break;
+            case InstructionCodes.SCONST:
+                cpIndex = operands[0];
+                i = operands[1];
+                sf.stringRegs[i] = ((StringCPEntry) constPool[cpIndex]).getValue();
+                break;
+            case InstructionCodes.ICONST_0:
+                i = operands[0];
+                sf.longRegs[i] = 0;
+                break;
+            case InstructionCodes.ICONST_1:
+                i = operands[0];
+                sf.longRegs[i] = 1;
+                break;
+            case InstructionCodes.ICONST_2:
+                i = operands[0];
+                sf.longRegs[i] = 2;
+                break;
+            case InstructionCodes.ICONST_3:
+                i = operands[0];
+                sf.longRegs[i] = 3;
+                break;
+            case InstructionCodes.ICONST_4:
+                i = operands[0];
+                sf.longRegs[i] = 4;
+                break;
+            case InstructionCodes.ICONST_5:
+                i = operands[0];
+                sf.longRegs[i] = 5;
+                break;
+            case InstructionCodes.FCONST_0:
+                i = operands[0];
+                sf.doubleRegs[i] = 0;
+                break;
+            case InstructionCodes.FCONST_1:
+                i = operands[0];
+                sf.doubleRegs[i] = 1;
+                break;
+            case InstructionCodes.FCONST_2:
+                i = operands[0];
+                sf.doubleRegs[i] = 2;
+                break;
+            case InstructionCodes.FCONST_3:
+                i = operands[0];
+                sf.doubleRegs[i] = 3;
+                break;
+            case InstructionCodes.FCONST_4:
+                i = operands[0];
+                sf.doubleRegs[i] = 4;
+                break;
+            case InstructionCodes.FCONST_5:
+                i = operands[0];
+                sf.doubleRegs[i] = 5;
+                break;
+            case InstructionCodes.BCONST_0:
+                i = operands[0];
+                sf.intRegs[i] = 0;
+                break;
+            case InstructionCodes.BCONST_1:
+                i = operands[0];
+                sf.intRegs[i] = 1;
+                break;
+            case InstructionCodes.RCONST_NULL:
+                i = operands[0];
+                sf.refRegs[i] = null;
+                break;
 
-                    try {
-                        sf.doubleRegs[k] = bFloatArray.get(sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+            case InstructionCodes.ILOAD:
+                lvIndex = operands[0];
+                i = operands[1];
+                sf.longRegs[i] = sf.longLocalVars[lvIndex];
+                break;
+            case InstructionCodes.FLOAD:
+                lvIndex = operands[0];
+                i = operands[1];
+                sf.doubleRegs[i] = sf.doubleLocalVars[lvIndex];
+                break;
+            case InstructionCodes.SLOAD:
+                lvIndex = operands[0];
+                i = operands[1];
+                sf.stringRegs[i] = sf.stringLocalVars[lvIndex];
+                break;
+            case InstructionCodes.BLOAD:
+                lvIndex = operands[0];
+                i = operands[1];
+                sf.intRegs[i] = sf.intLocalVars[lvIndex];
+                break;
+            case InstructionCodes.LLOAD:
+                lvIndex = operands[0];
+                i = operands[1];
+                sf.byteRegs[i] = sf.byteLocalVars[lvIndex];
+                break;
+            case InstructionCodes.RLOAD:
+                lvIndex = operands[0];
+                i = operands[1];
+                sf.refRegs[i] = sf.refLocalVars[lvIndex];
+                break;
+            case InstructionCodes.IALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bIntArray = (BIntArray) sf.refRegs[i];
+                if (bIntArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.SALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bStringArray = (BStringArray) sf.refRegs[i];
-                    if (bStringArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        sf.stringRegs[k] = bStringArray.get(sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    sf.longRegs[k] = bIntArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.FALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bFloatArray = (BFloatArray) sf.refRegs[i];
+                if (bFloatArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.BALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bBooleanArray = (BBooleanArray) sf.refRegs[i];
-                    if (bBooleanArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        sf.intRegs[k] = bBooleanArray.get(sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    sf.doubleRegs[k] = bFloatArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.SALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bStringArray = (BStringArray) sf.refRegs[i];
+                if (bStringArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.LALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bBlobArray = (BBlobArray) sf.refRegs[i];
-                    if (bBlobArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        sf.byteRegs[k] = bBlobArray.get(sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    sf.stringRegs[k] = bStringArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.BALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bBooleanArray = (BBooleanArray) sf.refRegs[i];
+                if (bBooleanArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.RALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bArray = (BRefValueArray) sf.refRegs[i];
-                    if (bArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        sf.refRegs[k] = bArray.get(sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    sf.intRegs[k] = bBooleanArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.LALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bBlobArray = (BBlobArray) sf.refRegs[i];
+                if (bBlobArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.JSONALOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    jsonVal = (BJSON) sf.refRegs[i];
-                    if (jsonVal == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        sf.refRegs[k] = JSONUtils.getArrayElement(jsonVal, sf.longRegs[j]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    sf.byteRegs[k] = bBlobArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.RALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bArray = (BRefValueArray) sf.refRegs[i];
+                if (bArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.IGLOAD:
-                    // Global variable index
-                    i = operands[0];
-                    // Stack registry index
-                    j = operands[1];
-                    sf.longRegs[j] = globalMemBlock.getIntField(i);
-                    break;
-                case InstructionCodes.FGLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.doubleRegs[j] = globalMemBlock.getFloatField(i);
-                    break;
-                case InstructionCodes.SGLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.stringRegs[j] = globalMemBlock.getStringField(i);
-                    break;
-                case InstructionCodes.BGLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.intRegs[j] = globalMemBlock.getBooleanField(i);
-                    break;
-                case InstructionCodes.LGLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.byteRegs[j] = globalMemBlock.getBlobField(i);
-                    break;
-                case InstructionCodes.RGLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.refRegs[j] = globalMemBlock.getRefField(i);
-                    break;
-
-                case InstructionCodes.ISTORE:
-                    i = operands[0];
-                    lvIndex = operands[1];
-                    sf.longLocalVars[lvIndex] = sf.longRegs[i];
-                    break;
-                case InstructionCodes.FSTORE:
-                    i = operands[0];
-                    lvIndex = operands[1];
-                    sf.doubleLocalVars[lvIndex] = sf.doubleRegs[i];
-                    break;
-                case InstructionCodes.SSTORE:
-                    i = operands[0];
-                    lvIndex = operands[1];
-                    sf.stringLocalVars[lvIndex] = sf.stringRegs[i];
-                    break;
-                case InstructionCodes.BSTORE:
-                    i = operands[0];
-                    lvIndex = operands[1];
-                    sf.intLocalVars[lvIndex] = sf.intRegs[i];
-                    break;
-                case InstructionCodes.LSTORE:
-                    i = operands[0];
-                    lvIndex = operands[1];
-                    sf.byteLocalVars[lvIndex] = sf.byteRegs[i];
-                    break;
-                case InstructionCodes.RSTORE:
-                    i = operands[0];
-                    lvIndex = operands[1];
-                    sf.refLocalVars[lvIndex] = sf.refRegs[i];
-                    break;
-                case InstructionCodes.IASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bIntArray = (BIntArray) sf.refRegs[i];
-                    if (bIntArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        bIntArray.add(sf.longRegs[j], sf.longRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    sf.refRegs[k] = bArray.get(sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.JSONALOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                jsonVal = (BJSON) sf.refRegs[i];
+                if (jsonVal == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.FASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bFloatArray = (BFloatArray) sf.refRegs[i];
-                    if (bFloatArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        bFloatArray.add(sf.longRegs[j], sf.doubleRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
-                    break;
-                case InstructionCodes.SASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bStringArray = (BStringArray) sf.refRegs[i];
-                    if (bStringArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                try {
+                    sf.refRegs[k] = JSONUtils.getArrayElement(jsonVal, sf.longRegs[j]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.IGLOAD:
+                // Global variable index
+                i = operands[0];
+                // Stack registry index
+                j = operands[1];
+                sf.longRegs[j] = globalMemBlock.getIntField(i);
+                break;
+            case InstructionCodes.FGLOAD:
+                i = operands[0];
+                j = operands[1];
+                sf.doubleRegs[j] = globalMemBlock.getFloatField(i);
+                break;
+            case InstructionCodes.SGLOAD:
+                i = operands[0];
+                j = operands[1];
+                sf.stringRegs[j] = globalMemBlock.getStringField(i);
+                break;
+            case InstructionCodes.BGLOAD:
+                i = operands[0];
+                j = operands[1];
+                sf.intRegs[j] = globalMemBlock.getBooleanField(i);
+                break;
+            case InstructionCodes.LGLOAD:
+                i = operands[0];
+                j = operands[1];
+                sf.byteRegs[j] = globalMemBlock.getBlobField(i);
+                break;
+            case InstructionCodes.RGLOAD:
+                i = operands[0];
+                j = operands[1];
+                sf.refRegs[j] = globalMemBlock.getRefField(i);
+                break;
 
-                    try {
-                        bStringArray.add(sf.longRegs[j], sf.stringRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+            case InstructionCodes.ISTORE:
+                i = operands[0];
+                lvIndex = operands[1];
+                sf.longLocalVars[lvIndex] = sf.longRegs[i];
+                break;
+            case InstructionCodes.FSTORE:
+                i = operands[0];
+                lvIndex = operands[1];
+                sf.doubleLocalVars[lvIndex] = sf.doubleRegs[i];
+                break;
+            case InstructionCodes.SSTORE:
+                i = operands[0];
+                lvIndex = operands[1];
+                sf.stringLocalVars[lvIndex] = sf.stringRegs[i];
+                break;
+            case InstructionCodes.BSTORE:
+                i = operands[0];
+                lvIndex = operands[1];
+                sf.intLocalVars[lvIndex] = sf.intRegs[i];
+                break;
+            case InstructionCodes.LSTORE:
+                i = operands[0];
+                lvIndex = operands[1];
+                sf.byteLocalVars[lvIndex] = sf.byteRegs[i];
+                break;
+            case InstructionCodes.RSTORE:
+                i = operands[0];
+                lvIndex = operands[1];
+                sf.refLocalVars[lvIndex] = sf.refRegs[i];
+                break;
+            case InstructionCodes.IASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bIntArray = (BIntArray) sf.refRegs[i];
+                if (bIntArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.BASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bBooleanArray = (BBooleanArray) sf.refRegs[i];
-                    if (bBooleanArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        bBooleanArray.add(sf.longRegs[j], sf.intRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    bIntArray.add(sf.longRegs[j], sf.longRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.FASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bFloatArray = (BFloatArray) sf.refRegs[i];
+                if (bFloatArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.LASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bBlobArray = (BBlobArray) sf.refRegs[i];
-                    if (bBlobArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        bBlobArray.add(sf.longRegs[j], sf.byteRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    bFloatArray.add(sf.longRegs[j], sf.doubleRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.SASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bStringArray = (BStringArray) sf.refRegs[i];
+                if (bStringArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.RASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bArray = (BRefValueArray) sf.refRegs[i];
-                    if (bArray == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        bArray.add(sf.longRegs[j], sf.refRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    bStringArray.add(sf.longRegs[j], sf.stringRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.BASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bBooleanArray = (BBooleanArray) sf.refRegs[i];
+                if (bBooleanArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.JSONASTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    jsonVal = (BJSON) sf.refRegs[i];
-                    if (jsonVal == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    try {
-                        JSONUtils.setArrayElement(jsonVal, sf.longRegs[j], (BJSON) sf.refRegs[k]);
-                    } catch (Exception e) {
-                        context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
-                        handleError();
-                    }
+                try {
+                    bBooleanArray.add(sf.longRegs[j], sf.intRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.LASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bBlobArray = (BBlobArray) sf.refRegs[i];
+                if (bBlobArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.IGSTORE:
-                    // Stack reg index
-                    i = operands[0];
-                    // Global var index
-                    j = operands[1];
-                    globalMemBlock.setIntField(j, sf.longRegs[i]);
-                    break;
-                case InstructionCodes.FGSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    globalMemBlock.setFloatField(j, sf.doubleRegs[i]);
-                    break;
-                case InstructionCodes.SGSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    globalMemBlock.setStringField(j, sf.stringRegs[i]);
-                    break;
-                case InstructionCodes.BGSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    globalMemBlock.setBooleanField(j, sf.intRegs[i]);
-                    break;
-                case InstructionCodes.LGSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    globalMemBlock.setBlobField(j, sf.byteRegs[i]);
-                    break;
-                case InstructionCodes.RGSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    globalMemBlock.setRefField(j, sf.refRegs[i]);
-                    break;
-
-                case InstructionCodes.IFIELDLOAD:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    sf.longRegs[j] = structureType.getIntField(fieldIndex);
+                try {
+                    bBlobArray.add(sf.longRegs[j], sf.byteRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.RASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bArray = (BRefValueArray) sf.refRegs[i];
+                if (bArray == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.FFIELDLOAD:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    sf.doubleRegs[j] = structureType.getFloatField(fieldIndex);
+                try {
+                    bArray.add(sf.longRegs[j], sf.refRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.JSONASTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                jsonVal = (BJSON) sf.refRegs[i];
+                if (jsonVal == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.SFIELDLOAD:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
+
+                try {
+                    JSONUtils.setArrayElement(jsonVal, sf.longRegs[j], (BJSON) sf.refRegs[k]);
+                } catch (Exception e) {
+                    context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                    handleError();
+                }
+                break;
+            case InstructionCodes.IGSTORE:
+                // Stack reg index
+                i = operands[0];
+                // Global var index
+                j = operands[1];
+                globalMemBlock.setIntField(j, sf.longRegs[i]);
+                break;
+            case InstructionCodes.FGSTORE:
+                i = operands[0];
+                j = operands[1];
+                globalMemBlock.setFloatField(j, sf.doubleRegs[i]);
+                break;
+            case InstructionCodes.SGSTORE:
+                i = operands[0];
+                j = operands[1];
+                globalMemBlock.setStringField(j, sf.stringRegs[i]);
+                break;
+            case InstructionCodes.BGSTORE:
+                i = operands[0];
+                j = operands[1];
+                globalMemBlock.setBooleanField(j, sf.intRegs[i]);
+                break;
+            case InstructionCodes.LGSTORE:
+                i = operands[0];
+                j = operands[1];
+                globalMemBlock.setBlobField(j, sf.byteRegs[i]);
+                break;
+            case InstructionCodes.RGSTORE:
+                i = operands[0];
+                j = operands[1];
+                globalMemBlock.setRefField(j, sf.refRegs[i]);
+                break;
 
-                    sf.stringRegs[j] = structureType.getStringField(fieldIndex);
+            case InstructionCodes.IFIELDLOAD:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.BFIELDLOAD:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    sf.intRegs[j] = structureType.getBooleanField(fieldIndex);
+                sf.longRegs[j] = structureType.getIntField(fieldIndex);
+                break;
+            case InstructionCodes.FFIELDLOAD:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.LFIELDLOAD:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    sf.byteRegs[j] = structureType.getBlobField(fieldIndex);
+                sf.doubleRegs[j] = structureType.getFloatField(fieldIndex);
+                break;
+            case InstructionCodes.SFIELDLOAD:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.RFIELDLOAD:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    sf.refRegs[j] = structureType.getRefField(fieldIndex);
+                sf.stringRegs[j] = structureType.getStringField(fieldIndex);
+                break;
+            case InstructionCodes.BFIELDLOAD:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.IFIELDSTORE:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    structureType.setIntField(fieldIndex, sf.longRegs[j]);
+                sf.intRegs[j] = structureType.getBooleanField(fieldIndex);
+                break;
+            case InstructionCodes.LFIELDLOAD:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.FFIELDSTORE:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    structureType.setFloatField(fieldIndex, sf.doubleRegs[j]);
+                sf.byteRegs[j] = structureType.getBlobField(fieldIndex);
+                break;
+            case InstructionCodes.RFIELDLOAD:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.SFIELDSTORE:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    structureType.setStringField(fieldIndex, sf.stringRegs[j]);
+                sf.refRegs[j] = structureType.getRefField(fieldIndex);
+                break;
+            case InstructionCodes.IFIELDSTORE:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.BFIELDSTORE:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    structureType.setBooleanField(fieldIndex, sf.intRegs[j]);
+                structureType.setIntField(fieldIndex, sf.longRegs[j]);
+                break;
+            case InstructionCodes.FFIELDSTORE:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.LFIELDSTORE:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    structureType.setBlobField(fieldIndex, sf.byteRegs[j]);
+                structureType.setFloatField(fieldIndex, sf.doubleRegs[j]);
+                break;
+            case InstructionCodes.SFIELDSTORE:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.RFIELDSTORE:
-                    i = operands[0];
-                    fieldIndex = operands[1];
-                    j = operands[2];
-                    structureType = (StructureType) sf.refRegs[i];
-                    if (structureType == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    structureType.setRefField(fieldIndex, sf.refRegs[j]);
+                structureType.setStringField(fieldIndex, sf.stringRegs[j]);
+                break;
+            case InstructionCodes.BFIELDSTORE:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
+                }
 
-                case InstructionCodes.MAPLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bMap = (BMap<String, BRefType>) sf.refRegs[i];
-                    if (bMap == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                structureType.setBooleanField(fieldIndex, sf.intRegs[j]);
+                break;
+            case InstructionCodes.LFIELDSTORE:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
+                    break;
+                }
 
-                    sf.refRegs[k] = bMap.get(sf.stringRegs[j]);
+                structureType.setBlobField(fieldIndex, sf.byteRegs[j]);
+                break;
+            case InstructionCodes.RFIELDSTORE:
+                i = operands[0];
+                fieldIndex = operands[1];
+                j = operands[2];
+                structureType = (StructureType) sf.refRegs[i];
+                if (structureType == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.MAPSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    bMap = (BMap<String, BRefType>) sf.refRegs[i];
-                    if (bMap == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
+
+                structureType.setRefField(fieldIndex, sf.refRegs[j]);
+                break;
+
+            case InstructionCodes.MAPLOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError();
+                    break;
+                }
+
+                sf.refRegs[k] = bMap.get(sf.stringRegs[j]);
+                break;
+            case InstructionCodes.MAPSTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                bMap = (BMap<String, BRefType>) sf.refRegs[i];
+                if (bMap == null) {
+                    handleNullRefError();
+                    break;
+                }
+
+                bMap.put(sf.stringRegs[j], sf.refRegs[k]);
+                break;
+
+            case InstructionCodes.JSONLOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                jsonVal = (BJSON) sf.refRegs[i];
+                if (jsonVal == null) {
+                    handleNullRefError();
+                    break;
+                }
+
+                sf.refRegs[k] = JSONUtils.getElement(jsonVal, sf.stringRegs[j]);
+                break;
+            case InstructionCodes.JSONSTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                jsonVal = (BJSON) sf.refRegs[i];
+                if (jsonVal == null) {
+                    handleNullRefError();
+                    break;
+                }
+
+                JSONUtils.setElement(jsonVal, sf.stringRegs[j], (BJSON) sf.refRegs[k]);
+                break;
+
+            case InstructionCodes.IADD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
+                break;
+            case InstructionCodes.FADD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.doubleRegs[k] = sf.doubleRegs[i] + sf.doubleRegs[j];
+                break;
+            case InstructionCodes.SADD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
+                break;
+            case InstructionCodes.XMLADD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                BXML lhsXMLVal = (BXML) sf.refRegs[i];
+                BXML rhsXMLVal = (BXML) sf.refRegs[j];
+                if (lhsXMLVal == null || rhsXMLVal == null) {
+                    handleNullRefError();
+                    break;
+                }
+
+                // Here it is assumed that a refType addition can only be a xml-concat.
+                sf.refRegs[k] = XMLUtils.concatenate(lhsXMLVal, rhsXMLVal);
+                break;
+            case InstructionCodes.ISUB:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
+                break;
+            case InstructionCodes.FSUB:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.doubleRegs[k] = sf.doubleRegs[i] - sf.doubleRegs[j];
+                break;
+            case InstructionCodes.IMUL:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
+                break;
+            case InstructionCodes.FMUL:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.doubleRegs[k] = sf.doubleRegs[i] * sf.doubleRegs[j];
+                break;
+            case InstructionCodes.IDIV:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                if (sf.longRegs[j] == 0) {
+                    context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
+                    handleError();
+                    break;
+                }
+
+                sf.longRegs[k] = sf.longRegs[i] / sf.longRegs[j];
+                break;
+            case InstructionCodes.FDIV:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                if (sf.doubleRegs[j] == 0) {
+                    context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
+                    handleError();
+                    break;
+                }
+
+                sf.doubleRegs[k] = sf.doubleRegs[i] / sf.doubleRegs[j];
+                break;
+            case InstructionCodes.IMOD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                if (sf.longRegs[j] == 0) {
+                    context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
+                    handleError();
+                    break;
+                }
+
+                sf.longRegs[k] = sf.longRegs[i] % sf.longRegs[j];
+                break;
+            case InstructionCodes.FMOD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                if (sf.doubleRegs[j] == 0) {
+                    context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
+                    handleError();
+                    break;
+                }
+
+                sf.doubleRegs[k] = sf.doubleRegs[i] % sf.doubleRegs[j];
+                break;
+            case InstructionCodes.INEG:
+                i = operands[0];
+                j = operands[1];
+                sf.longRegs[j] = -sf.longRegs[i];
+                break;
+            case InstructionCodes.FNEG:
+                i = operands[0];
+                j = operands[1];
+                sf.doubleRegs[j] = -sf.doubleRegs[i];
+                break;
+            case InstructionCodes.BNOT:
+                i = operands[0];
+                j = operands[1];
+                sf.intRegs[j] = sf.intRegs[i] == 0 ? 1 : 0;
+                break;
+
+            case InstructionCodes.IEQ:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FEQ:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.SEQ:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.stringRegs[i].equals(sf.stringRegs[j]) ? 1 : 0;
+                break;
+            case InstructionCodes.BEQ:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.REQ:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.INE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FNE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.SNE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = !(sf.stringRegs[i].equals(sf.stringRegs[j])) ? 1 : 0;
+                break;
+            case InstructionCodes.BNE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.RNE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.IGT:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FGT:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.IGE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FGE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.ILT:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FLT:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.ILE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FLE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.REQ_NULL:
+                i = operands[0];
+                j = operands[1];
+                if (sf.refRegs[i] == null) {
+                    ip = j;
+                }
+                break;
+            case InstructionCodes.RNE_NULL:
+                i = operands[0];
+                j = operands[1];
+                if (sf.refRegs[i] != null) {
+                    ip = j;
+                }
+                break;
+
+            case InstructionCodes.BR_TRUE:
+                i = operands[0];
+                j = operands[1];
+                if (sf.intRegs[i] == 1) {
+                    ip = j;
+                }
+                break;
+            case InstructionCodes.BR_FALSE:
+                i = operands[0];
+                j = operands[1];
+                if (sf.intRegs[i] == 0) {
+                    ip = j;
+                }
+                break;
+
+            case InstructionCodes.GOTO:
+                i = operands[0];
+                ip = i;
+                if (context.isCancelled()) {
+                    // Stop the loop of a worker whose result is no longer awaited
+                    ip = -1;
+                }
+                break;
+            case InstructionCodes.HALT:
+                ip = -1;
+                break;
+            case InstructionCodes.CALL:
+                cpIndex = operands[0];
+                funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
+                functionInfo = funcRefCPEntry.getFunctionInfo();
+
+                cpIndex = operands[1];
+                funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
+                invokeCallableUnit(functionInfo, funcCallCPEntry);
+                break;
+            case InstructionCodes.TRBGN:
+                beginTransaction();
+                break;
+            case InstructionCodes.TREND:
+                endTransaction(operands);
+                break;
+            case InstructionCodes.WRKINVOKE:
+                cpIndex = operands[0];
+                workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
+                workerDataChannel = workerRefCPEntry.getWorkerDataChannel();
+                BType[] types = workerRefCPEntry.getTypes();
+
+                cpIndex = operands[1];
+                workerInvokeCPEntry = (WorkerInvokeCPEntry) constPool[cpIndex];
+                invokeWorker(workerDataChannel, workerInvokeCPEntry, types);
+                break;
+            case InstructionCodes.WRKREPLY:
+                cpIndex = operands[0];
+                workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
+                workerDataChannel = workerRefCPEntry.getWorkerDataChannel();
+                types = workerRefCPEntry.getTypes();
+
+                cpIndex = operands[1];
+                workerReplyCPEntry = (WorkerReplyCPEntry) constPool[cpIndex];
+                replyWorker(workerDataChannel, workerReplyCPEntry, types);
+                break;
+            case InstructionCodes.FORKJOIN:
+                cpIndex = operands[0];
+                forkJoinCPEntry = (ForkJoinCPEntry) constPool[cpIndex];
+                invokeForkJoin(forkJoinCPEntry);
+                break;
+            case InstructionCodes.NCALL:
+                cpIndex = operands[0];
+                funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
+                functionInfo = funcRefCPEntry.getFunctionInfo();
+
+                cpIndex = operands[1];
+                funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
+                invokeNativeFunction(functionInfo, funcCallCPEntry);
+                break;
+            case InstructionCodes.ACALL:
+                cpIndex = operands[0];
+                actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
+                actionInfo = actionRefCPEntry.getActionInfo();
+
+                cpIndex = operands[1];
+                funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
+                invokeCallableUnit(actionInfo, funcCallCPEntry);
+                break;
+            case InstructionCodes.NACALL:
+                cpIndex = operands[0];
+                actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
+                actionInfo = actionRefCPEntry.getActionInfo();
+
+                cpIndex = operands[1];
+                funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
+                invokeNativeAction(actionInfo, funcCallCPEntry);
+                break;
+            case InstructionCodes.THROW:
+                i = operands[0];
+                if (i >= 0) {
+                    BStruct error = (BStruct) sf.refRegs[i];
+                    if (error == null) {
+                        handleNullRefError();
+                        break;
+                    }
+
+                    BLangVMErrors.setStackTrace(context, ip, error);
+                    context.setError(error);
+                }
+                handleError();
+                break;
+            case InstructionCodes.ERRSTORE:
+                i = operands[0];
+                sf.refLocalVars[i] = context.getError();
+                // clear error.
+                context.setError(null);
+                break;
+
+            case InstructionCodes.I2ANY:
+            case InstructionCodes.F2ANY:
+            case InstructionCodes.S2ANY:
+            case InstructionCodes.B2ANY:
+            case InstructionCodes.L2ANY:
+            case InstructionCodes.ANY2I:
+            case InstructionCodes.ANY2F:
+            case InstructionCodes.ANY2S:
+            case InstructionCodes.ANY2B:
+            case InstructionCodes.ANY2L:
+            case InstructionCodes.ANY2JSON:
+            case InstructionCodes.ANY2XML:
+            case InstructionCodes.ANY2MAP:
+            case InstructionCodes.ANY2MSG:
+            case InstructionCodes.ANY2T:
+            case InstructionCodes.ANY2C:
+            case InstructionCodes.NULL2JSON:
+            case InstructionCodes.CHECKCAST:
+                execTypeCastOpcodes(sf, opcode, operands);
+                break;
+
+            case InstructionCodes.I2F:
+            case InstructionCodes.I2S:
+            case InstructionCodes.I2B:
+            case InstructionCodes.I2JSON:
+            case InstructionCodes.F2I:
+            case InstructionCodes.F2S:
+            case InstructionCodes.F2B:
+            case InstructionCodes.F2JSON:
+            case InstructionCodes.S2I:
+            case InstructionCodes.S2F:
+            case InstructionCodes.S2B:
+            case InstructionCodes.S2JSON:
+            case InstructionCodes.B2I:
+            case InstructionCodes.B2F:
+            case InstructionCodes.B2S:
+            case InstructionCodes.B2JSON:
+            case InstructionCodes.JSON2I:
+            case InstructionCodes.JSON2F:
+            case InstructionCodes.JSON2S:
+            case InstructionCodes.JSON2B:
+            case InstructionCodes.DT2XML:
+            case InstructionCodes.DT2JSON:
+            case InstructionCodes.T2MAP:
+            case InstructionCodes.T2JSON:
+            case InstructionCodes.MAP2T:
+            case InstructionCodes.JSON2T:
+            case InstructionCodes.XML2JSON:
+            case InstructionCodes.JSON2XML:
+            case InstructionCodes.XMLATTRS2MAP:
+                execTypeConversionOpcodes(sf, opcode, operands);
+                break;
+
+            case InstructionCodes.INEWARRAY:
+                i = operands[0];
+                sf.refRegs[i] = new BIntArray();
+                break;
+            case InstructionCodes.ARRAYLEN:
+                i = operands[0];
+                j = operands[1];
+
+                BNewArray array = (BNewArray) sf.refRegs[i];
+                if (array == null) {
+                    handleNullRefError();
+                    break;
+                }
+                sf.longRegs[j] = array.size();
+                break;
+            case InstructionCodes.FNEWARRAY:
+                i = operands[0];
+                sf.refRegs[i] = new BFloatArray();
+                break;
+            case InstructionCodes.SNEWARRAY:
+                i = operands[0];
+                sf.refRegs[i] = new BStringArray();
+                break;
+            case InstructionCodes.BNEWARRAY:
+                i = operands[0];
+                sf.refRegs[i] = new BBooleanArray();
+                break;
+            case InstructionCodes.RNEWARRAY:
+                i = operands[0];
+                cpIndex = operands[1];
+                typeCPEntry = (TypeCPEntry) constPool[cpIndex];
+                sf.refRegs[i] = new BRefValueArray(typeCPEntry.getType());
+                break;
+            case InstructionCodes.LNEWARRAY:
+                i = operands[0];
+                sf.refRegs[i] = new BBlobArray();
+                break;
+            case InstructionCodes.JSONNEWARRAY:
+                i = operands[0];
+                j = operands[1];
+                // This is a temporary solution to create n-valued JSON array
+                StringJoiner stringJoiner = new StringJoiner(",", "[", "]");
+                for (int index = 0; index < sf.longRegs[j]; index++) {
+                    stringJoiner.add("0");
+                }
+                sf.refRegs[i] = new BJSON(stringJoiner.toString());
+                break;
+
+            case InstructionCodes.NEWSTRUCT:
+                createNewStruct(operands, sf);
+                break;
+            case InstructionCodes.NEWCONNECTOR:
+                createNewConnector(operands, sf);
+                break;
+            case InstructionCodes.NEWMAP:
+                i = operands[0];
+                sf.refRegs[i] = new BMap<String, BRefType>();
+                break;
+            case InstructionCodes.NEWJSON:
+                i = operands[0];
+                sf.refRegs[i] = new BJSON("{}");
+                break;
+            case InstructionCodes.NEWMESSAGE:
+                i = operands[0];
+                sf.refRegs[i] = new BMessage();
+                break;
+            case InstructionCodes.NEWDATATABLE:
+                i = operands[0];
+                sf.refRegs[i] = new BDataTable(null, new ArrayList<>(0));
+                break;
+            case InstructionCodes.REP:
+                handleReply(operands, sf);
+                break;
+            case InstructionCodes.IRET:
+                i = operands[0];
+                j = operands[1];
+                currentSF = controlStack.getCurrentFrame();
+                callersSF = controlStack.getStack()[controlStack.fp - 1];
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.longRegs[callersRetRegIndex] = currentSF.longRegs[j];
+                break;
+            case InstructionCodes.FRET:
+                i = operands[0];
+                j = operands[1];
+                currentSF = controlStack.getCurrentFrame();
+                callersSF = controlStack.getStack()[controlStack.fp - 1];
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.doubleRegs[callersRetRegIndex] = currentSF.doubleRegs[j];
+                break;
+            case InstructionCodes.SRET:
+                i = operands[0];
+                j = operands[1];
+                currentSF = controlStack.getCurrentFrame();
+                callersSF = controlStack.getStack()[controlStack.fp - 1];
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.stringRegs[callersRetRegIndex] = currentSF.stringRegs[j];
+                break;
+            case InstructionCodes.BRET:
+                i = operands[0];
+                j = operands[1];
+                currentSF = controlStack.getCurrentFrame();
+                callersSF = controlStack.getStack()[controlStack.fp - 1];
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.intRegs[callersRetRegIndex] = currentSF.intRegs[j];
+                break;
+            case InstructionCodes.LRET:
+                i = operands[0];
+                j = operands[1];
+                currentSF = controlStack.getCurrentFrame();
+                callersSF = controlStack.getStack()[controlStack.fp - 1];
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.byteRegs[callersRetRegIndex] = currentSF.byteRegs[j];
+                break;
+            case InstructionCodes.RRET:
+                i = operands[0];
+                j = operands[1];
+                currentSF = controlStack.getCurrentFrame();
+                callersSF = controlStack.getStack()[controlStack.fp - 1];
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.refRegs[callersRetRegIndex] = currentSF.refRegs[j];
+                break;
+            case InstructionCodes.RET:
+                handleReturn();
+                break;
+            case InstructionCodes.XMLATTRSTORE:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+
+                xmlVal = (BXML) sf.refRegs[i];
+                if (xmlVal == null) {
+                    handleNullRefError();
+                    break;
+                }
 
-                    bMap.put(sf.stringRegs[j], sf.refRegs[k]);
+                xmlQName = (BXMLQName) sf.refRegs[j];
+                if (xmlQName == null) {
+                    handleNullRefError();
                     break;
+                }
 
-                case InstructionCodes.JSONLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    jsonVal = (BJSON) sf.refRegs[i];
-                    if (jsonVal == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                xmlVal.setAttribute(xmlQName.getLocalName(), xmlQName.getUri(), xmlQName.getPrefix(),
+                        sf.stringRegs[k]);
+                break;
+            case InstructionCodes.XMLATTRLOAD:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
 
-                    sf.refRegs[k] = JSONUtils.getElement(jsonVal, sf.stringRegs[j]);
+                xmlVal = (BXML) sf.refRegs[i];
+                if (xmlVal == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.JSONSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    jsonVal = (BJSON) sf.refRegs[i];
-                    if (jsonVal == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
 
-                    JSONUtils.setElement(jsonVal, sf.stringRegs[j], (BJSON) sf.refRegs[k]);
-                    break;
-
-                case InstructionCodes.IADD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
-                    break;
-                case InstructionCodes.FADD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.doubleRegs[k] = sf.doubleRegs[i] + sf.doubleRegs[j];
-                    break;
-                case InstructionCodes.SADD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
-                    break;
-                case InstructionCodes.XMLADD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    BXML lhsXMLVal = (BXML) sf.refRegs[i];
-                    BXML rhsXMLVal = (BXML) sf.refRegs[j];
-                    if (lhsXMLVal == null || rhsXMLVal == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                xmlQName = (BXMLQName) sf.refRegs[j];
+                if (xmlQName == null) {
+                    handleNullRefError();
+                    break;
+                }
 
-                    // Here it is assumed that a refType addition can only be a xml-concat.
-                    sf.refRegs[k] = XMLUtils.concatenate(lhsXMLVal, rhsXMLVal);
-                    break;
-                case InstructionCodes.ISUB:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
-                    break;
-                case InstructionCodes.FSUB:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.doubleRegs[k] = sf.doubleRegs[i] - sf.doubleRegs[j];
-                    break;
-                case InstructionCodes.IMUL:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
-                    break;
-                case InstructionCodes.FMUL:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.doubleRegs[k] = sf.doubleRegs[i] * sf.doubleRegs[j];
-                    break;
-                case InstructionCodes.IDIV:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    if (sf.longRegs[j] == 0) {
-                        context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
-                        handleError();
-                        break;
-                    }
+                sf.stringRegs[k] = xmlVal.getAttribute(xmlQName.getLocalName(), xmlQName.getUri(),
+                        xmlQName.getPrefix());
+                break;
+            case InstructionCodes.XML2XMLATTRS:
+                i = operands[0];
+                j = operands[1];
 
-                    sf.longRegs[k] = sf.longRegs[i] / sf.longRegs[j];
+                xmlVal = (BXML) sf.refRegs[i];
+                if (xmlVal == null) {
+                    sf.refRegs[j] = null;
                     break;
-                case InstructionCodes.FDIV:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    if (sf.doubleRegs[j] == 0) {
-                        context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
-                        handleError();
-                        break;
-                    }
+                }
 
-                    sf.doubleRegs[k] = sf.doubleRegs[i] / sf.doubleRegs[j];
-                    break;
-                case InstructionCodes.IMOD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    if (sf.longRegs[j] == 0) {
-                        context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
-                        handleError();
-                        break;
-                    }
+                sf.refRegs[j] = new BXMLAttributes(xmlVal);
+                break;
+            case InstructionCodes.S2QNAME:
+                i = operands[0];
+                j = operands[1];
+                k = operands[2];
+                String qNameStr = sf.stringRegs[i];
 
-                    sf.longRegs[k] = sf.longRegs[i] % sf.longRegs[j];
-                    break;
-                case InstructionCodes.FMOD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    if (sf.doubleRegs[j] == 0) {
-                        context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
-                        handleError();
-                        break;
-                    }
+                if (qNameStr.startsWith("{") && qNameStr.indexOf('}') > 0) {
+                    sf.stringRegs[j] = qNameStr.substring(qNameStr.indexOf('}') + 1, qNameStr.length());
+                    sf.stringRegs[k] = qNameStr.substring(1, qNameStr.indexOf('}'));
+                } else {
+                    sf.stringRegs[j] = qNameStr;
+                    sf.stringRegs[k] = "";
+                }
 
-                    sf.doubleRegs[k] = sf.doubleRegs[i] % sf.doubleRegs[j];
-                    break;
-                case InstructionCodes.INEG:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.longRegs[j] = -sf.longRegs[i];
-                    break;
-                case InstructionCodes.FNEG:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.doubleRegs[j] = -sf.doubleRegs[i];
-                    break;
-                case InstructionCodes.BNOT:
-                    i = operands[0];
-                    j = operands[1];
-                    sf.intRegs[j] = sf.intRegs[i] == 0 ? 1 : 0;
-                    break;
-
-                case InstructionCodes.IEQ:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.FEQ:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.SEQ:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.stringRegs[i].equals(sf.stringRegs[j]) ? 1 : 0;
-                    break;
-                case InstructionCodes.BEQ:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.REQ:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
-                    break;
-
-                case InstructionCodes.INE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.FNE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.SNE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = !(sf.stringRegs[i].equals(sf.stringRegs[j])) ? 1 : 0;
-                    break;
-                case InstructionCodes.BNE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.RNE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
-                    break;
-
-                case InstructionCodes.IGT:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.FGT:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
-                    break;
-
-                case InstructionCodes.IGE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.FGE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
-                    break;
-
-                case InstructionCodes.ILT:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.FLT:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
-                    break;
-
-                case InstructionCodes.ILE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
-                    break;
-                case InstructionCodes.FLE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
-                    break;
-
-                case InstructionCodes.REQ_NULL:
-                    i = operands[0];
-                    j = operands[1];
-                    if (sf.refRegs[i] == null) {
-                        ip = j;
-                    }
-                    break;
-                case InstructionCodes.RNE_NULL:
-                    i = operands[0];
-                    j = operands[1];
-                    if (sf.refRegs[i] != null) {
-                        ip = j;
-                    }
-                    break;
+                break;
+            case InstructionCodes.NEWQNAME:
+                localNameIndex = operands[0];
+                uriIndex = operands[1];
+                prefixIndex = operands[2];
+                i = operands[3];
+
+                sf.refRegs[i] = new BXMLQName(sf.stringRegs[localNameIndex], sf.stringRegs[uriIndex],
+                        sf.stringRegs[prefixIndex]);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                case InstructionCodes.BR_TRUE:
-                    i = operands[0];
-                    j = operands[1];
-                    if (sf.intRegs[i] == 1) {
-                        ip = j;
-                    }
+    /**
+     * Act as a virtual CPU, executing the packed instruction stream of the current package.
+     * <p>
+     * Constants, loads, stores, arithmetic, comparisons, branches and superinstructions are executed by small
+     * handlers per opcode family, which read the operands inline from the packed stream. These handlers never change
+     * the current frame, so the frame is looked up again only after the other instructions, which are executed by
+     * {@link #execInstruction(StackFrame, int, int[])}.
+     */
+    private void execPacked() {
+        Instruction[] currentCode = code;
+        PackedInstructions packedInstructions = controlStack.getCurrentFrame().packageInfo.getPackedInstructions();
+        int[] packedCode = packedInstructions.getCode();
+        int[] offsets = packedInstructions.getOffsets();
+        StackFrame sf = controlStack.getCurrentFrame();
+
+        while (ip >= 0 && ip < offsets.length && controlStack.fp >= 0) {
+            int offset = offsets[ip];
+            int opcode = packedCode[offset];
+            ip++;
+
+            switch (OPCODE_FAMILIES[opcode]) {
+                case OPCODE_FAMILY_CONST:
+                    execConstOpcodes(sf, opcode, packedCode, offset + 1);
                     break;
-                case InstructionCodes.BR_FALSE:
-                    i = operands[0];
-                    j = operands[1];
-                    if (sf.intRegs[i] == 0) {
-                        ip = j;
-                    }
+                case OPCODE_FAMILY_LOAD_STORE:
+                    execLoadStoreOpcodes(sf, opcode, packedCode, offset + 1);
                     break;
-
-                case InstructionCodes.GOTO:
-                    i = operands[0];
-                    ip = i;
+                case OPCODE_FAMILY_ARITHMETIC:
+                    execArithmeticOpcodes(sf, opcode, packedCode, offset + 1);
                     break;
-                case InstructionCodes.HALT:
-                    ip = -1;
+                case OPCODE_FAMILY_COMPARISON:
+                    execComparisonOpcodes(sf, opcode, packedCode, offset + 1);
                     break;
-                case InstructionCodes.CALL:
-                    cpIndex = operands[0];
-                    funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
-                    functionInfo = funcRefCPEntry.getFunctionInfo();
-
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeCallableUnit(functionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.TRBGN:
-                    beginTransaction();
-                    break;
-                case InstructionCodes.TREND:
-                    endTransaction(operands);
-                    break;
-                case InstructionCodes.WRKINVOKE:
-                    cpIndex = operands[0];
-                    workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
-                    workerDataChannel = workerRefCPEntry.getWorkerDataChannel();
-                    BType[] types = workerRefCPEntry.getTypes();
-
-                    cpIndex = operands[1];
-                    workerInvokeCPEntry = (WorkerInvokeCPEntry) constPool[cpIndex];
-                    invokeWorker(workerDataChannel, workerInvokeCPEntry, types);
-                    break;
-                case InstructionCodes.WRKREPLY:
-                    cpIndex = operands[0];
-                    workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
-                    workerDataChannel = workerRefCPEntry.getWorkerDataChannel();
-                    types = workerRefCPEntry.getTypes();
-
-                    cpIndex = operands[1];
-                    workerReplyCPEntry = (WorkerReplyCPEntry) constPool[cpIndex];
-                    replyWorker(workerDataChannel, workerReplyCPEntry, types);
-                    break;
-                case InstructionCodes.FORKJOIN:
-                    cpIndex = operands[0];
-                    forkJoinCPEntry = (ForkJoinCPEntry) constPool[cpIndex];
-                    invokeForkJoin(forkJoinCPEntry);
-                    break;
-                case InstructionCodes.NCALL:
-                    cpIndex = operands[0];
-                    funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
-                    functionInfo = funcRefCPEntry.getFunctionInfo();
-
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeNativeFunction(functionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.ACALL:
-                    cpIndex = operands[0];
-                    actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
-                    actionInfo = actionRefCPEntry.getActionInfo();
-
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeCallableUnit(actionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.NACALL:
-                    cpIndex = operands[0];
-                    actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
-                    actionInfo = actionRefCPEntry.getActionInfo();
-
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeNativeAction(actionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.THROW:
-                    i = operands[0];
-                    if (i >= 0) {
-                        BStruct error = (BStruct) sf.refRegs[i];
-                        if (error == null) {
-                            handleNullRefError();
-                            break;
-                        }
-
-                        BLangVMErrors.setStackTrace(context, ip, error);
-                        context.setError(error);
-                    }
-                    handleError();
+                case OPCODE_FAMILY_BRANCH:
+                    execBranchOpcodes(sf, opcode, packedCode, offset + 1);
                     break;
-                case InstructionCodes.ERRSTORE:
-                    i = operands[0];
-                    sf.refLocalVars[i] = context.getError();
-                    // clear error.
-                    context.setError(null);
-                    break;
-
-                case InstructionCodes.I2ANY:
-                case InstructionCodes.F2ANY:
-                case InstructionCodes.S2ANY:
-                case InstructionCodes.B2ANY:
-                case InstructionCodes.L2ANY:
-                case InstructionCodes.ANY2I:
-                case InstructionCodes.ANY2F:
-                case InstructionCodes.ANY2S:
-                case InstructionCodes.ANY2B:
-                case InstructionCodes.ANY2L:
-                case InstructionCodes.ANY2JSON:
-                case InstructionCodes.ANY2XML:
-                case InstructionCodes.ANY2MAP:
-                case InstructionCodes.ANY2MSG:
-                case InstructionCodes.ANY2T:
-                case InstructionCodes.ANY2C:
-                case InstructionCodes.NULL2JSON:
-                case InstructionCodes.CHECKCAST:
-                    execTypeCastOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.I2F:
-                case InstructionCodes.I2S:
-                case InstructionCodes.I2B:
-                case InstructionCodes.I2JSON:
-                case InstructionCodes.F2I:
-                case InstructionCodes.F2S:
-                case InstructionCodes.F2B:
-                case InstructionCodes.F2JSON:
-                case InstructionCodes.S2I:
-                case InstructionCodes.S2F:
-                case InstructionCodes.S2B:
-                case InstructionCodes.S2JSON:
-                case InstructionCodes.B2I:
-                case InstructionCodes.B2F:
-                case InstructionCodes.B2S:
-                case InstructionCodes.B2JSON:
-                case InstructionCodes.JSON2I:
-                case InstructionCodes.JSON2F:
-                case InstructionCodes.JSON2S:
-                case InstructionCodes.JSON2B:
-                case InstructionCodes.DT2XML:
-                case InstructionCodes.DT2JSON:
-                case InstructionCodes.T2MAP:
-                case InstructionCodes.T2JSON:
-                case InstructionCodes.MAP2T:
-                case InstructionCodes.JSON2T:
-                case InstructionCodes.XML2JSON:
-                case InstructionCodes.JSON2XML:
-                case InstructionCodes.XMLATTRS2MAP:
-                    execTypeConversionOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.INEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BIntArray();
-                    break;
-                case InstructionCodes.ARRAYLEN:
-                    i = operands[0];
-                    j = operands[1];
-
-                    BNewArray array = (BNewArray) sf.refRegs[i];
-                    if (array == null) {
-                        handleNullRefError();
-                        break;
-                    }
-                    sf.longRegs[j] = array.size();
-                    break;
-                case InstructionCodes.FNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BFloatArray();
-                    break;
-                case InstructionCodes.SNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BStringArray();
-                    break;
-                case InstructionCodes.BNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BBooleanArray();
-                    break;
-                case InstructionCodes.RNEWARRAY:
-                    i = operands[0];
-                    cpIndex = operands[1];
-                    typeCPEntry = (TypeCPEntry) constPool[cpIndex];
-                    sf.refRegs[i] = new BRefValueArray(typeCPEntry.getType());
-                    break;
-                case InstructionCodes.LNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BBlobArray();
-                    break;
-                case InstructionCodes.JSONNEWARRAY:
-                    i = operands[0];
-                    j = operands[1];
-                    // This is a temporary solution to create n-valued JSON array
-                    StringJoiner stringJoiner = new StringJoiner(",", "[", "]");
-                    for (int index = 0; index < sf.longRegs[j]; index++) {
-                        stringJoiner.add("0");
-                    }
-                    sf.refRegs[i] = new BJSON(stringJoiner.toString());
-                    break;
-
-                case InstructionCodes.NEWSTRUCT:
-                    createNewStruct(operands, sf);
-                    break;
-                case InstructionCodes.NEWCONNECTOR:
-                    createNewConnector(operands, sf);
-                    break;
-                case InstructionCodes.NEWMAP:
-                    i = operands[0];
-                    sf.refRegs[i] = new BMap<String, BRefType>();
-                    break;
-                case InstructionCodes.NEWJSON:
-                    i = operands[0];
-                    sf.refRegs[i] = new BJSON("{}");
-                    break;
-                case InstructionCodes.NEWMESSAGE:
-                    i = operands[0];
-                    sf.refRegs[i] = new BMessage();
-                    break;
-                case InstructionCodes.NEWDATATABLE:
-                    i = operands[0];
-                    sf.refRegs[i] = new BDataTable(null, new ArrayList<>(0));
-                    break;
-                case InstructionCodes.REP:
-                    handleReply(operands, sf);
-                    break;
-                case InstructionCodes.IRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.getCurrentFrame();
-                    callersSF = controlStack.getStack()[controlStack.fp - 1];
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.longRegs[callersRetRegIndex] = currentSF.longRegs[j];
-                    break;
-                case InstructionCodes.FRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.getCurrentFrame();
-                    callersSF = controlStack.getStack()[controlStack.fp - 1];
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.doubleRegs[callersRetRegIndex] = currentSF.doubleRegs[j];
-                    break;
-                case InstructionCodes.SRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.getCurrentFrame();
-                    callersSF = controlStack.getStack()[controlStack.fp - 1];
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.stringRegs[callersRetRegIndex] = currentSF.stringRegs[j];
-                    break;
-                case InstructionCodes.BRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.getCurrentFrame();
-                    callersSF = controlStack.getStack()[controlStack.fp - 1];
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.intRegs[callersRetRegIndex] = currentSF.intRegs[j];
-                    break;
-                case InstructionCodes.LRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.getCurrentFrame();
-                    callersSF = controlStack.getStack()[controlStack.fp - 1];
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.byteRegs[callersRetRegIndex] = currentSF.byteRegs[j];
-                    break;
-                case InstructionCodes.RRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.getCurrentFrame();
-                    callersSF = controlStack.getStack()[controlStack.fp - 1];
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.refRegs[callersRetRegIndex] = currentSF.refRegs[j];
-                    break;
-                case InstructionCodes.RET:
-                    handleReturn();
-                    break;
-                case InstructionCodes.XMLATTRSTORE:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-
-                    xmlVal = (BXML) sf.refRegs[i];
-                    if (xmlVal == null) {
-                        handleNullRefError();
+                case OPCODE_FAMILY_SUPERINSTRUCTION:
+                    execSuperinstructionOpcodes(sf, opcode, packedCode, offset + 1);
+                    break;
+                case OPCODE_FAMILY_OTHER:
+                default:
+                    execInstruction(sf, opcode, currentCode[ip - 1].getOperands());
+                    if (controlStack.fp < 0) {
                         break;
                     }
 
-                    xmlQName = (BXMLQName) sf.refRegs[j];
-                    if (xmlQName == null) {
-                        handleNullRefError();
-                        break;
+                    sf = controlStack.getCurrentFrame();
+                    if (code != currentCode) {
+                        // Moved to a callable unit of another package
+                        currentCode = code;
+                        packedInstructions = sf.packageInfo.getPackedInstructions();
+                        packedCode = packedInstructions.getCode();
+                        offsets = packedInstructions.getOffsets();
                     }
+            }
+        }
+    }
 
-                    xmlVal.setAttribute(xmlQName.getLocalName(), xmlQName.getUri(), xmlQName.getPrefix(),
-                            sf.stringRegs[k]);
-                    break;
-                case InstructionCodes.XMLATTRLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
+    private void execConstOpcodes(StackFrame sf, int opcode, int[] code, int op) {
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+                sf.longRegs[code[op + 1]] = ((IntegerCPEntry) constPool[code[op]]).getValue();
+                break;
+            case InstructionCodes.FCONST:
+                sf.doubleRegs[code[op + 1]] = ((FloatCPEntry) constPool[code[op]]).getValue();
+                break;
+            case InstructionCodes.SCONST:
+                sf.stringRegs[code[op + 1]] = ((StringCPEntry) constPool[code[op]]).getValue();
+                break;
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                sf.longRegs[code[op]] = opcode - InstructionCodes.ICONST_0;
+                break;
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+                sf.doubleRegs[code[op]] = opcode - InstructionCodes.FCONST_0;
+                break;
+            case InstructionCodes.BCONST_0:
+                sf.intRegs[code[op]] = 0;
+                break;
+            case InstructionCodes.BCONST_1:
+                sf.intRegs[code[op]] = 1;
+                break;
+            case InstructionCodes.RCONST_NULL:
+                sf.refRegs[code[op]] = null;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    xmlVal = (BXML) sf.refRegs[i];
-                    if (xmlVal == null) {
-                        handleNullRefError();
-                        break;
-                    }
+    private void execLoadStoreOpcodes(StackFrame sf, int opcode, int[] code, int op) {
+        switch (opcode) {
+            case InstructionCodes.ILOAD:
+                sf.longRegs[code[op + 1]] = sf.longLocalVars[code[op]];
+                break;
+            case InstructionCodes.FLOAD:
+                sf.doubleRegs[code[op + 1]] = sf.doubleLocalVars[code[op]];
+                break;
+            case InstructionCodes.SLOAD:
+                sf.stringRegs[code[op + 1]] = sf.stringLocalVars[code[op]];
+                break;
+            case InstructionCodes.BLOAD:
+                sf.intRegs[code[op + 1]] = sf.intLocalVars[code[op]];
+                break;
+            case InstructionCodes.LLOAD:
+                sf.byteRegs[code[op + 1]] = sf.byteLocalVars[code[op]];
+                break;
+            case InstructionCodes.RLOAD:
+                sf.refRegs[code[op + 1]] = sf.refLocalVars[code[op]];
+                break;
+            case InstructionCodes.ISTORE:
+                sf.longLocalVars[code[op + 1]] = sf.longRegs[code[op]];
+                break;
+            case InstructionCodes.FSTORE:
+                sf.doubleLocalVars[code[op + 1]] = sf.doubleRegs[code[op]];
+                break;
+            case InstructionCodes.SSTORE:
+                sf.stringLocalVars[code[op + 1]] = sf.stringRegs[code[op]];
+                break;
+            case InstructionCodes.BSTORE:
+                sf.intLocalVars[code[op + 1]] = sf.intRegs[code[op]];
+                break;
+            case InstructionCodes.LSTORE:
+                sf.byteLocalVars[code[op + 1]] = sf.byteRegs[code[op]];
+                break;
+            case InstructionCodes.RSTORE:
+                sf.refLocalVars[code[op + 1]] = sf.refRegs[code[op]];
+                break;
+            case InstructionCodes.IGLOAD:
+                sf.longRegs[code[op + 1]] = globalMemBlock.getIntField(code[op]);
+                break;
+            case InstructionCodes.FGLOAD:
+                sf.doubleRegs[code[op + 1]] = globalMemBlock.getFloatField(code[op]);
+                break;
+            case InstructionCodes.SGLOAD:
+                sf.stringRegs[code[op + 1]] = globalMemBlock.getStringField(code[op]);
+                break;
+            case InstructionCodes.BGLOAD:
+                sf.intRegs[code[op + 1]] = globalMemBlock.getBooleanField(code[op]);
+                break;
+            case InstructionCodes.LGLOAD:
+                sf.byteRegs[code[op + 1]] = globalMemBlock.getBlobField(code[op]);
+                break;
+            case InstructionCodes.RGLOAD:
+                sf.refRegs[code[op + 1]] = globalMemBlock.getRefField(code[op]);
+                break;
+            case InstructionCodes.IGSTORE:
+                globalMemBlock.setIntField(code[op + 1], sf.longRegs[code[op]]);
+                break;
+            case InstructionCodes.FGSTORE:
+                globalMemBlock.setFloatField(code[op + 1], sf.doubleRegs[code[op]]);
+                break;
+            case InstructionCodes.SGSTORE:
+                globalMemBlock.setStringField(code[op + 1], sf.stringRegs[code[op]]);
+                break;
+            case InstructionCodes.BGSTORE:
+                globalMemBlock.setBooleanField(code[op + 1], sf.intRegs[code[op]]);
+                break;
+            case InstructionCodes.LGSTORE:
+                globalMemBlock.setBlobField(code[op + 1], sf.byteRegs[code[op]]);
+                break;
+            case InstructionCodes.RGSTORE:
+                globalMemBlock.setRefField(code[op + 1], sf.refRegs[code[op]]);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    xmlQName = (BXMLQName) sf.refRegs[j];
-                    if (xmlQName == null) {
-                        handleNullRefError();
-                        break;
-                    }
+    private void execArithmeticOpcodes(StackFrame sf, int opcode, int[] code, int op) {
+        switch (opcode) {
+            case InstructionCodes.IADD:
+                sf.longRegs[code[op + 2]] = sf.longRegs[code[op]] + sf.longRegs[code[op + 1]];
+                break;
+            case InstructionCodes.FADD:
+                sf.doubleRegs[code[op + 2]] = sf.doubleRegs[code[op]] + sf.doubleRegs[code[op + 1]];
+                break;
+            case InstructionCodes.SADD:
+                sf.stringRegs[code[op + 2]] = sf.stringRegs[code[op]] + sf.stringRegs[code[op + 1]];
+                break;
+            case InstructionCodes.ISUB:
+                sf.longRegs[code[op + 2]] = sf.longRegs[code[op]] - sf.longRegs[code[op + 1]];
+                break;
+            case InstructionCodes.FSUB:
+                sf.doubleRegs[code[op + 2]] = sf.doubleRegs[code[op]] - sf.doubleRegs[code[op + 1]];
+                break;
+            case InstructionCodes.IMUL:
+                sf.longRegs[code[op + 2]] = sf.longRegs[code[op]] * sf.longRegs[code[op + 1]];
+                break;
+            case InstructionCodes.FMUL:
+                sf.doubleRegs[code[op + 2]] = sf.doubleRegs[code[op]] * sf.doubleRegs[code[op + 1]];
+                break;
+            case InstructionCodes.INEG:
+                sf.longRegs[code[op + 1]] = -sf.longRegs[code[op]];
+                break;
+            case InstructionCodes.FNEG:
+                sf.doubleRegs[code[op + 1]] = -sf.doubleRegs[code[op]];
+                break;
+            case InstructionCodes.BNOT:
+                sf.intRegs[code[op + 1]] = sf.intRegs[code[op]] == 0 ? 1 : 0;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    sf.stringRegs[k] = xmlVal.getAttribute(xmlQName.getLocalName(), xmlQName.getUri(),
-                            xmlQName.getPrefix());
-                    break;
-                case InstructionCodes.XML2XMLATTRS:
-                    i = operands[0];
-                    j = operands[1];
+    private void execComparisonOpcodes(StackFrame sf, int opcode, int[] code, int op) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
+        switch (opcode) {
+            case InstructionCodes.IEQ:
+                sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FEQ:
+                sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.SEQ:
+                sf.intRegs[k] = sf.stringRegs[i].equals(sf.stringRegs[j]) ? 1 : 0;
+                break;
+            case InstructionCodes.BEQ:
+                sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.REQ:
+                sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.INE:
+                sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FNE:
+                sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.SNE:
+                sf.intRegs[k] = !(sf.stringRegs[i].equals(sf.stringRegs[j])) ? 1 : 0;
+                break;
+            case InstructionCodes.BNE:
+                sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.RNE:
+                sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.IGT:
+                sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FGT:
+                sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.IGE:
+                sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FGE:
+                sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.ILT:
+                sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FLT:
+                sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.ILE:
+                sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.FLE:
+                sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    xmlVal = (BXML) sf.refRegs[i];
-                    if (xmlVal == null) {
-                        sf.refRegs[j] = null;
-                        break;
-                    }
+    private void execBranchOpcodes(StackFrame sf, int opcode, int[] code, int op) {
+        switch (opcode) {
+            case InstructionCodes.REQ_NULL:
+                if (sf.refRegs[code[op]] == null) {
+                    ip = code[op + 1];
+                }
+                break;
+            case InstructionCodes.RNE_NULL:
+                if (sf.refRegs[code[op]] != null) {
+                    ip = code[op + 1];
+                }
+                break;
+            case InstructionCodes.BR_TRUE:
+                if (sf.intRegs[code[op]] == 1) {
+                    ip = code[op + 1];
+                }
+                break;
+            case InstructionCodes.BR_FALSE:
+                if (sf.intRegs[code[op]] == 0) {
+                    ip = code[op + 1];
+                }
+                break;
+            case InstructionCodes.GOTO:
+                ip = code[op];
+                if (context.isCancelled()) {
+                    ip = -1;
+                }
+                break;
+            case InstructionCodes.HALT:
+                ip = -1;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    sf.refRegs[j] = new BXMLAttributes(xmlVal);
-                    break;
-                case InstructionCodes.S2QNAME:
-                    i = operands[0];
-                    j = operands[1];
-                    k = operands[2];
-                    String qNameStr = sf.stringRegs[i];
+    /**
+     * Execute a superinstruction, which stands for the sequence of instructions starting at the current instruction.
+     * The operands of the instructions of the sequence follow each other in the packed stream, each preceded by the
+     * opcode of the instruction, and the instructions are executed in the same order as without the superinstruction.
+     */
+    private void execSuperinstructionOpcodes(StackFrame sf, int opcode, int[] code, int op) {
+        long[] longRegs = sf.longRegs;
+        switch (opcode) {
+            case InstructionCodes.ILOAD_ILOAD:
+                longRegs[code[op + 1]] = sf.longLocalVars[code[op]];
+                longRegs[code[op + 4]] = sf.longLocalVars[code[op + 3]];
+                ip++;
+                break;
+            case InstructionCodes.ILOAD_ICONST_IADD_ISTORE:
+                longRegs[code[op + 1]] = sf.longLocalVars[code[op]];
+                int addOp;
+                // ICONST has a constant pool index operand, while ICONST_0 to ICONST_5 only have the register
+                if (code[op + 2] == InstructionCodes.ICONST) {
+                    longRegs[code[op + 4]] = ((IntegerCPEntry) constPool[code[op + 3]]).getValue();
+                    addOp = op + 6;
+                } else {
+                    longRegs[code[op + 3]] = code[op + 2] - InstructionCodes.ICONST_0;
+                    addOp = op + 5;
+                }
+                longRegs[code[addOp + 2]] = longRegs[code[addOp]] + longRegs[code[addOp + 1]];
+                sf.longLocalVars[code[addOp + 5]] = longRegs[code[addOp + 4]];
+                ip += 3;
+                break;
+            case InstructionCodes.ILOAD_ILOAD_ICMP_BR_FALSE:
+                longRegs[code[op + 1]] = sf.longLocalVars[code[op]];
+                longRegs[code[op + 4]] = sf.longLocalVars[code[op + 3]];
+                ip += 2;
+                execCompareBranch(sf, code, op + 6,
+                        compareLongs(code[op + 5], longRegs[code[op + 6]], longRegs[code[op + 7]]));
+                break;
+            case InstructionCodes.IEQ_BR_FALSE:
+                execCompareBranch(sf, code, op, longRegs[code[op]] == longRegs[code[op + 1]]);
+                break;
+            case InstructionCodes.INE_BR_FALSE:
+                execCompareBranch(sf, code, op, longRegs[code[op]] != longRegs[code[op + 1]]);
+                break;
+            case InstructionCodes.IGT_BR_FALSE:
+                execCompareBranch(sf, code, op, longRegs[code[op]] > longRegs[code[op + 1]]);
+                break;
+            case InstructionCodes.IGE_BR_FALSE:
+                execCompareBranch(sf, code, op, longRegs[code[op]] >= longRegs[code[op + 1]]);
+                break;
+            case InstructionCodes.ILT_BR_FALSE:
+                execCompareBranch(sf, code, op, longRegs[code[op]] < longRegs[code[op + 1]]);
+                break;
+            case InstructionCodes.ILE_BR_FALSE:
+                execCompareBranch(sf, code, op, longRegs[code[op]] <= longRegs[code[op + 1]]);
+                break;
+            case InstructionCodes.SLOAD_SADD:
+                String[] stringRegs = sf.stringRegs;
+                stringRegs[code[op + 1]] = sf.stringLocalVars[code[op]];
+                if (code[op + 2] == InstructionCodes.SLOAD) {
+                    stringRegs[code[op + 4]] = sf.stringLocalVars[code[op + 3]];
+                } else {
+                    stringRegs[code[op + 4]] = ((StringCPEntry) constPool[code[op + 3]]).getValue();
+                }
+                stringRegs[code[op + 8]] = stringRegs[code[op + 6]] + stringRegs[code[op + 7]];
+                ip += 2;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    if (qNameStr.startsWith("{") && qNameStr.indexOf('}') > 0) {
-                        sf.stringRegs[j] = qNameStr.substring(qNameStr.indexOf('}') + 1, qNameStr.length());
-                        sf.stringRegs[k] = qNameStr.substring(1, qNameStr.indexOf('}'));
-                    } else {
-                        sf.stringRegs[j] = qNameStr;
-                        sf.stringRegs[k] = "";
-                    }
+    /**
+     * Write the result of an int comparison at the given operands, and execute the BR_FALSE following it.
+     */
+    private void execCompareBranch(StackFrame sf, int[] code, int op, boolean result) {
+        sf.intRegs[code[op + 2]] = result ? 1 : 0;
+        ip++;
+        if (sf.intRegs[code[op + 4]] == 0) {
+            ip = code[op + 5];
+        }
+    }
 
-                    break;
-                case InstructionCodes.NEWQNAME:
-                    localNameIndex = operands[0];
-                    uriIndex = operands[1];
-                    prefixIndex = operands[2];
-                    i = operands[3];
+    private static boolean compareLongs(int opcode, long a, long b) {
+        switch (opcode) {
+            case InstructionCodes.IEQ:
+                return a == b;
+            case InstructionCodes.INE:
+                return a != b;
+            case InstructionCodes.IGT:
+                return a > b;
+            case InstructionCodes.IGE:
+                return a >= b;
+            case InstructionCodes.ILT:
+                return a < b;
+            case InstructionCodes.ILE:
+                return a <= b;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    sf.refRegs[i] = new BXMLQName(sf.stringRegs[localNameIndex], sf.stringRegs[uriIndex],
-                            sf.stringRegs[prefixIndex]);
-                    break;
-                default:
-                    throw new UnsupportedOperationException();
-            }
-            if (isDebugging) {
-                debugging(ip);
-            }
+    private static byte[] createOpcodeFamilies() {
+        byte[] families = new byte[InstructionCodes.INSTRUCTION_CODE_COUNT];
+        setOpcodeFamily(families, OPCODE_FAMILY_CONST, InstructionCodes.ICONST, InstructionCodes.RCONST_NULL);
+        setOpcodeFamily(families, OPCODE_FAMILY_LOAD_STORE, InstructionCodes.ILOAD, InstructionCodes.RLOAD);
+        setOpcodeFamily(families, OPCODE_FAMILY_LOAD_STORE, InstructionCodes.IGLOAD, InstructionCodes.RGLOAD);
+        setOpcodeFamily(families, OPCODE_FAMILY_LOAD_STORE, InstructionCodes.ISTORE, InstructionCodes.RSTORE);
+        setOpcodeFamily(families, OPCODE_FAMILY_LOAD_STORE, InstructionCodes.IGSTORE, InstructionCodes.RGSTORE);
+        // Division and XML concatenation may raise errors, hence are left to execInstruction
+        setOpcodeFamily(families, OPCODE_FAMILY_ARITHMETIC, InstructionCodes.IADD, InstructionCodes.SADD);
+        setOpcodeFamily(families, OPCODE_FAMILY_ARITHMETIC, InstructionCodes.ISUB, InstructionCodes.FMUL);
+        setOpcodeFamily(families, OPCODE_FAMILY_ARITHMETIC, InstructionCodes.INEG, InstructionCodes.BNOT);
+        setOpcodeFamily(families, OPCODE_FAMILY_COMPARISON, InstructionCodes.IEQ, InstructionCodes.FLE);
+        setOpcodeFamily(families, OPCODE_FAMILY_BRANCH, InstructionCodes.REQ_NULL, InstructionCodes.HALT);
+        setOpcodeFamily(families, OPCODE_FAMILY_SUPERINSTRUCTION, InstructionCodes.ILOAD_ILOAD,
+                InstructionCodes.SLOAD_SADD);
+        return families;
+    }
+
+    private static void setOpcodeFamily(byte[] families, byte family, int fromOpcode, int toOpcode) {
+        for (int opcode = fromOpcode; opcode <= toOpcode; opcode++) {
+            families[opcode] = family;
         }
     }
 
@@ -2147,9 +2673,14 @@ public class BLangVM {
         int[] argRegs = funcCallCPEntry.getArgRegs();
         BType[] paramTypes = callableUnitInfo.getParamTypes();
         StackFrame callerSF = controlStack.getCurrentFrame();
+        if (controlStack.isFull()) {
+            handleStackOverflow();
+            return;
+        }
 
         WorkerInfo defaultWorkerInfo = callableUnitInfo.getDefaultWorkerInfo();
-        StackFrame calleeSF = new StackFrame(callableUnitInfo, defaultWorkerInfo, ip, funcCallCPEntry.getRetRegs());
+        StackFrame calleeSF = controlStack.newFrame(callableUnitInfo, defaultWorkerInfo, ip,
+                funcCallCPEntry.getRetRegs());
         controlStack.pushFrame(calleeSF);
 
         // Copy arg values from the current StackFrame to the new StackFrame
@@ -2165,6 +2696,13 @@ public class BLangVM {
 
     }
 
+    private void handleStackOverflow() {
+        String message = BLangExceptionHelper.getRuntimeException(RuntimeErrors.STACK_OVERFLOW,
+                String.valueOf(ControlStackNew.getMaxStackDepth())).getMessage();
+        context.setError(BLangVMErrors.createError(context, ip, message));
+        handleError();
+    }
+
     public void invokeWorker(WorkerDataChannel workerDataChannel, WorkerInvokeCPEntry workerInvokeCPEntry,
                              BType[] types) {
         StackFrame currentFrame = controlStack.getCurrentFrame();
@@ -2177,7 +2715,12 @@ public class BLangVM {
         //populateArgumentValuesForWorker(expressions, arguments);
         if (workerDataChannel != null) {
             workerDataChannel.setTypes(types);
-            workerDataChannel.putData(arguments);
+            try {
+                workerDataChannel.putData(arguments);
+            } catch (BallerinaException e) {
+                context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+                handleError();
+            }
         } else {
             BArray<BValue> bArray = new BArray<>(BValue.class);
             for (int j = 0; j < arguments.length; j++) {
@@ -2189,7 +2732,6 @@ public class BLangVM {
     }
 
     public void invokeForkJoin(ForkJoinCPEntry forkJoinCPEntry) {
-        ForkJoinStmt forkJoinStmt = forkJoinCPEntry.getForkJoinStmt();
         List<BLangVMWorkers.WorkerExecutor> workerRunnerList = new ArrayList<>();
         List<WorkerResult> resultMsgs = new ArrayList<>();
         //Map<String, BRefValueArray> resultInvokeAll = new HashMap<>();
@@ -2199,9 +2741,9 @@ public class BLangVM {
             timeout = controlStack.getCurrentFrame().getLongRegs()[0];
         }
 
-        Worker[] workers = forkJoinStmt.getWorkers();
+        long startTime = System.nanoTime();
         Map<String, BLangVMWorkers.WorkerExecutor> triggeredWorkers = new HashMap<>();
-        for (Worker worker : workers) {
+        for (WorkerInfo workerInfo : forkJoinCPEntry.getWorkerInfoMap().values()) {
             Context workerContext = new Context();
             WorkerCallback workerCallback = new WorkerCallback(workerContext);
             workerContext.setBalCallback(workerCallback);
@@ -2211,7 +2753,7 @@ public class BLangVM {
 
             ControlStackNew controlStack = workerContext.getControlStackNew();
             StackFrame calleeSF = new StackFrame(forkJoinCPEntry.getParentCallableUnitInfo(),
-                    forkJoinCPEntry.getWorkerInfo(worker.getName()), -1, new int[1]);
+                    workerInfo, -1, new int[1]);
             controlStack.pushFrame(calleeSF);
 
             BLangVM.copyValuesForForkJoin(callerSF, calleeSF, argRegs);
@@ -2224,13 +2766,13 @@ public class BLangVM {
             BLangVM bLangVM = new BLangVM(programFile);
             //ExecutorService executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
             BLangVMWorkers.WorkerExecutor workerRunner = new BLangVMWorkers.WorkerExecutor(bLangVM,
-                    workerContext, forkJoinCPEntry.getWorkerInfo(worker.getName()));
+                    workerContext, workerInfo);
             workerRunnerList.add(workerRunner);
-            triggeredWorkers.put(worker.getName(), workerRunner);
+            triggeredWorkers.put(workerInfo.getWorkerName(), workerRunner);
         }
 
-        if (forkJoinStmt.getJoin().getJoinType().equalsIgnoreCase("any")) {
-            String[] joinWorkerNames = forkJoinStmt.getJoin().getJoinWorkers();
+        if (forkJoinCPEntry.getJoinType().equalsIgnoreCase("any")) {
+            String[] joinWorkerNames = forkJoinCPEntry.getJoinWorkerNames();
             if (joinWorkerNames.length == 0) {
                 // If there are no workers specified, wait for any of all the workers
                 resultMsgs.add(invokeAnyWorker(workerRunnerList, timeout));
@@ -2244,7 +2786,7 @@ public class BLangVM {
                 //resultMsgs.add(res);
             }
         } else {
-            String[] joinWorkerNames = forkJoinStmt.getJoin().getJoinWorkers();
+            String[] joinWorkerNames = forkJoinCPEntry.getJoinWorkerNames();
             if (joinWorkerNames.length == 0) {
                 // If there are no workers specified, wait for all of all the workers
                 resultMsgs.addAll(invokeAllWorkers(workerRunnerList, timeout));
@@ -2257,12 +2799,23 @@ public class BLangVM {
             }
         }
 
+        // Stop the workers which are still running, i.e. the ones not joined or timed out
+        for (BLangVMWorkers.WorkerExecutor workerRunner : workerRunnerList) {
+            workerRunner.cancel();
+        }
+
+        long latency = System.nanoTime() - startTime;
+        ThreadPoolFactory.getInstance().getForkJoinMetrics().record(latency, isForkJoinTimedOut);
+        if (logger.isDebugEnabled()) {
+            logger.debug("fork-join with " + workerRunnerList.size() + " workers completed in " +
+                    TimeUnit.NANOSECONDS.toMillis(latency) + "ms" + (isForkJoinTimedOut ? " (timed out)" : ""));
+        }
+
         if (isForkJoinTimedOut) {
-            ip = forkJoinStmt.getTimeout().getIp();
+            ip = forkJoinCPEntry.getTimeoutIp();
             // Execute the timeout block
 
-            int offsetTimeout = ((StackVarLocation) forkJoinStmt.getTimeout().getTimeoutResult().getMemoryLocation()).
-                    getStackFrameOffset();
+            int offsetTimeout = forkJoinCPEntry.getTimeoutResultOffset();
             BMap<String, BRefValueArray> mbMap = new BMap<>();
             for (WorkerResult workerResult : resultMsgs) {
                 mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
@@ -2272,10 +2825,9 @@ public class BLangVM {
             isForkJoinTimedOut = false;
 
         } else {
-            ip = forkJoinStmt.getJoin().getIp();
+            ip = forkJoinCPEntry.getJoinIp();
             // Assign values to join block message arrays
-            int offsetJoin = ((StackVarLocation) forkJoinStmt.getJoin().getJoinResult().getMemoryLocation()).
-                    getStackFrameOffset();
+            int offsetJoin = forkJoinCPEntry.getJoinResultOffset();
             BMap<String, BRefValueArray> mbMap = new BMap<>();
             for (WorkerResult workerResult : resultMsgs) {
                 mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
@@ -2285,7 +2837,7 @@ public class BLangVM {
     }
 
     private WorkerResult invokeAnyWorker(List<BLangVMWorkers.WorkerExecutor> workerRunnerList, long timeout) {
-        ExecutorService anyExecutor = Executors.newWorkStealingPool();
+        ExecutorService anyExecutor = ThreadPoolFactory.getInstance().getForkJoinExecutor();
         WorkerResult result;
         try {
             result = anyExecutor.invokeAny(workerRunnerList, timeout, TimeUnit.SECONDS);
@@ -2300,7 +2852,7 @@ public class BLangVM {
 
     private List<WorkerResult> invokeAllWorkers(List<BLangVMWorkers.WorkerExecutor> workerRunnerList,
                                                 long timeout) {
-        ExecutorService allExecutor = Executors.newWorkStealingPool();
+        ExecutorService allExecutor = ThreadPoolFactory.getInstance().getForkJoinExecutor();
         List<WorkerResult> result = new ArrayList<>();
         try {
             allExecutor.invokeAll(workerRunnerList, timeout, TimeUnit.SECONDS).stream().map(bMessageFuture -> {
@@ -2325,7 +2877,14 @@ public class BLangVM {
 
     public void replyWorker(WorkerDataChannel workerDataChannel, WorkerReplyCPEntry workerReplyCPEntry, BType[] types) {
 
-        BValue[] passedInValues = (BValue[]) workerDataChannel.takeData();
+        BValue[] passedInValues;
+        try {
+            passedInValues = (BValue[]) workerDataChannel.takeData();
+        } catch (BallerinaException e) {
+            context.setError(BLangVMErrors.createError(context, ip, e.getMessage()));
+            handleError();
+            return;
+        }
         StackFrame currentFrame = controlStack.getCurrentFrame();
         copyArgValuesForWorkerReply(currentFrame, workerReplyCPEntry.getArgRegs(),
                 types, passedInValues);
@@ -2505,6 +3064,7 @@ public class BLangVM {
             this.code = callersSF.packageInfo.getInstructions();
         }
         ip = currentSF.retAddrs;
+        controlStack.releaseFrame(currentSF);
     }
 
     private String getOperandsLine(int[] operands) {
@@ -2527,19 +3087,37 @@ public class BLangVM {
 
     private void invokeNativeFunction(FunctionInfo functionInfo, FunctionCallCPEntry funcCallCPEntry) {
         StackFrame callerSF = controlStack.currentFrame;
+        AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
+
+        // Natives with a typed implementation work on the caller's registers directly
+        NativeFunctionInvoker invoker = nativeFunction.getInvoker();
+        if (invoker != null) {
+            try {
+                invoker.invoke(context, callerSF, funcCallCPEntry.getArgRegs(), funcCallCPEntry.getRetRegs());
+            } catch (Throwable e) {
+                context.setError(BLangVMErrors.createError(this.context, ip, e.getMessage()));
+                handleError();
+            }
+            return;
+        }
+
+        if (controlStack.isFull()) {
+            handleStackOverflow();
+            return;
+        }
 
         // TODO : Remove once we handle this properly for return values
         BType[] retTypes = functionInfo.getRetParamTypes();
         BValue[] returnValues = new BValue[retTypes.length];
 
-        StackFrame caleeSF = new StackFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null, returnValues);
+        StackFrame caleeSF = controlStack.newFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null,
+                returnValues);
         copyArgValues(callerSF, caleeSF, funcCallCPEntry.getArgRegs(),
                 functionInfo.getParamTypes());
 
         controlStack.pushFrame(caleeSF);
 
         // Invoke Native function;
-        AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
         try {
             nativeFunction.executeNative(context);
         } catch (Throwable e) {
@@ -2548,7 +3126,7 @@ public class BLangVM {
             return;
         }
         // Copy return values to the callers stack
-        controlStack.popFrame();
+        controlStack.releaseFrame(controlStack.popFrame());
         handleReturnFromNativeCallableUnit(callerSF, funcCallCPEntry.getRetRegs(), returnValues, retTypes);
     }
 
@@ -2646,7 +3224,7 @@ public class BLangVM {
     }
 
     private boolean checkCast(BType sourceType, BType targetType) {
-        if (sourceType.equals(targetType)) {
+        if (sourceType == targetType || sourceType.equals(targetType)) {
             return true;
         }
 
@@ -2684,6 +3262,13 @@ public class BLangVM {
     }
 
     public static boolean checkStructEquivalency(BStructType sourceType, BStructType targetType) {
+        if (sourceType == targetType) {
+            return true;
+        }
+        return CastCompatibilityCache.getInstance().isStructEquivalent(sourceType, targetType);
+    }
+
+    static boolean computeStructEquivalency(BStructType sourceType, BStructType targetType) {
         // Struct Type equivalency
         BStructType.StructField[] sFields = sourceType.getStructFields();
         BStructType.StructField[] tFields = targetType.getStructFields();
@@ -28,6 +28,7 @@ import org.ballerinalang.util.codegen.ActionInfo;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.LineNumberInfo;
 import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.ResourceInfo;
 import org.ballerinalang.util.codegen.StructInfo;
 import org.slf4j.Logger;
@@ -102,9 +103,7 @@ public class BLangVMErrors {
         BStruct error = createBStruct(errorStructInfo);
 
         // Set StackTrace.
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
         return error;
     }
 
@@ -126,9 +125,7 @@ public class BLangVMErrors {
                 sourceType.toString(), targetType.toString());
 
         // Set StackTrace.
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
         return error;
     }
 
@@ -151,9 +148,7 @@ public class BLangVMErrors {
                 sourceTypeName, targetTypeName);
 
         // Set StackTrace.
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
         return error;
     }
 
@@ -176,9 +171,7 @@ public class BLangVMErrors {
                 sourceTypeName, targetTypeName);
 
         // Set StackTrace.
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
         return error;
     }
 
@@ -203,9 +196,7 @@ public class BLangVMErrors {
                     "bvm internal error! incompatible error strut type " + error.getType().getSig().getPkgPath() + ":" +
                             error.getType().getSig().getName());
         }
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
         return error;
     }
 
@@ -228,9 +219,7 @@ public class BLangVMErrors {
         BStruct error = createBStruct(structInfo, values);
 
         // Set StackTrace.
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
         return error;
     }
 
@@ -250,9 +239,7 @@ public class BLangVMErrors {
             StructInfo structInfo = errorPackageInfo.getStructInfo(STRUCT_GENERIC_ERROR);
             error = createBStruct(structInfo);
         }
-        StructInfo stackTrace = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE);
-        BStruct bStackTrace = createBStruct(stackTrace, generateStackTraceItems(context, ip - 1));
-        error.setStackTrace(bStackTrace);
+        setLazyStackTrace(context, ip - 1, error);
     }
 
     /**
@@ -263,19 +250,62 @@ public class BLangVMErrors {
      * @return generated StackTraceItem struct array
      */
     public static BRefValueArray generateStackTraceItems(Context context, int ip) {
-        BRefValueArray stackTraceItems = new BRefValueArray();
-        PackageInfo errorPackageInfo = context.getProgramFile().getPackageInfo(ERROR_PACKAGE);
-        StructInfo stackTraceItem = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE_ITEM);
         ControlStackNew controlStack = context.getControlStackNew();
+        CallableUnitInfo[] callableUnits = new CallableUnitInfo[controlStack.fp + 1];
+        int[] ips = new int[controlStack.fp + 1];
+        captureStackFrames(controlStack, ip, callableUnits, ips);
+        return generateStackTraceItems(context.getProgramFile(), callableUnits, ips);
+    }
 
+    /**
+     * Record the callable units and instruction pointers of the current stack frames, innermost first. Frames
+     * are reused once popped, hence only these values are kept for building the stack trace later.
+     */
+    private static void captureStackFrames(ControlStackNew controlStack, int ip, CallableUnitInfo[] callableUnits,
+                                           int[] ips) {
         int currentIP = ip;
+        StackFrame[] stackFrames = controlStack.getStack();
+        for (int i = controlStack.fp, j = 0; i >= 0; i--, j++) {
+            StackFrame stackFrame = stackFrames[i];
+            callableUnits[j] = stackFrame.callableUnitInfo;
+            ips[j] = currentIP;
+            // Always get the previous instruction pointer.
+            currentIP = stackFrame.retAddrs - 1;
+        }
+    }
+
+    /**
+     * Set a stack trace to the given error, which is built from the current stack frames on the first access.
+     *
+     * @param context current Context
+     * @param ip      instruction pointer where the error occurred
+     * @param error   error Struct to be set the stackTrace
+     */
+    private static void setLazyStackTrace(Context context, int ip, BStruct error) {
+        ControlStackNew controlStack = context.getControlStackNew();
+        CallableUnitInfo[] callableUnits = new CallableUnitInfo[controlStack.fp + 1];
+        int[] ips = new int[controlStack.fp + 1];
+        captureStackFrames(controlStack, ip, callableUnits, ips);
+
+        ProgramFile programFile = context.getProgramFile();
+        error.setStackTrace(() -> {
+            StructInfo stackTrace = programFile.getPackageInfo(ERROR_PACKAGE).getStructInfo(STRUCT_STACKTRACE);
+            return createBStruct(stackTrace, generateStackTraceItems(programFile, callableUnits, ips));
+        });
+    }
+
+    private static BRefValueArray generateStackTraceItems(ProgramFile programFile, CallableUnitInfo[] callableUnits,
+                                                          int[] ips) {
+        BRefValueArray stackTraceItems = new BRefValueArray();
+        PackageInfo errorPackageInfo = programFile.getPackageInfo(ERROR_PACKAGE);
+        StructInfo stackTraceItem = errorPackageInfo.getStructInfo(STRUCT_STACKTRACE_ITEM);
+
         Object[] values;
         int stackTraceLocation = 0;
-        StackFrame[] stackFrames = controlStack.getStack();
-        for (int i = controlStack.fp; i >= 0; i--) {
+        for (int i = 0; i < callableUnits.length; i++) {
             values = new Object[4];
-            StackFrame stackFrame = stackFrames[i];
-            CallableUnitInfo callableUnitInfo = stackFrame.callableUnitInfo;
+            CallableUnitInfo callableUnitInfo = callableUnits[i];
+            int currentIP = ips[i];
             if (callableUnitInfo == null) {
                 continue;
             }
@@ -299,8 +329,6 @@ public class BLangVMErrors {
             }
 
             stackTraceItems.add(stackTraceLocation, createBStruct(stackTraceItem, values));
-            // Always get the previous instruction pointer.
-            currentIP = stackFrame.retAddrs - 1;
             stackTraceLocation++;
         }
         return stackTraceItems;
@@ -90,6 +90,13 @@ public class BLangVMWorkers {
             this.workerInfo = workerInfo;
         }
 
+        /**
+         * Stop executing the worker, if it is still running, as its result is no longer awaited.
+         */
+        public void cancel() {
+            bContext.setCancelled(true);
+        }
+
         @Override
         public WorkerResult call() throws BallerinaException {
             BRefValueArray bRefValueArray = new BRefValueArray(new BArrayType(BTypes.typeAny));
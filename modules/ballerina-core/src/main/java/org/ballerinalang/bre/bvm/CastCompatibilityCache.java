@@ -0,0 +1,117 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.types.BStructType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code CastCompatibilityCache} caches the results of the struct equivalency checks of the VM.
+ * <p>
+ * Types are compared by identity, as each struct type of a program is a single instance. The cache is shared by
+ * all the programs, hence it is cleared once it holds {@link #MAX_ENTRIES} pairs to bound the types it retains.
+ *
+ * @since 0.90
+ */
+public class CastCompatibilityCache {
+
+    public static final int MAX_ENTRIES = 4096;
+
+    private static final CastCompatibilityCache instance = new CastCompatibilityCache();
+
+    private final Map<TypePair, Boolean> results = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    CastCompatibilityCache() {
+    }
+
+    public static CastCompatibilityCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Check whether a value of the source struct type can be used as a value of the target struct type.
+     *
+     * @param sourceType type of the value
+     * @param targetType type the value is cast to
+     * @return true if the source type is equivalent to the target type
+     */
+    public boolean isStructEquivalent(BStructType sourceType, BStructType targetType) {
+        TypePair key = new TypePair(sourceType, targetType);
+        Boolean result = results.get(key);
+        if (result != null) {
+            hitCount.incrementAndGet();
+            return result;
+        }
+
+        missCount.incrementAndGet();
+        boolean equivalent = BLangVM.computeStructEquivalency(sourceType, targetType);
+        if (results.size() >= MAX_ENTRIES) {
+            results.clear();
+        }
+        results.put(key, equivalent);
+        return equivalent;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    /**
+     * Source and target types of a cast, compared by identity.
+     */
+    private static class TypePair {
+        private final BStructType sourceType;
+        private final BStructType targetType;
+
+        TypePair(BStructType sourceType, BStructType targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) obj;
+            return sourceType == other.sourceType && targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        }
+    }
+}
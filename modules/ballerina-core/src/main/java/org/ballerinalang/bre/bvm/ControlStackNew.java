@@ -17,13 +17,33 @@
 */
 package org.ballerinalang.bre.bvm;
 
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.ballerinalang.util.exceptions.BLangExceptionHelper;
+import org.ballerinalang.util.exceptions.RuntimeErrors;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * {@code ControlStack} represents function call stack.
+ * <p>
+ * The stack starts small and grows on demand, up to the limit given by the ballerina.vm.maxStackDepth system
+ * property. Pushing a frame beyond the limit fails with a stack overflow error.
  *
  * @since 0.8.0
  */
 public class ControlStackNew {
-    public static final int DEFAULT_CONTROL_STACK_SIZE = 2000;
+    public static final int INITIAL_CONTROL_STACK_SIZE = 16;
+    public static final int DEFAULT_MAX_STACK_DEPTH = 2000;
+    public static final int MAX_FREE_FRAMES_PER_WORKER = 8;
+
+    private static final int MAX_STACK_DEPTH = Math.max(INITIAL_CONTROL_STACK_SIZE,
+            Integer.getInteger(Constants.SYSTEM_PROP_VM_MAX_STACK_DEPTH, DEFAULT_MAX_STACK_DEPTH));
 
     private StackFrame[] stackFrames;
 
@@ -32,16 +52,97 @@ public class ControlStackNew {
 
     public StackFrame currentFrame;
 
+    // Released frames, kept per worker since the sizes of the local variables and registers depend on the worker.
+    // Created on the first release, as most contexts never return from a callable unit.
+    private Map<WorkerInfo, ArrayDeque<StackFrame>> freeFrames;
+
     public ControlStackNew() {
-        stackFrames = new StackFrame[DEFAULT_CONTROL_STACK_SIZE];
+        stackFrames = new StackFrame[INITIAL_CONTROL_STACK_SIZE];
     }
 
     public StackFrame pushFrame(StackFrame frame) {
+        if (fp + 1 == stackFrames.length) {
+            growStack();
+        }
         stackFrames[++fp] = frame;
         currentFrame = frame;
         return currentFrame;
     }
 
+    /**
+     * Returns true if no more frames can be pushed to this stack.
+     *
+     * @return true if the stack has reached the maximum depth
+     */
+    public boolean isFull() {
+        return fp + 1 >= MAX_STACK_DEPTH;
+    }
+
+    public static int getMaxStackDepth() {
+        return MAX_STACK_DEPTH;
+    }
+
+    private void growStack() {
+        if (stackFrames.length >= MAX_STACK_DEPTH) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.STACK_OVERFLOW,
+                    String.valueOf(MAX_STACK_DEPTH));
+        }
+        stackFrames = Arrays.copyOf(stackFrames, Math.min(stackFrames.length * 2, MAX_STACK_DEPTH));
+    }
+
+    /**
+     * Returns a frame for the given worker, reusing a frame released by an earlier invocation if there is one.
+     *
+     * @param callableUnitInfo callable unit of the frame
+     * @param workerInfo       worker of the callable unit to be executed in the frame
+     * @param retAddrs         return address of the caller
+     * @param retRegIndexes    caller's register indexes for the return values
+     * @return a frame with the local variables and registers set to their zero values
+     */
+    public StackFrame newFrame(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs,
+                               int[] retRegIndexes) {
+        return newFrame(callableUnitInfo, workerInfo, retAddrs, retRegIndexes, null);
+    }
+
+    public StackFrame newFrame(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs,
+                               int[] retRegIndexes, BValue[] returnValues) {
+        ArrayDeque<StackFrame> frames = freeFrames == null ? null : freeFrames.get(workerInfo);
+        if (frames == null || frames.isEmpty()) {
+            return new StackFrame(callableUnitInfo, workerInfo, retAddrs, retRegIndexes, returnValues);
+        }
+
+        StackFrame frame = frames.pop();
+        frame.reuse(callableUnitInfo, retAddrs, retRegIndexes, returnValues);
+        return frame;
+    }
+
+    /**
+     * Releases a popped frame so that it can be reused by a later invocation of the same worker.
+     * The frame must not be accessed after it is released.
+     *
+     * @param frame popped frame
+     */
+    public void releaseFrame(StackFrame frame) {
+        if (frame.workerInfo == null) {
+            return;
+        }
+
+        if (freeFrames == null) {
+            freeFrames = new IdentityHashMap<>();
+        }
+
+        ArrayDeque<StackFrame> frames = freeFrames.get(frame.workerInfo);
+        if (frames == null) {
+            frames = new ArrayDeque<>(MAX_FREE_FRAMES_PER_WORKER);
+            freeFrames.put(frame.workerInfo, frames);
+        } else if (frames.size() >= MAX_FREE_FRAMES_PER_WORKER) {
+            return;
+        }
+
+        frame.clear();
+        frames.push(frame);
+    }
+
     public StackFrame popFrame() {
         StackFrame poppedFrame = currentFrame;
         stackFrames[fp] = null;
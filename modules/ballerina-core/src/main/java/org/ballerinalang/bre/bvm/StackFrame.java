@@ -34,6 +34,14 @@ import java.util.Arrays;
  * @since 0.88
  */
 public class StackFrame {
+    private static final long[] EMPTY_LONG_ARRAY = new long[0];
+    private static final double[] EMPTY_DOUBLE_ARRAY = new double[0];
+    private static final String[] EMPTY_STRING_ARRAY = new String[0];
+    private static final int[] EMPTY_INT_ARRAY = new int[0];
+    private static final byte[][] EMPTY_BLOB_ARRAY = new byte[0][];
+    private static final BRefType[] EMPTY_REF_ARRAY = new BRefType[0];
+    private static final byte[] EMPTY_BLOB = new byte[0];
+
     long[] longLocalVars;
     double[] doubleLocalVars;
     String[] stringLocalVars;
@@ -77,27 +85,7 @@ public class StackFrame {
         this.callableUnitInfo = callableUnitInfo;
         this.packageInfo = callableUnitInfo.getPackageInfo();
         this.workerInfo = workerInfo;
-        CodeAttributeInfo codeAttribInfo = workerInfo.getCodeAttributeInfo();
-
-        this.longLocalVars = new long[codeAttribInfo.getMaxLongLocalVars()];
-        this.doubleLocalVars = new double[codeAttribInfo.getMaxDoubleLocalVars()];
-
-        this.stringLocalVars = new String[codeAttribInfo.getMaxStringLocalVars()];
-        // Setting the zero values for strings
-        Arrays.fill(stringLocalVars, "");
-
-        this.intLocalVars = new int[codeAttribInfo.getMaxIntLocalVars()];
-        this.byteLocalVars = new byte[codeAttribInfo.getMaxByteLocalVars()][];
-        Arrays.fill(byteLocalVars, new byte[0]);
-
-        this.refLocalVars = new BRefType[codeAttribInfo.getMaxRefLocalVars()];
-
-        this.longRegs = new long[codeAttribInfo.getMaxLongRegs()];
-        this.doubleRegs = new double[codeAttribInfo.getMaxDoubleRegs()];
-        this.stringRegs = new String[codeAttribInfo.getMaxStringRegs()];
-        this.intRegs = new int[codeAttribInfo.getMaxIntRegs()];
-        this.byteRegs = new byte[codeAttribInfo.getMaxByteRegs()][];
-        this.refRegs = new BRefType[codeAttribInfo.getMaxRefRegs()];
+        createLocalVarsAndRegs(workerInfo.getCodeAttributeInfo());
 
         this.retAddrs = retAddrs;
         this.retRegIndexes = retRegIndexes;
@@ -115,33 +103,84 @@ public class StackFrame {
 
     public StackFrame(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs, int[] retRegIndexes,
                       BValue[] returnValues) {
+        this(callableUnitInfo, workerInfo, retAddrs, retRegIndexes);
+        this.returnValues = returnValues;
+    }
+
+    /**
+     * Prepare a released frame of the same worker to be pushed again.
+     *
+     * @param callableUnitInfo callable unit of the frame
+     * @param retAddrs         return address of the caller
+     * @param retRegIndexes    caller's register indexes for the return values
+     * @param returnValues     return values of a native callable unit
+     */
+    void reuse(CallableUnitInfo callableUnitInfo, int retAddrs, int[] retRegIndexes, BValue[] returnValues) {
         this.callableUnitInfo = callableUnitInfo;
         this.packageInfo = callableUnitInfo.getPackageInfo();
-        this.workerInfo = workerInfo;
-        CodeAttributeInfo codeAttribInfo = workerInfo.getCodeAttributeInfo();
-
-        this.longLocalVars = new long[codeAttribInfo.getMaxLongLocalVars()];
-        this.doubleLocalVars = new double[codeAttribInfo.getMaxDoubleLocalVars()];
+        this.retAddrs = retAddrs;
+        this.retRegIndexes = retRegIndexes;
+        this.returnValues = returnValues;
+    }
 
-        this.stringLocalVars = new String[codeAttribInfo.getMaxStringLocalVars()];
-        // Setting the zero values for strings
+    /**
+     * Reset the local variables and registers to their zero values, and drop the references held by this frame.
+     */
+    void clear() {
+        Arrays.fill(longLocalVars, 0);
+        Arrays.fill(doubleLocalVars, 0);
         Arrays.fill(stringLocalVars, "");
+        Arrays.fill(intLocalVars, 0);
+        Arrays.fill(byteLocalVars, EMPTY_BLOB);
+        Arrays.fill(refLocalVars, null);
+
+        Arrays.fill(longRegs, 0);
+        Arrays.fill(doubleRegs, 0);
+        Arrays.fill(stringRegs, null);
+        Arrays.fill(intRegs, 0);
+        Arrays.fill(byteRegs, null);
+        Arrays.fill(refRegs, null);
+
+        callableUnitInfo = null;
+        packageInfo = null;
+        retRegIndexes = null;
+        errorThrown = null;
+        argValues = null;
+        returnValues = null;
+    }
 
-        this.intLocalVars = new int[codeAttribInfo.getMaxIntLocalVars()];
-        this.byteLocalVars = new byte[codeAttribInfo.getMaxByteLocalVars()][];
-        Arrays.fill(byteLocalVars, new byte[0]);
-        this.refLocalVars = new BRefType[codeAttribInfo.getMaxRefLocalVars()];
+    private void createLocalVarsAndRegs(CodeAttributeInfo codeAttribInfo) {
+        // Unused variable and register kinds share the same zero length arrays
+        int count = codeAttribInfo.getMaxLongLocalVars();
+        this.longLocalVars = count == 0 ? EMPTY_LONG_ARRAY : new long[count];
+        count = codeAttribInfo.getMaxDoubleLocalVars();
+        this.doubleLocalVars = count == 0 ? EMPTY_DOUBLE_ARRAY : new double[count];
 
-        this.longRegs = new long[codeAttribInfo.getMaxLongRegs()];
-        this.doubleRegs = new double[codeAttribInfo.getMaxDoubleRegs()];
-        this.stringRegs = new String[codeAttribInfo.getMaxStringRegs()];
-        this.intRegs = new int[codeAttribInfo.getMaxIntRegs()];
-        this.byteRegs = new byte[codeAttribInfo.getMaxByteRegs()][];
-        this.refRegs = new BRefType[codeAttribInfo.getMaxRefRegs()];
+        count = codeAttribInfo.getMaxStringLocalVars();
+        this.stringLocalVars = count == 0 ? EMPTY_STRING_ARRAY : new String[count];
+        // Setting the zero values for strings
+        Arrays.fill(stringLocalVars, "");
 
-        this.retAddrs = retAddrs;
-        this.retRegIndexes = retRegIndexes;
-        this.returnValues = returnValues;
+        count = codeAttribInfo.getMaxIntLocalVars();
+        this.intLocalVars = count == 0 ? EMPTY_INT_ARRAY : new int[count];
+        count = codeAttribInfo.getMaxByteLocalVars();
+        this.byteLocalVars = count == 0 ? EMPTY_BLOB_ARRAY : new byte[count][];
+        Arrays.fill(byteLocalVars, EMPTY_BLOB);
+        count = codeAttribInfo.getMaxRefLocalVars();
+        this.refLocalVars = count == 0 ? EMPTY_REF_ARRAY : new BRefType[count];
+
+        count = codeAttribInfo.getMaxLongRegs();
+        this.longRegs = count == 0 ? EMPTY_LONG_ARRAY : new long[count];
+        count = codeAttribInfo.getMaxDoubleRegs();
+        this.doubleRegs = count == 0 ? EMPTY_DOUBLE_ARRAY : new double[count];
+        count = codeAttribInfo.getMaxStringRegs();
+        this.stringRegs = count == 0 ? EMPTY_STRING_ARRAY : new String[count];
+        count = codeAttribInfo.getMaxIntRegs();
+        this.intRegs = count == 0 ? EMPTY_INT_ARRAY : new int[count];
+        count = codeAttribInfo.getMaxByteRegs();
+        this.byteRegs = count == 0 ? EMPTY_BLOB_ARRAY : new byte[count][];
+        count = codeAttribInfo.getMaxRefRegs();
+        this.refRegs = count == 0 ? EMPTY_REF_ARRAY : new BRefType[count];
     }
 
     public long[] getLongLocalVars() {
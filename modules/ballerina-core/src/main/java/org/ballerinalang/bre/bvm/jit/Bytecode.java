@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre.bvm.jit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code Bytecode} is the code of a JVM method, with labels for the targets of the jumps.
+ *
+ * @since 0.90
+ */
+class Bytecode {
+
+    // JVM opcodes used by the compiler
+    static final int ACONST_NULL = 0x01;
+    static final int ICONST_M1 = 0x02;
+    static final int ICONST_0 = 0x03;
+    static final int ICONST_1 = 0x04;
+    static final int LCONST_0 = 0x09;
+    static final int LCONST_1 = 0x0A;
+    static final int DCONST_0 = 0x0E;
+    static final int DCONST_1 = 0x0F;
+    static final int BIPUSH = 0x10;
+    static final int SIPUSH = 0x11;
+    static final int LDC = 0x12;
+    static final int LDC_W = 0x13;
+    static final int LDC2_W = 0x14;
+    static final int ILOAD = 0x15;
+    static final int ALOAD = 0x19;
+    static final int IALOAD = 0x2E;
+    static final int LALOAD = 0x2F;
+    static final int DALOAD = 0x31;
+    static final int AALOAD = 0x32;
+    static final int IASTORE = 0x4F;
+    static final int LASTORE = 0x50;
+    static final int DASTORE = 0x52;
+    static final int AASTORE = 0x53;
+    static final int DUP = 0x59;
+    static final int LADD = 0x61;
+    static final int DADD = 0x63;
+    static final int LSUB = 0x65;
+    static final int DSUB = 0x67;
+    static final int LMUL = 0x69;
+    static final int DMUL = 0x6B;
+    static final int LDIV = 0x6D;
+    static final int DDIV = 0x6F;
+    static final int LREM = 0x71;
+    static final int DREM = 0x73;
+    static final int LNEG = 0x75;
+    static final int DNEG = 0x77;
+    static final int L2D = 0x8A;
+    static final int D2L = 0x8F;
+    static final int LCMP = 0x94;
+    static final int DCMPL = 0x97;
+    static final int DCMPG = 0x98;
+    static final int IFEQ = 0x99;
+    static final int IFNE = 0x9A;
+    static final int IFLT = 0x9B;
+    static final int IFGE = 0x9C;
+    static final int IFGT = 0x9D;
+    static final int IFLE = 0x9E;
+    static final int IF_ICMPEQ = 0x9F;
+    static final int IF_ICMPNE = 0xA0;
+    static final int IF_ACMPEQ = 0xA5;
+    static final int IF_ACMPNE = 0xA6;
+    static final int GOTO = 0xA7;
+    static final int TABLESWITCH = 0xAA;
+    static final int IRETURN = 0xAC;
+    static final int RETURN = 0xB1;
+    static final int INVOKEVIRTUAL = 0xB6;
+    static final int INVOKESPECIAL = 0xB7;
+    static final int NEW = 0xBB;
+    static final int IFNULL = 0xC6;
+    static final int IFNONNULL = 0xC7;
+
+    private final ClassFileWriter classFileWriter;
+    private final List<Jump> jumps = new ArrayList<>();
+    private byte[] code = new byte[256];
+    private int length;
+
+    Bytecode(ClassFileWriter classFileWriter) {
+        this.classFileWriter = classFileWriter;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void op(int opcode) {
+        putByte(opcode);
+    }
+
+    void op(int opcode, int index) {
+        if (index > 0xFF) {
+            throw new IllegalStateException("local variable index out of range: " + index);
+        }
+        putByte(opcode);
+        putByte(index);
+    }
+
+    void pushInt(int value) throws IOException {
+        if (value >= -1 && value <= 5) {
+            putByte(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            putByte(BIPUSH);
+            putByte(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            putByte(SIPUSH);
+            putShort(value);
+        } else {
+            putByte(LDC_W);
+            putShort(classFileWriter.integerConstant(value));
+        }
+    }
+
+    void pushLong(long value) throws IOException {
+        if (value == 0 || value == 1) {
+            putByte(LCONST_0 + (int) value);
+        } else {
+            putByte(LDC2_W);
+            putShort(classFileWriter.longConstant(value));
+        }
+    }
+
+    void pushDouble(double value) throws IOException {
+        // Compare the bits, so that -0.0 is loaded from the constant pool
+        if (Double.doubleToRawLongBits(value) == 0L || value == 1.0) {
+            putByte(DCONST_0 + (int) value);
+        } else {
+            putByte(LDC2_W);
+            putShort(classFileWriter.doubleConstant(value));
+        }
+    }
+
+    void pushString(String value) throws IOException {
+        int index = classFileWriter.string(value);
+        if (index <= 0xFF) {
+            putByte(LDC);
+            putByte(index);
+        } else {
+            putByte(LDC_W);
+            putShort(index);
+        }
+    }
+
+    void invoke(int opcode, String owner, String name, String descriptor) throws IOException {
+        putByte(opcode);
+        putShort(classFileWriter.methodRef(owner, name, descriptor));
+    }
+
+    void newObject(String internalName) throws IOException {
+        putByte(NEW);
+        putShort(classFileWriter.classRef(internalName));
+    }
+
+    /**
+     * Add a jump instruction to the given label.
+     *
+     * @param opcode opcode of a branch instruction or {@link #GOTO}
+     * @param label  target of the jump
+     */
+    void jump(int opcode, Label label) {
+        jumps.add(new Jump(label, length, length + 1, false));
+        putByte(opcode);
+        putShort(0);
+    }
+
+    /**
+     * Add a table switch on the int at the top of the operand stack.
+     *
+     * @param low          value of the first case
+     * @param defaultLabel target of the values without a case
+     * @param labels       targets of the cases
+     */
+    void tableSwitch(int low, Label defaultLabel, Label[] labels) {
+        int position = length;
+        putByte(TABLESWITCH);
+        // The offsets are aligned to four bytes from the start of the code
+        while (length % 4 != 0) {
+            putByte(0);
+        }
+        jumps.add(new Jump(defaultLabel, position, length, true));
+        putInt(0);
+        putInt(low);
+        putInt(low + labels.length - 1);
+        for (Label label : labels) {
+            jumps.add(new Jump(label, position, length, true));
+            putInt(0);
+        }
+    }
+
+    void mark(Label label) {
+        label.position = length;
+    }
+
+    byte[] toByteArray() {
+        for (Jump jump : jumps) {
+            if (jump.label.position < 0) {
+                throw new IllegalStateException("jump to an unmarked label");
+            }
+            int offset = jump.label.position - jump.position;
+            if (jump.wide) {
+                setInt(jump.offsetPosition, offset);
+            } else if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                throw new IllegalStateException("jump offset out of range: " + offset);
+            } else {
+                code[jump.offsetPosition] = (byte) (offset >> 8);
+                code[jump.offsetPosition + 1] = (byte) offset;
+            }
+        }
+        return Arrays.copyOf(code, length);
+    }
+
+    private void putByte(int value) {
+        if (length == code.length) {
+            code = Arrays.copyOf(code, code.length * 2);
+        }
+        code[length++] = (byte) value;
+    }
+
+    private void putShort(int value) {
+        putByte(value >> 8);
+        putByte(value);
+    }
+
+    private void putInt(int value) {
+        putShort(value >> 16);
+        putShort(value);
+    }
+
+    private void setInt(int position, int value) {
+        code[position] = (byte) (value >> 24);
+        code[position + 1] = (byte) (value >> 16);
+        code[position + 2] = (byte) (value >> 8);
+        code[position + 3] = (byte) value;
+    }
+
+    /**
+     * Position in the code which is the target of jumps.
+     */
+    static class Label {
+        private int position = -1;
+    }
+
+    /**
+     * Jump instruction with the offset to be set once the label is marked.
+     */
+    private static class Jump {
+        private final Label label;
+        private final int position;
+        private final int offsetPosition;
+        private final boolean wide;
+
+        Jump(Label label, int position, int offsetPosition, boolean wide) {
+            this.label = label;
+            this.position = position;
+            this.offsetPosition = offsetPosition;
+            this.wide = wide;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre.bvm.jit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code ClassFileWriter} writes a JVM class file with a constant pool and methods, but no fields or interfaces.
+ * <p>
+ * Class files are written with the version 49 (Java 5), which does not require stack map frames. The JVM verifies
+ * these class files with the type inferencing verifier.
+ *
+ * @since 0.90
+ */
+class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int MAJOR_VERSION = 49;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndexes = new HashMap<>();
+    private int poolCount = 1;
+
+    private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+    private final DataOutputStream methods = new DataOutputStream(methodBytes);
+    private int methodCount;
+
+    private final int thisClass;
+    private final int superClass;
+
+    /**
+     * Create a writer of a class.
+     *
+     * @param className      internal name of the class
+     * @param superClassName internal name of the super class
+     * @throws IOException if a name cannot be written to the constant pool
+     */
+    ClassFileWriter(String className, String superClassName) throws IOException {
+        this.thisClass = classRef(className);
+        this.superClass = classRef(superClassName);
+    }
+
+    int utf8(String value) throws IOException {
+        String key = "U" + value;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        pool.writeByte(CONSTANT_UTF8);
+        pool.writeUTF(value);
+        return addPoolEntry(key, 1);
+    }
+
+    int integerConstant(int value) throws IOException {
+        String key = "I" + value;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        pool.writeByte(CONSTANT_INTEGER);
+        pool.writeInt(value);
+        return addPoolEntry(key, 1);
+    }
+
+    int longConstant(long value) throws IOException {
+        String key = "J" + value;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        pool.writeByte(CONSTANT_LONG);
+        pool.writeLong(value);
+        // Long and double constants take two entries of the constant pool
+        return addPoolEntry(key, 2);
+    }
+
+    int doubleConstant(double value) throws IOException {
+        long bits = Double.doubleToRawLongBits(value);
+        String key = "D" + bits;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        pool.writeByte(CONSTANT_DOUBLE);
+        pool.writeLong(bits);
+        return addPoolEntry(key, 2);
+    }
+
+    int classRef(String internalName) throws IOException {
+        String key = "C" + internalName;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        int nameIndex = utf8(internalName);
+        pool.writeByte(CONSTANT_CLASS);
+        pool.writeShort(nameIndex);
+        return addPoolEntry(key, 1);
+    }
+
+    int string(String value) throws IOException {
+        String key = "S" + value;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        int valueIndex = utf8(value);
+        pool.writeByte(CONSTANT_STRING);
+        pool.writeShort(valueIndex);
+        return addPoolEntry(key, 1);
+    }
+
+    int methodRef(String owner, String name, String descriptor) throws IOException {
+        String key = "M" + owner + "." + name + descriptor;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        int classIndex = classRef(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+        pool.writeByte(CONSTANT_METHODREF);
+        pool.writeShort(classIndex);
+        pool.writeShort(nameAndTypeIndex);
+        return addPoolEntry(key, 1);
+    }
+
+    private int nameAndType(String name, String descriptor) throws IOException {
+        String key = "N" + name + ":" + descriptor;
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        pool.writeByte(CONSTANT_NAME_AND_TYPE);
+        pool.writeShort(nameIndex);
+        pool.writeShort(descriptorIndex);
+        return addPoolEntry(key, 1);
+    }
+
+    private int addPoolEntry(String key, int size) {
+        int index = poolCount;
+        poolIndexes.put(key, index);
+        poolCount += size;
+        if (poolCount > 0xFFFF) {
+            throw new IllegalStateException("too many constant pool entries");
+        }
+        return index;
+    }
+
+    /**
+     * Add a method with the given code. The constants used by the code should already be in the constant pool.
+     *
+     * @param access     access flags of the method
+     * @param name       name of the method
+     * @param descriptor descriptor of the method
+     * @param code       code of the method
+     * @param maxStack   maximum depth of the operand stack
+     * @param maxLocals  number of local variables, including the parameters
+     * @throws IOException if the method cannot be written
+     */
+    void addMethod(int access, String name, String descriptor, Bytecode code, int maxStack, int maxLocals)
+            throws IOException {
+        byte[] bytes = code.toByteArray();
+        int codeAttributeName = utf8("Code");
+
+        methods.writeShort(access);
+        methods.writeShort(utf8(name));
+        methods.writeShort(utf8(descriptor));
+        methods.writeShort(1);
+
+        methods.writeShort(codeAttributeName);
+        methods.writeInt(12 + bytes.length);
+        methods.writeShort(maxStack);
+        methods.writeShort(maxLocals);
+        methods.writeInt(bytes.length);
+        methods.write(bytes);
+        // No exception table and attributes
+        methods.writeShort(0);
+        methods.writeShort(0);
+        methodCount++;
+    }
+
+    byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream classBytes = new ByteArrayOutputStream(poolBytes.size() + methodBytes.size() + 32);
+        DataOutputStream out = new DataOutputStream(classBytes);
+        out.writeInt(MAGIC);
+        out.writeShort(0);
+        out.writeShort(MAJOR_VERSION);
+        out.writeShort(poolCount);
+        poolBytes.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        // Interfaces and fields
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(methodCount);
+        methodBytes.writeTo(out);
+        // Attributes
+        out.writeShort(0);
+        out.flush();
+        return classBytes.toByteArray();
+    }
+}
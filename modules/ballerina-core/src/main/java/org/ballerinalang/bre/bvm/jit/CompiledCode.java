@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.values.BRefType;
+
+/**
+ * {@code CompiledCode} is the JVM bytecode compiled from the instructions of a hot worker of a callable unit.
+ * <p>
+ * The compiled code works directly on the registers and local variables of the stack frame, hence the VM can switch
+ * between the compiled code and the interpreter at any instruction without converting the state of the frame.
+ *
+ * @since 0.90
+ */
+public abstract class CompiledCode {
+
+    /**
+     * Code of the workers which could not be compiled. It always returns to the interpreter.
+     */
+    public static final CompiledCode INTERPRETED = new CompiledCode() {
+        @Override
+        public int exec(long[] longRegs, double[] doubleRegs, String[] stringRegs, int[] intRegs,
+                        BRefType[] refRegs, long[] longLocalVars, double[] doubleLocalVars,
+                        String[] stringLocalVars, int[] intLocalVars, BRefType[] refLocalVars,
+                        Context context, int ip) {
+            return ip;
+        }
+    };
+
+    protected CompiledCode() {
+    }
+
+    /**
+     * Execute the compiled instructions from the given instruction, until reaching an instruction which is not
+     * compiled.
+     *
+     * @param longRegs        long registers of the stack frame
+     * @param doubleRegs      double registers of the stack frame
+     * @param stringRegs      string registers of the stack frame
+     * @param intRegs         int registers of the stack frame
+     * @param refRegs         reference registers of the stack frame
+     * @param longLocalVars   long local variables of the stack frame
+     * @param doubleLocalVars double local variables of the stack frame
+     * @param stringLocalVars string local variables of the stack frame
+     * @param intLocalVars    int local variables of the stack frame
+     * @param refLocalVars    reference local variables of the stack frame
+     * @param context         context of the execution
+     * @param ip              address of the first instruction to execute
+     * @return address of the next instruction for the interpreter, which is the given address if it is not compiled,
+     * or -1 to stop the execution
+     */
+    public abstract int exec(long[] longRegs, double[] doubleRegs, String[] stringRegs, int[] intRegs,
+                             BRefType[] refRegs, long[] longLocalVars, double[] doubleLocalVars,
+                             String[] stringLocalVars, int[] intLocalVars, BRefType[] refLocalVars,
+                             Context context, int ip);
+}
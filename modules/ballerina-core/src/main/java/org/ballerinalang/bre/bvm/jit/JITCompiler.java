@@ -0,0 +1,660 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code JITCompiler} compiles the instructions of a hot worker to JVM bytecode.
+ * <p>
+ * The instructions reachable from the start of the worker are compiled to a single method, which starts with a
+ * switch on the address of the instruction to execute. Constants, loads and stores of local variables, arithmetic,
+ * comparisons and branches are compiled, working directly on the registers of the stack frame. The method returns to
+ * the interpreter on any other instruction, such as a call or a return, and on a division by zero, so that the
+ * interpreter raises the error.
+ *
+ * @since 0.90
+ */
+public class JITCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JITCompiler.class);
+
+    /**
+     * Number of invocations of a worker after which it is compiled.
+     */
+    public static final int INVOCATION_THRESHOLD =
+            Integer.getInteger(Constants.SYSTEM_PROP_VM_JIT_INVOCATION_THRESHOLD, 1000);
+
+    /**
+     * Number of backward jumps in a worker after which it is compiled.
+     */
+    public static final int BACK_EDGE_THRESHOLD =
+            Integer.getInteger(Constants.SYSTEM_PROP_VM_JIT_BACK_EDGE_THRESHOLD, 10000);
+
+    private static final String COMPILED_CODE_CLASS = "org/ballerinalang/bre/bvm/jit/CompiledCode";
+    private static final String GENERATED_CLASS_PREFIX = "org/ballerinalang/bre/bvm/jit/generated/CompiledWorker";
+    private static final String CONTEXT_CLASS = "org/ballerinalang/bre/Context";
+    private static final String STRING_BUILDER_CLASS = "java/lang/StringBuilder";
+    private static final String REF_ARRAY = "[Lorg/ballerinalang/model/values/BRefType;";
+    private static final String EXEC_DESCRIPTOR = "([J[D[Ljava/lang/String;[I" + REF_ARRAY +
+            "[J[D[Ljava/lang/String;[I" + REF_ARRAY + "L" + CONTEXT_CLASS + ";I)I";
+
+    // Local variables of the exec method
+    private static final int LONG_REGS = 1;
+    private static final int DOUBLE_REGS = 2;
+    private static final int STRING_REGS = 3;
+    private static final int INT_REGS = 4;
+    private static final int REF_REGS = 5;
+    private static final int LONG_LOCAL_VARS = 6;
+    private static final int DOUBLE_LOCAL_VARS = 7;
+    private static final int STRING_LOCAL_VARS = 8;
+    private static final int INT_LOCAL_VARS = 9;
+    private static final int REF_LOCAL_VARS = 10;
+    private static final int CONTEXT = 11;
+    private static final int IP = 12;
+    private static final int MAX_LOCALS = 13;
+    private static final int MAX_STACK = 10;
+
+    // Limits which keep the offsets of the jumps in the generated code within 16 bits
+    private static final int MAX_INSTRUCTIONS = 2000;
+    private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+    private static final AtomicInteger compiledWorkerCount = new AtomicInteger();
+
+    private final Instruction[] instructions;
+    private final ConstantPoolEntry[] constPool;
+    private final Map<Integer, Bytecode.Label> exitLabels = new HashMap<>();
+    private Bytecode.Label[] labels;
+    private Bytecode code;
+
+    private JITCompiler(Instruction[] instructions, ConstantPoolEntry[] constPool) {
+        this.instructions = instructions;
+        this.constPool = constPool;
+    }
+
+    /**
+     * Compile the instructions of a worker.
+     *
+     * @param packageInfo package of the worker
+     * @param workerInfo  worker to compile
+     * @return the compiled code, or {@link CompiledCode#INTERPRETED} if the worker cannot be compiled
+     */
+    public static CompiledCode compile(PackageInfo packageInfo, WorkerInfo workerInfo) {
+        int startIp = workerInfo.getCodeAttributeInfo().getCodeAddrs();
+        Instruction[] instructions = packageInfo.getInstructions();
+        if (instructions == null || startIp < 0 || startIp >= instructions.length) {
+            return CompiledCode.INTERPRETED;
+        }
+
+        long startTime = System.nanoTime();
+        String className = GENERATED_CLASS_PREFIX + compiledWorkerCount.incrementAndGet();
+        try {
+            byte[] classFile = new JITCompiler(instructions, packageInfo.getConstPool()).compile(className, startIp);
+            if (classFile == null) {
+                logger.debug("worker '" + workerInfo.getWorkerName() + "' at " + startIp + " is not compiled");
+                return CompiledCode.INTERPRETED;
+            }
+
+            CompiledCode compiledCode = new CodeLoader().define(className.replace('/', '.'), classFile);
+            if (logger.isDebugEnabled()) {
+                logger.debug("compiled worker '" + workerInfo.getWorkerName() + "' at " + startIp + " to " +
+                        classFile.length + " bytes in " + (System.nanoTime() - startTime) / 1000 + " us");
+            }
+            return compiledCode;
+        } catch (IOException | RuntimeException | LinkageError | ReflectiveOperationException e) {
+            logger.warn("failed to compile worker '" + workerInfo.getWorkerName() + "' at " + startIp + ": " +
+                    e.getMessage(), e);
+            return CompiledCode.INTERPRETED;
+        }
+    }
+
+    private byte[] compile(String className, int startIp) throws IOException {
+        BitSet selected = selectInstructions(startIp);
+        if (selected.isEmpty()) {
+            return null;
+        }
+
+        ClassFileWriter classFileWriter = new ClassFileWriter(className, COMPILED_CODE_CLASS);
+        Bytecode constructor = new Bytecode(classFileWriter);
+        constructor.op(Bytecode.ALOAD, 0);
+        constructor.invoke(Bytecode.INVOKESPECIAL, COMPILED_CODE_CLASS, "<init>", "()V");
+        constructor.op(Bytecode.RETURN);
+        classFileWriter.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", constructor, 1, 1);
+
+        code = new Bytecode(classFileWriter);
+        labels = new Bytecode.Label[instructions.length];
+        for (int ip = selected.nextSetBit(0); ip >= 0; ip = selected.nextSetBit(ip + 1)) {
+            labels[ip] = new Bytecode.Label();
+        }
+
+        // Jump to the instruction to execute, or return it to the interpreter if it is not compiled
+        int low = selected.nextSetBit(0);
+        Bytecode.Label interpretLabel = new Bytecode.Label();
+        Bytecode.Label[] cases = new Bytecode.Label[selected.length() - low];
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = labels[low + i] != null ? labels[low + i] : interpretLabel;
+        }
+        code.op(Bytecode.ILOAD, IP);
+        code.tableSwitch(low, interpretLabel, cases);
+        code.mark(interpretLabel);
+        code.op(Bytecode.ILOAD, IP);
+        code.op(Bytecode.IRETURN);
+
+        for (int ip = selected.nextSetBit(0); ip >= 0; ip = selected.nextSetBit(ip + 1)) {
+            code.mark(labels[ip]);
+            int opcode = instructions[ip].getOpcode();
+            compileInstruction(ip, opcode, instructions[ip].getOperands());
+            if (opcode != InstructionCodes.GOTO && opcode != InstructionCodes.HALT && !selected.get(ip + 1)) {
+                exitTo(ip + 1);
+            }
+            if (code.length() > MAX_CODE_LENGTH) {
+                return null;
+            }
+        }
+
+        for (Map.Entry<Integer, Bytecode.Label> exit : exitLabels.entrySet()) {
+            code.mark(exit.getValue());
+            exitTo(exit.getKey());
+        }
+        if (code.length() > MAX_CODE_LENGTH) {
+            return null;
+        }
+
+        classFileWriter.addMethod(ClassFileWriter.ACC_PUBLIC, "exec", EXEC_DESCRIPTOR, code, MAX_STACK, MAX_LOCALS);
+        return classFileWriter.toByteArray();
+    }
+
+    /**
+     * Select the compiled instructions, which are the supported instructions reachable from the start of the worker.
+     * The interpreter usually continues with the next instruction after an instruction which is not supported, such as
+     * a call, hence the instructions following them are selected too.
+     */
+    private BitSet selectInstructions(int startIp) {
+        BitSet selected = new BitSet();
+        BitSet visited = new BitSet();
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(startIp);
+
+        int count = 0;
+        while (!pending.isEmpty() && count < MAX_INSTRUCTIONS) {
+            int ip = pending.pop();
+            if (ip < 0 || ip >= instructions.length || visited.get(ip)) {
+                continue;
+            }
+            visited.set(ip);
+
+            Instruction instruction = instructions[ip];
+            int opcode = instruction.getOpcode();
+            if (!isSupported(opcode, instruction.getOperands())) {
+                if (opcode != InstructionCodes.RET) {
+                    pending.push(ip + 1);
+                }
+                continue;
+            }
+
+            selected.set(ip);
+            count++;
+            if (opcode == InstructionCodes.GOTO) {
+                pending.push(instruction.getOperands()[0]);
+            } else if (opcode != InstructionCodes.HALT) {
+                pending.push(ip + 1);
+                if (isBranch(opcode)) {
+                    pending.push(instruction.getOperands()[1]);
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isSupported(int opcode, int[] operands) {
+        switch (opcode) {
+            case InstructionCodes.HALT:
+                return operands.length == 0;
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+            case InstructionCodes.BCONST_0:
+            case InstructionCodes.BCONST_1:
+            case InstructionCodes.RCONST_NULL:
+            case InstructionCodes.GOTO:
+                return operands.length == 1;
+            case InstructionCodes.ICONST:
+            case InstructionCodes.FCONST:
+            case InstructionCodes.SCONST:
+            case InstructionCodes.ILOAD:
+            case InstructionCodes.FLOAD:
+            case InstructionCodes.SLOAD:
+            case InstructionCodes.BLOAD:
+            case InstructionCodes.RLOAD:
+            case InstructionCodes.ISTORE:
+            case InstructionCodes.FSTORE:
+            case InstructionCodes.SSTORE:
+            case InstructionCodes.BSTORE:
+            case InstructionCodes.RSTORE:
+            case InstructionCodes.INEG:
+            case InstructionCodes.FNEG:
+            case InstructionCodes.BNOT:
+            case InstructionCodes.I2F:
+            case InstructionCodes.F2I:
+            case InstructionCodes.REQ_NULL:
+            case InstructionCodes.RNE_NULL:
+            case InstructionCodes.BR_TRUE:
+            case InstructionCodes.BR_FALSE:
+                return operands.length == 2;
+            case InstructionCodes.IADD:
+            case InstructionCodes.FADD:
+            case InstructionCodes.SADD:
+            case InstructionCodes.ISUB:
+            case InstructionCodes.FSUB:
+            case InstructionCodes.IMUL:
+            case InstructionCodes.FMUL:
+            case InstructionCodes.IDIV:
+            case InstructionCodes.FDIV:
+            case InstructionCodes.IMOD:
+            case InstructionCodes.FMOD:
+            case InstructionCodes.IEQ:
+            case InstructionCodes.FEQ:
+            case InstructionCodes.BEQ:
+            case InstructionCodes.REQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.FNE:
+            case InstructionCodes.BNE:
+            case InstructionCodes.RNE:
+            case InstructionCodes.IGT:
+            case InstructionCodes.FGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.FGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.FLT:
+            case InstructionCodes.ILE:
+            case InstructionCodes.FLE:
+                return operands.length == 3;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isBranch(int opcode) {
+        return opcode == InstructionCodes.REQ_NULL || opcode == InstructionCodes.RNE_NULL ||
+                opcode == InstructionCodes.BR_TRUE || opcode == InstructionCodes.BR_FALSE;
+    }
+
+    private void compileInstruction(int ip, int opcode, int[] operands) throws IOException {
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+                prepareStore(LONG_REGS, operands[1]);
+                code.pushLong(((IntegerCPEntry) constPool[operands[0]]).getValue());
+                code.op(Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FCONST:
+                prepareStore(DOUBLE_REGS, operands[1]);
+                code.pushDouble(((FloatCPEntry) constPool[operands[0]]).getValue());
+                code.op(Bytecode.DASTORE);
+                break;
+            case InstructionCodes.SCONST:
+                String value = ((StringCPEntry) constPool[operands[0]]).getValue();
+                prepareStore(STRING_REGS, operands[1]);
+                if (value == null) {
+                    code.op(Bytecode.ACONST_NULL);
+                } else {
+                    code.pushString(value);
+                }
+                code.op(Bytecode.AASTORE);
+                break;
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                prepareStore(LONG_REGS, operands[0]);
+                code.pushLong(opcode - InstructionCodes.ICONST_0);
+                code.op(Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+                prepareStore(DOUBLE_REGS, operands[0]);
+                code.pushDouble(opcode - InstructionCodes.FCONST_0);
+                code.op(Bytecode.DASTORE);
+                break;
+            case InstructionCodes.BCONST_0:
+            case InstructionCodes.BCONST_1:
+                prepareStore(INT_REGS, operands[0]);
+                code.pushInt(opcode - InstructionCodes.BCONST_0);
+                code.op(Bytecode.IASTORE);
+                break;
+            case InstructionCodes.RCONST_NULL:
+                prepareStore(REF_REGS, operands[0]);
+                code.op(Bytecode.ACONST_NULL);
+                code.op(Bytecode.AASTORE);
+                break;
+
+            case InstructionCodes.ILOAD:
+                move(LONG_LOCAL_VARS, operands[0], LONG_REGS, operands[1], Bytecode.LALOAD, Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FLOAD:
+                move(DOUBLE_LOCAL_VARS, operands[0], DOUBLE_REGS, operands[1], Bytecode.DALOAD, Bytecode.DASTORE);
+                break;
+            case InstructionCodes.SLOAD:
+                move(STRING_LOCAL_VARS, operands[0], STRING_REGS, operands[1], Bytecode.AALOAD, Bytecode.AASTORE);
+                break;
+            case InstructionCodes.BLOAD:
+                move(INT_LOCAL_VARS, operands[0], INT_REGS, operands[1], Bytecode.IALOAD, Bytecode.IASTORE);
+                break;
+            case InstructionCodes.RLOAD:
+                move(REF_LOCAL_VARS, operands[0], REF_REGS, operands[1], Bytecode.AALOAD, Bytecode.AASTORE);
+                break;
+            case InstructionCodes.ISTORE:
+                move(LONG_REGS, operands[0], LONG_LOCAL_VARS, operands[1], Bytecode.LALOAD, Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FSTORE:
+                move(DOUBLE_REGS, operands[0], DOUBLE_LOCAL_VARS, operands[1], Bytecode.DALOAD, Bytecode.DASTORE);
+                break;
+            case InstructionCodes.SSTORE:
+                move(STRING_REGS, operands[0], STRING_LOCAL_VARS, operands[1], Bytecode.AALOAD, Bytecode.AASTORE);
+                break;
+            case InstructionCodes.BSTORE:
+                move(INT_REGS, operands[0], INT_LOCAL_VARS, operands[1], Bytecode.IALOAD, Bytecode.IASTORE);
+                break;
+            case InstructionCodes.RSTORE:
+                move(REF_REGS, operands[0], REF_LOCAL_VARS, operands[1], Bytecode.AALOAD, Bytecode.AASTORE);
+                break;
+
+            case InstructionCodes.IADD:
+                binary(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LADD, Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FADD:
+                binary(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DADD, Bytecode.DASTORE);
+                break;
+            case InstructionCodes.ISUB:
+                binary(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LSUB, Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FSUB:
+                binary(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DSUB, Bytecode.DASTORE);
+                break;
+            case InstructionCodes.IMUL:
+                binary(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LMUL, Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FMUL:
+                binary(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DMUL, Bytecode.DASTORE);
+                break;
+            case InstructionCodes.IDIV:
+            case InstructionCodes.IMOD:
+                // Let the interpreter raise the division by zero error
+                load(LONG_REGS, operands[1], Bytecode.LALOAD);
+                code.op(Bytecode.LCONST_0);
+                code.op(Bytecode.LCMP);
+                code.jump(Bytecode.IFEQ, exitLabel(ip));
+                binary(LONG_REGS, operands, Bytecode.LALOAD,
+                        opcode == InstructionCodes.IDIV ? Bytecode.LDIV : Bytecode.LREM, Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FDIV:
+            case InstructionCodes.FMOD:
+                load(DOUBLE_REGS, operands[1], Bytecode.DALOAD);
+                code.op(Bytecode.DCONST_0);
+                code.op(Bytecode.DCMPL);
+                code.jump(Bytecode.IFEQ, exitLabel(ip));
+                binary(DOUBLE_REGS, operands, Bytecode.DALOAD,
+                        opcode == InstructionCodes.FDIV ? Bytecode.DDIV : Bytecode.DREM, Bytecode.DASTORE);
+                break;
+            case InstructionCodes.SADD:
+                prepareStore(STRING_REGS, operands[2]);
+                code.newObject(STRING_BUILDER_CLASS);
+                code.op(Bytecode.DUP);
+                code.invoke(Bytecode.INVOKESPECIAL, STRING_BUILDER_CLASS, "<init>", "()V");
+                load(STRING_REGS, operands[0], Bytecode.AALOAD);
+                code.invoke(Bytecode.INVOKEVIRTUAL, STRING_BUILDER_CLASS, "append",
+                        "(Ljava/lang/String;)Ljava/lang/StringBuilder;");
+                load(STRING_REGS, operands[1], Bytecode.AALOAD);
+                code.invoke(Bytecode.INVOKEVIRTUAL, STRING_BUILDER_CLASS, "append",
+                        "(Ljava/lang/String;)Ljava/lang/StringBuilder;");
+                code.invoke(Bytecode.INVOKEVIRTUAL, STRING_BUILDER_CLASS, "toString", "()Ljava/lang/String;");
+                code.op(Bytecode.AASTORE);
+                break;
+            case InstructionCodes.INEG:
+                unary(LONG_REGS, operands[0], Bytecode.LALOAD, Bytecode.LNEG, LONG_REGS, operands[1],
+                        Bytecode.LASTORE);
+                break;
+            case InstructionCodes.FNEG:
+                unary(DOUBLE_REGS, operands[0], Bytecode.DALOAD, Bytecode.DNEG, DOUBLE_REGS, operands[1],
+                        Bytecode.DASTORE);
+                break;
+            case InstructionCodes.I2F:
+                unary(LONG_REGS, operands[0], Bytecode.LALOAD, Bytecode.L2D, DOUBLE_REGS, operands[1],
+                        Bytecode.DASTORE);
+                break;
+            case InstructionCodes.F2I:
+                unary(DOUBLE_REGS, operands[0], Bytecode.DALOAD, Bytecode.D2L, LONG_REGS, operands[1],
+                        Bytecode.LASTORE);
+                break;
+            case InstructionCodes.BNOT:
+                prepareStore(INT_REGS, operands[1]);
+                load(INT_REGS, operands[0], Bytecode.IALOAD);
+                pushCondition(Bytecode.IFEQ);
+                code.op(Bytecode.IASTORE);
+                break;
+
+            case InstructionCodes.IEQ:
+                compare(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LCMP, Bytecode.IFEQ);
+                break;
+            case InstructionCodes.INE:
+                compare(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LCMP, Bytecode.IFNE);
+                break;
+            case InstructionCodes.IGT:
+                compare(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LCMP, Bytecode.IFGT);
+                break;
+            case InstructionCodes.IGE:
+                compare(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LCMP, Bytecode.IFGE);
+                break;
+            case InstructionCodes.ILT:
+                compare(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LCMP, Bytecode.IFLT);
+                break;
+            case InstructionCodes.ILE:
+                compare(LONG_REGS, operands, Bytecode.LALOAD, Bytecode.LCMP, Bytecode.IFLE);
+                break;
+            // A comparison with NaN is false, hence NaN compares as less for > and >=, and as greater for < and <=
+            case InstructionCodes.FEQ:
+                compare(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DCMPL, Bytecode.IFEQ);
+                break;
+            case InstructionCodes.FNE:
+                compare(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DCMPL, Bytecode.IFNE);
+                break;
+            case InstructionCodes.FGT:
+                compare(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DCMPL, Bytecode.IFGT);
+                break;
+            case InstructionCodes.FGE:
+                compare(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DCMPL, Bytecode.IFGE);
+                break;
+            case InstructionCodes.FLT:
+                compare(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DCMPG, Bytecode.IFLT);
+                break;
+            case InstructionCodes.FLE:
+                compare(DOUBLE_REGS, operands, Bytecode.DALOAD, Bytecode.DCMPG, Bytecode.IFLE);
+                break;
+            case InstructionCodes.BEQ:
+                compare(INT_REGS, operands, Bytecode.IALOAD, -1, Bytecode.IF_ICMPEQ);
+                break;
+            case InstructionCodes.BNE:
+                compare(INT_REGS, operands, Bytecode.IALOAD, -1, Bytecode.IF_ICMPNE);
+                break;
+            case InstructionCodes.REQ:
+                compare(REF_REGS, operands, Bytecode.AALOAD, -1, Bytecode.IF_ACMPEQ);
+                break;
+            case InstructionCodes.RNE:
+                compare(REF_REGS, operands, Bytecode.AALOAD, -1, Bytecode.IF_ACMPNE);
+                break;
+
+            case InstructionCodes.REQ_NULL:
+                load(REF_REGS, operands[0], Bytecode.AALOAD);
+                code.jump(Bytecode.IFNULL, targetLabel(operands[1]));
+                break;
+            case InstructionCodes.RNE_NULL:
+                load(REF_REGS, operands[0], Bytecode.AALOAD);
+                code.jump(Bytecode.IFNONNULL, targetLabel(operands[1]));
+                break;
+            case InstructionCodes.BR_TRUE:
+                load(INT_REGS, operands[0], Bytecode.IALOAD);
+                code.op(Bytecode.ICONST_1);
+                code.jump(Bytecode.IF_ICMPEQ, targetLabel(operands[1]));
+                break;
+            case InstructionCodes.BR_FALSE:
+                load(INT_REGS, operands[0], Bytecode.IALOAD);
+                code.jump(Bytecode.IFEQ, targetLabel(operands[1]));
+                break;
+            case InstructionCodes.GOTO:
+                // Stop the loop of a worker whose result is no longer awaited, as the interpreter does
+                code.op(Bytecode.ALOAD, CONTEXT);
+                code.invoke(Bytecode.INVOKEVIRTUAL, CONTEXT_CLASS, "isCancelled", "()Z");
+                code.jump(Bytecode.IFNE, exitLabel(-1));
+                code.jump(Bytecode.GOTO, targetLabel(operands[0]));
+                break;
+            case InstructionCodes.HALT:
+                exitTo(-1);
+                break;
+            default:
+                throw new IllegalStateException("unsupported opcode " + opcode);
+        }
+    }
+
+    private void load(int slot, int index, int arrayLoadOpcode) throws IOException {
+        code.op(Bytecode.ALOAD, slot);
+        code.pushInt(index);
+        code.op(arrayLoadOpcode);
+    }
+
+    private void prepareStore(int slot, int index) throws IOException {
+        code.op(Bytecode.ALOAD, slot);
+        code.pushInt(index);
+    }
+
+    private void move(int fromSlot, int fromIndex, int toSlot, int toIndex, int arrayLoadOpcode,
+                      int arrayStoreOpcode) throws IOException {
+        prepareStore(toSlot, toIndex);
+        load(fromSlot, fromIndex, arrayLoadOpcode);
+        code.op(arrayStoreOpcode);
+    }
+
+    private void unary(int fromSlot, int fromIndex, int arrayLoadOpcode, int opcode, int toSlot, int toIndex,
+                       int arrayStoreOpcode) throws IOException {
+        prepareStore(toSlot, toIndex);
+        load(fromSlot, fromIndex, arrayLoadOpcode);
+        code.op(opcode);
+        code.op(arrayStoreOpcode);
+    }
+
+    private void binary(int slot, int[] operands, int arrayLoadOpcode, int opcode, int arrayStoreOpcode)
+            throws IOException {
+        prepareStore(slot, operands[2]);
+        load(slot, operands[0], arrayLoadOpcode);
+        load(slot, operands[1], arrayLoadOpcode);
+        code.op(opcode);
+        code.op(arrayStoreOpcode);
+    }
+
+    /**
+     * Store 1 to the int register of the result if the comparison holds, and 0 otherwise.
+     *
+     * @param compareOpcode opcode comparing the values to an int, or -1 if the branch compares the values
+     * @param branchOpcode  opcode of the branch taken when the comparison holds
+     */
+    private void compare(int slot, int[] operands, int arrayLoadOpcode, int compareOpcode, int branchOpcode)
+            throws IOException {
+        prepareStore(INT_REGS, operands[2]);
+        load(slot, operands[0], arrayLoadOpcode);
+        load(slot, operands[1], arrayLoadOpcode);
+        if (compareOpcode >= 0) {
+            code.op(compareOpcode);
+        }
+        pushCondition(branchOpcode);
+        code.op(Bytecode.IASTORE);
+    }
+
+    private void pushCondition(int branchOpcode) throws IOException {
+        Bytecode.Label trueLabel = new Bytecode.Label();
+        Bytecode.Label endLabel = new Bytecode.Label();
+        code.jump(branchOpcode, trueLabel);
+        code.pushInt(0);
+        code.jump(Bytecode.GOTO, endLabel);
+        code.mark(trueLabel);
+        code.pushInt(1);
+        code.mark(endLabel);
+    }
+
+    private Bytecode.Label targetLabel(int ip) {
+        if (ip >= 0 && ip < labels.length && labels[ip] != null) {
+            return labels[ip];
+        }
+        return exitLabel(ip);
+    }
+
+    private Bytecode.Label exitLabel(int ip) {
+        return exitLabels.computeIfAbsent(ip, k -> new Bytecode.Label());
+    }
+
+    private void exitTo(int ip) throws IOException {
+        code.pushInt(ip);
+        code.op(Bytecode.IRETURN);
+    }
+
+    /**
+     * Class loader of a compiled worker, which lets the class be unloaded with the program.
+     */
+    private static class CodeLoader extends ClassLoader {
+
+        CodeLoader() {
+            super(CompiledCode.class.getClassLoader());
+        }
+
+        CompiledCode define(String className, byte[] classFile) throws ReflectiveOperationException {
+            Class<?> compiledClass = defineClass(className, classFile, 0, classFile.length);
+            return (CompiledCode) compiledClass.getDeclaredConstructor().newInstance();
+        }
+    }
+}
@@ -28,12 +28,22 @@ public class ModeResolver {
     private static final ModeResolver instance = new ModeResolver();
     private boolean nonblockingEnabled = false;
     private boolean debugEnabled = false;
+    private boolean packedDispatchEnabled = false;
+    private boolean superinstructionsEnabled = false;
+    private boolean codeOptimizationEnabled = false;
+    private boolean tieredExecutionEnabled = false;
 
     private ModeResolver() {
         String debug = System.getProperty(Constants.SYSTEM_PROP_BAL_DEBUG);
         if (debug != null && !debug.isEmpty()) {
             debugEnabled = true;
         }
+
+        packedDispatchEnabled = Constants.VM_DISPATCH_PACKED.equals(
+                System.getProperty(Constants.SYSTEM_PROP_VM_DISPATCH));
+        superinstructionsEnabled = Boolean.getBoolean(Constants.SYSTEM_PROP_VM_SUPERINSTRUCTIONS);
+        codeOptimizationEnabled = Boolean.getBoolean(Constants.SYSTEM_PROP_CODEGEN_OPTIMIZE);
+        tieredExecutionEnabled = Boolean.getBoolean(Constants.SYSTEM_PROP_VM_TIERED);
     }
 
     public static ModeResolver getInstance() {
@@ -53,4 +63,59 @@ public class ModeResolver {
         return this.debugEnabled;
     }
 
+    /**
+     * Returns whether the VM executes the packed instruction stream with per opcode family handlers,
+     * instead of the single instruction switch.
+     *
+     * @return true if the packed dispatch is enabled
+     */
+    public boolean isPackedDispatchEnabled() {
+        return packedDispatchEnabled && !debugEnabled;
+    }
+
+    public void setPackedDispatchEnabled(boolean enabled) {
+        this.packedDispatchEnabled = enabled;
+    }
+
+    /**
+     * Returns whether the packed dispatch executes frequent instruction sequences as superinstructions.
+     *
+     * @return true if the packed dispatch and the superinstructions are enabled
+     */
+    public boolean isSuperinstructionsEnabled() {
+        return superinstructionsEnabled && isPackedDispatchEnabled();
+    }
+
+    public void setSuperinstructionsEnabled(boolean enabled) {
+        this.superinstructionsEnabled = enabled;
+    }
+
+    /**
+     * Returns whether the code generator optimizes the generated instructions. The optimization is disabled when
+     * debugging, as it moves and removes the instructions of the source lines.
+     *
+     * @return true if the code optimization is enabled
+     */
+    public boolean isCodeOptimizationEnabled() {
+        return codeOptimizationEnabled && !debugEnabled;
+    }
+
+    public void setCodeOptimizationEnabled(boolean enabled) {
+        this.codeOptimizationEnabled = enabled;
+    }
+
+    /**
+     * Returns whether the VM compiles hot workers to JVM bytecode. The tiered execution takes precedence over the
+     * packed dispatch, and is disabled when debugging, as the compiled code does not stop at the break points.
+     *
+     * @return true if the tiered execution is enabled
+     */
+    public boolean isTieredExecutionEnabled() {
+        return tieredExecutionEnabled && !debugEnabled;
+    }
+
+    public void setTieredExecutionEnabled(boolean enabled) {
+        this.tieredExecutionEnabled = enabled;
+    }
+
 }
@@ -50,4 +50,29 @@ public interface DataIterator {
     BValue get(String columnName, int type);
 
     Map<String, Object> getArray(String columnName);
+
+    /*
+     * Below methods access the columns by their 1-based position, which avoids looking up the column by name
+     * for each row.
+     */
+
+    String getString(int columnIndex);
+
+    long getInt(int columnIndex);
+
+    double getFloat(int columnIndex);
+
+    boolean getBoolean(int columnIndex);
+
+    String getObjectAsString(int columnIndex);
+
+    BValue get(int columnIndex, int type);
+
+    /**
+     * Returns the elements of an array column, or null if the column is SQL NULL.
+     *
+     * @param columnIndex 1-based position of the column
+     * @return elements of the array
+     */
+    Object[] getArray(int columnIndex);
 }
@@ -19,15 +19,13 @@ package org.ballerinalang.model;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.ballerinalang.model.values.BDataTable;
 import org.ballerinalang.model.values.BDataTable.ColumnDefinition;
 import org.ballerinalang.model.values.BJSON.JSONDataSource;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * {@link org.ballerinalang.model.values.BJSON.JSONDataSource} implementation for DataTable.
@@ -43,9 +41,17 @@ public class DataTableJSONDataSource implements JSONDataSource {
     private boolean isInTransaction;
 
     public DataTableJSONDataSource(BDataTable df, boolean isInTransaction) {
-        this(df, new DefaultJSONObjectGenerator(), isInTransaction);
+        this(df, null, isInTransaction);
     }
 
+    /**
+     * Creates a JSON data source which converts each row using the given generator.
+     *
+     * @param df              datatable to be converted
+     * @param objGen          generator of the JSON object of a row, or null to write the rows as per the column
+     *                        definitions of the datatable
+     * @param isInTransaction whether the datatable is read within a transaction
+     */
     public DataTableJSONDataSource(BDataTable df, JSONObjectGenerator objGen, boolean isInTransaction) {
         this.df = df;
         this.objGen = objGen;
@@ -56,59 +62,64 @@ public class DataTableJSONDataSource implements JSONDataSource {
     public void serialize(JsonGenerator gen, SerializerProvider serializerProvider) throws IOException {
         gen.writeStartArray();
         while (this.df.hasNext()) {
-            this.objGen.transform(this.df).serialize(gen, serializerProvider);
+            if (this.objGen != null) {
+                this.objGen.transform(this.df).serialize(gen, serializerProvider);
+            } else {
+                writeRow(gen);
+            }
         }
         gen.writeEndArray();
         this.df.close(this.isInTransaction);
     }
 
     /**
-     * Default {@link DataTableJSONDataSource.JSONObjectGenerator} implementation based
-     * on the datatable's in-built column definition.
+     * Writes the current row of the datatable as a JSON object, as per the datatable's in-built column definition.
+     * The fields are written straight to the generator, without building a JSON tree for the row.
+     *
+     * @param gen generator to write the row to
+     * @throws IOException for json serializing errors
      */
-    private static class DefaultJSONObjectGenerator implements JSONObjectGenerator {
-
-        @Override
-        public JsonNode transform(BDataTable df) throws IOException {
-            JsonNodeFactory fac = JsonNodeFactory.instance;
-            ObjectNode objNode = fac.objectNode();
-            String name;
-            for (ColumnDefinition col : df.getColumnDefs()) {
-                name = col.getName();
-                switch (col.getType()) {
-                case STRING:
-                    objNode.put(name, df.getString(name));
-                    break;
-                case INT:
-                    objNode.put(name, df.getInt(name));
-                    break;
-                case FLOAT:
-                    objNode.put(name, df.getFloat(name));
-                    break;
-                case BOOLEAN:
-                    objNode.put(name, df.getBoolean(name));
-                    break;
-                case ARRAY:
-                    //TODO: ARRAY
-                    break;
-                case JSON:
-                    objNode.set(name, new ObjectMapper().readTree(""));
-                    break;
-                case MAP:
-                    //TODO: MAP
-                    break;
-                case XML:
-                    objNode.put(name, "");
-                    //TODO: get XML
-                    break;
-                default:
-                    objNode.put(name, df.getString(name));
-                    break;
+    private void writeRow(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        List<ColumnDefinition> columnDefs = this.df.getColumnDefs();
+        for (int i = 0; i < columnDefs.size(); i++) {
+            ColumnDefinition col = columnDefs.get(i);
+            String name = col.getName();
+            int columnIndex = i + 1;
+            switch (col.getType()) {
+            case INT:
+                gen.writeNumberField(name, df.getInt(columnIndex));
+                break;
+            case FLOAT:
+                gen.writeNumberField(name, df.getFloat(columnIndex));
+                break;
+            case BOOLEAN:
+                gen.writeBooleanField(name, df.getBoolean(columnIndex));
+                break;
+            case ARRAY:
+                //TODO: ARRAY
+                break;
+            case JSON:
+                gen.writeNullField(name);
+                break;
+            case MAP:
+                //TODO: MAP
+                break;
+            case XML:
+                gen.writeStringField(name, "");
+                //TODO: get XML
+                break;
+            default:
+                String value = df.getString(columnIndex);
+                if (value == null) {
+                    gen.writeNullField(name);
+                } else {
+                    gen.writeStringField(name, value);
                 }
+                break;
             }
-            return objNode;
         }
-
+        gen.writeEndObject();
     }
 
     /**
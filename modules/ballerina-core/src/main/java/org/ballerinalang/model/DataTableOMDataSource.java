@@ -20,7 +20,7 @@ package org.ballerinalang.model;
 import org.apache.axiom.om.ds.AbstractPushOMDataSource;
 import org.ballerinalang.model.values.BDataTable;
 
-import java.util.Map;
+import java.util.List;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
@@ -55,29 +55,32 @@ public class DataTableOMDataSource extends AbstractPushOMDataSource {
         xmlStreamWriter.writeStartElement(this.rootWrapper);
         while (dataTable.hasNext()) {
             xmlStreamWriter.writeStartElement(this.rowWrapper);
-            for (BDataTable.ColumnDefinition col : dataTable.getColumnDefs()) {
+            List<BDataTable.ColumnDefinition> columnDefs = dataTable.getColumnDefs();
+            for (int i = 0; i < columnDefs.size(); i++) {
+                BDataTable.ColumnDefinition col = columnDefs.get(i);
+                int columnIndex = i + 1;
                 boolean isArray = false;
                 xmlStreamWriter.writeStartElement(col.getName());
                 String value = null;
                 switch (col.getType()) {
                 case BOOLEAN:
-                    value = String.valueOf(dataTable.getBoolean(col.getName()));
+                    value = String.valueOf(dataTable.getBoolean(columnIndex));
                     break;
                 case STRING:
-                    value = dataTable.getString(col.getName());
+                    value = dataTable.getString(columnIndex);
                     break;
                 case INT:
-                    value = String.valueOf(dataTable.getInt(col.getName()));
+                    value = String.valueOf(dataTable.getInt(columnIndex));
                     break;
                 case FLOAT:
-                    value = String.valueOf(dataTable.getFloat(col.getName()));
+                    value = String.valueOf(dataTable.getFloat(columnIndex));
                     break;
                 case ARRAY:
                     isArray = true;
-                    processArray(xmlStreamWriter, col);
+                    processArray(xmlStreamWriter, columnIndex);
                     break;
                 default:
-                    value = dataTable.getObjectAsString(col.getName());
+                    value = dataTable.getObjectAsString(columnIndex);
                     break;
                 }
                 if (!isArray) {
@@ -97,13 +100,12 @@ public class DataTableOMDataSource extends AbstractPushOMDataSource {
         xmlStreamWriter.flush();
     }
 
-    private void processArray(XMLStreamWriter xmlStreamWriter, BDataTable.ColumnDefinition col)
-            throws XMLStreamException {
-        Map<String, Object> array = dataTable.getArray(col.getName());
-        if (array != null && !array.isEmpty()) {
-            for (Map.Entry<String, Object> values : array.entrySet()) {
+    private void processArray(XMLStreamWriter xmlStreamWriter, int columnIndex) throws XMLStreamException {
+        Object[] array = dataTable.getArray(columnIndex);
+        if (array != null) {
+            for (Object value : array) {
                 xmlStreamWriter.writeStartElement(ARRAY_ELEMENT_NAME);
-                xmlStreamWriter.writeCharacters(String.valueOf(values.getValue()));
+                xmlStreamWriter.writeCharacters(String.valueOf(value));
                 xmlStreamWriter.writeEndElement();
             }
         }
@@ -80,6 +80,11 @@ public final class BBoolean extends BValueType implements BRefType<Boolean> {
         return ((BBoolean) obj).booleanValue() == value;
     }
 
+    @Override
+    public int hashCode() {
+        return Boolean.hashCode(value);
+    }
+
     @Override
     public Boolean value() {
         return value;
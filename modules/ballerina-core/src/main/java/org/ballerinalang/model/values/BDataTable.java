@@ -39,15 +39,19 @@ public class BDataTable implements BRefType<Object> {
     private DataIterator iterator;
     private List<ColumnDefinition> columnDefs;
     private int columnCount;
+    // SQL type of each column, and the index of its field within the fields of the same type in the row struct
+    private int[] columnSQLTypes;
+    private int[] fieldIndexes;
+    // The row struct is reused for all the rows
     private BStruct bStruct;
-    private boolean lastRecordProcessed;
+    private boolean endOfData;
 
     public BDataTable(DataIterator dataIterator, List<ColumnDefinition> columnDefs) {
         this.iterator = dataIterator;
         this.columnDefs = columnDefs;
         this.columnCount = columnDefs.size();
         generateStruct();
-        lastRecordProcessed = false;
+        endOfData = false;
     }
 
     @Override
@@ -65,11 +69,39 @@ public class BDataTable implements BRefType<Object> {
         return BTypes.typeDatatable;
     }
 
+    /**
+     * Moves the cursor to the next row, if there is one.
+     * <p>
+     * The end of data is detected by the cursor moving past the last row, so that drivers need not look ahead
+     * to tell whether the current row is the last one.
+     *
+     * @return true if the cursor is on a new row; false otherwise
+     */
     public boolean hasNext() {
-        if (lastRecordProcessed) {
+        if (endOfData) {
             return false;
         }
-        return iterator.next();
+        endOfData = !iterator.next();
+        return !endOfData;
+    }
+
+    /**
+     * Moves the cursor to the next row, if there is one, and releases the underlying resources once all the rows
+     * have been read.
+     *
+     * @param isInTransaction whether the datatable is read within a transaction
+     * @return true if the cursor is on a new row; false otherwise
+     */
+    public boolean hasNext(boolean isInTransaction) {
+        if (endOfData) {
+            return false;
+        }
+        if (iterator.next()) {
+            return true;
+        }
+        endOfData = true;
+        close(isInTransaction);
+        return false;
     }
 
     public void close(boolean isInTransaction) {
@@ -77,19 +109,13 @@ public class BDataTable implements BRefType<Object> {
     }
 
     public BStruct getNext(boolean isInTransaction) {
-        int longRegIndex = -1;
-        int doubleRegIndex = -1;
-        int stringRegIndex = -1;
-        int booleanRegIndex = -1;
-        int blobRegIndex = -1;
-        int refRegIndex = -1;
-        for (ColumnDefinition columnDef : columnDefs) {
-            String columnName = columnDef.getName();
-            int sqlType = columnDef.getSQLType();
+        for (int i = 0; i < columnCount; i++) {
+            int columnIndex = i + 1;
+            int fieldIndex = fieldIndexes[i];
+            int sqlType = columnSQLTypes[i];
             switch (sqlType) {
             case Types.ARRAY:
-                BMap bMapvalue = getDataArray(columnName);
-                bStruct.setRefField(++refRegIndex, bMapvalue);
+                bStruct.setRefField(fieldIndex, getDataArray(columnIndex));
                 break;
             case Types.CHAR:
             case Types.VARCHAR:
@@ -97,15 +123,14 @@ public class BDataTable implements BRefType<Object> {
             case Types.NCHAR:
             case Types.NVARCHAR:
             case Types.LONGNVARCHAR:
-                String sValue = iterator.getString(columnName);
-                bStruct.setStringField(++stringRegIndex, sValue);
+                bStruct.setStringField(fieldIndex, iterator.getString(columnIndex));
                 break;
             case Types.BLOB:
             case Types.BINARY:
             case Types.VARBINARY:
             case Types.LONGVARBINARY:
-                BValue bValue = iterator.get(columnName, sqlType);
-                bStruct.setBlobField(++blobRegIndex, ((BBlob) bValue).blobValue());
+                BValue bValue = iterator.get(columnIndex, sqlType);
+                bStruct.setBlobField(fieldIndex, ((BBlob) bValue).blobValue());
                 break;
             case Types.CLOB:
             case Types.NCLOB:
@@ -115,60 +140,51 @@ public class BDataTable implements BRefType<Object> {
             case Types.TIMESTAMP_WITH_TIMEZONE:
             case Types.TIME_WITH_TIMEZONE:
             case Types.ROWID:
-                BValue strValue = iterator.get(columnName, sqlType);
-                bStruct.setStringField(++stringRegIndex, strValue.stringValue());
+                BValue strValue = iterator.get(columnIndex, sqlType);
+                bStruct.setStringField(fieldIndex, strValue.stringValue());
                 break;
             case Types.TINYINT:
             case Types.SMALLINT:
             case Types.INTEGER:
             case Types.BIGINT:
-                long lValue = iterator.getInt(columnName);
-                bStruct.setIntField(++longRegIndex, lValue);
+                bStruct.setIntField(fieldIndex, iterator.getInt(columnIndex));
                 break;
             case Types.REAL:
             case Types.NUMERIC:
             case Types.DECIMAL:
             case Types.FLOAT:
             case Types.DOUBLE:
-                double fValue = iterator.getFloat(columnName);
-                bStruct.setFloatField(++doubleRegIndex, fValue);
+                bStruct.setFloatField(fieldIndex, iterator.getFloat(columnIndex));
                 break;
             case Types.BIT:
             case Types.BOOLEAN:
-                boolean boolValue = iterator.getBoolean(columnName);
-                bStruct.setBooleanField(++booleanRegIndex, boolValue ? 1 : 0);
+                bStruct.setBooleanField(fieldIndex, iterator.getBoolean(columnIndex) ? 1 : 0);
                 break;
             default:
-                throw new BallerinaException("unsupported sql type " + sqlType + " found for the column " + columnName);
+                throw new BallerinaException("unsupported sql type " + sqlType + " found for the column "
+                        + columnDefs.get(i).getName());
             }
         }
-        boolean isLast = iterator.isLast();
-        if (isLast) {
-            close(isInTransaction);
-            lastRecordProcessed = true;
-        }
         return bStruct;
     }
 
-    private BMap<BString, BValue> getDataArray(String columnName) {
-        Map<String, Object> arrayMap = iterator.getArray(columnName);
+    private BMap<BString, BValue> getDataArray(int columnIndex) {
+        Object[] array = iterator.getArray(columnIndex);
         BMap<BString, BValue> returnMap = new BMap<>();
-        if (arrayMap != null && !arrayMap.isEmpty()) {
-            for (Map.Entry<String, Object> entry : arrayMap.entrySet()) {
-                BString key = new BString(entry.getKey());
-                Object obj = entry.getValue();
+        if (array != null) {
+            for (int i = 0; i < array.length; i++) {
+                BString key = new BString(String.valueOf(i));
+                Object obj = array[i];
                 if (obj instanceof String) {
-                    returnMap.put(key, new BString(String.valueOf(obj)));
+                    returnMap.put(key, new BString((String) obj));
                 } else if (obj instanceof Boolean) {
-                    returnMap.put(key, new BBoolean(Boolean.valueOf(obj.toString())));
-                } else if (obj instanceof Integer) {
-                    returnMap.put(key, new BInteger(Integer.parseInt(obj.toString())));
-                } else if (obj instanceof Long) {
-                    returnMap.put(key, new BInteger(Long.parseLong(obj.toString())));
+                    returnMap.put(key, new BBoolean((Boolean) obj));
+                } else if (obj instanceof Integer || obj instanceof Long) {
+                    returnMap.put(key, new BInteger(((Number) obj).longValue()));
                 } else if (obj instanceof Float) {
                     returnMap.put(key, new BFloat(Float.parseFloat(obj.toString())));
                 } else if (obj instanceof Double) {
-                    returnMap.put(key, new BFloat(Double.parseDouble(obj.toString())));
+                    returnMap.put(key, new BFloat((Double) obj));
                 }
             }
         }
@@ -234,6 +250,7 @@ public class BDataTable implements BRefType<Object> {
             structFields[typeIndex] = new BStructType.StructField(type, columnDef.getName());
             ++typeIndex;
         }
+        populateColumnIndexes(structTypes);
         int[] fieldCount = populateMaxSizes(structTypes);
         bStruct.init(fieldCount);
         bStruct.setFieldTypes(structTypes);
@@ -241,29 +258,37 @@ public class BDataTable implements BRefType<Object> {
         this.bStruct = bStruct;
     }
 
+    private void populateColumnIndexes(BType[] fieldTypes) {
+        columnSQLTypes = new int[columnCount];
+        fieldIndexes = new int[columnCount];
+        int[] fieldCount = new int[6];
+        for (int i = 0; i < columnCount; i++) {
+            columnSQLTypes[i] = columnDefs.get(i).getSQLType();
+            fieldIndexes[i] = fieldCount[getFieldCategory(fieldTypes[i])]++;
+        }
+    }
+
+    private static int getFieldCategory(BType fieldType) {
+        switch (fieldType.getTag()) {
+        case TypeTags.INT_TAG:
+            return 0;
+        case TypeTags.FLOAT_TAG:
+            return 1;
+        case TypeTags.STRING_TAG:
+            return 2;
+        case TypeTags.BOOLEAN_TAG:
+            return 3;
+        case TypeTags.BLOB_TAG:
+            return 4;
+        default:
+            return 5;
+        }
+    }
+
     private static int[] populateMaxSizes(BType[] paramTypes) {
         int[] maxSizes = new int[6];
         for (int i = 0; i < paramTypes.length; i++) {
-            BType paramType = paramTypes[i];
-            switch (paramType.getTag()) {
-            case TypeTags.INT_TAG:
-                ++maxSizes[0];
-                break;
-            case TypeTags.FLOAT_TAG:
-                ++maxSizes[1];
-                break;
-            case TypeTags.STRING_TAG:
-                ++maxSizes[2];
-                break;
-            case TypeTags.BOOLEAN_TAG:
-                ++maxSizes[3];
-                break;
-            case TypeTags.BLOB_TAG:
-                ++maxSizes[4];
-                break;
-            default:
-                ++maxSizes[5];
-            }
+            ++maxSizes[getFieldCategory(paramTypes[i])];
         }
         return maxSizes;
     }
@@ -293,6 +318,30 @@ public class BDataTable implements BRefType<Object> {
         return iterator.getArray(columnName);
     }
 
+    public String getString(int columnIndex) {
+        return iterator.getString(columnIndex);
+    }
+
+    public long getInt(int columnIndex) {
+        return iterator.getInt(columnIndex);
+    }
+
+    public double getFloat(int columnIndex) {
+        return iterator.getFloat(columnIndex);
+    }
+
+    public boolean getBoolean(int columnIndex) {
+        return iterator.getBoolean(columnIndex);
+    }
+
+    public String getObjectAsString(int columnIndex) {
+        return iterator.getObjectAsString(columnIndex);
+    }
+
+    public Object[] getArray(int columnIndex) {
+        return iterator.getArray(columnIndex);
+    }
+
     public List<ColumnDefinition> getColumnDefs() {
         return columnDefs;
     }
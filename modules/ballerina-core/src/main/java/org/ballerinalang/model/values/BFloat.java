@@ -68,6 +68,12 @@ public final class BFloat extends BValueType implements BRefType<Double> {
         return ((BFloat) obj).floatValue() == value;
     }
 
+    @Override
+    public int hashCode() {
+        // 0.0 and -0.0 are equal
+        return value == 0 ? 0 : Double.hashCode(value);
+    }
+
     @Override
     public Double value() {
         return value;
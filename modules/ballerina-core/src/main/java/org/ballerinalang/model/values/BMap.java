@@ -25,8 +25,8 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
 
@@ -38,11 +38,18 @@ import java.util.StringJoiner;
  */
 public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implements BRefType {
 
-    private int size;
     private static final int INITIAL_CAPACITY = 16;
-    private static final int MAX_CAPACITY = 1 << 16;
+    // Marks a slot of the index table whose entry was removed
+    private static final int REMOVED = -1;
+
+    private int size;
+    // Number of used slots in the entries array, including the ones of removed entries
+    private int entryCount;
+    // Entries in the insertion order. Removed entries are set to null until the next resize.
     @SuppressWarnings("unchecked")
-    private MapEntry<K, V>[] values = new MapEntry[INITIAL_CAPACITY];
+    private MapEntry<K, V>[] entries = new MapEntry[INITIAL_CAPACITY];
+    // Open addressing index of the entries, holding the entry index + 1. Twice as large as the entries array.
+    private int[] index = new int[INITIAL_CAPACITY * 2];
 
     /**
      * Output stream to write message out to the socket
@@ -55,14 +62,11 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return value
      */
     public V get(K key) {
-        for (int i = 0; i < size; i++) {
-            if (values[i] != null) {
-                if (values[i].getKey().equals(key)) {
-                    return values[i].getValue();
-                }
-            }
+        int slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return null;
         }
-        return null;
+        return entries[index[slot] - 1].getValue();
     }
 
     /**
@@ -71,30 +75,83 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
-        boolean insert = true;
-        for (int i = 0; i < size; i++) {
-            if (values[i].getKey().equals(key)) {
-                values[i].setValue(value);
-                insert = false;
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            entries[index[slot] - 1].setValue(value);
+            return;
+        }
+
+        ensureCapacity();
+        entries[entryCount] = new MapEntry<>(key, value, hash);
+        index[findFreeSlot(hash)] = ++entryCount;
+        size++;
+    }
+
+    private void ensureCapacity() {
+        if (entryCount < entries.length) {
+            return;
+        }
+
+        // Drop the removed entries, and grow only if the map is more than half full
+        int newCapacity = size < entries.length / 2 ? entries.length : entries.length * 2;
+        if (newCapacity < 0) {
+            throw new RuntimeException(" Map cannot exceed the maximum size");
+        }
+
+        @SuppressWarnings("unchecked")
+        MapEntry<K, V>[] newEntries = new MapEntry[newCapacity];
+        int newEntryCount = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (entries[i] != null) {
+                newEntries[newEntryCount++] = entries[i];
             }
         }
-        if (insert) {
-            ensureCapacity();
-            values[size++] = new MapEntry<>(key, value);
+
+        entries = newEntries;
+        entryCount = newEntryCount;
+        index = new int[newCapacity * 2];
+        for (int i = 0; i < entryCount; i++) {
+            index[findFreeSlot(entries[i].hash)] = i + 1;
         }
     }
 
-    private void ensureCapacity() {
-        if (size == values.length) {
-            int newSize = values.length * 2;
-            if (newSize <= MAX_CAPACITY) {
-                values = Arrays.copyOf(values, newSize);
-            } else {
-                throw new RuntimeException(" Map cannot exceed the maximum size");
+    private int findSlot(Object key, int hash) {
+        int mask = index.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entryIndex = index[slot];
+            if (entryIndex == 0) {
+                return -1;
+            }
+
+            if (entryIndex != REMOVED) {
+                MapEntry<K, V> entry = entries[entryIndex - 1];
+                if (entry.hash == hash && Objects.equals(entry.getKey(), key)) {
+                    return slot;
+                }
             }
         }
     }
 
+    private int findFreeSlot(int hash) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+
+        // Spread the higher bits, as the index is masked with its length
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
     /**
      * Get the size of the map.
      * @return returns the size of the map
@@ -108,27 +165,26 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key of the item to be removed
      */
     public void remove(K key) {
-        for (int i = 0; i < size; i++) {
-            if (values[i].getKey().equals(key)) {
-                values[i] = null;
-                size--;
-                condenseArray(i);
-            }
+        int slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return;
         }
-    }
 
-    private void condenseArray(int start) {
-        System.arraycopy(values, start + 1, values, start, (values.length - start - 1));
+        entries[index[slot] - 1] = null;
+        index[slot] = REMOVED;
+        size--;
     }
 
     /**
-     * Retrieve the set of keys related to this map.
+     * Retrieve the set of keys related to this map, in the insertion order.
      * @return returns the set of keys
      */
     public Set<K> keySet() {
-        Set<K> set = new HashSet<>();
-        for (int i = 0; i < size; i++) {
-            set.add(values[i].getKey());
+        Set<K> set = new LinkedHashSet<>();
+        for (int i = 0; i < entryCount; i++) {
+            if (entries[i] != null) {
+                set.add(entries[i].getKey());
+            }
         }
         return set;
     }
@@ -152,9 +208,13 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
         String key;
         BValue value;
         String stringValue;
-        for (int i = 0; i < size; i++) {
-            key = "\"" + (String) values[i].getKey() + "\"";
-            value = values[i].getValue();
+        for (int i = 0; i < entryCount; i++) {
+            if (entries[i] == null) {
+                continue;
+            }
+
+            key = "\"" + (String) entries[i].getKey() + "\"";
+            value = entries[i].getValue();
             if (value == null) {
                 stringValue = null;
             } else if (value instanceof BString) {
@@ -175,20 +235,26 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     @Override
     public BValue copy() {
         BMap map = BTypes.typeMap.getEmptyValue();
-        for (int i = 0; i < size; i++) {
-            BValue value = values[i].getValue();
-            map.put(values[i].getKey(), value == null ? null : value.copy());
+        for (int i = 0; i < entryCount; i++) {
+            if (entries[i] == null) {
+                continue;
+            }
+
+            BValue value = entries[i].getValue();
+            map.put(entries[i].getKey(), value == null ? null : value.copy());
         }
         return map;
     }
     
-    private class MapEntry<K, V> {
+    private static class MapEntry<K, V> {
         private final K key;
+        private final int hash;
         private V value;
 
-        MapEntry(K key, V value) {
+        MapEntry(K key, V value, int hash) {
             this.key = key;
             this.value = value;
+            this.hash = hash;
         }
 
         K getKey() {
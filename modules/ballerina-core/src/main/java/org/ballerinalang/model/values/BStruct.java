@@ -26,6 +26,7 @@ import java.util.Arrays;
 
 import java.util.HashMap;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 /**
  * The {@code BStruct} represents the value of a user defined struct in Ballerina.
@@ -37,6 +38,8 @@ public final class BStruct implements BRefType<StructDef>, StructureType {
     private StructDef structDef;
     private BValue[] structMemBlock;
     private BStruct stackTrace;
+    // Builds the stack trace on the first access, as most handled errors never read it
+    private Supplier<BStruct> stackTraceSupplier;
     private HashMap<String, Object> nativeData = new HashMap<>();
 
     private long[] longFields;
@@ -161,11 +164,21 @@ public final class BStruct implements BRefType<StructDef>, StructureType {
     }
 
     public BStruct getStackTrace() {
+        if (stackTrace == null && stackTraceSupplier != null) {
+            stackTrace = stackTraceSupplier.get();
+            stackTraceSupplier = null;
+        }
         return stackTrace;
     }
 
     public void setStackTrace(BStruct stackTrace) {
         this.stackTrace = stackTrace;
+        this.stackTraceSupplier = null;
+    }
+
+    public void setStackTrace(Supplier<BStruct> stackTraceSupplier) {
+        this.stackTrace = null;
+        this.stackTraceSupplier = stackTraceSupplier;
     }
 
     @Override
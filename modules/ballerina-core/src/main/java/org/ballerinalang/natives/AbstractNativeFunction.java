@@ -73,6 +73,7 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
     private SimpleTypeName[] argTypeNames;
     private String[] argNames;
     private int tempStackFrameSize;
+    private NativeFunctionInvoker invoker;
 
     /**
      * Initialize a native function.
@@ -167,6 +168,19 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
         }
     }
 
+    /**
+     * Get the invoker which calls this native function using the registers of the caller.
+     *
+     * @return invoker of the function, or null if the function has no typed implementation
+     */
+    public NativeFunctionInvoker getInvoker() {
+        return invoker;
+    }
+
+    public void setInvoker(NativeFunctionInvoker invoker) {
+        this.invoker = invoker;
+    }
+
     /**
      * Util method to construct BValue arrays.
      *
@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.natives;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.StackFrame;
+
+/**
+ * {@code NativeFunctionInvoker} invokes a native function using the registers of the caller.
+ * <p>
+ * Unlike {@link AbstractNativeFunction#executeNative(Context)}, an invoker needs neither a stack frame for the
+ * native function nor boxed return values. Invokers are generated by the annotation processor for the native
+ * functions having a method annotated with
+ * {@link org.ballerinalang.natives.annotations.TypedNativeFunction}.
+ *
+ * @since 0.90
+ */
+public interface NativeFunctionInvoker {
+
+    /**
+     * Invoke the native function.
+     *
+     * @param context  current context
+     * @param callerSF stack frame of the caller
+     * @param argRegs  registers of the caller holding the arguments
+     * @param retRegs  registers of the caller to hold the return values
+     */
+    void invoke(Context context, StackFrame callerSF, int[] argRegs, int[] retRegs);
+}
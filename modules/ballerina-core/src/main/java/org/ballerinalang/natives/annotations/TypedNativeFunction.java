@@ -0,0 +1,42 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.natives.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the typed implementation of a Native Ballerina function.
+ * <p>
+ * The annotated method must be a public method of a class annotated with {@link BallerinaFunction}. Its parameters,
+ * optionally preceded by a {@code Context}, must match the arguments of the function: {@code long} for int,
+ * {@code double} for float, {@code String} for string, {@code boolean} for boolean, {@code byte[]} for blob and a
+ * {@code BRefType} for the other types. Its return type must match the single return type of the function, or be
+ * {@code void} if the function does not return a value.
+ * <p>
+ * The annotation processor generates a {@code NativeFunctionInvoker} for the method, which reads the arguments from,
+ * and writes the return value to, the registers of the caller.
+ *
+ * @since 0.90
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface TypedNativeFunction {
+}
@@ -40,4 +40,26 @@ public class Constants {
     // Name of the system property to hold the debug port
     public static final String SYSTEM_PROP_BAL_DEBUG = "ballerina.debug";
 
+    // Name of the system property to select the instruction dispatch of the VM
+    public static final String SYSTEM_PROP_VM_DISPATCH = "ballerina.vm.dispatch";
+    public static final String VM_DISPATCH_PACKED = "packed";
+
+    // Name of the system property to enable the superinstructions of the packed instruction dispatch
+    public static final String SYSTEM_PROP_VM_SUPERINSTRUCTIONS = "ballerina.vm.superinstructions";
+
+    // Names of the system properties to enable the tiered execution of the VM, and the thresholds after which
+    // a worker is compiled to JVM bytecode
+    public static final String SYSTEM_PROP_VM_TIERED = "ballerina.vm.tiered";
+    public static final String SYSTEM_PROP_VM_JIT_INVOCATION_THRESHOLD = "ballerina.vm.jit.invocationThreshold";
+    public static final String SYSTEM_PROP_VM_JIT_BACK_EDGE_THRESHOLD = "ballerina.vm.jit.backEdgeThreshold";
+
+    // Name of the system property to enable the optimization of the generated instructions
+    public static final String SYSTEM_PROP_CODEGEN_OPTIMIZE = "ballerina.codegen.optimize";
+
+    // Name of the system property to hold the number of threads which parse the source files of a program
+    public static final String SYSTEM_PROP_COMPILER_PARALLELISM = "ballerina.compiler.parallelism";
+
+    // Name of the system property to hold the maximum number of frames in the control stack of a context
+    public static final String SYSTEM_PROP_VM_MAX_STACK_DEPTH = "ballerina.vm.maxStackDepth";
+
 }
@@ -27,7 +27,7 @@ import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
-import org.ballerinalang.runtime.interceptors.BLangVMInterceptors;
+import org.ballerinalang.runtime.interceptors.InterceptorChain;
 import org.ballerinalang.runtime.interceptors.ServiceInterceptorCallback;
 import org.ballerinalang.runtime.model.BLangRuntimeRegistry;
 import org.ballerinalang.runtime.model.ServerConnector;
@@ -51,7 +51,6 @@ import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.carbon.messaging.ServerConnectorErrorHandler;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -113,28 +112,22 @@ public class ServerConnectorMessageHandler {
         // engage Service interceptors.
         CarbonCallback resourceCallback = callback;
         CarbonMessage resourceMessage = cMsg;
+        BMessage message = null;
         if (BLangRuntimeRegistry.getInstance().isInterceptionEnabled(protocol)) {
             ServerConnector serverConnector = BLangRuntimeRegistry.getInstance().getServerConnector(protocol);
-            resourceCallback = new ServiceInterceptorCallback(callback, protocol);
-            List<ServiceInterceptor> serviceInterceptorList = serverConnector.getServiceInterceptorList();
-            BMessage message = new BMessage(cMsg);
-            // Invoke request interceptor serviceInterceptorList.
-            for (ServiceInterceptor interceptor : serviceInterceptorList) {
-                if (interceptor.getRequestFunction() == null) {
-                    continue;
-                }
-                ServiceInterceptor.Result result = BLangVMInterceptors.invokeResourceInterceptor(interceptor,
-                        interceptor.getRequestFunction(), message);
-                if (result.getMessageIntercepted() == null) {
-                    // Can't Intercept null message further. Let it handle at server connector level.
-                    breLog.error("error in service interception, return message null in " +
-                            (".".equals(interceptor.getPackageInfo().getPkgPath()) ? "" :
-                                    interceptor.getPackageInfo().getPkgPath() + ":") +
-                            ServiceInterceptor.REQUEST_INTERCEPTOR_NAME);
+            InterceptorChain interceptorChain = serverConnector.getInterceptorChain();
+            if (interceptorChain.hasResponseInterceptors()) {
+                resourceCallback = new ServiceInterceptorCallback(callback, protocol);
+            }
+
+            if (interceptorChain.hasRequestInterceptors()) {
+                // Invoke request interceptors.
+                ServiceInterceptor.Result result = interceptorChain.invokeRequestInterceptors(new BMessage(cMsg));
+                message = result.getMessageIntercepted();
+                if (message == null) {
                     callback.done(null);
                     return;
                 }
-                message = result.getMessageIntercepted();
                 if (!result.isInvokeNext()) {
                     callback.done(message.value());
                     return;
@@ -161,71 +154,32 @@ public class ServerConnectorMessageHandler {
         CodeAttributeInfo codeAttribInfo = defaultWorkerInfo.getCodeAttributeInfo();
         context.setStartIP(codeAttribInfo.getCodeAddrs());
 
-        String[] stringLocalVars = new String[codeAttribInfo.getMaxStringLocalVars()];
-        int[] intLocalVars = new int[codeAttribInfo.getMaxIntLocalVars()];
-        long[] longLocalVars = new long[codeAttribInfo.getMaxLongLocalVars()];
-        double[] doubleLocalVars = new double[codeAttribInfo.getMaxDoubleLocalVars()];
-        BRefType[] refLocalVars = new BRefType[codeAttribInfo.getMaxRefLocalVars()];
-
-        int stringParamCount = 0;
-        int intParamCount = 0;
-        int doubleParamCount = 0;
-        int longParamCount = 0;
-        String[] paramNameArray = resourceInfo.getParamNames();
-        BType[] bTypes = resourceInfo.getParamTypes();
-        if (resourceMessage.getProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS) != null) {
-            Map<String, String> resourceArgumentValues =
-                    (Map<String, String>) resourceMessage.getProperty(org.ballerinalang.runtime.Constants
-                            .RESOURCE_ARGS);
-
-            for (int i = 0; i < paramNameArray.length; i++) {
-                BType btype = bTypes[i];
-                String value = resourceArgumentValues.get(paramNameArray[i]);
-
-                // Set default values
-                if (value == null || "".equals(value)) {
-                    if (btype == BTypes.typeString) {
-                        stringLocalVars[stringParamCount++] = "";
-                    }
-                    continue;
-                }
-
-                if (btype == BTypes.typeString) {
-                    stringLocalVars[stringParamCount++] = value;
-                } else if (btype == BTypes.typeBoolean) {
-                    if ("true".equalsIgnoreCase(value)) {
-                        intLocalVars[intParamCount++] = 1;
-                    } else if ("false".equalsIgnoreCase(value)) {
-                        intLocalVars[intParamCount++] = 0;
-                    } else {
-                        throw new BallerinaException("Unsupported parameter type for parameter " + value);
-                    }
-                } else if (btype == BTypes.typeFloat) {
-                    doubleLocalVars[doubleParamCount++] = new Double(value);
-                } else if (btype == BTypes.typeInt) {
-                    longLocalVars[longParamCount++] = Long.parseLong(value);
-                } else {
-                    throw new BallerinaException("Unsupported parameter type for parameter " + value);
-                }
-            }
+        Map<String, String> resourceArgumentValues = (Map<String, String>) resourceMessage
+                .getProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS);
+        if (resourceArgumentValues != null) {
+            bindResourceArguments(resourceInfo, calleeSF, resourceArgumentValues);
+            // The dispatcher reuses the map for the next request of the thread
+            resourceMessage.removeProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS);
+            cMsg.removeProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS);
         }
 
-        // It is given that first parameter of the resource is carbon message.
-        refLocalVars[0] = new BMessage(resourceMessage);
-        calleeSF.setLongLocalVars(longLocalVars);
-        calleeSF.setDoubleLocalVars(doubleLocalVars);
-        calleeSF.setStringLocalVars(stringLocalVars);
-        calleeSF.setIntLocalVars(intLocalVars);
-        calleeSF.setRefLocalVars(refLocalVars);
+        // It is given that first parameter of the resource is carbon message. The message returned by the last
+        // request interceptor is passed as it is.
+        if (message == null) {
+            message = new BMessage(resourceMessage);
+        }
+        calleeSF.getRefLocalVars()[0] = message;
 
         // Execute workers
         // Pass the incoming message variable into the worker invocations
         // Fix #2623
-        org.ballerinalang.bre.bvm.StackFrame callerSF = new org.ballerinalang.bre.bvm.StackFrame(resourceInfo,
-                defaultWorkerInfo, -1, new int[0]);
-        callerSF.getRefRegs()[0] = refLocalVars[0];
-        int[] retRegs = {0};
-        BLangVMWorkers.invoke(packageInfo.getProgramFile(), resourceInfo, callerSF, retRegs);
+        if (!resourceInfo.getWorkerInfoMap().isEmpty()) {
+            org.ballerinalang.bre.bvm.StackFrame callerSF =
+                    new org.ballerinalang.bre.bvm.StackFrame(packageInfo, -1, new int[0]);
+            callerSF.setRefRegs(new BRefType[]{message});
+            int[] retRegs = {0};
+            BLangVMWorkers.invoke(packageInfo.getProgramFile(), resourceInfo, callerSF, retRegs);
+        }
 
         BLangVM bLangVM = new BLangVM(packageInfo.getProgramFile());
         if (VMDebugManager.getInstance().isDebugEnagled()) {
@@ -238,6 +192,48 @@ public class ServerConnectorMessageHandler {
         bLangVM.run(context);
     }
 
+    /**
+     * Copy the path and query parameter values of the request into the parameters of the resource.
+     *
+     * @param resourceInfo           resource that has been invoked
+     * @param calleeSF               stack frame of the resource
+     * @param resourceArgumentValues parameter values by name
+     */
+    private static void bindResourceArguments(ResourceInfo resourceInfo, org.ballerinalang.bre.bvm.StackFrame calleeSF,
+                                              Map<String, String> resourceArgumentValues) {
+        String[] paramNameArray = resourceInfo.getParamNames();
+        BType[] bTypes = resourceInfo.getParamTypes();
+        int[] localVarIndexes = resourceInfo.getParamLocalVarIndexes();
+        for (int i = 0; i < paramNameArray.length; i++) {
+            String value = resourceArgumentValues.get(paramNameArray[i]);
+
+            // Parameters without a value keep the zero value of their type
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+
+            BType btype = bTypes[i];
+            int index = localVarIndexes[i];
+            if (btype == BTypes.typeString) {
+                calleeSF.getStringLocalVars()[index] = value;
+            } else if (btype == BTypes.typeBoolean) {
+                if ("true".equalsIgnoreCase(value)) {
+                    calleeSF.getIntLocalVars()[index] = 1;
+                } else if ("false".equalsIgnoreCase(value)) {
+                    calleeSF.getIntLocalVars()[index] = 0;
+                } else {
+                    throw new BallerinaException("Unsupported parameter type for parameter " + value);
+                }
+            } else if (btype == BTypes.typeFloat) {
+                calleeSF.getDoubleLocalVars()[index] = Double.parseDouble(value);
+            } else if (btype == BTypes.typeInt) {
+                calleeSF.getLongLocalVars()[index] = Long.parseLong(value);
+            } else {
+                throw new BallerinaException("Unsupported parameter type for parameter " + value);
+            }
+        }
+    }
+
     public static void handleOutbound(CarbonMessage cMsg, CarbonCallback callback) {
         callback.done(cMsg);
     }
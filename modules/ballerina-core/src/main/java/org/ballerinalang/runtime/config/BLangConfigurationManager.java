@@ -48,7 +48,8 @@ public class BLangConfigurationManager {
     }
 
     /**
-     * Returns BallerinaConfiguration instance.
+     * Returns BallerinaConfiguration instance. If the location of the configuration is not set, a default
+     * configuration is returned until the location is set.
      *
      * @return BallerinaConfiguration instance.
      */
@@ -56,6 +57,12 @@ public class BLangConfigurationManager {
         if (configuration != null) {
             return configuration;
         }
+        if (System.getProperty(ConfigConstants.SYS_PROP_BALLERINA_CONF) == null &&
+                System.getProperty(ConfigConstants.SYS_PROP_BALLERINA_HOME) == null) {
+            // The default configuration is not kept, so that a location set later is still loaded
+            breLog.debug("ballerina configuration location is not set, using default configuration.");
+            return new BallerinaConfiguration();
+        }
         try {
             configProvider = getBallerinaConfigProvider();
             configuration = configProvider.getConfigurationObject(BallerinaConfiguration.class);
@@ -31,8 +31,29 @@ public class BallerinaConfiguration {
     @Element(description = "ballerina service connector configuration")
     private List<ServerConnectorConfig> serverConnectors = new ArrayList<>();
 
+    @Element(description = "ballerina runtime thread pool configuration")
+    private ThreadPoolConfig threadPool = new ThreadPoolConfig();
+
+    @Element(description = "ballerina worker data channel configuration")
+    private WorkerChannelConfig workerChannel = new WorkerChannelConfig();
+
+    @Element(description = "ballerina HTTP session store configuration")
+    private SessionConfig session = new SessionConfig();
+
     public List<ServerConnectorConfig> getServerConnectors() {
         return serverConnectors;
     }
+
+    public ThreadPoolConfig getThreadPool() {
+        return threadPool;
+    }
+
+    public WorkerChannelConfig getWorkerChannel() {
+        return workerChannel;
+    }
+
+    public SessionConfig getSession() {
+        return session;
+    }
 }
 
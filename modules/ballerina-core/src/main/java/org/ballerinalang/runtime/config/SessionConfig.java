@@ -0,0 +1,84 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.config;
+
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration BeanClass for the HTTP session store.
+ */
+public class SessionConfig {
+
+    public static final String STORE_MEMORY = "memory";
+    public static final String STORE_FILE = "file";
+
+    @Element(description = "session store. 'memory' keeps all the sessions in memory, 'file' spills the least " +
+            "recently used sessions to a memory mapped file")
+    private String store = STORE_MEMORY;
+
+    @Element(description = "max number of sessions kept in memory")
+    private int maxActiveSessions = 100_000;
+
+    @Element(description = "evict the least recently used session instead of failing, when the memory is full")
+    private boolean evictWhenFull = false;
+
+    @Element(description = "number of independently locked partitions of the sessions in memory")
+    private int shardCount = 16;
+
+    @Element(description = "milliseconds between session expiry checks")
+    private int expiryCheckInterval = 1000;
+
+    @Element(description = "file to spill sessions to. A temporary file is used if not set")
+    private String filePath;
+
+    @Element(description = "size of the spill file in megabytes, at most 2047")
+    private int fileCapacity = 64;
+
+    public String getStore() {
+        return store;
+    }
+
+    public boolean isFileStore() {
+        return STORE_FILE.equalsIgnoreCase(store);
+    }
+
+    public int getMaxActiveSessions() {
+        return maxActiveSessions;
+    }
+
+    public boolean isEvictWhenFull() {
+        return evictWhenFull;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getExpiryCheckInterval() {
+        return expiryCheckInterval;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public int getFileCapacity() {
+        return fileCapacity;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.config;
+
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration BeanClass for the thread pools of the Ballerina runtime.
+ */
+public class ThreadPoolConfig {
+
+    public static final String MODE_FIXED = "fixed";
+    public static final String MODE_ELASTIC = "elastic";
+
+    @Element(description = "thread pool mode. 'fixed' uses a fixed number of threads per pool, 'elastic' starts " +
+            "a thread per task when no idle thread is available")
+    private String mode = MODE_FIXED;
+
+    @Element(description = "number of threads executing requests, in the fixed mode")
+    private int requestThreadCount = 500;
+
+    @Element(description = "number of threads executing workers, in the fixed mode")
+    private int workerThreadCount = 100;
+
+    @Element(description = "number of threads executing fork-join workers at a time, in both modes. Threads " +
+            "waiting for a nested fork-join are replaced by spare threads")
+    private int forkJoinThreadCount = 100;
+
+    @Element(description = "seconds an idle thread is kept alive")
+    private int keepAliveTime = 60;
+
+    public String getMode() {
+        return mode;
+    }
+
+    public boolean isElastic() {
+        return MODE_ELASTIC.equalsIgnoreCase(mode);
+    }
+
+    public int getRequestThreadCount() {
+        return requestThreadCount;
+    }
+
+    public int getWorkerThreadCount() {
+        return workerThreadCount;
+    }
+
+    public int getForkJoinThreadCount() {
+        return forkJoinThreadCount;
+    }
+
+    public int getKeepAliveTime() {
+        return keepAliveTime;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.config;
+
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration BeanClass for the data channels between workers.
+ */
+public class WorkerChannelConfig {
+
+    @Element(description = "maximum number of messages buffered in a worker data channel")
+    private int capacity = 1024;
+
+    @Element(description = "seconds a worker waits to send to a full channel or to receive from an empty channel")
+    private int timeout = 60;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.interceptors;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.runtime.model.ServiceInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code InterceptorChain} holds the request and response interceptors of a server connector, resolved once
+ * when the server connector is built.
+ * <p>
+ * Request interceptors run in the configured order and response interceptors in the reverse order. Consecutive
+ * interceptors of the same program share a single context and caller stack frame within an invocation of the
+ * chain.
+ *
+ * @since 0.90
+ */
+public class InterceptorChain {
+
+    private static final Logger log = LoggerFactory.getLogger(InterceptorChain.class);
+
+    private static final long[] EMPTY_LONG_REGS = new long[0];
+    private static final double[] EMPTY_DOUBLE_REGS = new double[0];
+    private static final String[] EMPTY_STRING_REGS = new String[0];
+    private static final byte[][] EMPTY_BYTE_REGS = new byte[0][];
+
+    private final InterceptorInvoker[] requestInvokers;
+    private final InterceptorInvoker[] responseInvokers;
+
+    public InterceptorChain(List<ServiceInterceptor> serviceInterceptors) {
+        List<InterceptorInvoker> requestList = new ArrayList<>();
+        List<InterceptorInvoker> responseList = new ArrayList<>();
+        for (ServiceInterceptor interceptor : serviceInterceptors) {
+            if (interceptor.getRequestFunction() != null) {
+                requestList.add(new InterceptorInvoker(interceptor, interceptor.getRequestFunction(),
+                        ServiceInterceptor.REQUEST_INTERCEPTOR_NAME));
+            }
+        }
+        for (int i = serviceInterceptors.size() - 1; i >= 0; i--) {
+            ServiceInterceptor interceptor = serviceInterceptors.get(i);
+            if (interceptor.getResponseFunction() != null) {
+                responseList.add(new InterceptorInvoker(interceptor, interceptor.getResponseFunction(),
+                        ServiceInterceptor.RESPONSE_INTERCEPTOR_NAME));
+            }
+        }
+        requestInvokers = requestList.toArray(new InterceptorInvoker[requestList.size()]);
+        responseInvokers = responseList.toArray(new InterceptorInvoker[responseList.size()]);
+    }
+
+    public boolean hasRequestInterceptors() {
+        return requestInvokers.length > 0;
+    }
+
+    public boolean hasResponseInterceptors() {
+        return responseInvokers.length > 0;
+    }
+
+    public List<InterceptorInvoker> getRequestInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(requestInvokers));
+    }
+
+    public List<InterceptorInvoker> getResponseInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(responseInvokers));
+    }
+
+    /**
+     * Invokes the request interceptors with the given message.
+     *
+     * @param message incoming message
+     * @return result of the last invoked interceptor. The message is null if an interceptor returned a null message
+     */
+    public ServiceInterceptor.Result invokeRequestInterceptors(BMessage message) {
+        return invoke(requestInvokers, message);
+    }
+
+    /**
+     * Invokes the response interceptors with the given message.
+     *
+     * @param message outgoing message
+     * @return result of the last invoked interceptor. The message is null if an interceptor returned a null message
+     */
+    public ServiceInterceptor.Result invokeResponseInterceptors(BMessage message) {
+        return invoke(responseInvokers, message);
+    }
+
+    private static ServiceInterceptor.Result invoke(InterceptorInvoker[] invokers, BMessage message) {
+        ServiceInterceptor.Result result = new ServiceInterceptor.Result(true, message);
+        Context context = null;
+        for (InterceptorInvoker invoker : invokers) {
+            if (context == null || context.getProgramFile() != invoker.getProgramFile()) {
+                context = createContext(invoker);
+            }
+
+            result = invoker.invoke(context, result.getMessageIntercepted());
+            if (result.getMessageIntercepted() == null) {
+                // Can't Intercept null message further. Let it handle at server connector level.
+                log.error("error in service interception, return message null in " + invoker.getFunctionName());
+                return result;
+            }
+
+            if (!result.isInvokeNext()) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private static Context createContext(InterceptorInvoker invoker) {
+        Context context = new Context(invoker.getProgramFile());
+        context.disableNonBlocking = true;
+
+        // This frame contains zero local variables, but it has registers hold return values from the callee.
+        // registers to store return values. (boolean, message)
+        StackFrame callerSF = new StackFrame(invoker.getPackageInfo(), -1, new int[0]);
+        callerSF.setLongRegs(EMPTY_LONG_REGS);
+        callerSF.setDoubleRegs(EMPTY_DOUBLE_REGS);
+        callerSF.setStringRegs(EMPTY_STRING_REGS);
+        callerSF.setIntRegs(new int[1]);
+        callerSF.setRefRegs(new BRefType[1]);
+        callerSF.setByteRegs(EMPTY_BYTE_REGS);
+        context.getControlStackNew().pushFrame(callerSF);
+        return context;
+    }
+}
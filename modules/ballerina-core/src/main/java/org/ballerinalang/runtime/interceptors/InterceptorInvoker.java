@@ -0,0 +1,126 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.interceptors;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVM;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.bre.bvm.BLangVMWorkers;
+import org.ballerinalang.bre.bvm.ControlStackNew;
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.runtime.model.ServiceInterceptor;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code InterceptorInvoker} is the invocation plan of an interceptor function, resolved once when the
+ * {@link InterceptorChain} is built.
+ *
+ * @since 0.90
+ */
+public class InterceptorInvoker {
+
+    private static final Logger log = LoggerFactory.getLogger(InterceptorInvoker.class);
+
+    // The message argument is passed to the workers from the first reference register of the caller
+    private static final int[] ARG_REGS = {0};
+    // Return values (boolean, message) are written to the first int and reference registers of the caller
+    private static final int[] RET_REGS = {0, 0};
+
+    private final ServiceInterceptor serviceInterceptor;
+    private final FunctionInfo functionInfo;
+    private final String functionName;
+    private final WorkerInfo defaultWorkerInfo;
+    private final int startIP;
+    private final boolean hasWorkers;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    InterceptorInvoker(ServiceInterceptor serviceInterceptor, FunctionInfo functionInfo, String functionName) {
+        this.serviceInterceptor = serviceInterceptor;
+        this.functionInfo = functionInfo;
+        String pkgPath = serviceInterceptor.getPackageInfo().getPkgPath();
+        this.functionName = (".".equals(pkgPath) ? "" : pkgPath + ":") + functionName;
+        this.defaultWorkerInfo = functionInfo.getDefaultWorkerInfo();
+        this.startIP = defaultWorkerInfo.getCodeAttributeInfo().getCodeAddrs();
+        this.hasWorkers = !functionInfo.getWorkerInfoMap().isEmpty();
+    }
+
+    /**
+     * Invokes the interceptor function with the given message.
+     *
+     * @param context  context of the interceptor program, with the caller's frame on top of the control stack
+     * @param bMessage input argument of the interceptor
+     * @return return values of the interceptor
+     */
+    ServiceInterceptor.Result invoke(Context context, BMessage bMessage) {
+        long startTime = System.nanoTime();
+        ControlStackNew controlStack = context.getControlStackNew();
+        StackFrame callerSF = controlStack.getCurrentFrame();
+        callerSF.getIntRegs()[0] = 0;
+        callerSF.getRefRegs()[0] = bMessage;
+
+        StackFrame calleeSF = controlStack.newFrame(functionInfo, defaultWorkerInfo, -1, RET_REGS);
+        controlStack.pushFrame(calleeSF);
+        calleeSF.getRefLocalVars()[0] = bMessage;
+
+        ProgramFile programFile = getProgramFile();
+        if (hasWorkers) {
+            BLangVMWorkers.invoke(programFile, functionInfo, callerSF, ARG_REGS);
+        }
+
+        BLangVM bLangVM = new BLangVM(programFile);
+        context.setStartIP(startIP);
+        bLangVM.run(context);
+        latencyHistogram.record(System.nanoTime() - startTime);
+
+        if (context.getError() != null) {
+            String stackTraceStr = BLangVMErrors.getPrintableStackTrace(context.getError());
+            log.error("error in service interception, " + stackTraceStr);
+            throw new BLangRuntimeException(BLangVMErrors.getErrorMessage(context.getError()));
+        }
+
+        return new ServiceInterceptor.Result(callerSF.getIntRegs()[0] == 1, (BMessage) callerSF.getRefRegs()[0]);
+    }
+
+    public ProgramFile getProgramFile() {
+        return serviceInterceptor.getProgramFile();
+    }
+
+    public PackageInfo getPackageInfo() {
+        return serviceInterceptor.getPackageInfo();
+    }
+
+    /**
+     * Returns the name of the interceptor function, qualified with its package path.
+     *
+     * @return name of the interceptor function
+     */
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.runtime.interceptors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code LatencyHistogram} records latencies into buckets with power of two bounds in microseconds.
+ * <p>
+ * Bucket i counts the latencies below 2^i microseconds which are not counted by a lower bucket. The last bucket
+ * also counts all the longer latencies.
+ *
+ * @since 0.90
+ */
+public class LatencyHistogram {
+
+    public static final int BUCKET_COUNT = 24;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * Record a latency.
+     *
+     * @param latency latency in nanoseconds
+     */
+    public void record(long latency) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(latency);
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the number of latencies recorded in each bucket.
+     *
+     * @return bucket counts, indexed by the bucket
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the given bucket.
+     *
+     * @param bucket index of the bucket
+     * @return upper bound in microseconds, or {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    public long getMeanLatency(TimeUnit unit) {
+        long n = count.get();
+        return n == 0 ? 0 : unit.convert(totalLatency.get() / n, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -22,21 +22,14 @@ import org.ballerinalang.runtime.DefaultBalCallback;
 import org.ballerinalang.runtime.ServerConnectorMessageHandler;
 import org.ballerinalang.runtime.model.BLangRuntimeRegistry;
 import org.ballerinalang.runtime.model.ServerConnector;
-import org.ballerinalang.runtime.model.ServiceInterceptor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 
-import java.util.List;
-
 /**
  * {@link ServiceInterceptorCallback} Wrapper Callback for Resource's response interception
  */
 public class ServiceInterceptorCallback extends DefaultBalCallback {
 
-    private static final Logger breLog = LoggerFactory.getLogger(ServiceInterceptorCallback.class);
-
     private String protocol;
 
     public ServiceInterceptorCallback(CarbonCallback parentCallback, String protocol) {
@@ -50,31 +43,15 @@ public class ServiceInterceptorCallback extends DefaultBalCallback {
         try {
             // Engage Response Interceptors.
             ServerConnector serverConnector = BLangRuntimeRegistry.getInstance().getServerConnector(protocol);
-            List<ServiceInterceptor> serviceInterceptors = serverConnector.getServiceInterceptorList();
-            BMessage message = new BMessage(cMsg);
-            for (int i = serviceInterceptors.size() - 1; i >= 0; i--) {
-                ServiceInterceptor interceptor = serviceInterceptors.get(i);
-                if (interceptor.getResponseFunction() == null) {
-                    continue;
-                }
-                ServiceInterceptor.Result result = BLangVMInterceptors.invokeResourceInterceptor(interceptor,
-                        interceptor.getResponseFunction(), message);
-                if (result.getMessageIntercepted() == null) {
-                    // Can't Intercept null message further. Let it handle at server connector level.
-                    breLog.error("error in service interception, return message null in " +
-                            (".".equals(interceptor.getPackageInfo().getPkgPath()) ? "" :
-                                    interceptor.getPackageInfo().getPkgPath() + ":") +
-                            ServiceInterceptor.RESPONSE_INTERCEPTOR_NAME);
-                    parentCallback.done(null);
-                    return;
-                }
-                message = result.getMessageIntercepted();
-                if (!result.isInvokeNext()) {
-                    parentCallback.done(message.value());
-                    return;
-                }
+            InterceptorChain interceptorChain = serverConnector.getInterceptorChain();
+            if (!interceptorChain.hasResponseInterceptors()) {
+                parentCallback.done(cMsg);
+                return;
             }
-            parentCallback.done(message.value());
+
+            BMessage message = interceptorChain.invokeResponseInterceptors(new BMessage(cMsg))
+                    .getMessageIntercepted();
+            parentCallback.done(message == null ? null : message.value());
         } catch (Throwable throwable) {
             ServerConnectorMessageHandler.handleError(cMsg, parentCallback, throwable);
         }
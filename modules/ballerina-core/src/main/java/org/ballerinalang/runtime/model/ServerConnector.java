@@ -23,6 +23,7 @@ import org.ballerinalang.bre.bvm.BLangVMErrors;
 import org.ballerinalang.runtime.config.InterceptorConfig;
 import org.ballerinalang.runtime.config.ServerConnectorConfig;
 import org.ballerinalang.runtime.config.ServiceInterceptorConfig;
+import org.ballerinalang.runtime.interceptors.InterceptorChain;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
@@ -49,6 +50,7 @@ public class ServerConnector {
     boolean enableInterceptors;
     Path interceptorDeploymentPath;
     List<ServiceInterceptor> serviceInterceptorList = new ArrayList<>();
+    InterceptorChain interceptorChain;
 
     // Cache values.
     Map<String, ProgramFile> interceptorProgramFileMap = new HashMap<>();
@@ -95,6 +97,10 @@ public class ServerConnector {
         return serviceInterceptorList;
     }
 
+    public InterceptorChain getInterceptorChain() {
+        return interceptorChain;
+    }
+
     /**
      * Builds a {@link ServerConnector}
      *
@@ -150,6 +156,7 @@ public class ServerConnector {
                     serverConnector.serviceInterceptorList.add(serviceInterceptor);
                 }
             }
+            serverConnector.interceptorChain = new InterceptorChain(serverConnector.serviceInterceptorList);
 
             return serverConnector;
         }
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code BLangForkJoinPool} is the thread pool which executes the workers of fork-join statements.
+ * <p>
+ * A worker may itself execute a fork-join, and wait for its workers on a thread of this pool. The waits of
+ * {@link #invokeAll(Collection, long, TimeUnit)} and {@link #invokeAny(Collection, long, TimeUnit)} are managed
+ * blocks, hence the pool starts a spare thread for the waiting one, and the nested workers are never starved of
+ * threads.
+ *
+ * @since 0.90
+ */
+public class BLangForkJoinPool extends ForkJoinPool implements BLangThreadPoolMXBean {
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    private final WorkerThreadFactory threadFactory;
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong totalTaskLatency = new AtomicLong();
+    private final AtomicLong maxTaskLatency = new AtomicLong();
+
+    /**
+     * Creates a pool with the given number of threads running tasks at a time. Idle threads are released by the
+     * pool.
+     *
+     * @param parallelism number of threads running tasks at a time, excluding the threads waiting for other tasks
+     * @param namePrefix  prefix of the names of the threads
+     */
+    public BLangForkJoinPool(int parallelism, String namePrefix) {
+        this(parallelism, new WorkerThreadFactory(namePrefix));
+    }
+
+    private BLangForkJoinPool(int parallelism, WorkerThreadFactory threadFactory) {
+        super(parallelism, threadFactory, null, true);
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                TimedTask<T> timedTask = new TimedTask<>(task, null);
+                futures.add(timedTask);
+                execute(timedTask);
+            }
+
+            for (Future<T> future : futures) {
+                managedBlock(new FutureBlocker(future, deadline));
+                if (!future.isDone()) {
+                    break;
+                }
+            }
+        } finally {
+            // Cancel the tasks which are not done by the deadline
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return futures;
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("no tasks to invoke");
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        BlockingQueue<Future<T>> completedTasks = new LinkedBlockingQueue<>();
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                TimedTask<T> timedTask = new TimedTask<>(task, completedTasks);
+                futures.add(timedTask);
+                execute(timedTask);
+            }
+
+            ExecutionException failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                CompletionBlocker<T> blocker = new CompletionBlocker<>(completedTasks, deadline);
+                managedBlock(blocker);
+                if (blocker.completedTask == null) {
+                    throw new TimeoutException();
+                }
+                try {
+                    return blocker.completedTask.get();
+                } catch (ExecutionException e) {
+                    failure = e;
+                }
+            }
+            throw failure;
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public int getLargestPoolSize() {
+        return threadFactory.largestPoolSize.get();
+    }
+
+    @Override
+    public int getQueueLength() {
+        long queueLength = getQueuedSubmissionCount() + getQueuedTaskCount();
+        return (int) Math.min(queueLength, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return taskCount.get();
+    }
+
+    @Override
+    public double getAverageTaskLatency() {
+        long count = taskCount.get();
+        return count == 0 ? 0 : totalTaskLatency.get() / count / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxTaskLatency() {
+        return maxTaskLatency.get() / NANOS_PER_MILLI;
+    }
+
+    private void recordTaskLatency(long latency) {
+        taskCount.incrementAndGet();
+        totalTaskLatency.addAndGet(latency);
+        long max = maxTaskLatency.get();
+        while (latency > max && !maxTaskLatency.compareAndSet(max, latency)) {
+            max = maxTaskLatency.get();
+        }
+    }
+
+    /**
+     * Task which records the time taken to execute it, and adds itself to a queue once it is done.
+     *
+     * @param <T> type of the result of the task
+     */
+    private class TimedTask<T> extends FutureTask<T> {
+
+        private final BlockingQueue<Future<T>> completedTasks;
+
+        TimedTask(Callable<T> callable, BlockingQueue<Future<T>> completedTasks) {
+            super(callable);
+            this.completedTasks = completedTasks;
+        }
+
+        @Override
+        public void run() {
+            long startTime = System.nanoTime();
+            try {
+                super.run();
+            } finally {
+                recordTaskLatency(System.nanoTime() - startTime);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (completedTasks != null && !isCancelled()) {
+                completedTasks.add(this);
+            }
+        }
+    }
+
+    /**
+     * Blocks until a task is done, or the deadline is reached.
+     */
+    private static class FutureBlocker implements ManagedBlocker {
+
+        private final Future<?> future;
+        private final long deadline;
+
+        FutureBlocker(Future<?> future, long deadline) {
+            this.future = future;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                try {
+                    future.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | CancellationException | TimeoutException e) {
+                    // The outcome of the task is read by the caller
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone() || deadline - System.nanoTime() <= 0;
+        }
+    }
+
+    /**
+     * Blocks until any of the tasks is done, or the deadline is reached.
+     *
+     * @param <T> type of the result of the tasks
+     */
+    private static class CompletionBlocker<T> implements ManagedBlocker {
+
+        private final BlockingQueue<Future<T>> completedTasks;
+        private final long deadline;
+        private Future<T> completedTask;
+
+        CompletionBlocker(BlockingQueue<Future<T>> completedTasks, long deadline) {
+            this.completedTasks = completedTasks;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (completedTask == null) {
+                completedTask = completedTasks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (completedTask == null) {
+                completedTask = completedTasks.poll();
+            }
+            return completedTask != null || deadline - System.nanoTime() <= 0;
+        }
+    }
+
+    /**
+     * Creates the threads of the pool, and keeps track of the largest number of threads.
+     */
+    private static class WorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final AtomicInteger liveThreadCount = new AtomicInteger();
+        private final AtomicInteger largestPoolSize = new AtomicInteger();
+        private final String namePrefix;
+
+        WorkerThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix + "-";
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+                @Override
+                protected void onStart() {
+                    super.onStart();
+                    int threadCount = liveThreadCount.incrementAndGet();
+                    int largest = largestPoolSize.get();
+                    while (threadCount > largest && !largestPoolSize.compareAndSet(largest, threadCount)) {
+                        largest = largestPoolSize.get();
+                    }
+                }
+
+                @Override
+                protected void onTermination(Throwable exception) {
+                    liveThreadCount.decrementAndGet();
+                    super.onTermination(exception);
+                }
+            };
+            thread.setName(namePrefix + threadNumber.getAndIncrement());
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code BLangThreadPoolExecutor} is a thread pool which records the time taken to execute its tasks.
+ *
+ * @since 0.90
+ */
+public class BLangThreadPoolExecutor extends ThreadPoolExecutor implements BLangThreadPoolMXBean {
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    private final ThreadLocal<Long> taskStartTime = new ThreadLocal<>();
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong totalTaskLatency = new AtomicLong();
+    private final AtomicLong maxTaskLatency = new AtomicLong();
+
+    private BLangThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                    BlockingQueue<Runnable> workQueue, BLangThreadFactory threadFactory) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, TimeUnit.SECONDS, workQueue, threadFactory);
+    }
+
+    /**
+     * Creates a pool with a fixed number of threads. Idle threads are released after the keep alive time.
+     *
+     * @param threadCount   number of threads
+     * @param keepAliveTime seconds an idle thread is kept alive
+     * @param threadFactory factory to create the threads
+     * @return thread pool
+     */
+    public static BLangThreadPoolExecutor newFixedThreadPool(int threadCount, long keepAliveTime,
+                                                             BLangThreadFactory threadFactory) {
+        BLangThreadPoolExecutor executor = new BLangThreadPoolExecutor(threadCount, threadCount, keepAliveTime,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Creates a pool which starts a new thread for a task when there is no idle thread. This prevents tasks
+     * blocked on I/O from limiting the number of tasks executed concurrently.
+     *
+     * @param keepAliveTime seconds an idle thread is kept alive
+     * @param threadFactory factory to create the threads
+     * @return thread pool
+     */
+    public static BLangThreadPoolExecutor newElasticThreadPool(long keepAliveTime, BLangThreadFactory threadFactory) {
+        return new BLangThreadPoolExecutor(0, Integer.MAX_VALUE, keepAliveTime, new SynchronousQueue<>(),
+                threadFactory);
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        taskStartTime.set(System.nanoTime());
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        try {
+            Long startTime = taskStartTime.get();
+            if (startTime != null) {
+                long latency = System.nanoTime() - startTime;
+                taskCount.incrementAndGet();
+                totalTaskLatency.addAndGet(latency);
+                long max = maxTaskLatency.get();
+                while (latency > max && !maxTaskLatency.compareAndSet(max, latency)) {
+                    max = maxTaskLatency.get();
+                }
+                taskStartTime.remove();
+            }
+        } finally {
+            super.afterExecute(r, t);
+        }
+    }
+
+    @Override
+    public int getActiveThreadCount() {
+        return getActiveCount();
+    }
+
+    @Override
+    public int getQueueLength() {
+        return getQueue().size();
+    }
+
+    @Override
+    public double getAverageTaskLatency() {
+        long count = taskCount.get();
+        return count == 0 ? 0 : totalTaskLatency.get() / count / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxTaskLatency() {
+        return maxTaskLatency.get() / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+/**
+ * {@code BLangThreadPoolMXBean} exposes the state of a thread pool of the Ballerina runtime through JMX.
+ *
+ * @since 0.90
+ */
+public interface BLangThreadPoolMXBean {
+
+    int getPoolSize();
+
+    int getActiveThreadCount();
+
+    int getLargestPoolSize();
+
+    int getQueueLength();
+
+    long getCompletedTaskCount();
+
+    /**
+     * Returns the average time taken to execute a task.
+     *
+     * @return average task latency in milliseconds
+     */
+    double getAverageTaskLatency();
+
+    /**
+     * Returns the maximum time taken to execute a task.
+     *
+     * @return maximum task latency in milliseconds
+     */
+    double getMaxTaskLatency();
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ForkJoinMetrics} records the executions of fork-join statements and exposes the state of the fork-join
+ * thread pool.
+ *
+ * @since 0.90
+ */
+public class ForkJoinMetrics {
+
+    private final BLangThreadPoolMXBean executor;
+    private final AtomicLong forkJoinCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    ForkJoinMetrics(BLangThreadPoolMXBean executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Record a completed fork-join execution.
+     *
+     * @param latency  time taken by the fork-join in nanoseconds
+     * @param timedOut whether the fork-join timed out
+     */
+    public void record(long latency, boolean timedOut) {
+        forkJoinCount.incrementAndGet();
+        if (timedOut) {
+            timedOutCount.incrementAndGet();
+        }
+
+        totalLatency.addAndGet(latency);
+        long max = maxLatency.get();
+        while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+            max = maxLatency.get();
+        }
+    }
+
+    public long getForkJoinCount() {
+        return forkJoinCount.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    public long getAverageLatency(TimeUnit unit) {
+        long count = forkJoinCount.get();
+        return count == 0 ? 0 : unit.convert(totalLatency.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueueLength();
+    }
+
+    public int getActiveWorkerCount() {
+        return executor.getActiveThreadCount();
+    }
+}
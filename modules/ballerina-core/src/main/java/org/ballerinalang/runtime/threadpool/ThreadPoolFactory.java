@@ -18,30 +18,49 @@
 
 package org.ballerinalang.runtime.threadpool;
 
+import org.ballerinalang.runtime.config.BLangConfigurationManager;
+import org.ballerinalang.runtime.config.ThreadPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * The pools are configured by the threadPool element of the Ballerina configuration, and each pool is registered
+ * as an MXBean named org.ballerinalang:type=ThreadPool,name=&lt;pool&gt;.
  *
  * @since 0.8.0
  */
 public class ThreadPoolFactory {
 
+    private static final Logger log = LoggerFactory.getLogger(ThreadPoolFactory.class);
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    //TODO: Make the thread count configurable.
-    // Ideally number of threads need to be calculated and spawned intelligently
-    // based on the environment and runtime status (CPU Usage, memory, etc).
-    // A configuration parameter which is user configurable is also required.
-    // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500, new BLangThreadFactory("BLangWorker"));
+    private BLangThreadPoolExecutor executorService;
 
-    //TODO: Make the number of threads configurable
-    private ExecutorService workerExecutor = Executors.newFixedThreadPool(100,
-            new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+    private BLangThreadPoolExecutor workerExecutor;
 
-    private ThreadPoolFactory(){};
+    // Shared by all the fork-join statements, including the ones executed by the workers of a fork-join.
+    private BLangForkJoinPool forkJoinExecutor;
+
+    private ForkJoinMetrics forkJoinMetrics;
+
+    private ThreadPoolFactory() {
+        ThreadPoolConfig config = BLangConfigurationManager.getInstance().getConfiguration().getThreadPool();
+        executorService = createExecutor(config, config.getRequestThreadCount(),
+                new BLangThreadFactory("BLangWorker"), "request");
+        workerExecutor = createExecutor(config, config.getWorkerThreadCount(),
+                new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"), "worker");
+        forkJoinExecutor = new BLangForkJoinPool(config.getForkJoinThreadCount(), "fork-join-thread-pool");
+        registerMXBean(forkJoinExecutor, "fork-join");
+        forkJoinMetrics = new ForkJoinMetrics(forkJoinExecutor);
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
@@ -55,4 +74,34 @@ public class ThreadPoolFactory {
         return workerExecutor;
     }
 
+    public ExecutorService getForkJoinExecutor() {
+        return forkJoinExecutor;
+    }
+
+    public ForkJoinMetrics getForkJoinMetrics() {
+        return forkJoinMetrics;
+    }
+
+    private static BLangThreadPoolExecutor createExecutor(ThreadPoolConfig config, int threadCount,
+                                                          BLangThreadFactory threadFactory, String poolName) {
+        BLangThreadPoolExecutor executor;
+        if (config.isElastic()) {
+            executor = BLangThreadPoolExecutor.newElasticThreadPool(config.getKeepAliveTime(), threadFactory);
+        } else {
+            executor = BLangThreadPoolExecutor.newFixedThreadPool(threadCount, config.getKeepAliveTime(),
+                    threadFactory);
+        }
+
+        registerMXBean(executor, poolName);
+        return executor;
+    }
+
+    private static void registerMXBean(BLangThreadPoolMXBean executor, String poolName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(executor,
+                    new ObjectName("org.ballerinalang:type=ThreadPool,name=" + poolName));
+        } catch (JMException e) {
+            log.warn("unable to register the MXBean of the " + poolName + " thread pool", e);
+        }
+    }
 }
@@ -18,15 +18,24 @@
 package org.ballerinalang.runtime.worker;
 
 import org.ballerinalang.model.types.BType;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.ballerinalang.runtime.config.BLangConfigurationManager;
+import org.ballerinalang.runtime.config.WorkerChannelConfig;
+import org.ballerinalang.util.exceptions.BLangExceptionHelper;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.exceptions.RuntimeErrors;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This is the main class which used as the data channel for worker to worker data communication.
+ * <p>
+ * The channel is shared by all the invocations of the callable unit, hence it may have many senders and receivers.
+ * It is bounded, so a sender waits while the channel is full. The capacity and the time a worker waits to send or
+ * receive are taken from the workerChannel element of the Ballerina configuration. A send or a receive which waits
+ * longer than the timeout, or which is interrupted while waiting, fails with a Ballerina error.
  */
 public class WorkerDataChannel {
 
@@ -34,36 +43,145 @@ public class WorkerDataChannel {
     private String target;
     private BlockingQueue<Object[]> channel;
     private BType[] types;
-    private static final Logger log = LoggerFactory.getLogger(WorkerDataChannel.class);
+    private final long timeout;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder sendWaitCount = new LongAdder();
+    private final LongAdder receiveWaitCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
 
     public WorkerDataChannel(String source, String target) {
+        this(source, target, BLangConfigurationManager.getInstance().getConfiguration().getWorkerChannel());
+    }
+
+    private WorkerDataChannel(String source, String target, WorkerChannelConfig config) {
+        this(source, target, config.getCapacity(), config.getTimeout());
+    }
+
+    /**
+     * Creates a channel with the given capacity and timeout, instead of the ones in the Ballerina configuration.
+     *
+     * @param source   name of the sending worker
+     * @param target   name of the receiving worker
+     * @param capacity maximum number of messages buffered in the channel
+     * @param timeout  seconds a worker waits to send to a full channel or to receive from an empty channel
+     */
+    public WorkerDataChannel(String source, String target, int capacity, long timeout) {
         this.source = source;
         this.target = target;
-        this.channel =  new LinkedBlockingQueue<>();
+        this.channel = new ArrayBlockingQueue<>(capacity);
+        this.timeout = timeout;
     }
 
+    /**
+     * Send data to the receivers of this channel. The sender waits while the channel is full.
+     *
+     * @param data data to send
+     * @throws BallerinaException if the channel is still full after the timeout, or if the sender is interrupted
+     */
     public void putData(Object[] data) {
+        if (data == null) {
+            return;
+        }
+
         try {
-            if (data != null) {
-                channel.put(data);
+            if (!channel.offer(data)) {
+                // Channel is full, wait for the receivers
+                sendWaitCount.increment();
+                if (!channel.offer(data, timeout, TimeUnit.SECONDS)) {
+                    timeoutCount.increment();
+                    throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.WORKER_SEND_TIMEOUT, timeout,
+                            getChannelName());
+                }
             }
+            sentCount.increment();
         } catch (InterruptedException e) {
-            // Handle the error properly
-            log.error("Error occurred when inserting data to the channel");
+            Thread.currentThread().interrupt();
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.WORKER_SEND_INTERRUPTED, getChannelName());
         }
     }
 
+    /**
+     * Receive data from the senders of this channel. The receiver waits while the channel is empty.
+     *
+     * @return data received
+     * @throws BallerinaException if the channel is still empty after the timeout, or if the receiver is interrupted
+     */
     public Object[] takeData() {
-        Object[] data = null;
+        Object[] data = channel.poll();
+        if (data != null) {
+            receivedCount.increment();
+            return data;
+        }
+
+        receiveWaitCount.increment();
         try {
-            data = channel.poll(60, TimeUnit.SECONDS);
+            data = channel.poll(timeout, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
-            // Handle the error properly
-            log.error("Error occurred when taking data from the channel");
+            Thread.currentThread().interrupt();
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.WORKER_RECEIVE_INTERRUPTED,
+                    getChannelName());
+        }
+
+        if (data == null) {
+            timeoutCount.increment();
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.WORKER_RECEIVE_TIMEOUT, timeout,
+                    getChannelName());
         }
+        receivedCount.increment();
         return data;
     }
 
+    /**
+     * Returns the number of messages sent to this channel.
+     *
+     * @return sent message count
+     */
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    /**
+     * Returns the number of messages received from this channel.
+     *
+     * @return received message count
+     */
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    /**
+     * Returns the number of times a sender waited as the channel was full.
+     *
+     * @return send wait count
+     */
+    public long getSendWaitCount() {
+        return sendWaitCount.sum();
+    }
+
+    /**
+     * Returns the number of times a receiver waited as the channel was empty.
+     *
+     * @return receive wait count
+     */
+    public long getReceiveWaitCount() {
+        return receiveWaitCount.sum();
+    }
+
+    /**
+     * Returns the number of sends and receives which timed out.
+     *
+     * @return timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public int getPendingCount() {
+        return channel.size();
+    }
+
     public String getChannelName() {
         return source + "->" + target;
     }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.http;
+
+import org.ballerinalang.util.codegen.ServiceInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code BasePathIndex} is an immutable tree of the base path segments of the services on an interface.
+ * <p>
+ * It finds the most specific base path of a request path in a single pass over the path, without creating
+ * substrings. Segments are matched ignoring the case.
+ *
+ * @since 0.90
+ */
+public class BasePathIndex {
+
+    private static final char PATH_DELIMITER = '/';
+
+    private final SegmentNode root = new SegmentNode("");
+
+    public BasePathIndex(Map<String, ServiceInfo> servicesOnInterface) {
+        for (String basePath : servicesOnInterface.keySet()) {
+            SegmentNode node = root;
+            for (String segment : basePath.split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.getOrAddChild(segment.toLowerCase(Locale.ENGLISH));
+                }
+            }
+            node.basePath = basePath;
+        }
+        root.seal();
+    }
+
+    /**
+     * Finds the base path of the service which should serve the given request path.
+     *
+     * @param path request path
+     * @return the longest base path which is a prefix of the path, or null if there is none
+     */
+    public String findBasePath(String path) {
+        String basePath = root.basePath;
+        SegmentNode node = root;
+        int length = path.length();
+        int start = 0;
+        while (start < length && node.children.length > 0) {
+            if (path.charAt(start) == PATH_DELIMITER) {
+                start++;
+                continue;
+            }
+
+            int end = path.indexOf(PATH_DELIMITER, start);
+            if (end < 0) {
+                end = length;
+            }
+
+            node = node.findChild(path, start, end - start);
+            if (node == null) {
+                break;
+            }
+
+            if (node.basePath != null && path.regionMatches(true, 0, node.basePath, 0, node.basePath.length())) {
+                basePath = node.basePath;
+            }
+            start = end;
+        }
+        return basePath;
+    }
+
+    /**
+     * A segment of one or more base paths.
+     */
+    private static class SegmentNode {
+        private static final SegmentNode[] NO_CHILDREN = new SegmentNode[0];
+
+        private final String segment;
+        private String basePath;
+        private List<SegmentNode> childList = new ArrayList<>();
+        private SegmentNode[] children = NO_CHILDREN;
+
+        SegmentNode(String segment) {
+            this.segment = segment;
+        }
+
+        SegmentNode getOrAddChild(String childSegment) {
+            for (SegmentNode child : childList) {
+                if (child.segment.equals(childSegment)) {
+                    return child;
+                }
+            }
+
+            SegmentNode child = new SegmentNode(childSegment);
+            childList.add(child);
+            return child;
+        }
+
+        SegmentNode findChild(String path, int start, int length) {
+            for (SegmentNode child : children) {
+                if (child.segment.length() == length && path.regionMatches(true, start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void seal() {
+            children = childList.toArray(new SegmentNode[childList.size()]);
+            childList = null;
+            for (SegmentNode child : children) {
+                child.seal();
+            }
+        }
+    }
+}
@@ -43,6 +43,12 @@ public class HTTPResourceDispatcher implements ResourceDispatcher {
 
     private static final Logger log = LoggerFactory.getLogger(HTTPResourceDispatcher.class);
 
+    /**
+     * Resource argument map of the request being dispatched by the thread. It is only read while the resource
+     * arguments are bound, so one map is reused for all the requests of a thread.
+     */
+    private static final ThreadLocal<Map<String, String>> resourceArguments = ThreadLocal.withInitial(HashMap::new);
+
     @Override
     public ResourceInfo findResource(ServiceInfo service, CarbonMessage cMsg, CarbonCallback callback)
             throws BallerinaException {
@@ -50,7 +56,8 @@ public class HTTPResourceDispatcher implements ResourceDispatcher {
         String method = (String) cMsg.getProperty(Constants.HTTP_METHOD);
         String subPath = (String) cMsg.getProperty(Constants.SUB_PATH);
         subPath = sanitizeSubPath(subPath);
-        Map<String, String> resourceArgumentValues = new HashMap<>();
+        Map<String, String> resourceArgumentValues = resourceArguments.get();
+        resourceArgumentValues.clear();
         try {
             ResourceInfo resource = service.getUriTemplate().matches(subPath, resourceArgumentValues, cMsg);
             if (resource != null) {
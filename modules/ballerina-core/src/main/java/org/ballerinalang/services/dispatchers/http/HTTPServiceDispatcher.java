@@ -22,7 +22,6 @@ import org.ballerinalang.services.dispatchers.ServiceDispatcher;
 import org.ballerinalang.services.dispatchers.uri.URITemplateException;
 import org.ballerinalang.services.dispatchers.uri.URIUtil;
 import org.ballerinalang.util.codegen.AnnotationAttachmentInfo;
-import org.ballerinalang.util.codegen.AnnotationAttributeValue;
 import org.ballerinalang.util.codegen.ResourceInfo;
 import org.ballerinalang.util.codegen.ServiceInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -33,7 +32,6 @@ import org.wso2.carbon.messaging.CarbonMessage;
 
 import java.net.URI;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Service Dispatcher for HTTP Protocol.
@@ -43,7 +41,6 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class HTTPServiceDispatcher implements ServiceDispatcher {
 
     private static final Logger log = LoggerFactory.getLogger(HTTPServiceDispatcher.class);
-    private CopyOnWriteArrayList<String> sortedServiceURIs = new CopyOnWriteArrayList<>();
 
     @Override
     public String getProtocol() {
@@ -59,33 +56,46 @@ public class HTTPServiceDispatcher implements ServiceDispatcher {
 
         try {
             String interfaceId = getInterface(cMsg);
-            Map<String, ServiceInfo> servicesOnInterface = HTTPServicesRegistry
-                    .getInstance().getServicesInfoByInterface(interfaceId);
-            if (servicesOnInterface == null) {
+            HTTPServicesRegistry servicesRegistry = HTTPServicesRegistry.getInstance();
+            Map<String, ServiceInfo> servicesOnInterface = servicesRegistry.getServicesInfoByInterface(interfaceId);
+            BasePathIndex basePathIndex = servicesRegistry.getBasePathIndex(interfaceId);
+            if (servicesOnInterface == null || basePathIndex == null) {
                 throw new BallerinaException("No services found for interface : " + interfaceId);
             }
             String uriStr = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.TO);
             //replace multiple slashes from single slash if exist in request path to enable
             // dispatchers when request path contains multiple slashes
-            URI requestUri = URI.create(uriStr.replaceAll("//+", Constants.DEFAULT_BASE_PATH));
-            if (requestUri == null) {
-                throw new BallerinaException("uri not found in the message or found an invalid URI.");
+            String requestUriStr = URIUtil.removeDuplicateSlashes(uriStr);
+            String path;
+            String query;
+            String rawQuery;
+            if (URIUtil.isPlainPathAndQuery(requestUriStr)) {
+                // Nothing to decode, hence the path and the query are taken as they are
+                int queryIndex = requestUriStr.indexOf('?');
+                path = queryIndex < 0 ? requestUriStr : requestUriStr.substring(0, queryIndex);
+                query = queryIndex < 0 ? null : requestUriStr.substring(queryIndex + 1);
+                rawQuery = query;
+            } else {
+                URI requestUri = URI.create(requestUriStr);
+                path = requestUri.getPath();
+                query = requestUri.getQuery();
+                rawQuery = requestUri.getRawQuery();
             }
 
             // Most of the time we will find service from here
-            String basePath = findTheMostSpecificBasePath(requestUri.getPath(), servicesOnInterface);
-            ServiceInfo service = servicesOnInterface.get(basePath);
+            String basePath = basePathIndex.findBasePath(path);
+            ServiceInfo service = basePath == null ? null : servicesOnInterface.get(basePath);
             if (service == null) {
                 cMsg.setProperty(Constants.HTTP_STATUS_CODE, 404);
                 throw new BallerinaException("no matching service found for path : " + uriStr);
             }
 
-            String subPath = URIUtil.getSubPath(requestUri.getPath(), basePath);
+            String subPath = URIUtil.getSubPath(path, basePath);
             cMsg.setProperty(Constants.BASE_PATH, basePath);
             cMsg.setProperty(Constants.SUB_PATH, subPath);
-            cMsg.setProperty(Constants.QUERY_STR, requestUri.getQuery());
+            cMsg.setProperty(Constants.QUERY_STR, query);
             //store query params comes with request as it is
-            cMsg.setProperty(Constants.RAW_QUERY_STR, requestUri.getRawQuery());
+            cMsg.setProperty(Constants.RAW_QUERY_STR, rawQuery);
 
             return service;
         } catch (Throwable e) {
@@ -118,18 +128,11 @@ public class HTTPServiceDispatcher implements ServiceDispatcher {
                 throw new BallerinaException(e.getMessage());
             }
         }
-
-        String basePath = getServiceBasePath(service);
-        sortedServiceURIs.add(basePath);
-        sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
     }
 
     @Override
     public void serviceUnregistered(ServiceInfo service) {
         HTTPServicesRegistry.getInstance().unregisterService(service);
-
-        String basePath = getServiceBasePath(service);
-        sortedServiceURIs.remove(basePath);
     }
 
     protected String getInterface(CarbonMessage cMsg) {
@@ -143,36 +146,4 @@ public class HTTPServiceDispatcher implements ServiceDispatcher {
 
         return interfaceId;
     }
-
-    private String findTheMostSpecificBasePath(String requestURIPath, Map<String, ServiceInfo> services) {
-        for (Object key : sortedServiceURIs) {
-            if (requestURIPath.toLowerCase().contains(key.toString().toLowerCase())) {
-                return key.toString();
-            }
-        }
-        if (services.containsKey(Constants.DEFAULT_BASE_PATH)) {
-            return Constants.DEFAULT_BASE_PATH;
-        }
-        return null;
-    }
-
-    private String getServiceBasePath(ServiceInfo service) {
-        String basePath = service.getName();
-        AnnotationAttachmentInfo annotationInfo = service.getAnnotationAttachmentInfo(Constants
-                .HTTP_PACKAGE_PATH, Constants.ANNOTATION_NAME_CONFIG);
-
-        if (annotationInfo != null) {
-            AnnotationAttributeValue annotationAttributeValue = annotationInfo.getAnnotationAttributeValue
-                    (Constants.ANNOTATION_ATTRIBUTE_BASE_PATH);
-            if (annotationAttributeValue != null && annotationAttributeValue.getStringValue() != null &&
-                    !annotationAttributeValue.getStringValue().trim().isEmpty()) {
-                basePath = annotationAttributeValue.getStringValue();
-            }
-        }
-
-        if (!basePath.startsWith(Constants.DEFAULT_BASE_PATH)) {
-            basePath = Constants.DEFAULT_BASE_PATH.concat(basePath);
-        }
-        return basePath;
-    }
 }
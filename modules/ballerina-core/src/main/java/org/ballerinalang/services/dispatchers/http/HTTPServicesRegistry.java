@@ -49,6 +49,8 @@ public class HTTPServicesRegistry {
     private final Map<String, Map<String, ServiceInfo>> servicesInfoMap = new ConcurrentHashMap<>();
     //Outer map key = interface, Inner map = listener property map
     private final Map<String, Map<String, String>> listenerPropMap = new ConcurrentHashMap<>();
+    // key = interface, rebuilt whenever a service is registered or unregistered on the interface
+    private final Map<String, BasePathIndex> basePathIndexMap = new ConcurrentHashMap<>();
 
     private static final HTTPServicesRegistry servicesRegistry = new HTTPServicesRegistry();
 
@@ -80,6 +82,16 @@ public class HTTPServicesRegistry {
         return servicesInfoMap.get(interfaceId);
     }
 
+    /**
+     * Get the index of the base paths of the services on the given interface.
+     *
+     * @param interfaceId interface id of the services.
+     * @return the base path index if there are services on the interface, else null.
+     */
+    public BasePathIndex getBasePathIndex(String interfaceId) {
+        return basePathIndexMap.get(interfaceId);
+    }
+
     /**
      * Register a service into the map.
      *
@@ -147,6 +159,7 @@ public class HTTPServicesRegistry {
         }
 
         servicesOnInterface.put(basePath, service);
+        basePathIndexMap.put(listenerInterface, new BasePathIndex(servicesOnInterface));
 
         logger.info("Service deployed : " + service.getName() + " with context " + basePath);
     }
@@ -244,8 +257,10 @@ public class HTTPServicesRegistry {
         Map<String, ServiceInfo> servicesOnInterface = servicesInfoMap.get(listenerInterface);
         if (servicesOnInterface != null) {
             servicesOnInterface.remove(basePath);
+            basePathIndexMap.put(listenerInterface, new BasePathIndex(servicesOnInterface));
             if (servicesOnInterface.isEmpty()) {
                 servicesInfoMap.remove(listenerInterface);
+                basePathIndexMap.remove(listenerInterface);
                 ServerConnector connector =
                         BallerinaConnectorManager.getInstance().getServerConnector(listenerInterface);
                 if (connector != null) {
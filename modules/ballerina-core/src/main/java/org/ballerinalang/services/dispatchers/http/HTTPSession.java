@@ -20,7 +20,11 @@ package org.ballerinalang.services.dispatchers.http;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.services.dispatchers.session.Session;
+import org.ballerinalang.services.dispatchers.session.SessionAttributeCodec;
 import org.ballerinalang.services.dispatchers.session.SessionManager;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +48,8 @@ public class HTTPSession implements Session, Serializable {
     private SessionManager sessionManager;
     private boolean isValid = true;
     private boolean isNew = true;
+    // Value of the Set-Cookie header, built on the first response of the session
+    private String sessionCookieHeader;
 
     public HTTPSession(String id, int maxInactiveInterval, String path) {
         this.id = id;
@@ -53,6 +59,15 @@ public class HTTPSession implements Session, Serializable {
         this.sessionPath = path;
     }
 
+    private HTTPSession(String id, int maxInactiveInterval, String path, long createTime, long lastAccessedTime) {
+        this.id = id;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.createTime = createTime;
+        this.lastAccessedTime = lastAccessedTime;
+        this.sessionPath = path;
+        this.isNew = false;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -111,7 +126,12 @@ public class HTTPSession implements Session, Serializable {
 
     @Override
     public void setMaxInactiveInterval(int maxInactiveInterval) {
+        int previousInterval = this.maxInactiveInterval;
         this.maxInactiveInterval = maxInactiveInterval;
+        // The expiry is scheduled for the previous interval, which is too late if the interval is shortened
+        if (maxInactiveInterval < previousInterval && sessionManager != null) {
+            sessionManager.rescheduleSession(this);
+        }
     }
 
     @Override
@@ -137,9 +157,17 @@ public class HTTPSession implements Session, Serializable {
     public void generateSessionHeader(BMessage message) {
         //Add set Cookie only for the first response after the creation
         if (this.isNew()) {
-            message.value().setHeader(RESPONSE_COOKIE_HEADER, SESSION_ID + this.getId() + "; "
-                    + PATH + this.getPath() + ";");
+            message.value().setHeader(RESPONSE_COOKIE_HEADER, getSessionCookieHeader());
+        }
+    }
+
+    private String getSessionCookieHeader() {
+        String header = sessionCookieHeader;
+        if (header == null) {
+            header = SESSION_ID + id + "; " + PATH + sessionPath + ";";
+            sessionCookieHeader = header;
         }
+        return header;
     }
 
     public void setManager(SessionManager sessionManager) {
@@ -156,4 +184,65 @@ public class HTTPSession implements Session, Serializable {
         return this.isNew;
     }
 
+    /**
+     * Check whether all the attribute values of this session can be written with {@link #writeTo(DataOutput)}.
+     *
+     * @return true if the session can be written
+     */
+    public boolean isWritable() {
+        for (BValue value : attributeMap.values()) {
+            if (!SessionAttributeCodec.isSupported(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the state of this session in a compact binary form.
+     *
+     * @param out output to write to
+     * @throws IOException if an attribute value is not supported or the output fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        SessionAttributeCodec.writeString(out, id);
+        SessionAttributeCodec.writeString(out, sessionPath);
+        out.writeLong(createTime);
+        out.writeLong(lastAccessedTime);
+        out.writeInt(maxInactiveInterval);
+        out.writeInt(attributeMap.size());
+        for (Map.Entry<String, BValue> attribute : attributeMap.entrySet()) {
+            SessionAttributeCodec.writeString(out, attribute.getKey());
+            SessionAttributeCodec.write(out, attribute.getValue());
+        }
+    }
+
+    /**
+     * Read a session written with {@link #writeTo(DataOutput)}.
+     *
+     * @param in             input to read from
+     * @param sessionManager manager of the session
+     * @return restored session
+     * @throws IOException if the input is not a valid session
+     */
+    public static HTTPSession readFrom(DataInput in, SessionManager sessionManager) throws IOException {
+        String id = SessionAttributeCodec.readString(in);
+        String path = SessionAttributeCodec.readString(in);
+        long createTime = in.readLong();
+        long lastAccessedTime = in.readLong();
+        int maxInactiveInterval = in.readInt();
+        HTTPSession session = new HTTPSession(id, maxInactiveInterval, path, createTime, lastAccessedTime);
+        session.setManager(sessionManager);
+
+        int attributeCount = in.readInt();
+        for (int i = 0; i < attributeCount; i++) {
+            String key = SessionAttributeCodec.readString(in);
+            BValue value = SessionAttributeCodec.read(in);
+            if (value != null) {
+                session.attributeMap.put(key, value);
+            }
+        }
+        return session;
+    }
+
 }
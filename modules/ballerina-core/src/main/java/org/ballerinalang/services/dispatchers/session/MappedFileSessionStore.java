@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.session;
+
+import org.ballerinalang.services.dispatchers.http.HTTPSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code MappedFileSessionStore} keeps a bounded number of sessions in memory and spills the least recently used
+ * sessions to a memory mapped file.
+ * <p>
+ * Spilled sessions are written in the compact form of {@link HTTPSession#writeTo}, and are read back into memory
+ * when they are accessed again. Sessions are spilled and restored while holding the lock of their shard, hence a
+ * session is always found either in memory or in the file. Records are appended to the file. When the file is
+ * full, the live records are compacted to the start of the file. If there is still no room, the session is not
+ * spilled, and is invalidated when evicted as in the in-memory store. Sessions with attribute values which cannot
+ * be written are invalidated the same way.
+ *
+ * @since 0.90
+ */
+public class MappedFileSessionStore extends ShardedSessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileSessionStore.class);
+
+    // Length prefix of a record
+    private static final int RECORD_HEADER_SIZE = 4;
+
+    private final SessionManager sessionManager;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // Spilled sessions by id, guarded by this store
+    private final Map<String, SpilledSession> spilledSessions = new HashMap<>();
+    private int writePosition;
+
+    public MappedFileSessionStore(Path file, int capacity, int shardCount, int maxInMemorySessions, long tickMillis,
+                                  SessionManager sessionManager) throws IOException {
+        super(shardCount, maxInMemorySessions, true, tickMillis);
+        this.sessionManager = sessionManager;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        super.remove(sessionId);
+        synchronized (this) {
+            spilledSessions.remove(sessionId);
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (this) {
+            return super.size() + spilledSessions.size();
+        }
+    }
+
+    @Override
+    public void expireSessions(long currentTime) {
+        super.expireSessions(currentTime);
+        // Spilled sessions are not referred by the application, hence they are just dropped
+        synchronized (this) {
+            spilledSessions.values().removeIf(spilledSession -> currentTime >= spilledSession.deadline);
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            spilledSessions.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("failed to close the session store file", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of sessions spilled to the file.
+     *
+     * @return spilled session count
+     */
+    public synchronized int getSpilledSessionCount() {
+        return spilledSessions.size();
+    }
+
+    @Override
+    protected Session load(String sessionId) {
+        return restore(sessionId);
+    }
+
+    @Override
+    protected boolean offload(Session session) {
+        return session instanceof HTTPSession && ((HTTPSession) session).isWritable() &&
+                spill((HTTPSession) session);
+    }
+
+    private boolean spill(HTTPSession session) {
+        byte[] record;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            session.writeTo(new DataOutputStream(bytes));
+            record = bytes.toByteArray();
+        } catch (IOException e) {
+            log.warn("failed to write session " + session.getId(), e);
+            return false;
+        }
+
+        int recordSize = RECORD_HEADER_SIZE + record.length;
+        synchronized (this) {
+            if (!reserve(recordSize)) {
+                return false;
+            }
+
+            ByteBuffer target = buffer.duplicate();
+            target.position(writePosition);
+            target.putInt(record.length);
+            target.put(record);
+            spilledSessions.put(session.getId(),
+                    new SpilledSession(writePosition, recordSize, SessionTimingWheel.getDeadline(session)));
+            writePosition += recordSize;
+            return true;
+        }
+    }
+
+    private HTTPSession restore(String sessionId) {
+        byte[] record;
+        synchronized (this) {
+            SpilledSession spilledSession = spilledSessions.remove(sessionId);
+            if (spilledSession == null) {
+                return null;
+            }
+
+            ByteBuffer source = buffer.duplicate();
+            source.position(spilledSession.offset);
+            record = new byte[source.getInt()];
+            source.get(record);
+        }
+
+        try {
+            return HTTPSession.readFrom(new DataInputStream(new ByteArrayInputStream(record)), sessionManager);
+        } catch (IOException e) {
+            log.warn("failed to read session " + sessionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Make room for a record of the given size at the write position, compacting the file if needed. Spilled
+     * sessions are never dropped to make room, since a dropped session would end without being invalidated. Must
+     * be called while holding the lock of this store.
+     *
+     * @return true if the record fits, or false if the live records leave no room for it
+     */
+    private boolean reserve(int recordSize) {
+        int capacity = buffer.capacity();
+        if (writePosition + recordSize <= capacity) {
+            return true;
+        }
+
+        int liveSize = 0;
+        for (SpilledSession spilledSession : spilledSessions.values()) {
+            liveSize += spilledSession.size;
+        }
+        if (liveSize + recordSize > capacity) {
+            return false;
+        }
+
+        compact();
+        return true;
+    }
+
+    private void compact() {
+        List<SpilledSession> live = new ArrayList<>(spilledSessions.values());
+        live.sort(Comparator.comparingInt(spilledSession -> spilledSession.offset));
+
+        // Records only move towards the start of the file, hence a record never overwrites one yet to be moved
+        int position = 0;
+        byte[] record = new byte[0];
+        for (SpilledSession spilledSession : live) {
+            if (spilledSession.offset != position) {
+                if (record.length < spilledSession.size) {
+                    record = new byte[spilledSession.size];
+                }
+                ByteBuffer source = buffer.duplicate();
+                source.position(spilledSession.offset);
+                source.get(record, 0, spilledSession.size);
+                ByteBuffer target = buffer.duplicate();
+                target.position(position);
+                target.put(record, 0, spilledSession.size);
+                spilledSession.offset = position;
+            }
+            position += spilledSession.size;
+        }
+        writePosition = position;
+    }
+
+    /**
+     * Location and expiry of a spilled session.
+     */
+    private static class SpilledSession {
+        private int offset;
+        private final int size;
+        private final long deadline;
+
+        SpilledSession(int offset, int size, long deadline) {
+            this.offset = offset;
+            this.size = size;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.session;
+
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code SessionAttributeCodec} writes session attribute values in a compact binary form, as a type tag followed
+ * by the value. Only string, int, float, boolean and json values are supported.
+ *
+ * @since 0.90
+ */
+public class SessionAttributeCodec {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_FLOAT = 3;
+    private static final byte TAG_BOOLEAN = 4;
+    private static final byte TAG_JSON = 5;
+
+    private SessionAttributeCodec() {
+    }
+
+    /**
+     * Check whether the given value can be written by this codec.
+     *
+     * @param value attribute value
+     * @return true if the value is supported
+     */
+    public static boolean isSupported(BValue value) {
+        return value == null || value instanceof BString || value instanceof BInteger || value instanceof BFloat ||
+                value instanceof BBoolean || value instanceof BJSON;
+    }
+
+    public static void write(DataOutput out, BValue value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof BString) {
+            out.writeByte(TAG_STRING);
+            writeString(out, value.stringValue());
+        } else if (value instanceof BInteger) {
+            out.writeByte(TAG_INT);
+            out.writeLong(((BInteger) value).intValue());
+        } else if (value instanceof BFloat) {
+            out.writeByte(TAG_FLOAT);
+            out.writeDouble(((BFloat) value).floatValue());
+        } else if (value instanceof BBoolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(((BBoolean) value).booleanValue());
+        } else if (value instanceof BJSON) {
+            out.writeByte(TAG_JSON);
+            writeString(out, value.stringValue());
+        } else {
+            throw new IOException("unsupported session attribute type: " + value.getType());
+        }
+    }
+
+    public static BValue read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return new BString(readString(in));
+            case TAG_INT:
+                return new BInteger(in.readLong());
+            case TAG_FLOAT:
+                return new BFloat(in.readDouble());
+            case TAG_BOOLEAN:
+                return new BBoolean(in.readBoolean());
+            case TAG_JSON:
+                return new BJSON(readString(in));
+            default:
+                throw new IOException("invalid session attribute tag: " + tag);
+        }
+    }
+
+    // Strings are written with an int length, as DataOutput.writeUTF is limited to 64KB
+    public static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -24,27 +24,42 @@ import org.slf4j.LoggerFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.SecureRandom;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * SessionIdGenerator util class. Generously borrowed from Apache Tomcat
+ * <p>
+ * Each thread uses its own random number generator, so generating an id never contends with other threads. The
+ * generators are reseeded from the platform generator after {@link #RESEED_INTERVAL} ids or
+ * {@link #RESEED_PERIOD} milliseconds, whichever comes first. The ids are hex encoded through a lookup table into a
+ * per thread buffer.
  *
  * @since 0.89
  */
 public class SessionIdGenerator {
     private static final Logger log = LoggerFactory.getLogger(SessionIdGenerator.class);
 
-    private int sessionIdLength = 16;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
 
     /**
-     * Queue of random number generator objects to be used when creating session
-     * identifiers. If the queue is empty when a random number generator is
-     * required, a new random number generator object is created. This is
-     * designed this way since random number generators use a sync to make them
-     * thread-safe and the sync makes using a a single object slow(er).
+     * Number of ids generated by a thread before its random number generator is reseeded.
      */
-    private final Queue<SecureRandom> randoms = new ConcurrentLinkedQueue<>();
+    static final int RESEED_INTERVAL = 1 << 16;
+
+    /**
+     * Maximum time in milliseconds a random number generator of a thread is used before it is reseeded.
+     */
+    static final long RESEED_PERIOD = 60 * 60 * 1000L;
+
+    private static final int SEED_LENGTH = 32;
+
+    /**
+     * Source of the seeds mixed into the per thread generators. Only used when reseeding.
+     */
+    private static final SecureRandom seedSource = new SecureRandom();
+
+    private volatile int sessionIdLength = 16;
+
+    private final ThreadLocal<ThreadState> threadStates = ThreadLocal.withInitial(ThreadState::new);
 
     private String secureRandomClass = null;
 
@@ -52,53 +67,57 @@ public class SessionIdGenerator {
 
     private String secureRandomProvider = null;
 
-    /**
-     * Node identifier when in a cluster. Defaults to the empty string.
-     */
-
     public void setSessionIdLength(int sessionIdLength) {
         this.sessionIdLength = sessionIdLength;
     }
 
     public String generateSessionId() {
+        ThreadState state = threadStates.get();
+        int idLength = sessionIdLength;
+        if (state.randomBytes.length != idLength) {
+            state.randomBytes = new byte[idLength];
+            state.idChars = new char[2 * idLength];
+        }
 
-        byte random[] = new byte[16];
-
-        // Render the result as a String of hexadecimal digits
-        // Start with enough space for sessionIdLength and medium route size
-        StringBuilder buffer = new StringBuilder(2 * sessionIdLength + 20);
-
-        int resultLenBytes = 0;
-
-        while (resultLenBytes < sessionIdLength) {
-            getRandomBytes(random);
-            for (int j = 0; j < random.length && resultLenBytes < sessionIdLength; j++) {
-                byte b1 = (byte) ((random[j] & 0xf0) >> 4);
-                byte b2 = (byte) (random[j] & 0x0f);
-                if (b1 < 10) {
-                    buffer.append((char) ('0' + b1));
-                } else {
-                    buffer.append((char) ('A' + (b1 - 10)));
-                }
-                if (b2 < 10) {
-                    buffer.append((char) ('0' + b2));
-                } else {
-                    buffer.append((char) ('A' + (b2 - 10)));
-                }
-                resultLenBytes++;
-            }
+        byte[] random = state.randomBytes;
+        char[] id = state.idChars;
+        state.nextBytes(random);
+        for (int i = 0, j = 0; i < random.length; i++) {
+            id[j++] = HEX_DIGITS[(random[i] >> 4) & 0x0f];
+            id[j++] = HEX_DIGITS[random[i] & 0x0f];
         }
-        return buffer.toString();
+        return new String(id);
     }
 
     protected void getRandomBytes(byte bytes[]) {
+        threadStates.get().nextBytes(bytes);
+    }
+
+    /**
+     * Random number generator and buffers of a thread.
+     */
+    private class ThreadState {
+        private SecureRandom random = createSecureRandom();
+        private int idsSinceSeed;
+        private long seedTime = System.currentTimeMillis();
+        private byte[] randomBytes = new byte[0];
+        private char[] idChars = new char[0];
+
+        void nextBytes(byte[] bytes) {
+            if (++idsSinceSeed > RESEED_INTERVAL || System.currentTimeMillis() - seedTime > RESEED_PERIOD) {
+                reseed();
+            }
+            random.nextBytes(bytes);
+        }
 
-        SecureRandom random = randoms.poll();
-        if (random == null) {
-            random = createSecureRandom();
+        private void reseed() {
+            byte[] seed = new byte[SEED_LENGTH];
+            seedSource.nextBytes(seed);
+            // Supplements the existing seed of the generator rather than replacing it
+            random.setSeed(seed);
+            idsSinceSeed = 0;
+            seedTime = System.currentTimeMillis();
         }
-        random.nextBytes(bytes);
-        randoms.add(random);
     }
 
     /**
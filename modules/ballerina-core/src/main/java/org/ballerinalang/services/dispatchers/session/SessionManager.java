@@ -18,39 +18,44 @@
 
 package org.ballerinalang.services.dispatchers.session;
 
+import org.ballerinalang.runtime.config.BLangConfigurationManager;
+import org.ballerinalang.runtime.config.SessionConfig;
 import org.ballerinalang.services.dispatchers.http.HTTPSession;
+import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * SessionManager to manage all transport sessions.
+ * <p>
+ * Sessions are kept in the {@link SessionStore} selected by the session element of the Ballerina configuration.
  *
  * @since 0.89
  */
 public class SessionManager {
 
     private static SessionManager instance = null;
-    private static Map<String, Session> sessionMap = new ConcurrentHashMap<>();
+    private static SessionStore sessionStore;
     private static SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
     private static ScheduledExecutorService sessionExpiryChecker;
 
-    /**
-     * Max number of sessions that can be active at a given time.
-     */
-    private static final int DEFAULT_MAX_ACTIVE_SESSIONS = 100_000;
-
     private static final int DEFAULT_MAX_INACTIVE_INTERVAL = 900;  // In seconds
 
+    // Largest whole number of megabytes which fits in a memory mapped buffer
+    private static final int MAX_FILE_CAPACITY = 2047;
+
     /**
      * The session id length of Sessions created by this Manager.
      */
     private static final int SESSION_ID_LENGTH = 16;
 
-    public static SessionManager getInstance() {
+    public static synchronized SessionManager getInstance() {
         if (instance == null) {
             instance = new SessionManager();
             init();
@@ -60,33 +65,61 @@ public class SessionManager {
 
     public static void init() {
         sessionIdGenerator.setSessionIdLength(SESSION_ID_LENGTH);
-        // Session expiry scheduled task
-        sessionExpiryChecker = Executors.newScheduledThreadPool(1);
-        sessionExpiryChecker.scheduleAtFixedRate(() ->
-                        sessionMap.values().parallelStream()
-                                .filter(session ->
-                                        (System.currentTimeMillis() - session.getLastAccessedTime() >=
-                                                session.getMaxInactiveInterval() * 1000))
-                                .forEach(Session::invalidate),
-                30, 30, TimeUnit.SECONDS);
+        SessionConfig config = BLangConfigurationManager.getInstance().getConfiguration().getSession();
+        sessionStore = createSessionStore(config);
+
+        // Session expiry scheduled task. The store only checks the sessions due at each tick.
+        sessionExpiryChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessionExpiryChecker.scheduleAtFixedRate(() -> sessionStore.expireSessions(System.currentTimeMillis()),
+                config.getExpiryCheckInterval(), config.getExpiryCheckInterval(), TimeUnit.MILLISECONDS);
     }
 
-    public Session getHTTPSession(String sessionId) {
-        HTTPSession session = (HTTPSession) sessionMap.get(sessionId);
-        if (session != null) {
-            return session;
+    private static SessionStore createSessionStore(SessionConfig config) {
+        if (!config.isFileStore()) {
+            return new ShardedSessionStore(config.getShardCount(), config.getMaxActiveSessions(),
+                    config.isEvictWhenFull(), config.getExpiryCheckInterval());
+        }
+
+        try {
+            Path file;
+            if (config.getFilePath() == null || config.getFilePath().isEmpty()) {
+                File tempFile = File.createTempFile("ballerina-sessions", ".dat");
+                tempFile.deleteOnExit();
+                file = tempFile.toPath();
+            } else {
+                file = Paths.get(config.getFilePath());
+            }
+            return new MappedFileSessionStore(file, getFileCapacity(config), config.getShardCount(),
+                    config.getMaxActiveSessions(), config.getExpiryCheckInterval(), instance);
+        } catch (IOException e) {
+            throw new BallerinaException("failed to create the session store file: " + e.getMessage(), e);
         }
-        return null;
     }
 
-    public Session createHTTPSession(String path) {
-        if (sessionMap.size() >= DEFAULT_MAX_ACTIVE_SESSIONS) {
-            throw new IllegalStateException("Failed to create session: Too many active sessions");
+    /**
+     * Returns the size of the session store file in bytes, capped at the size of a memory mapped buffer.
+     */
+    private static int getFileCapacity(SessionConfig config) {
+        int fileCapacity = config.getFileCapacity();
+        if (fileCapacity <= 0) {
+            throw new BallerinaException("invalid session store file capacity: " + fileCapacity + "MB");
         }
+        return (int) (Math.min(fileCapacity, MAX_FILE_CAPACITY) * 1024L * 1024L);
+    }
+
+    public Session getHTTPSession(String sessionId) {
+        return sessionStore.get(sessionId);
+    }
+
+    public Session createHTTPSession(String path) {
         HTTPSession session = new HTTPSession(sessionIdGenerator.generateSessionId(),
                 DEFAULT_MAX_INACTIVE_INTERVAL, path);
         session.setManager(this);
-        sessionMap.put(session.getId(), session);
+        sessionStore.add(session);
         return session;
     }
 
@@ -96,7 +129,20 @@ public class SessionManager {
      * @param session The session to be invalidated.
      */
     public void invalidateSession(Session session) {
-        sessionMap.remove(session.getId());
+        sessionStore.remove(session.getId());
+    }
+
+    /**
+     * Schedule the expiry of a session again, after its max inactive interval is changed.
+     *
+     * @param session The session to be rescheduled.
+     */
+    public void rescheduleSession(Session session) {
+        sessionStore.reschedule(session);
+    }
+
+    public SessionStore getSessionStore() {
+        return sessionStore;
     }
 
     /**
@@ -105,6 +151,7 @@ public class SessionManager {
      */
     public void stop() {
         sessionExpiryChecker.shutdown();
+        sessionStore.close();
     }
 
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.session;
+
+/**
+ * {@code SessionStore} is the storage SPI of the {@link SessionManager}.
+ * <p>
+ * Implementations must be thread safe. Sessions are invalidated through {@link Session#invalidate()}, which
+ * removes them from the store, hence a store never invalidates a session while holding its own locks.
+ *
+ * @since 0.90
+ */
+public interface SessionStore {
+
+    /**
+     * Retrieve a session.
+     *
+     * @param sessionId id of the session
+     * @return session with the given id, or null if there is no such session
+     */
+    Session get(String sessionId);
+
+    /**
+     * Add a new session.
+     *
+     * @param session session to be added
+     * @throws IllegalStateException if the store is full
+     */
+    void add(Session session);
+
+    /**
+     * Remove a session. Removing a session which is not in the store has no effect.
+     *
+     * @param sessionId id of the session to be removed
+     */
+    void remove(String sessionId);
+
+    /**
+     * Schedule the expiry of a session again, after its max inactive interval is changed. Rescheduling a session
+     * which is not in the store has no effect.
+     *
+     * @param session session to be rescheduled
+     */
+    void reschedule(Session session);
+
+    /**
+     * Get the number of sessions in the store.
+     *
+     * @return session count
+     */
+    int size();
+
+    /**
+     * Invalidate the sessions which are inactive for more than their max inactive interval.
+     *
+     * @param currentTime current time in milliseconds
+     */
+    void expireSessions(long currentTime);
+
+    /**
+     * Release the resources held by the store.
+     */
+    void close();
+}
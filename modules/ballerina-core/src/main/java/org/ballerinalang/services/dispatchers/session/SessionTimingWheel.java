@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.session;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code SessionTimingWheel} schedules the expiry checks of sessions in a hierarchical timing wheel.
+ * <p>
+ * Each level has 64 slots, and a slot of a level spans a full rotation of the level below it. Entries of a
+ * higher level slot are moved down when the wheel reaches the slot, hence scheduling and firing are constant time
+ * regardless of the number of sessions. Deadlines beyond the last level are capped, and such sessions are simply
+ * scheduled again when they fire.
+ * <p>
+ * A session is scheduled at most once. Sessions are not moved when they are accessed, as the deadline can only
+ * move later. The owner checks the actual deadline of a fired session and schedules it again if it has been
+ * accessed since. Scheduling a session again before it fires moves it only if its deadline has become earlier,
+ * e.g. when its max inactive interval is shortened. This class is not thread safe.
+ *
+ * @since 0.90
+ */
+class SessionTimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 3;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    @SuppressWarnings("unchecked")
+    private final List<Entry>[][] slots = new List[LEVELS][WHEEL_SIZE];
+    // Pending entry of each scheduled session
+    private final Map<Session, Entry> entries = new IdentityHashMap<>();
+    private long currentTick;
+
+    SessionTimingWheel(long tickMillis, long currentTime) {
+        this.tickMillis = tickMillis;
+        this.currentTick = currentTime / tickMillis;
+    }
+
+    /**
+     * Returns the time at which the given session expires, unless it is accessed again.
+     *
+     * @param session session to be checked
+     * @return expiry time in milliseconds
+     */
+    static long getDeadline(Session session) {
+        return session.getLastAccessedTime() + session.getMaxInactiveInterval() * 1000L;
+    }
+
+    /**
+     * Schedule the expiry check of a session, at the first tick after its deadline. If the session is already
+     * scheduled, it is moved only if the new tick is earlier.
+     *
+     * @param session session to be scheduled
+     */
+    void schedule(Session session) {
+        long tick = getTick(session, currentTick + 1);
+        Entry entry = entries.get(session);
+        if (entry != null) {
+            if (entry.tick <= tick) {
+                return;
+            }
+            entry.cancelled = true;
+        }
+
+        entry = new Entry(session, tick);
+        entries.put(session, entry);
+        add(entry);
+    }
+
+    /**
+     * Cancel the expiry check of a session which is no longer in the owner.
+     *
+     * @param session session to be cancelled
+     */
+    void cancel(Session session) {
+        Entry entry = entries.remove(session);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    /**
+     * Cancel all the scheduled expiry checks.
+     */
+    void clear() {
+        for (List<Entry>[] level : slots) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = null;
+            }
+        }
+        entries.clear();
+    }
+
+    private long getTick(Session session, long earliestTick) {
+        long tick = Math.max((getDeadline(session) + tickMillis - 1) / tickMillis, earliestTick);
+        return currentTick + Math.min(tick - currentTick, MAX_DELTA);
+    }
+
+    private void add(Entry entry) {
+        long delta = entry.tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+
+        int slot = (int) ((entry.tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        List<Entry> slotEntries = slots[level][slot];
+        if (slotEntries == null) {
+            slotEntries = new ArrayList<>();
+            slots[level][slot] = slotEntries;
+        }
+        slotEntries.add(entry);
+    }
+
+    /**
+     * Advance the wheel up to the given time, collecting the sessions of the passed ticks.
+     *
+     * @param currentTime current time in milliseconds
+     * @param due         list to add the sessions which are due for an expiry check
+     */
+    void advance(long currentTime, List<Session> due) {
+        long targetTick = currentTime / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+                }
+            }
+
+            int slot = (int) (currentTick & WHEEL_MASK);
+            List<Entry> slotEntries = slots[0][slot];
+            if (slotEntries != null) {
+                slots[0][slot] = null;
+                for (Entry entry : slotEntries) {
+                    if (!entry.cancelled) {
+                        entries.remove(entry.session);
+                        due.add(entry.session);
+                    }
+                }
+            }
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        List<Entry> slotEntries = slots[level][slot];
+        if (slotEntries == null) {
+            return;
+        }
+
+        slots[level][slot] = null;
+        for (Entry entry : slotEntries) {
+            if (entry.cancelled) {
+                continue;
+            }
+            // Sessions due in the current tick go to the level 0 slot which is fired next
+            entry.tick = getTick(entry.session, currentTick);
+            add(entry);
+        }
+    }
+
+    /**
+     * Scheduled expiry check of a session.
+     */
+    private static class Entry {
+        private final Session session;
+        private long tick;
+        private boolean cancelled;
+
+        Entry(Session session, long tick) {
+            this.session = session;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.session;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code ShardedSessionStore} keeps the sessions in memory, split into shards with their own lock.
+ * <p>
+ * Each shard keeps its sessions in the access order and schedules their expiry in a {@link SessionTimingWheel},
+ * so an expiry check only visits the sessions which are due. When the store is full, a new session either fails
+ * or evicts the least recently used session of its shard, depending on the configuration. The eviction order is
+ * kept per shard, hence it approximates the global order. Only if the shard of the new session is empty, a
+ * session of another shard is evicted right after the new session is added.
+ *
+ * @since 0.90
+ */
+public class ShardedSessionStore implements SessionStore {
+
+    private final Shard[] shards;
+    private final int maxActiveSessions;
+    private final boolean evictWhenFull;
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    public ShardedSessionStore(int shardCount, int maxActiveSessions, boolean evictWhenFull, long tickMillis) {
+        if (shardCount <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("invalid session store configuration: shard count " + shardCount +
+                    ", tick " + tickMillis + "ms");
+        }
+
+        this.maxActiveSessions = maxActiveSessions;
+        this.evictWhenFull = evictWhenFull;
+        long currentTime = System.currentTimeMillis();
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(tickMillis, currentTime);
+        }
+    }
+
+    @Override
+    public Session get(String sessionId) {
+        int shardIndex = getShardIndex(sessionId);
+        Shard shard = shards[shardIndex];
+        Session session;
+        Session evicted;
+        synchronized (shard) {
+            session = shard.sessions.get(sessionId);
+            if (session != null) {
+                return session;
+            }
+
+            // Load the session while holding the lock, so that concurrent lookups of it get the same instance
+            session = load(sessionId);
+            if (session == null) {
+                return null;
+            }
+            evicted = insert(shard, session, true);
+        }
+
+        handleEviction(evicted, shardIndex);
+        return session;
+    }
+
+    @Override
+    public void add(Session session) {
+        int shardIndex = getShardIndex(session.getId());
+        Shard shard = shards[shardIndex];
+        Session evicted;
+        synchronized (shard) {
+            evicted = insert(shard, session, evictWhenFull);
+        }
+
+        handleEviction(evicted, shardIndex);
+    }
+
+    /**
+     * Put a session into its shard, reserving a place for it first. Must be called while holding the lock of the
+     * shard.
+     *
+     * @return session evicted from the shard to make room and not offloaded, or null
+     */
+    private Session insert(Shard shard, Session session, boolean evict) {
+        Session evicted = null;
+        Session previous = shard.sessions.put(session.getId(), session);
+        if (previous != null) {
+            if (previous != session) {
+                shard.wheel.cancel(previous);
+            }
+        } else if (!reserve()) {
+            if (!evict) {
+                shard.sessions.remove(session.getId());
+                throw new IllegalStateException("Failed to create session: Too many active sessions");
+            }
+
+            // The new session takes the place of the evicted one
+            Session eldest = removeEldest(shard);
+            if (eldest == null) {
+                // The shard has no other session, hence the store is over the limit until handleEviction() runs
+                sessionCount.incrementAndGet();
+            } else if (!offload(eldest)) {
+                evicted = eldest;
+            }
+        }
+
+        shard.wheel.schedule(session);
+        return evicted;
+    }
+
+    /**
+     * Count a new session if the store is not full.
+     */
+    private boolean reserve() {
+        int count = sessionCount.get();
+        while (count < maxActiveSessions) {
+            if (sessionCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+            count = sessionCount.get();
+        }
+        return false;
+    }
+
+    /**
+     * Remove the least recently used session of a shard, other than the session just put as the most recent one.
+     * Must be called while holding the lock of the shard.
+     */
+    private Session removeEldest(Shard shard) {
+        if (shard.sessions.size() <= 1) {
+            return null;
+        }
+
+        Iterator<Session> iterator = shard.sessions.values().iterator();
+        Session session = iterator.next();
+        iterator.remove();
+        shard.wheel.cancel(session);
+        return session;
+    }
+
+    /**
+     * Handle the session evicted from a shard. If none was, bring the store back within its limit by evicting from
+     * the next non empty shard.
+     */
+    private void handleEviction(Session evicted, int shardIndex) {
+        for (int i = 1; evicted == null && i < shards.length && sessionCount.get() > maxActiveSessions; i++) {
+            Shard shard = shards[(shardIndex + i) % shards.length];
+            synchronized (shard) {
+                if (shard.sessions.isEmpty() || sessionCount.get() <= maxActiveSessions) {
+                    continue;
+                }
+
+                Iterator<Session> iterator = shard.sessions.values().iterator();
+                Session eldest = iterator.next();
+                iterator.remove();
+                shard.wheel.cancel(eldest);
+                sessionCount.decrementAndGet();
+                if (!offload(eldest)) {
+                    evicted = eldest;
+                }
+                break;
+            }
+        }
+
+        if (evicted != null) {
+            evicted(evicted);
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        Shard shard = getShard(sessionId);
+        synchronized (shard) {
+            Session session = shard.sessions.remove(sessionId);
+            if (session != null) {
+                shard.wheel.cancel(session);
+                sessionCount.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void reschedule(Session session) {
+        Shard shard = getShard(session.getId());
+        synchronized (shard) {
+            // containsKey does not change the access order of the sessions
+            if (shard.sessions.containsKey(session.getId())) {
+                shard.wheel.schedule(session);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return sessionCount.get();
+    }
+
+    @Override
+    public void expireSessions(long currentTime) {
+        List<Session> due = new ArrayList<>();
+        List<Session> expired = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.wheel.advance(currentTime, due);
+                for (Session session : due) {
+                    // Removed sessions are cancelled in the wheel, hence a due session is still in the shard.
+                    // containsKey does not change the access order of the sessions.
+                    if (!shard.sessions.containsKey(session.getId())) {
+                        continue;
+                    }
+
+                    if (currentTime >= SessionTimingWheel.getDeadline(session)) {
+                        shard.sessions.remove(session.getId());
+                        sessionCount.decrementAndGet();
+                        expired.add(session);
+                    } else {
+                        shard.wheel.schedule(session);
+                    }
+                }
+            }
+            due.clear();
+        }
+
+        for (Session session : expired) {
+            session.invalidate();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.sessions.clear();
+                shard.wheel.clear();
+            }
+        }
+        sessionCount.set(0);
+    }
+
+    /**
+     * Load a session which is not in memory. Called while holding the lock of the shard of the session, hence a
+     * session is loaded at most once at a time. The default implementation returns null.
+     *
+     * @param sessionId id of the session
+     * @return loaded session, or null if there is no such session
+     */
+    protected Session load(String sessionId) {
+        return null;
+    }
+
+    /**
+     * Keep a session evicted to make room for a new session outside the memory. Called while holding the lock of
+     * the shard of the session, hence the session is either in memory or offloaded when it is looked up. The
+     * default implementation does not keep the session.
+     *
+     * @param session evicted session, which is no longer in memory
+     * @return true if the session is kept, or false if it should be invalidated
+     */
+    protected boolean offload(Session session) {
+        return false;
+    }
+
+    /**
+     * Handle a session evicted to make room for a new session and not offloaded. The default implementation
+     * invalidates it.
+     *
+     * @param session evicted session, which is no longer in the store
+     */
+    protected void evicted(Session session) {
+        session.invalidate();
+    }
+
+    private Shard getShard(String sessionId) {
+        return shards[getShardIndex(sessionId)];
+    }
+
+    private int getShardIndex(String sessionId) {
+        int h = sessionId.hashCode();
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % shards.length;
+    }
+
+    /**
+     * Sessions of a shard, guarded by the shard itself.
+     */
+    private static class Shard {
+        private final Map<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+        private final SessionTimingWheel wheel;
+
+        Shard(long tickMillis, long currentTime) {
+            this.wheel = new SessionTimingWheel(tickMillis, currentTime);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.services.dispatchers.uri;
+
+import org.ballerinalang.services.dispatchers.http.Constants;
+import org.ballerinalang.services.dispatchers.uri.parser.Node;
+import org.ballerinalang.util.codegen.AnnotationAttachmentInfo;
+import org.ballerinalang.util.codegen.AnnotationAttributeInfo;
+import org.ballerinalang.util.codegen.AttributeInfo;
+import org.ballerinalang.util.codegen.ResourceInfo;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code ResourceRouter} is an immutable tree of the resource templates of a service.
+ * <p>
+ * It finds the resource of a request path and method in a single pass over the path. Literal segments are looked
+ * up in a hash table without creating substrings, and the HTTP method of each template is resolved to a resource
+ * when the router is compiled. Like the {@link Node} tree, it tries literal segments before path params and path
+ * params before a trailing {@code *}, and backtracks when a branch does not lead to a resource.
+ * <p>
+ * Only templates made of literal segments, whole segment path params such as {@code {productId}} or
+ * {@code {productId:5}} and a trailing {@code *} are compiled. Services with other template expressions are
+ * matched by the {@link Node} tree.
+ *
+ * @since 0.90
+ */
+public class ResourceRouter {
+
+    private static final char PATH_DELIMITER = '/';
+    private static final String WILDCARD = "*";
+    private static final String[] HTTP_METHODS = {
+            Constants.HTTP_METHOD_GET, Constants.HTTP_METHOD_PUT, Constants.HTTP_METHOD_POST,
+            Constants.HTTP_METHOD_DELETE, Constants.HTTP_METHOD_OPTIONS, Constants.HTTP_METHOD_HEAD
+    };
+    private static final char[] RESERVED = new char[] {
+            ':', '/', '?', '#', '[', ']', '@', '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '='
+    };
+
+    private final RouteNode root;
+
+    private ResourceRouter(RouteNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles the resource templates of a service.
+     *
+     * @param templates resource templates, in the order the resources were registered
+     * @param resources the resource of each template
+     * @return the router, or null if any of the templates has an expression which cannot be compiled
+     */
+    public static ResourceRouter compile(List<String> templates, List<ResourceInfo> resources) {
+        RouteNode root = new RouteNode();
+        for (int i = 0; i < templates.size(); i++) {
+            String[] segments = templates.get(i).split("/");
+            Set<String> names = new HashSet<>();
+            RouteNode node = root;
+            for (int j = 0; j < segments.length; j++) {
+                String segment = segments[j];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+
+                if (WILDCARD.equals(segment) && j == segments.length - 1) {
+                    node = node.getOrAddWildcard();
+                } else if (isLiteral(segment)) {
+                    node = node.getOrAddLiteral(segment);
+                } else if (isPathParam(segment)) {
+                    String expression = segment.substring(1, segment.length() - 1);
+                    int separator = expression.indexOf(':');
+                    String name = separator < 0 ? expression : expression.substring(0, separator);
+                    int prefix = separator < 0 ? -1 : Integer.parseInt(expression.substring(separator + 1));
+                    if (!names.add(name)) {
+                        return null;
+                    }
+                    node = node.getOrAddPathParam(name, prefix);
+                } else {
+                    return null;
+                }
+            }
+            node.resourceList.add(resources.get(i));
+        }
+        root.seal();
+        return new ResourceRouter(root);
+    }
+
+    /**
+     * Finds the resource which should serve the given request.
+     *
+     * @param path request path, relative to the base path of the service
+     * @param variables map to which the path params of the resource are added
+     * @param carbonMessage request message
+     * @return the resource, or null if no template matches the path
+     * @throws BallerinaException if a template matches but no resource accepts the method or the media types
+     */
+    public ResourceInfo route(String path, Map<String, String> variables, CarbonMessage carbonMessage) {
+        return route(root, path, 0, variables, carbonMessage);
+    }
+
+    private ResourceInfo route(RouteNode node, String path, int start, Map<String, String> variables,
+                               CarbonMessage carbonMessage) {
+        int length = path.length();
+        if (start < length && path.charAt(start) == PATH_DELIMITER) {
+            start++;
+        }
+        if (start >= length) {
+            return node.selectResource(carbonMessage);
+        }
+
+        int end = path.indexOf(PATH_DELIMITER, start);
+        if (end < 0) {
+            end = length;
+        }
+
+        ResourceInfo resource;
+        RouteNode literal = node.findLiteral(path, start, end);
+        if (literal != null) {
+            resource = route(literal, path, end, variables, carbonMessage);
+            if (resource != null) {
+                return resource;
+            }
+        }
+
+        if (node.pathParams.length > 0 && isPathParamValue(path, start, end)) {
+            String value = decodeValue(path.substring(start, end));
+            for (PathParam pathParam : node.pathParams) {
+                if (pathParam.prefix > 0 && value.length() != pathParam.prefix) {
+                    continue;
+                }
+                resource = route(pathParam.node, path, end, variables, carbonMessage);
+                if (resource != null) {
+                    variables.put(pathParam.name, value);
+                    return resource;
+                }
+            }
+        }
+
+        if (node.wildcard != null) {
+            return node.wildcard.selectResource(carbonMessage);
+        }
+        return null;
+    }
+
+    private static boolean isLiteral(String segment) {
+        return segment.indexOf('{') < 0 && segment.indexOf('}') < 0 && segment.indexOf('*') < 0;
+    }
+
+    private static boolean isPathParam(String segment) {
+        int length = segment.length();
+        if (length < 3 || segment.charAt(0) != '{' || segment.indexOf('}') != length - 1) {
+            return false;
+        }
+        for (int i = 1; i < length - 1; i++) {
+            char ch = segment.charAt(i);
+            if (!((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+                    || ch == '-' || ch == '_' || ((ch == '.' || ch == ':') && i > 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPathParamValue(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char ch = path.charAt(i);
+            for (char reservedChar : RESERVED) {
+                if (ch == reservedChar) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String decodeValue(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Error while decoding value: " + value, e);
+        }
+    }
+
+    private static int hash(String path, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A path param segment of one or more templates.
+     */
+    private static class PathParam {
+        private final String name;
+        private final int prefix;
+        private final RouteNode node = new RouteNode();
+
+        PathParam(String name, int prefix) {
+            this.name = name;
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * A segment of one or more templates, with the resources of the templates which end at it.
+     */
+    private static class RouteNode {
+        private static final String[] NO_LITERALS = new String[0];
+        private static final RouteNode[] NO_NODES = new RouteNode[0];
+        private static final PathParam[] NO_PATH_PARAMS = new PathParam[0];
+
+        private Map<String, RouteNode> literalMap = new HashMap<>();
+        private Map<String, PathParam> pathParamMap = new LinkedHashMap<>();
+        private List<ResourceInfo> resourceList = new ArrayList<>();
+
+        private String[] literals = NO_LITERALS;
+        private RouteNode[] literalNodes = NO_NODES;
+        private PathParam[] pathParams = NO_PATH_PARAMS;
+        private RouteNode wildcard;
+        private boolean hasResources;
+        private Map<String, ResourceInfo> methodResources;
+        private ResourceInfo defaultResource;
+
+        RouteNode getOrAddLiteral(String segment) {
+            return literalMap.computeIfAbsent(segment, key -> new RouteNode());
+        }
+
+        RouteNode getOrAddPathParam(String name, int prefix) {
+            // The prefix of the first template with the name applies, as it does in the Node tree
+            return pathParamMap.computeIfAbsent(name, key -> new PathParam(name, prefix)).node;
+        }
+
+        RouteNode getOrAddWildcard() {
+            if (wildcard == null) {
+                wildcard = new RouteNode();
+            }
+            return wildcard;
+        }
+
+        RouteNode findLiteral(String path, int start, int end) {
+            if (literals.length == 0) {
+                return null;
+            }
+
+            int length = end - start;
+            int mask = literals.length - 1;
+            for (int i = hash(path, start, end) & mask; literals[i] != null; i = (i + 1) & mask) {
+                String literal = literals[i];
+                if (literal.length() == length && path.regionMatches(start, literal, 0, length)) {
+                    return literalNodes[i];
+                }
+            }
+            return null;
+        }
+
+        ResourceInfo selectResource(CarbonMessage carbonMessage) {
+            if (!hasResources) {
+                return null;
+            }
+
+            String method = (String) carbonMessage.getProperty(Constants.HTTP_METHOD);
+            ResourceInfo resource = method == null ? null : methodResources.get(method);
+            if (resource == null && Constants.HTTP_METHOD_GET.equalsIgnoreCase(method)) {
+                resource = defaultResource;
+            }
+            if (resource == null) {
+                carbonMessage.setProperty(Constants.HTTP_STATUS_CODE, 405);
+                throw new BallerinaException();
+            }
+            Node.validateConsumes(resource, carbonMessage);
+            Node.validateProduces(resource, carbonMessage);
+            return resource;
+        }
+
+        void seal() {
+            if (!literalMap.isEmpty()) {
+                int capacity = Integer.highestOneBit(literalMap.size()) << 2;
+                literals = new String[capacity];
+                literalNodes = new RouteNode[capacity];
+                for (Map.Entry<String, RouteNode> entry : literalMap.entrySet()) {
+                    String literal = entry.getKey();
+                    int i = hash(literal, 0, literal.length()) & (capacity - 1);
+                    while (literals[i] != null) {
+                        i = (i + 1) & (capacity - 1);
+                    }
+                    literals[i] = literal;
+                    literalNodes[i] = entry.getValue();
+                    entry.getValue().seal();
+                }
+            }
+            literalMap = null;
+
+            pathParams = pathParamMap.values().toArray(new PathParam[pathParamMap.size()]);
+            pathParamMap = null;
+            for (PathParam pathParam : pathParams) {
+                pathParam.node.seal();
+            }
+
+            if (wildcard != null) {
+                wildcard.seal();
+            }
+
+            hasResources = !resourceList.isEmpty();
+            methodResources = new HashMap<>();
+            for (ResourceInfo resource : resourceList) {
+                boolean hasMethod = false;
+                for (AnnotationAttachmentInfo attachment : getAnnotationAttachments(resource)) {
+                    if (!Constants.HTTP_PACKAGE_PATH.equals(attachment.getPkgPath())) {
+                        continue;
+                    }
+                    // Same as the Node tree, the last resource with the method annotation serves the method
+                    methodResources.put(attachment.getName(), resource);
+                    for (String httpMethod : HTTP_METHODS) {
+                        hasMethod |= httpMethod.equals(attachment.getName());
+                    }
+                }
+                if (!hasMethod && defaultResource == null) {
+                    defaultResource = resource;
+                }
+            }
+            resourceList = null;
+        }
+
+        private static List<AnnotationAttachmentInfo> getAnnotationAttachments(ResourceInfo resource) {
+            AnnotationAttributeInfo attributeInfo = (AnnotationAttributeInfo) resource
+                    .getAttributeInfo(AttributeInfo.ANNOTATIONS_ATTRIBUTE);
+            if (attributeInfo == null) {
+                return new ArrayList<>();
+            }
+            return attributeInfo.getAnnotationAttachmentInfo();
+        }
+    }
+}
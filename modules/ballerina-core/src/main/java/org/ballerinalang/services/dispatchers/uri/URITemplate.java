@@ -23,6 +23,8 @@ import org.ballerinalang.services.dispatchers.uri.parser.URITemplateParser;
 import org.ballerinalang.util.codegen.ResourceInfo;
 import org.wso2.carbon.messaging.CarbonMessage;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,6 +35,10 @@ import java.util.Map;
 public class URITemplate {
 
     private Node syntaxTree;
+    private final List<String> templates = new ArrayList<>();
+    private final List<ResourceInfo> resources = new ArrayList<>();
+    private ResourceRouter router;
+    private volatile boolean compiled;
 
     public URITemplate(Node syntaxTree) {
         this.syntaxTree = syntaxTree;
@@ -43,6 +49,10 @@ public class URITemplate {
     }
 
     public ResourceInfo matches(String uri, Map<String, String> variables, CarbonMessage carbonMessage) {
+        ResourceRouter router = getRouter();
+        if (router != null) {
+            return router.route(uri, variables, carbonMessage);
+        }
         return syntaxTree.matchAll(uri, variables, carbonMessage, 0);
     }
 
@@ -51,6 +61,30 @@ public class URITemplate {
 
         URITemplateParser parser = new URITemplateParser(syntaxTree);
         parser.parse(uriTemplate, resource);
+
+        synchronized (this) {
+            templates.add(uriTemplate);
+            resources.add(resource);
+            compiled = false;
+        }
+    }
+
+    /**
+     * Returns the router compiled from the templates parsed so far, compiling it on the first request after a
+     * template is added.
+     *
+     * @return the router, or null if the templates have to be matched by the syntax tree
+     */
+    private ResourceRouter getRouter() {
+        if (!compiled) {
+            synchronized (this) {
+                if (!compiled) {
+                    router = ResourceRouter.compile(templates, resources);
+                    compiled = true;
+                }
+            }
+        }
+        return router;
     }
 
     public String removeTheFirstAndLastBackSlash(String template) {
@@ -26,6 +26,17 @@ public class URIUtil {
 
     public static final String URI_PATH_DELIMITER = "/";
 
+    // Characters of a path and a query which are neither escaped nor need to be decoded
+    private static final String PLAIN_URI_CHARACTERS = "abcdefghijklmnopqrstuvwxyz" +
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-._~!$&'()*+,;=:@/?";
+    private static final boolean[] PLAIN_URI_CHARACTER = new boolean[128];
+
+    static {
+        for (int i = 0; i < PLAIN_URI_CHARACTERS.length(); i++) {
+            PLAIN_URI_CHARACTER[PLAIN_URI_CHARACTERS.charAt(i)] = true;
+        }
+    }
+
     public static String[] getPathSegments(String path) {
         if (path.startsWith(URI_PATH_DELIMITER)) {
             path = path.substring(1);
@@ -33,6 +44,50 @@ public class URIUtil {
         return path.split(URI_PATH_DELIMITER);
     }
 
+    /**
+     * Replace consecutive slashes in the given URI with a single slash.
+     *
+     * @param uri request URI
+     * @return the same URI instance if it has no consecutive slashes
+     */
+    public static String removeDuplicateSlashes(String uri) {
+        int index = uri.indexOf("//");
+        if (index < 0) {
+            return uri;
+        }
+
+        StringBuilder builder = new StringBuilder(uri.length());
+        builder.append(uri, 0, index + 1);
+        for (int i = index + 1; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c != '/' || uri.charAt(i - 1) != '/') {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns whether the given request URI is an absolute path and an optional query, without any escaped
+     * characters or a fragment. The path and the query of such a URI are the same as the ones decoded by
+     * {@link java.net.URI}, hence they can be taken without parsing the URI.
+     *
+     * @param uri request URI
+     * @return true if the URI has only a plain path and a query
+     */
+    public static boolean isPlainPathAndQuery(String uri) {
+        if (uri.isEmpty() || uri.charAt(0) != '/') {
+            return false;
+        }
+        for (int i = 1; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c >= PLAIN_URI_CHARACTER.length || !PLAIN_URI_CHARACTER[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static String getSubPath(String path, String basePath) {
         if (path.length() == basePath.length()) {
             return URI_PATH_DELIMITER;
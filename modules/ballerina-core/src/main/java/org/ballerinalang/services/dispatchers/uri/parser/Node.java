@@ -74,18 +74,16 @@ public abstract class Node {
             ResourceInfo resource;
             for (Node childNode : childNodesList) {
                 if (childNode instanceof Literal) {
-                    String regex = childNode.getToken();
-                    if (regex.equals("*")) {
-                        regex = "." + regex;
-                        if (subPath.matches(regex)) {
-                            resource = childNode.matchAll(subUriFragment, variables,
-                                    carbonMessage, start + matchLength);
-                            if (resource != null) {
-                                return resource;
-                            }
+                    String token = childNode.getToken();
+                    if (token.equals("*")) {
+                        // Wildcard matches any sub path
+                        resource = childNode.matchAll(subUriFragment, variables,
+                                carbonMessage, start + matchLength);
+                        if (resource != null) {
+                            return resource;
                         }
                     } else {
-                        if (subPath.contains(regex)) {
+                        if (subPath.contains(token)) {
                             resource = childNode.matchAll(subUriFragment, variables, carbonMessage,
                                     start + matchLength);
                             if (resource != null) {
@@ -228,7 +226,7 @@ public abstract class Node {
         return null;
     }
 
-    public ResourceInfo validateConsumes(ResourceInfo resource, CarbonMessage cMsg) {
+    public static ResourceInfo validateConsumes(ResourceInfo resource, CarbonMessage cMsg) {
         boolean isConsumeMatched = false;
         String contentMediaType = extractContentMediaType(cMsg.getHeader(Constants.CONTENT_TYPE_HEADER));
         AnnotationAttachmentInfo consumeInfo = resource.getAnnotationAttachmentInfo(Constants.HTTP_PACKAGE_PATH,
@@ -252,7 +250,7 @@ public abstract class Node {
         return resource;
     }
 
-    private String extractContentMediaType(String header) {
+    private static String extractContentMediaType(String header) {
         if (header == null) {
             return null;
         } else {
@@ -263,7 +261,7 @@ public abstract class Node {
         return header;
     }
 
-    public ResourceInfo validateProduces(ResourceInfo resource, CarbonMessage cMsg) {
+    public static ResourceInfo validateProduces(ResourceInfo resource, CarbonMessage cMsg) {
         boolean isProduceMatched = false;
         List<String> acceptMediaTypes = extractAcceptMediaTypes(cMsg.getHeader(Constants.ACCEPT_HEADER));
         AnnotationAttachmentInfo produceInfo = resource.getAnnotationAttachmentInfo(Constants.HTTP_PACKAGE_PATH,
@@ -315,7 +313,7 @@ public abstract class Node {
         return resource;
     }
 
-    private List<String> extractAcceptMediaTypes(String header) {
+    private static List<String> extractAcceptMediaTypes(String header) {
         List<String> acceptMediaTypes = new ArrayList();
         if (header == null) {
             return null;
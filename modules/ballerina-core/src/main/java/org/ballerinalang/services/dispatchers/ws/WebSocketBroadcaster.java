@@ -0,0 +1,338 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.ws;
+
+import org.ballerinalang.runtime.interceptors.LatencyHistogram;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.websocket.Session;
+
+/**
+ * {@code WebSocketBroadcaster} sends a text message to a group of WebSocket connections.
+ * <p>
+ * The connections are iterated directly from the concurrent map of the group, without copying them. Each connection
+ * has a FIFO queue of messages, which is drained by at most one task of a bounded thread pool at a time, hence the
+ * sends to a connection never overlap and keep the order of the broadcasts. Different connections are sent to in
+ * parallel, and the caller returns as soon as the message is queued for all of them.
+ * <p>
+ * Each connection may have at most a configured number of messages waiting. Further messages to a slower connection
+ * are dropped or the connection is closed, according to the {@link SlowConsumerPolicy}. The same policy applies to
+ * the waiting messages of a connection when the queue of the pool is full. A failed send does not stop the rest of
+ * the broadcast. Failures are counted, and reported to the {@link BroadcastListener} of the broadcast if there is
+ * one.
+ *
+ * @since 0.90
+ */
+public class WebSocketBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketBroadcaster.class);
+
+    public static final int DEFAULT_MAX_PENDING_SENDS = 16;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long KEEP_ALIVE_TIME = 60;  // In seconds
+
+    private static final WebSocketBroadcaster instance = new WebSocketBroadcaster(
+            Runtime.getRuntime().availableProcessors() * 2, DEFAULT_MAX_PENDING_SENDS, SlowConsumerPolicy.DROP);
+
+    /**
+     * Action taken on a connection which already has the maximum number of messages waiting.
+     */
+    public enum SlowConsumerPolicy {
+        /**
+         * Skip the message for the connection.
+         */
+        DROP,
+        /**
+         * Close the connection and remove it from all the groups.
+         */
+        EVICT
+    }
+
+    /**
+     * Listener notified once a broadcast has completed for all its connections.
+     */
+    @FunctionalInterface
+    public interface BroadcastListener {
+        /**
+         * Called by the thread which completes the last send of the broadcast. Messages dropped or connections
+         * closed by the slow consumer policy are not counted as failures.
+         *
+         * @param failures number of connections the message could not be sent to
+         * @param failure  error of the first failed send, or null if there is none
+         */
+        void completed(int failures, Throwable failure);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int maxPendingSends;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    // Messages waiting to be sent to each connection, by the session id
+    private final Map<String, SendQueue> sendQueues = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram fanOutLatency = new LatencyHistogram();
+    private final AtomicInteger droppedCount = new AtomicInteger();
+    private final AtomicInteger evictedCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+
+    public WebSocketBroadcaster(int threadCount, int maxPendingSends, SlowConsumerPolicy slowConsumerPolicy) {
+        this.maxPendingSends = maxPendingSends;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        // The waiting messages of a connection whose drain task is rejected are handled as those of a slow consumer
+        executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                new BLangThreadFactory(new ThreadGroup("ws-broadcast"), "ws-broadcast-thread-pool"),
+                (task, pool) -> ((SendQueue) task).reject());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static WebSocketBroadcaster getInstance() {
+        return instance;
+    }
+
+    /**
+     * Send a text message to the given connections, without waiting for the sends.
+     *
+     * @param sessions connections to send the message to
+     * @param text     message to send
+     */
+    public void broadcast(Iterable<Session> sessions, String text) {
+        broadcast(sessions, text, null);
+    }
+
+    /**
+     * Send a text message to the given connections, without waiting for the sends.
+     *
+     * @param sessions connections to send the message to
+     * @param text     message to send
+     * @param listener listener notified once the message is sent to all the connections, or null
+     */
+    public void broadcast(Iterable<Session> sessions, String text, BroadcastListener listener) {
+        Broadcast broadcast = new Broadcast(text, listener);
+        for (Session session : sessions) {
+            enqueue(session, broadcast);
+        }
+        broadcast.complete();
+    }
+
+    /**
+     * Add a message to the queue of a connection, applying the slow consumer policy if the queue is full.
+     */
+    private void enqueue(Session session, Broadcast broadcast) {
+        while (true) {
+            SendQueue queue = sendQueues.computeIfAbsent(session.getId(), id -> new SendQueue(session));
+            boolean full = false;
+            boolean drain = false;
+            List<Broadcast> discarded = null;
+            synchronized (queue) {
+                if (queue.removed) {
+                    // The queue was drained and removed after it was looked up
+                    continue;
+                }
+
+                if (queue.messages.size() >= maxPendingSends) {
+                    full = true;
+                    droppedCount.incrementAndGet();
+                    if (slowConsumerPolicy == SlowConsumerPolicy.EVICT) {
+                        discarded = queue.discard();
+                    }
+                } else {
+                    broadcast.pending.incrementAndGet();
+                    queue.messages.add(broadcast);
+                    drain = !queue.draining;
+                    queue.draining = true;
+                }
+            }
+
+            if (drain) {
+                executor.execute(queue);
+            } else if (full && slowConsumerPolicy == SlowConsumerPolicy.EVICT) {
+                completeDiscarded(discarded);
+                evict(session);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Complete the broadcasts of the discarded messages of a connection, after the lock of its queue is released.
+     */
+    private void completeDiscarded(List<Broadcast> discarded) {
+        droppedCount.addAndGet(discarded.size());
+        for (Broadcast broadcast : discarded) {
+            broadcast.complete();
+        }
+    }
+
+    private void evict(Session session) {
+        evictedCount.incrementAndGet();
+        WebSocketConnectionManager.getInstance().removeConnectionFromAll(session);
+        try {
+            session.close();
+        } catch (IOException e) {
+            log.debug("failed to close the WebSocket connection " + session.getId(), e);
+        }
+    }
+
+    public LatencyHistogram getFanOutLatency() {
+        return fanOutLatency;
+    }
+
+    public int getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Messages waiting to be sent to a connection, guarded by the queue itself. Running the queue drains it.
+     */
+    private class SendQueue implements Runnable {
+        private final Session session;
+        private final Queue<Broadcast> messages = new ArrayDeque<>();
+        // Whether a task is draining the queue
+        private boolean draining;
+        // Whether the queue is removed from the broadcaster, after which no message is added to it
+        private boolean removed;
+
+        SendQueue(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Broadcast broadcast;
+                synchronized (this) {
+                    broadcast = messages.poll();
+                    if (broadcast == null) {
+                        draining = false;
+                        removed = true;
+                        sendQueues.remove(session.getId(), this);
+                        return;
+                    }
+                }
+                send(broadcast);
+            }
+        }
+
+        /**
+         * Apply the slow consumer policy to the waiting messages, as the task draining the queue is rejected by
+         * the pool.
+         */
+        private void reject() {
+            List<Broadcast> discarded;
+            synchronized (this) {
+                discarded = discard();
+                draining = false;
+                removed = true;
+                sendQueues.remove(session.getId(), this);
+            }
+
+            completeDiscarded(discarded);
+            if (slowConsumerPolicy == SlowConsumerPolicy.EVICT) {
+                evict(session);
+            }
+        }
+
+        /**
+         * Remove the waiting messages. Must be called while holding the lock of the queue, and the broadcasts of
+         * the messages must be completed after releasing it.
+         *
+         * @return removed messages
+         */
+        private List<Broadcast> discard() {
+            List<Broadcast> discarded = new ArrayList<>(messages);
+            messages.clear();
+            return discarded;
+        }
+
+        private void send(Broadcast broadcast) {
+            try {
+                session.getBasicRemote().sendText(broadcast.text);
+            } catch (IOException | RuntimeException e) {
+                failedCount.incrementAndGet();
+                broadcast.failures.incrementAndGet();
+                broadcast.failure.compareAndSet(null, e);
+                log.debug("failed to send the broadcast message to the WebSocket connection " + session.getId(), e);
+                if (slowConsumerPolicy == SlowConsumerPolicy.EVICT) {
+                    List<Broadcast> discarded;
+                    synchronized (this) {
+                        discarded = discard();
+                    }
+                    completeDiscarded(discarded);
+                    evict(session);
+                }
+            } finally {
+                broadcast.complete();
+            }
+        }
+    }
+
+    /**
+     * State of a single broadcast.
+     */
+    private class Broadcast {
+        private final String text;
+        private final BroadcastListener listener;
+        private final long startTime = System.nanoTime();
+        // Sends which are not completed yet, plus one until all the connections are iterated
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Broadcast(String text, BroadcastListener listener) {
+            this.text = text;
+            this.listener = listener;
+        }
+
+        void complete() {
+            if (pending.decrementAndGet() == 0) {
+                fanOutLatency.record(System.nanoTime() - startTime);
+                if (listener != null) {
+                    listener.completed(failures.get(), failure.get());
+                }
+            }
+        }
+    }
+}
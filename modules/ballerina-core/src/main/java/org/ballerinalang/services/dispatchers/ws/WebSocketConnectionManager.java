@@ -18,6 +18,8 @@
 
 package org.ballerinalang.services.dispatchers.ws;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -52,13 +54,8 @@ public class WebSocketConnectionManager {
      * @param session {@link Session} to add to the broadcast group.
      */
     public void addConnectionToBroadcast(String serviceName, Session session) {
-        if (broadcastSessions.containsKey(serviceName)) {
-            broadcastSessions.get(serviceName).put(session.getId(), session);
-        } else {
-            Map<String, Session> sessionMap = new ConcurrentHashMap<>();
-            sessionMap.put(session.getId(), session);
-            broadcastSessions.put(serviceName, sessionMap);
-        }
+        broadcastSessions.computeIfAbsent(serviceName, name -> new ConcurrentHashMap<>())
+                .put(session.getId(), session);
     }
 
     /**
@@ -90,6 +87,18 @@ public class WebSocketConnectionManager {
         }
     }
 
+    /**
+     * Get the sessions for broadcasting for a given service, without copying them. The returned collection is a
+     * live view, which reflects the connections added or removed while it is iterated.
+     *
+     * @param serviceName name of the service.
+     * @return the sessions which are connected to a given service, or null if the service has no broadcast group.
+     */
+    public Collection<Session> getBroadcastConnections(String serviceName) {
+        Map<String, Session> sessionMap = broadcastSessions.get(serviceName);
+        return sessionMap == null ? null : Collections.unmodifiableCollection(sessionMap.values());
+    }
+
     /**
      * Add {@link Session} to session the session group.
      *
@@ -97,13 +106,8 @@ public class WebSocketConnectionManager {
      * @param session {@link Session} to remove from the broadcast group.
      */
     public void addConnectionToGroup(String groupName, Session session) {
-        if (connectionGroups.containsKey(groupName)) {
-            connectionGroups.get(groupName).put(session.getId(), session);
-        } else {
-            Map<String, Session> sessionMap = new ConcurrentHashMap<>();
-            sessionMap.put(session.getId(), session);
-            connectionGroups.put(groupName, sessionMap);
-        }
+        connectionGroups.computeIfAbsent(groupName, name -> new ConcurrentHashMap<>())
+                .put(session.getId(), session);
     }
 
     /**
@@ -152,6 +156,18 @@ public class WebSocketConnectionManager {
         }
     }
 
+    /**
+     * Get the connections which belongs to a specific group, without copying them. The returned collection is a
+     * live view, which reflects the connections added or removed while it is iterated.
+     *
+     * @param groupName name of the connection group.
+     * @return the connections belongs to the mentioned group name, or null if the group does not exist.
+     */
+    public Collection<Session> getConnectionGroupConnections(String groupName) {
+        Map<String, Session> sessionMap = connectionGroups.get(groupName);
+        return sessionMap == null ? null : Collections.unmodifiableCollection(sessionMap.values());
+    }
+
     /**
      * Store connection with the name given by the user for future usages.
      *
@@ -195,17 +211,9 @@ public class WebSocketConnectionManager {
      */
     public void removeConnectionFromAll(Session session) {
         // Removing session from broadcast sessions map
-        broadcastSessions.entrySet().forEach(
-                entry -> entry.getValue().entrySet().removeIf(
-                        innerEntry -> innerEntry.getKey().equals(session.getId())
-                )
-        );
+        broadcastSessions.values().forEach(sessionMap -> sessionMap.remove(session.getId()));
         //Removing session from groups map
-        connectionGroups.entrySet().forEach(
-                entry -> entry.getValue().entrySet().removeIf(
-                        innerEntry -> innerEntry.getKey().equals(session.getId())
-                )
-        );
+        connectionGroups.values().forEach(sessionMap -> sessionMap.remove(session.getId()));
         // Removing session from connection store
         connectionStore.entrySet().removeIf(
                 entry -> entry.getValue().equals(session)
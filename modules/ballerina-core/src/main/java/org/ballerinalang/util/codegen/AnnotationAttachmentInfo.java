@@ -50,6 +50,10 @@ public class AnnotationAttachmentInfo {
         return attributeValueMap.get(name);
     }
 
+    public Map<String, AnnotationAttributeValue> getAttributeValueMap() {
+        return attributeValueMap;
+    }
+
     public String getPkgPath() {
         return pkgPath;
     }
@@ -24,6 +24,7 @@ import org.ballerinalang.bre.ServiceVarLocation;
 import org.ballerinalang.bre.StackVarLocation;
 import org.ballerinalang.bre.StructVarLocation;
 import org.ballerinalang.bre.WorkerVarLocation;
+import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.model.Action;
 import org.ballerinalang.model.AnnotationAttachment;
 import org.ballerinalang.model.AnnotationAttributeDef;
@@ -284,6 +285,9 @@ public class CodeGenerator implements NodeVisitor {
         pkgInitFunction.accept(this);
         currentPkgInfo.setInitFunctionInfo(currentPkgInfo.getFunctionInfo(pkgInitFunction.getName()));
 
+        if (ModeResolver.getInstance().isCodeOptimizationEnabled()) {
+            new CodeOptimizer(currentPkgInfo).optimize();
+        }
         currentPkgInfo.complete();
         currentPkgCPIndex = -1;
         currentPkgPath = null;
@@ -2411,7 +2415,7 @@ public class CodeGenerator implements NodeVisitor {
         }
 
         int[] argRegs = lvIndexes;
-        ForkJoinCPEntry forkJoinCPEntry = new ForkJoinCPEntry(argRegs, retRegs, forkJoinStmt);
+        ForkJoinCPEntry forkJoinCPEntry = new ForkJoinCPEntry(argRegs, retRegs);
         forkJoinCPEntry.setParentCallableUnitInfo(currentCallableUnitInfo);
         if (argExpr != null) {
             forkJoinCPEntry.setTimeoutAvailable(true);
@@ -2448,8 +2452,13 @@ public class CodeGenerator implements NodeVisitor {
         // Generate code for Join block
         ForkJoinStmt.Join join = forkJoinStmt.getJoin();
         join.setIp(nextIP());
+        forkJoinCPEntry.setJoinType(join.getJoinType());
+        forkJoinCPEntry.setJoinWorkerNames(join.getJoinWorkers());
+        forkJoinCPEntry.setJoinIp(join.getIp());
         if (join.getJoinResult() != null) {
             visitForkJoinParameterDefs(join.getJoinResult());
+            forkJoinCPEntry.setJoinResultOffset(((StackVarLocation) join.getJoinResult().getMemoryLocation())
+                    .getStackFrameOffset());
         }
         if (join.getJoinBlock() != null) {
             join.getJoinBlock().accept(this);
@@ -2462,13 +2471,15 @@ public class CodeGenerator implements NodeVisitor {
         // Generate code for timeout block
         ForkJoinStmt.Timeout timeout = forkJoinStmt.getTimeout();
         timeout.setIp(nextIP());
-        int timeoutIP = timeout.getIp();
+        forkJoinCPEntry.setTimeoutIp(timeout.getIp());
         if (timeout.getTimeoutExpression() != null) {
             timeout.getTimeoutExpression().accept(this);
         }
 
         if (timeout.getTimeoutResult() != null) {
             visitForkJoinParameterDefs(timeout.getTimeoutResult());
+            forkJoinCPEntry.setTimeoutResultOffset(((StackVarLocation) timeout.getTimeoutResult()
+                    .getMemoryLocation()).getStackFrameOffset());
         }
         if (timeout.getTimeoutBlock() != null) {
             timeout.getTimeoutBlock().accept(this);
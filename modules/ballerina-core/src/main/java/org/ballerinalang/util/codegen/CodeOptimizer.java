@@ -0,0 +1,1302 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.util.codegen.cpentries.ActionRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.ballerinalang.util.codegen.cpentries.UTF8CPEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * {@code CodeOptimizer} optimizes the instructions generated for a package, before the package is completed.
+ * <p>
+ * The following passes are run:
+ * <ul>
+ * <li>constant folding and propagation within basic blocks, including branches on constant conditions</li>
+ * <li>jump threading and removal of jumps to the next instruction</li>
+ * <li>removal of unreachable instructions</li>
+ * <li>copy propagation of reloaded local variables and removal of unused register definitions</li>
+ * <li>liveness based register coalescing, which shrinks the register frames of the callable units</li>
+ * </ul>
+ * Registers are only rewritten in callable units whose register usage is fully described by their instructions.
+ * Units using workers, fork-join or instructions unknown to the optimizer keep their generated registers.
+ *
+ * @since 0.90
+ */
+public class CodeOptimizer {
+
+    private static final Logger log = LoggerFactory.getLogger(CodeOptimizer.class);
+
+    // Register kinds, in the order of the register index arrays of the code generator
+    private static final int INT = 0;
+    private static final int FLOAT = 1;
+    private static final int STRING = 2;
+    private static final int BOOL = 3;
+    private static final int BLOB = 4;
+    private static final int REF = 5;
+    private static final int REG_KIND_COUNT = 6;
+
+    private static final String USE_ROLES = "ifsblr";
+    private static final String DEF_ROLES = "IFSBLR";
+
+    /**
+     * Operand roles of the opcodes, one character per operand. Letters of {@link #USE_ROLES} are registers read by
+     * the instruction and letters of {@link #DEF_ROLES} are registers written by it. 'e' is an error register which
+     * is only written when the instruction fails, 'c' is a constant pool index, 'j' is a jump address and 'x' is any
+     * other immediate value. Instructions of opcodes without roles are not optimized.
+     */
+    private static final String[] OPERAND_ROLES = new String[InstructionCodes.INSTRUCTION_CODE_COUNT];
+
+    // Opcodes without side effects, which can be removed when the registers they write are not used
+    private static final boolean[] PURE = new boolean[InstructionCodes.INSTRUCTION_CODE_COUNT];
+
+    static {
+        setRoles("", InstructionCodes.NOP, InstructionCodes.HALT, InstructionCodes.RET, InstructionCodes.TRBGN);
+        setRoles("cI", InstructionCodes.ICONST);
+        setRoles("cF", InstructionCodes.FCONST);
+        setRoles("cS", InstructionCodes.SCONST);
+        setRoles("I", InstructionCodes.ICONST_0, InstructionCodes.ICONST_1, InstructionCodes.ICONST_2,
+                InstructionCodes.ICONST_3, InstructionCodes.ICONST_4, InstructionCodes.ICONST_5);
+        setRoles("F", InstructionCodes.FCONST_0, InstructionCodes.FCONST_1, InstructionCodes.FCONST_2,
+                InstructionCodes.FCONST_3, InstructionCodes.FCONST_4, InstructionCodes.FCONST_5);
+        setRoles("B", InstructionCodes.BCONST_0, InstructionCodes.BCONST_1);
+        setRoles("R", InstructionCodes.RCONST_NULL, InstructionCodes.NEWMAP, InstructionCodes.NEWJSON,
+                InstructionCodes.NEWMESSAGE, InstructionCodes.NEWDATATABLE);
+
+        setKindRoles("xK", InstructionCodes.ILOAD, InstructionCodes.FLOAD, InstructionCodes.SLOAD,
+                InstructionCodes.BLOAD, InstructionCodes.LLOAD, InstructionCodes.RLOAD);
+        setKindRoles("xK", InstructionCodes.IGLOAD, InstructionCodes.FGLOAD, InstructionCodes.SGLOAD,
+                InstructionCodes.BGLOAD, InstructionCodes.LGLOAD, InstructionCodes.RGLOAD);
+        setKindRoles("kx", InstructionCodes.ISTORE, InstructionCodes.FSTORE, InstructionCodes.SSTORE,
+                InstructionCodes.BSTORE, InstructionCodes.LSTORE, InstructionCodes.RSTORE);
+        setKindRoles("kx", InstructionCodes.IGSTORE, InstructionCodes.FGSTORE, InstructionCodes.SGSTORE,
+                InstructionCodes.BGSTORE, InstructionCodes.LGSTORE, InstructionCodes.RGSTORE);
+        setKindRoles("riK", InstructionCodes.IALOAD, InstructionCodes.FALOAD, InstructionCodes.SALOAD,
+                InstructionCodes.BALOAD, InstructionCodes.LALOAD, InstructionCodes.RALOAD);
+        setKindRoles("rik", InstructionCodes.IASTORE, InstructionCodes.FASTORE, InstructionCodes.SASTORE,
+                InstructionCodes.BASTORE, InstructionCodes.LASTORE, InstructionCodes.RASTORE);
+        setKindRoles("rxK", InstructionCodes.IFIELDLOAD, InstructionCodes.FFIELDLOAD, InstructionCodes.SFIELDLOAD,
+                InstructionCodes.BFIELDLOAD, InstructionCodes.LFIELDLOAD, InstructionCodes.RFIELDLOAD);
+        setKindRoles("rxk", InstructionCodes.IFIELDSTORE, InstructionCodes.FFIELDSTORE,
+                InstructionCodes.SFIELDSTORE, InstructionCodes.BFIELDSTORE, InstructionCodes.LFIELDSTORE,
+                InstructionCodes.RFIELDSTORE);
+        setKindRoles("xk", InstructionCodes.IRET, InstructionCodes.FRET, InstructionCodes.SRET,
+                InstructionCodes.BRET, InstructionCodes.LRET, InstructionCodes.RRET);
+        setRoles("riR", InstructionCodes.JSONALOAD);
+        setRoles("rir", InstructionCodes.JSONASTORE);
+        setRoles("rsR", InstructionCodes.MAPLOAD, InstructionCodes.JSONLOAD);
+        setRoles("rsr", InstructionCodes.MAPSTORE, InstructionCodes.JSONSTORE);
+
+        setRoles("iiI", InstructionCodes.IADD, InstructionCodes.ISUB, InstructionCodes.IMUL, InstructionCodes.IDIV,
+                InstructionCodes.IMOD);
+        setRoles("ffF", InstructionCodes.FADD, InstructionCodes.FSUB, InstructionCodes.FMUL, InstructionCodes.FDIV,
+                InstructionCodes.FMOD);
+        setRoles("ssS", InstructionCodes.SADD);
+        setRoles("rrR", InstructionCodes.XMLADD);
+        setRoles("iI", InstructionCodes.INEG);
+        setRoles("fF", InstructionCodes.FNEG);
+        setRoles("bB", InstructionCodes.BNOT);
+        setRoles("iiB", InstructionCodes.IEQ, InstructionCodes.INE, InstructionCodes.IGT, InstructionCodes.IGE,
+                InstructionCodes.ILT, InstructionCodes.ILE);
+        setRoles("ffB", InstructionCodes.FEQ, InstructionCodes.FNE, InstructionCodes.FGT, InstructionCodes.FGE,
+                InstructionCodes.FLT, InstructionCodes.FLE);
+        setRoles("ssB", InstructionCodes.SEQ, InstructionCodes.SNE);
+        setRoles("bbB", InstructionCodes.BEQ, InstructionCodes.BNE);
+        setRoles("rrB", InstructionCodes.REQ, InstructionCodes.RNE);
+
+        setRoles("rj", InstructionCodes.REQ_NULL, InstructionCodes.RNE_NULL);
+        setRoles("bj", InstructionCodes.BR_TRUE, InstructionCodes.BR_FALSE);
+        setRoles("j", InstructionCodes.GOTO);
+        // The registers of calls are in the function call constant pool entries
+        setRoles("cc", InstructionCodes.CALL, InstructionCodes.NCALL, InstructionCodes.ACALL,
+                InstructionCodes.NACALL);
+        setRoles("r", InstructionCodes.THROW, InstructionCodes.REP);
+        setRoles("x", InstructionCodes.ERRSTORE, InstructionCodes.TREND);
+
+        setRoles("iFe", InstructionCodes.I2F);
+        setRoles("iSe", InstructionCodes.I2S);
+        setRoles("iBe", InstructionCodes.I2B);
+        setRoles("iRe", InstructionCodes.I2JSON);
+        setRoles("fIe", InstructionCodes.F2I);
+        setRoles("fSe", InstructionCodes.F2S);
+        setRoles("fBe", InstructionCodes.F2B);
+        setRoles("fRe", InstructionCodes.F2JSON);
+        setRoles("sIe", InstructionCodes.S2I);
+        setRoles("sFe", InstructionCodes.S2F);
+        setRoles("sBe", InstructionCodes.S2B);
+        setRoles("sRe", InstructionCodes.S2JSON);
+        setRoles("bIe", InstructionCodes.B2I);
+        setRoles("bFe", InstructionCodes.B2F);
+        setRoles("bSe", InstructionCodes.B2S);
+        setRoles("bRe", InstructionCodes.B2JSON);
+        setKindRoles("rKe", InstructionCodes.JSON2I, InstructionCodes.JSON2F, InstructionCodes.JSON2S,
+                InstructionCodes.JSON2B);
+        setKindRoles("kRe", InstructionCodes.I2ANY, InstructionCodes.F2ANY, InstructionCodes.S2ANY,
+                InstructionCodes.B2ANY, InstructionCodes.L2ANY);
+        setKindRoles("rKe", InstructionCodes.ANY2I, InstructionCodes.ANY2F, InstructionCodes.ANY2S,
+                InstructionCodes.ANY2B, InstructionCodes.ANY2L);
+        setRoles("rRe", InstructionCodes.DT2JSON, InstructionCodes.DT2XML, InstructionCodes.T2MAP,
+                InstructionCodes.T2JSON, InstructionCodes.XML2JSON, InstructionCodes.JSON2XML,
+                InstructionCodes.XMLATTRS2MAP, InstructionCodes.ANY2JSON, InstructionCodes.ANY2XML,
+                InstructionCodes.ANY2MAP, InstructionCodes.ANY2MSG, InstructionCodes.ANY2DT,
+                InstructionCodes.NULL2JSON);
+        setRoles("rcRe", InstructionCodes.MAP2T, InstructionCodes.JSON2T, InstructionCodes.ANY2T,
+                InstructionCodes.ANY2C, InstructionCodes.CHECKCAST);
+
+        setRoles("Rc", InstructionCodes.INEWARRAY, InstructionCodes.FNEWARRAY, InstructionCodes.SNEWARRAY,
+                InstructionCodes.BNEWARRAY, InstructionCodes.LNEWARRAY, InstructionCodes.RNEWARRAY);
+        setRoles("Ri", InstructionCodes.JSONNEWARRAY);
+        setRoles("rI", InstructionCodes.ARRAYLEN);
+        setRoles("cR", InstructionCodes.NEWSTRUCT, InstructionCodes.NEWCONNECTOR);
+        setRoles("rR", InstructionCodes.XML2XMLATTRS);
+        setRoles("sSS", InstructionCodes.S2QNAME);
+        setRoles("sssR", InstructionCodes.NEWQNAME);
+
+        for (int opcode = InstructionCodes.ICONST; opcode <= InstructionCodes.RGLOAD; opcode++) {
+            // Constants, local and global variable loads
+            PURE[opcode] = OPERAND_ROLES[opcode] != null && !OPERAND_ROLES[opcode].startsWith("ri");
+        }
+        setPure(InstructionCodes.IADD, InstructionCodes.ISUB, InstructionCodes.IMUL, InstructionCodes.INEG,
+                InstructionCodes.FADD, InstructionCodes.FSUB, InstructionCodes.FMUL, InstructionCodes.FNEG,
+                InstructionCodes.SADD, InstructionCodes.BNOT, InstructionCodes.IEQ, InstructionCodes.INE,
+                InstructionCodes.IGT, InstructionCodes.IGE, InstructionCodes.ILT, InstructionCodes.ILE,
+                InstructionCodes.FEQ, InstructionCodes.FNE, InstructionCodes.FGT, InstructionCodes.FGE,
+                InstructionCodes.FLT, InstructionCodes.FLE, InstructionCodes.BEQ, InstructionCodes.BNE,
+                InstructionCodes.REQ, InstructionCodes.RNE, InstructionCodes.I2ANY, InstructionCodes.F2ANY,
+                InstructionCodes.S2ANY, InstructionCodes.B2ANY, InstructionCodes.L2ANY, InstructionCodes.NEWMAP,
+                InstructionCodes.NEWJSON);
+    }
+
+    private final PackageInfo packageInfo;
+    private List<Instruction> code;
+    private final List<CodeUnit> units = new ArrayList<>();
+    private final List<ForkJoinCPEntry> forkJoinEntries = new ArrayList<>();
+    private Report report;
+
+    public CodeOptimizer(PackageInfo packageInfo) {
+        this.packageInfo = packageInfo;
+    }
+
+    /**
+     * Optimize the instructions of the package. This should be called before the package is completed.
+     *
+     * @return instruction and register counts of the package before and after the optimization
+     */
+    public Report optimize() {
+        code = packageInfo.getInstructionList();
+        collectCodeUnits();
+        report = new Report(packageInfo.getPkgPath(), code.size(), countRegisters());
+
+        foldConstants(findLeaders());
+        threadJumps();
+        removeUnreachableCode();
+
+        boolean[] leaders = findLeaders();
+        for (CodeUnit unit : units) {
+            if (!isOptimizable(unit)) {
+                continue;
+            }
+
+            propagateCopies(unit, leaders);
+            // Removing a definition may leave the definitions of its operands unused
+            boolean removed;
+            do {
+                removed = removeDeadDefinitions(unit);
+            } while (removed);
+            coalesceRegisters(unit);
+            report.optimizedUnitCount++;
+        }
+
+        threadJumps();
+        removeUnreachableCode();
+        compact();
+
+        report.instructionsAfter = code.size();
+        report.registersAfter = countRegisters();
+        if (log.isDebugEnabled()) {
+            log.debug(report.toString());
+        }
+        return report;
+    }
+
+    // Constant folding
+
+    private void foldConstants(boolean[] leaders) {
+        Map<Integer, Object> registers = new HashMap<>();
+        Map<Integer, Object> localVars = new HashMap<>();
+        for (int ip = 0; ip < code.size(); ip++) {
+            if (leaders[ip]) {
+                registers.clear();
+                localVars.clear();
+            }
+
+            Instruction instruction = code.get(ip);
+            Effects effects = getEffects(instruction);
+            if (effects == null) {
+                registers.clear();
+                localVars.clear();
+                continue;
+            }
+
+            int opcode = instruction.opcode;
+            int[] operands = instruction.operands;
+            if (opcode == InstructionCodes.BR_TRUE || opcode == InstructionCodes.BR_FALSE) {
+                Object condition = registers.get(key(operands[0], BOOL));
+                if (condition != null) {
+                    // Boolean registers hold 1 or 0
+                    if ((opcode == InstructionCodes.BR_TRUE) == ((Integer) condition == 1)) {
+                        setInstruction(instruction, InstructionCodes.GOTO, operands[1]);
+                    } else {
+                        setInstruction(instruction, InstructionCodes.NOP);
+                    }
+                    report.foldedCount++;
+                }
+                continue;
+            }
+
+            Object value = evaluate(instruction, registers, localVars);
+            for (int def : effects.defs) {
+                registers.remove(def);
+            }
+
+            String roles = OPERAND_ROLES[opcode];
+            if (isLocalStore(opcode)) {
+                int kind = USE_ROLES.indexOf(roles.charAt(0));
+                Object storedValue = registers.get(key(operands[0], kind));
+                if (storedValue != null) {
+                    localVars.put(key(operands[1], kind), storedValue);
+                } else {
+                    localVars.remove(key(operands[1], kind));
+                }
+            }
+
+            if (value != null) {
+                int def = effects.defs[0];
+                registers.put(def, value);
+                if (!isConstantLoad(opcode) && setConstant(instruction, kindOf(def), indexOf(def), value)) {
+                    report.foldedCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluate an instruction on constant operands.
+     *
+     * @return value written by the instruction, or null if it is not known at compile time
+     */
+    private Object evaluate(Instruction instruction, Map<Integer, Object> registers, Map<Integer, Object> localVars) {
+        int opcode = instruction.opcode;
+        int[] operands = instruction.operands;
+        if (opcode >= InstructionCodes.ICONST_0 && opcode <= InstructionCodes.ICONST_5) {
+            return (long) (opcode - InstructionCodes.ICONST_0);
+        } else if (opcode >= InstructionCodes.FCONST_0 && opcode <= InstructionCodes.FCONST_5) {
+            return (double) (opcode - InstructionCodes.FCONST_0);
+        }
+
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+                ConstantPoolEntry cpEntry = packageInfo.getCPEntry(operands[0]);
+                return cpEntry instanceof IntegerCPEntry ? ((IntegerCPEntry) cpEntry).getValue() : null;
+            case InstructionCodes.FCONST:
+                cpEntry = packageInfo.getCPEntry(operands[0]);
+                return cpEntry instanceof FloatCPEntry ? ((FloatCPEntry) cpEntry).getValue() : null;
+            case InstructionCodes.SCONST:
+                cpEntry = packageInfo.getCPEntry(operands[0]);
+                return cpEntry instanceof StringCPEntry ? ((StringCPEntry) cpEntry).getValue() : null;
+            case InstructionCodes.BCONST_0:
+                return 0;
+            case InstructionCodes.BCONST_1:
+                return 1;
+            case InstructionCodes.ILOAD:
+            case InstructionCodes.FLOAD:
+            case InstructionCodes.SLOAD:
+            case InstructionCodes.BLOAD:
+                return localVars.get(key(operands[0], opcode - InstructionCodes.ILOAD));
+            default:
+                break;
+        }
+
+        if (!PURE[opcode] || opcode < InstructionCodes.IADD || opcode > InstructionCodes.FLE) {
+            // Only the arithmetic and comparison instructions are folded
+            return null;
+        }
+        String roles = OPERAND_ROLES[opcode];
+        Object a = registers.get(key(operands[0], USE_ROLES.indexOf(roles.charAt(0))));
+        int bKind = USE_ROLES.indexOf(roles.charAt(1));
+        Object b = bKind >= 0 ? registers.get(key(operands[1], bKind)) : null;
+        if (a == null || (bKind >= 0 && b == null)) {
+            return null;
+        }
+        return fold(opcode, a, b);
+    }
+
+    private static Object fold(int opcode, Object a, Object b) {
+        switch (opcode) {
+            case InstructionCodes.IADD:
+                return (Long) a + (Long) b;
+            case InstructionCodes.ISUB:
+                return (Long) a - (Long) b;
+            case InstructionCodes.IMUL:
+                return (Long) a * (Long) b;
+            case InstructionCodes.INEG:
+                return -(Long) a;
+            case InstructionCodes.FADD:
+                return (Double) a + (Double) b;
+            case InstructionCodes.FSUB:
+                return (Double) a - (Double) b;
+            case InstructionCodes.FMUL:
+                return (Double) a * (Double) b;
+            case InstructionCodes.FNEG:
+                return -(Double) a;
+            case InstructionCodes.SADD:
+                return (String) a + b;
+            case InstructionCodes.BNOT:
+                return (Integer) a == 0 ? 1 : 0;
+            case InstructionCodes.IEQ:
+                return toBoolean((long) a == (long) b);
+            case InstructionCodes.INE:
+                return toBoolean((long) a != (long) b);
+            case InstructionCodes.IGT:
+                return toBoolean((long) a > (long) b);
+            case InstructionCodes.IGE:
+                return toBoolean((long) a >= (long) b);
+            case InstructionCodes.ILT:
+                return toBoolean((long) a < (long) b);
+            case InstructionCodes.ILE:
+                return toBoolean((long) a <= (long) b);
+            case InstructionCodes.FEQ:
+                return toBoolean((double) a == (double) b);
+            case InstructionCodes.FNE:
+                return toBoolean((double) a != (double) b);
+            case InstructionCodes.FGT:
+                return toBoolean((double) a > (double) b);
+            case InstructionCodes.FGE:
+                return toBoolean((double) a >= (double) b);
+            case InstructionCodes.FLT:
+                return toBoolean((double) a < (double) b);
+            case InstructionCodes.FLE:
+                return toBoolean((double) a <= (double) b);
+            case InstructionCodes.BEQ:
+                return toBoolean(a.equals(b));
+            case InstructionCodes.BNE:
+                return toBoolean(!a.equals(b));
+            default:
+                // Division is left to the VM, which reports division by zero
+                return null;
+        }
+    }
+
+    private static Integer toBoolean(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    /**
+     * Replace an instruction with the load of a constant to the given register.
+     *
+     * @return false if the constant cannot be loaded with a constant instruction
+     */
+    private boolean setConstant(Instruction instruction, int kind, int reg, Object value) {
+        switch (kind) {
+            case INT:
+                long longValue = (Long) value;
+                if (longValue >= 0 && longValue <= 5) {
+                    setInstruction(instruction, InstructionCodes.ICONST_0 + (int) longValue, reg);
+                } else {
+                    int cpIndex = packageInfo.addCPEntry(new IntegerCPEntry(longValue));
+                    setInstruction(instruction, InstructionCodes.ICONST, cpIndex, reg);
+                }
+                return true;
+            case FLOAT:
+                double doubleValue = (Double) value;
+                if (Double.isNaN(doubleValue) || Double.doubleToRawLongBits(doubleValue) == Long.MIN_VALUE) {
+                    // Float constant pool entries do not tell NaN and negative zero apart from other values
+                    return false;
+                }
+                if (doubleValue == (int) doubleValue && doubleValue >= 0 && doubleValue <= 5) {
+                    setInstruction(instruction, InstructionCodes.FCONST_0 + (int) doubleValue, reg);
+                } else {
+                    int cpIndex = packageInfo.addCPEntry(new FloatCPEntry(doubleValue));
+                    setInstruction(instruction, InstructionCodes.FCONST, cpIndex, reg);
+                }
+                return true;
+            case STRING:
+                String stringValue = (String) value;
+                int utf8CPIndex = packageInfo.addCPEntry(new UTF8CPEntry(stringValue));
+                int cpIndex = packageInfo.addCPEntry(new StringCPEntry(utf8CPIndex, stringValue));
+                setInstruction(instruction, InstructionCodes.SCONST, cpIndex, reg);
+                return true;
+            case BOOL:
+                int opcode = (Integer) value == 0 ? InstructionCodes.BCONST_0 : InstructionCodes.BCONST_1;
+                setInstruction(instruction, opcode, reg);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Control flow
+
+    private void threadJumps() {
+        int size = code.size();
+        for (int ip = 0; ip < size; ip++) {
+            Instruction instruction = code.get(ip);
+            int operandIndex = getJumpOperand(instruction.opcode);
+            if (operandIndex < 0) {
+                continue;
+            }
+
+            int target = instruction.operands[operandIndex];
+            if (target < 0 || target >= size) {
+                continue;
+            }
+            boolean unconditional = instruction.opcode == InstructionCodes.GOTO;
+            int newTarget = resolveJumpTarget(target, unconditional);
+            if (newTarget != target) {
+                instruction.operands[operandIndex] = newTarget;
+                report.jumpCount++;
+            }
+
+            if (newTarget == nextInstruction(ip + 1)) {
+                setInstruction(instruction, InstructionCodes.NOP);
+                report.jumpCount++;
+            } else if (unconditional && (code.get(newTarget).opcode == InstructionCodes.RET
+                    || code.get(newTarget).opcode == InstructionCodes.HALT)) {
+                setInstruction(instruction, code.get(newTarget).opcode);
+                report.jumpCount++;
+            }
+        }
+    }
+
+    /**
+     * Follow the jumps starting at the given address to the first instruction which is not an unconditional jump.
+     */
+    private int resolveJumpTarget(int target, boolean unconditional) {
+        int size = code.size();
+        int resolved = nextInstruction(target);
+        // The number of steps is bounded to stop on jump loops
+        for (int steps = 0; steps < size && resolved < size; steps++) {
+            Instruction instruction = code.get(resolved);
+            if (instruction.opcode != InstructionCodes.GOTO) {
+                break;
+            }
+            int next = instruction.operands[0];
+            // Loops are cancelled at jumps, hence a conditional branch is not threaded through a backward jump
+            if (next < 0 || next >= size || (!unconditional && next <= resolved)) {
+                break;
+            }
+            resolved = nextInstruction(next);
+        }
+        return resolved < size ? resolved : target;
+    }
+
+    private void removeUnreachableCode() {
+        int size = code.size();
+        boolean[] reachable = new boolean[size];
+        Deque<Integer> pending = new ArrayDeque<>(getEntryPoints());
+        while (!pending.isEmpty()) {
+            int ip = pending.pop();
+            if (ip < 0 || ip >= size || reachable[ip]) {
+                continue;
+            }
+
+            reachable[ip] = true;
+            int opcode = code.get(ip).opcode;
+            int operandIndex = getJumpOperand(opcode);
+            if (operandIndex >= 0) {
+                pending.push(code.get(ip).operands[operandIndex]);
+            }
+            if (opcode != InstructionCodes.GOTO && !isTerminator(opcode)) {
+                pending.push(ip + 1);
+            }
+        }
+
+        for (int ip = 0; ip < size; ip++) {
+            Instruction instruction = code.get(ip);
+            if (!reachable[ip] && instruction.opcode != InstructionCodes.NOP) {
+                setInstruction(instruction, InstructionCodes.NOP);
+                report.unreachableCount++;
+            }
+        }
+    }
+
+    private boolean[] findLeaders() {
+        int size = code.size();
+        boolean[] leaders = new boolean[size + 1];
+        leaders[0] = true;
+        for (int ip : getEntryPoints()) {
+            if (ip >= 0 && ip <= size) {
+                leaders[ip] = true;
+            }
+        }
+
+        for (int ip = 0; ip < size; ip++) {
+            Instruction instruction = code.get(ip);
+            int operandIndex = getJumpOperand(instruction.opcode);
+            if (operandIndex >= 0) {
+                int target = instruction.operands[operandIndex];
+                if (target >= 0 && target <= size) {
+                    leaders[target] = true;
+                }
+                leaders[ip + 1] = true;
+            } else if (isTerminator(instruction.opcode) || getRoles(instruction) == null) {
+                leaders[ip + 1] = true;
+            }
+        }
+        return leaders;
+    }
+
+    private List<Integer> getEntryPoints() {
+        List<Integer> entryPoints = new ArrayList<>();
+        for (CodeUnit unit : units) {
+            entryPoints.add(unit.codeAttributeInfo.getCodeAddrs());
+        }
+        for (ErrorTableEntry entry : packageInfo.getErrorTableEntriesList()) {
+            entryPoints.add(entry.ipTarget);
+        }
+        for (ForkJoinCPEntry entry : forkJoinEntries) {
+            entryPoints.add(entry.getJoinIp());
+            entryPoints.add(entry.getTimeoutIp());
+        }
+        return entryPoints;
+    }
+
+    private int nextInstruction(int ip) {
+        while (ip < code.size() && code.get(ip).opcode == InstructionCodes.NOP) {
+            ip++;
+        }
+        return ip;
+    }
+
+    // Register optimizations of callable units
+
+    /**
+     * Check whether all the register accesses of a callable unit are known, and the unit is entered only at its
+     * start and its error handlers.
+     */
+    private boolean isOptimizable(CodeUnit unit) {
+        if (unit.forkJoinWorker) {
+            return false;
+        }
+        for (ForkJoinCPEntry entry : forkJoinEntries) {
+            if (unit.contains(entry.getJoinIp()) || unit.contains(entry.getTimeoutIp())) {
+                return false;
+            }
+        }
+
+        for (int ip = unit.start; ip < unit.end; ip++) {
+            Instruction instruction = code.get(ip);
+            if (getEffects(instruction) == null) {
+                return false;
+            }
+            int operandIndex = getJumpOperand(instruction.opcode);
+            if (operandIndex >= 0 && !unit.contains(instruction.operands[operandIndex])) {
+                return false;
+            }
+        }
+
+        for (ErrorTableEntry entry : packageInfo.getErrorTableEntriesList()) {
+            if (entry.ipFrom > entry.ipTo) {
+                continue;
+            }
+            boolean rangeInside = unit.contains(entry.ipFrom) && unit.contains(entry.ipTo);
+            boolean rangeOutside = entry.ipTo < unit.start || entry.ipFrom >= unit.end;
+            if (unit.contains(entry.ipTarget) ? !rangeInside : !rangeOutside) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the uses of registers reloaded from a local variable, with the register which already holds the
+     * value of the variable.
+     */
+    private void propagateCopies(CodeUnit unit, boolean[] leaders) {
+        // Local variable to the register holding its value
+        Map<Integer, Integer> holders = new HashMap<>();
+        // Register to another register holding the same value
+        Map<Integer, Integer> copies = new HashMap<>();
+        for (int ip = unit.start; ip < unit.end; ip++) {
+            if (leaders[ip]) {
+                holders.clear();
+                copies.clear();
+            }
+
+            Instruction instruction = code.get(ip);
+            if (!copies.isEmpty()) {
+                renameRegisters(instruction, key -> copies.getOrDefault(key, key), key -> key);
+            }
+
+            Effects effects = getEffects(instruction);
+            for (int def : effects.defs) {
+                copies.remove(def);
+                copies.values().removeIf(reg -> reg == def);
+                holders.values().removeIf(reg -> reg == def);
+            }
+
+            int opcode = instruction.opcode;
+            int[] operands = instruction.operands;
+            if (opcode >= InstructionCodes.ILOAD && opcode <= InstructionCodes.RLOAD) {
+                int kind = opcode - InstructionCodes.ILOAD;
+                int localVar = key(operands[0], kind);
+                Integer holder = holders.get(localVar);
+                if (holder != null) {
+                    copies.put(key(operands[1], kind), holder);
+                } else {
+                    holders.put(localVar, key(operands[1], kind));
+                }
+            } else if (isLocalStore(opcode)) {
+                int kind = opcode - InstructionCodes.ISTORE;
+                holders.put(key(operands[1], kind), key(operands[0], kind));
+            } else if (opcode == InstructionCodes.ERRSTORE) {
+                holders.remove(key(operands[0], REF));
+            }
+        }
+    }
+
+    private boolean removeDeadDefinitions(CodeUnit unit) {
+        Liveness liveness = new Liveness(unit);
+        boolean removed = false;
+        for (int ip = unit.start; ip < unit.end; ip++) {
+            Instruction instruction = code.get(ip);
+            int[] defs = liveness.defs[ip - unit.start];
+            if (!PURE[instruction.opcode] || defs.length == 0) {
+                continue;
+            }
+
+            BitSet liveOut = liveness.liveOut[ip - unit.start];
+            boolean used = false;
+            for (int def : defs) {
+                used |= liveOut.get(def);
+            }
+            if (!used) {
+                setInstruction(instruction, InstructionCodes.NOP);
+                report.deadCount++;
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Assign registers whose values are never live at the same time to the same register, and set the register
+     * frame sizes of the unit to the registers in use.
+     */
+    private void coalesceRegisters(CodeUnit unit) {
+        Liveness liveness = new Liveness(unit);
+        int regCount = liveness.keys.size();
+        BitSet[] interference = new BitSet[regCount];
+        for (int reg = 0; reg < regCount; reg++) {
+            interference[reg] = new BitSet(regCount);
+        }
+
+        for (int i = 0; i < liveness.defs.length; i++) {
+            BitSet liveOut = liveness.liveOut[i];
+            for (int def : liveness.defs[i]) {
+                for (int reg = liveOut.nextSetBit(0); reg >= 0; reg = liveOut.nextSetBit(reg + 1)) {
+                    addInterference(liveness, interference, def, reg);
+                }
+                // Operands of the same instruction are kept apart, as the VM may write a result before
+                // reading all the operands
+                for (int reg : liveness.defs[i]) {
+                    addInterference(liveness, interference, def, reg);
+                }
+                for (int reg : liveness.uses[i]) {
+                    addInterference(liveness, interference, def, reg);
+                }
+            }
+        }
+
+        // Registers are assigned in the order of their generated indexes
+        Integer[] order = new Integer[regCount];
+        for (int reg = 0; reg < regCount; reg++) {
+            order[reg] = reg;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(liveness.keys.get(a), liveness.keys.get(b)));
+
+        int[] assigned = new int[regCount];
+        Arrays.fill(assigned, -1);
+        int[] frameSizes = new int[REG_KIND_COUNT];
+        Map<Integer, Integer> renames = new HashMap<>();
+        for (int reg : order) {
+            BitSet taken = new BitSet();
+            BitSet neighbours = interference[reg];
+            for (int other = neighbours.nextSetBit(0); other >= 0; other = neighbours.nextSetBit(other + 1)) {
+                if (assigned[other] >= 0) {
+                    taken.set(assigned[other]);
+                }
+            }
+
+            int key = liveness.keys.get(reg);
+            assigned[reg] = taken.nextClearBit(0);
+            frameSizes[kindOf(key)] = Math.max(frameSizes[kindOf(key)], assigned[reg] + 1);
+            renames.put(key, key(assigned[reg], kindOf(key)));
+        }
+
+        IntUnaryOperator renamer = key -> renames.getOrDefault(key, key);
+        for (int ip = unit.start; ip < unit.end; ip++) {
+            renameRegisters(code.get(ip), renamer, renamer);
+        }
+
+        CodeAttributeInfo codeAttributeInfo = unit.codeAttributeInfo;
+        codeAttributeInfo.setMaxLongRegs(frameSizes[INT]);
+        codeAttributeInfo.setMaxDoubleRegs(frameSizes[FLOAT]);
+        codeAttributeInfo.setMaxStringRegs(frameSizes[STRING]);
+        codeAttributeInfo.setMaxIntRegs(frameSizes[BOOL]);
+        codeAttributeInfo.setMaxByteRegs(frameSizes[BLOB]);
+        codeAttributeInfo.setMaxBValueRegs(frameSizes[REF]);
+    }
+
+    private static void addInterference(Liveness liveness, BitSet[] interference, int reg, int otherReg) {
+        if (reg != otherReg && kindOf(liveness.keys.get(reg)) == kindOf(liveness.keys.get(otherReg))) {
+            interference[reg].set(otherReg);
+            interference[otherReg].set(reg);
+        }
+    }
+
+    // Relocation
+
+    /**
+     * Remove the NOP instructions and relocate the addresses of the package to the remaining instructions.
+     */
+    private void compact() {
+        int size = code.size();
+        int[] addresses = new int[size + 1];
+        List<Instruction> instructions = new ArrayList<>(size);
+        for (int ip = 0; ip < size; ip++) {
+            addresses[ip] = instructions.size();
+            if (code.get(ip).opcode != InstructionCodes.NOP) {
+                instructions.add(code.get(ip));
+            }
+        }
+        addresses[size] = instructions.size();
+        if (instructions.size() == size) {
+            return;
+        }
+
+        // Addresses of removed instructions move to the next remaining instruction
+        IntUnaryOperator relocate = ip -> ip >= 0 && ip <= size ? addresses[ip] : ip;
+        for (Instruction instruction : instructions) {
+            int operandIndex = getJumpOperand(instruction.opcode);
+            if (operandIndex >= 0) {
+                instruction.operands[operandIndex] = relocate.applyAsInt(instruction.operands[operandIndex]);
+            }
+        }
+        for (CodeUnit unit : units) {
+            unit.codeAttributeInfo.setCodeAddrs(relocate.applyAsInt(unit.codeAttributeInfo.getCodeAddrs()));
+        }
+        for (ForkJoinCPEntry entry : forkJoinEntries) {
+            entry.setJoinIp(relocate.applyAsInt(entry.getJoinIp()));
+            entry.setTimeoutIp(relocate.applyAsInt(entry.getTimeoutIp()));
+        }
+        for (LineNumberInfo lineNumberInfo : packageInfo.getLineNumberInfoList()) {
+            lineNumberInfo.setIp(relocate.applyAsInt(lineNumberInfo.getIp()));
+        }
+        for (ErrorTableEntry entry : packageInfo.getErrorTableEntriesList()) {
+            // The range ends at the last remaining instruction of the range
+            entry.ipTo = relocate.applyAsInt(entry.ipTo + 1) - 1;
+            entry.ipFrom = relocate.applyAsInt(entry.ipFrom);
+            entry.ipTarget = relocate.applyAsInt(entry.ipTarget);
+        }
+
+        code = instructions;
+        packageInfo.setInstructionList(instructions);
+    }
+
+    // Instruction operands
+
+    private static void setRoles(String roles, int... opcodes) {
+        for (int opcode : opcodes) {
+            OPERAND_ROLES[opcode] = roles;
+        }
+    }
+
+    /**
+     * Set the roles of opcodes given in the order of the register kinds, where 'k' and 'K' stand for a register of
+     * the kind of the opcode.
+     */
+    private static void setKindRoles(String roles, int... opcodes) {
+        for (int kind = 0; kind < opcodes.length; kind++) {
+            OPERAND_ROLES[opcodes[kind]] = roles.replace('k', USE_ROLES.charAt(kind))
+                    .replace('K', DEF_ROLES.charAt(kind));
+        }
+    }
+
+    private static void setPure(int... opcodes) {
+        for (int opcode : opcodes) {
+            PURE[opcode] = true;
+        }
+    }
+
+    private static String getRoles(Instruction instruction) {
+        int opcode = instruction.opcode;
+        if (opcode < 0 || opcode >= OPERAND_ROLES.length) {
+            return null;
+        }
+        String roles = OPERAND_ROLES[opcode];
+        return roles != null && roles.length() == instruction.operands.length ? roles : null;
+    }
+
+    private static int getJumpOperand(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.GOTO:
+                return 0;
+            case InstructionCodes.BR_TRUE:
+            case InstructionCodes.BR_FALSE:
+            case InstructionCodes.REQ_NULL:
+            case InstructionCodes.RNE_NULL:
+                return 1;
+            default:
+                return -1;
+        }
+    }
+
+    private static boolean isTerminator(int opcode) {
+        return opcode == InstructionCodes.HALT || opcode == InstructionCodes.RET || opcode == InstructionCodes.THROW
+                || opcode == InstructionCodes.REP;
+    }
+
+    private static boolean isCall(int opcode) {
+        return opcode == InstructionCodes.CALL || opcode == InstructionCodes.NCALL || opcode == InstructionCodes.ACALL
+                || opcode == InstructionCodes.NACALL;
+    }
+
+    private static boolean isConstantLoad(int opcode) {
+        return opcode >= InstructionCodes.ICONST && opcode <= InstructionCodes.RCONST_NULL;
+    }
+
+    private static boolean isLocalStore(int opcode) {
+        return opcode >= InstructionCodes.ISTORE && opcode <= InstructionCodes.RSTORE;
+    }
+
+    private static void setInstruction(Instruction instruction, int opcode, int... operands) {
+        instruction.opcode = opcode;
+        instruction.operands = operands;
+    }
+
+    /**
+     * Returns the registers read and written by an instruction.
+     *
+     * @return registers of the instruction, or null if they are not known
+     */
+    private Effects getEffects(Instruction instruction) {
+        String roles = getRoles(instruction);
+        if (roles == null) {
+            return null;
+        }
+
+        int[] operands = instruction.operands;
+        if (isCall(instruction.opcode)) {
+            CallableUnitInfo callee = getCallee(instruction);
+            ConstantPoolEntry cpEntry = packageInfo.getCPEntry(operands[1]);
+            if (callee == null || !(cpEntry instanceof FunctionCallCPEntry)) {
+                return null;
+            }
+            int[] uses = getCallRegisters(((FunctionCallCPEntry) cpEntry).getArgRegs(), callee.getParamTypes());
+            int[] defs = getCallRegisters(((FunctionCallCPEntry) cpEntry).getRetRegs(), callee.getRetParamTypes());
+            return uses != null && defs != null ? new Effects(uses, defs) : null;
+        }
+
+        int[] uses = new int[roles.length()];
+        int[] defs = new int[roles.length()];
+        int useCount = 0;
+        int defCount = 0;
+        for (int i = 0; i < roles.length(); i++) {
+            char role = roles.charAt(i);
+            int reg = operands[i];
+            int useKind = USE_ROLES.indexOf(role);
+            int defKind = DEF_ROLES.indexOf(role);
+            if (reg < 0 || (useKind < 0 && defKind < 0 && role != 'e')) {
+                continue;
+            }
+
+            if (useKind >= 0) {
+                uses[useCount++] = key(reg, useKind);
+            } else if (defKind >= 0) {
+                defs[defCount++] = key(reg, defKind);
+            } else {
+                // The previous value of an error register is kept when the instruction does not fail
+                uses[useCount++] = key(reg, REF);
+                defs[defCount++] = key(reg, REF);
+            }
+        }
+        return new Effects(Arrays.copyOf(uses, useCount), Arrays.copyOf(defs, defCount));
+    }
+
+    private CallableUnitInfo getCallee(Instruction instruction) {
+        ConstantPoolEntry cpEntry = packageInfo.getCPEntry(instruction.operands[0]);
+        if (cpEntry instanceof FunctionRefCPEntry) {
+            return ((FunctionRefCPEntry) cpEntry).getFunctionInfo();
+        } else if (cpEntry instanceof ActionRefCPEntry) {
+            return ((ActionRefCPEntry) cpEntry).getActionInfo();
+        }
+        return null;
+    }
+
+    private static int[] getCallRegisters(int[] regs, BType[] types) {
+        if (types == null || regs.length != types.length) {
+            return null;
+        }
+
+        int[] keys = new int[regs.length];
+        for (int i = 0; i < regs.length; i++) {
+            keys[i] = key(regs[i], getKind(types[i]));
+        }
+        return keys;
+    }
+
+    private static int getKind(BType type) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+                return INT;
+            case TypeTags.FLOAT_TAG:
+                return FLOAT;
+            case TypeTags.STRING_TAG:
+                return STRING;
+            case TypeTags.BOOLEAN_TAG:
+                return BOOL;
+            case TypeTags.BLOB_TAG:
+                return BLOB;
+            default:
+                return REF;
+        }
+    }
+
+    /**
+     * Rename the registers of an instruction. The renamers map register keys to register keys of the same kind.
+     */
+    private void renameRegisters(Instruction instruction, IntUnaryOperator useRenamer, IntUnaryOperator defRenamer) {
+        String roles = getRoles(instruction);
+        int[] operands = instruction.operands;
+        if (isCall(instruction.opcode)) {
+            CallableUnitInfo callee = getCallee(instruction);
+            FunctionCallCPEntry cpEntry = (FunctionCallCPEntry) packageInfo.getCPEntry(operands[1]);
+            int[] argRegs = renameCallRegisters(cpEntry.getArgRegs(), callee.getParamTypes(), useRenamer);
+            int[] retRegs = renameCallRegisters(cpEntry.getRetRegs(), callee.getRetParamTypes(), defRenamer);
+            if (!Arrays.equals(argRegs, cpEntry.getArgRegs()) || !Arrays.equals(retRegs, cpEntry.getRetRegs())) {
+                // Call entries are shared by the calls with the same registers, hence a new entry is added
+                operands[1] = packageInfo.addCPEntry(new FunctionCallCPEntry(argRegs, retRegs));
+            }
+            return;
+        }
+
+        for (int i = 0; i < roles.length(); i++) {
+            char role = roles.charAt(i);
+            int reg = operands[i];
+            if (reg < 0) {
+                continue;
+            }
+            int useKind = USE_ROLES.indexOf(role);
+            int defKind = role == 'e' ? REF : DEF_ROLES.indexOf(role);
+            if (useKind >= 0) {
+                operands[i] = indexOf(useRenamer.applyAsInt(key(reg, useKind)));
+            } else if (defKind >= 0) {
+                operands[i] = indexOf(defRenamer.applyAsInt(key(reg, defKind)));
+            }
+        }
+    }
+
+    private static int[] renameCallRegisters(int[] regs, BType[] types, IntUnaryOperator renamer) {
+        int[] renamed = new int[regs.length];
+        for (int i = 0; i < regs.length; i++) {
+            renamed[i] = indexOf(renamer.applyAsInt(key(regs[i], getKind(types[i]))));
+        }
+        return renamed;
+    }
+
+    // Registers are identified by keys combining the register index and kind
+    private static int key(int reg, int kind) {
+        return reg << 3 | kind;
+    }
+
+    private static int kindOf(int key) {
+        return key & 7;
+    }
+
+    private static int indexOf(int key) {
+        return key >>> 3;
+    }
+
+    // Callable units
+
+    private void collectCodeUnits() {
+        for (FunctionInfo functionInfo : packageInfo.getFunctionInfoCollection()) {
+            addCodeUnits(functionInfo);
+        }
+        for (ConnectorInfo connectorInfo : packageInfo.getConnectorInfoCollection()) {
+            for (ActionInfo actionInfo : connectorInfo.getActionInfoList()) {
+                addCodeUnits(actionInfo);
+            }
+        }
+        for (ServiceInfo serviceInfo : packageInfo.getServiceInfoList()) {
+            for (ResourceInfo resourceInfo : serviceInfo.getResourceInfoList()) {
+                addCodeUnits(resourceInfo);
+            }
+        }
+        for (ConstantPoolEntry cpEntry : packageInfo.getCPEntries()) {
+            if (cpEntry instanceof ForkJoinCPEntry) {
+                ForkJoinCPEntry forkJoinCPEntry = (ForkJoinCPEntry) cpEntry;
+                forkJoinEntries.add(forkJoinCPEntry);
+                for (WorkerInfo workerInfo : forkJoinCPEntry.getWorkerInfoMap().values()) {
+                    addCodeUnit(workerInfo, true);
+                }
+            }
+        }
+
+        // A unit spans up to the start of the next unit
+        TreeSet<Integer> starts = new TreeSet<>();
+        for (CodeUnit unit : units) {
+            starts.add(unit.start);
+        }
+        for (CodeUnit unit : units) {
+            Integer next = starts.higher(unit.start);
+            unit.end = next != null ? next : code.size();
+        }
+    }
+
+    private void addCodeUnits(CallableUnitInfo callableUnitInfo) {
+        if (callableUnitInfo.getDefaultWorkerInfo() != null) {
+            addCodeUnit(callableUnitInfo.getDefaultWorkerInfo(), false);
+        }
+        for (WorkerInfo workerInfo : callableUnitInfo.getWorkerInfoMap().values()) {
+            addCodeUnit(workerInfo, false);
+        }
+    }
+
+    private void addCodeUnit(WorkerInfo workerInfo, boolean forkJoinWorker) {
+        CodeAttributeInfo codeAttributeInfo = workerInfo.getCodeAttributeInfo();
+        if (codeAttributeInfo.getCodeAddrs() >= 0) {
+            units.add(new CodeUnit(codeAttributeInfo, forkJoinWorker));
+        }
+    }
+
+    private int countRegisters() {
+        int count = 0;
+        for (CodeUnit unit : units) {
+            CodeAttributeInfo codeAttributeInfo = unit.codeAttributeInfo;
+            count += codeAttributeInfo.getMaxLongRegs() + codeAttributeInfo.getMaxDoubleRegs()
+                    + codeAttributeInfo.getMaxStringRegs() + codeAttributeInfo.getMaxIntRegs()
+                    + codeAttributeInfo.getMaxByteRegs() + codeAttributeInfo.getMaxRefRegs();
+        }
+        return count;
+    }
+
+    /**
+     * Instructions of a worker of a callable unit.
+     */
+    private static class CodeUnit {
+        private final CodeAttributeInfo codeAttributeInfo;
+        private final boolean forkJoinWorker;
+        private final int start;
+        private int end;
+
+        CodeUnit(CodeAttributeInfo codeAttributeInfo, boolean forkJoinWorker) {
+            this.codeAttributeInfo = codeAttributeInfo;
+            this.forkJoinWorker = forkJoinWorker;
+            this.start = codeAttributeInfo.getCodeAddrs();
+        }
+
+        boolean contains(int ip) {
+            return ip >= start && ip < end;
+        }
+    }
+
+    /**
+     * Register keys read and written by an instruction.
+     */
+    private static class Effects {
+        private final int[] uses;
+        private final int[] defs;
+
+        Effects(int[] uses, int[] defs) {
+            this.uses = uses;
+            this.defs = defs;
+        }
+    }
+
+    /**
+     * Registers live before and after each instruction of a callable unit. Registers are numbered densely in the
+     * order of their first occurrence, and {@link #keys} maps them back to register keys.
+     */
+    private class Liveness {
+        private final List<Integer> keys = new ArrayList<>();
+        private final int[][] uses;
+        private final int[][] defs;
+        private final BitSet[] liveIn;
+        private final BitSet[] liveOut;
+
+        Liveness(CodeUnit unit) {
+            int size = unit.end - unit.start;
+            Map<Integer, Integer> numbers = new HashMap<>();
+            uses = new int[size][];
+            defs = new int[size][];
+            for (int i = 0; i < size; i++) {
+                Effects effects = getEffects(code.get(unit.start + i));
+                uses[i] = number(effects.uses, numbers);
+                defs[i] = number(effects.defs, numbers);
+            }
+
+            // Errors of the instructions in a try range continue at the handler
+            List<List<Integer>> handlers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                handlers.add(new ArrayList<>());
+            }
+            for (ErrorTableEntry entry : packageInfo.getErrorTableEntriesList()) {
+                if (!unit.contains(entry.ipTarget)) {
+                    continue;
+                }
+                for (int ip = entry.ipFrom; ip <= entry.ipTo; ip++) {
+                    handlers.get(ip - unit.start).add(entry.ipTarget - unit.start);
+                }
+            }
+
+            liveIn = new BitSet[size];
+            liveOut = new BitSet[size];
+            for (int i = 0; i < size; i++) {
+                liveIn[i] = new BitSet();
+                liveOut[i] = new BitSet();
+            }
+
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = size - 1; i >= 0; i--) {
+                    BitSet out = new BitSet();
+                    Instruction instruction = code.get(unit.start + i);
+                    int operandIndex = getJumpOperand(instruction.opcode);
+                    if (operandIndex >= 0) {
+                        out.or(liveIn[instruction.operands[operandIndex] - unit.start]);
+                    }
+                    if (instruction.opcode != InstructionCodes.GOTO && !isTerminator(instruction.opcode)
+                            && i + 1 < size) {
+                        out.or(liveIn[i + 1]);
+                    }
+
+                    BitSet in = (BitSet) out.clone();
+                    for (int def : defs[i]) {
+                        in.clear(def);
+                    }
+                    for (int use : uses[i]) {
+                        in.set(use);
+                    }
+                    // An instruction may fail before writing its registers
+                    for (int handler : handlers.get(i)) {
+                        in.or(liveIn[handler]);
+                    }
+
+                    if (!in.equals(liveIn[i]) || !out.equals(liveOut[i])) {
+                        liveIn[i] = in;
+                        liveOut[i] = out;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        private int[] number(int[] regKeys, Map<Integer, Integer> numbers) {
+            int[] regs = new int[regKeys.length];
+            for (int i = 0; i < regKeys.length; i++) {
+                Integer reg = numbers.get(regKeys[i]);
+                if (reg == null) {
+                    reg = keys.size();
+                    numbers.put(regKeys[i], reg);
+                    keys.add(regKeys[i]);
+                }
+                regs[i] = reg;
+            }
+            return regs;
+        }
+    }
+
+    /**
+     * Instruction and register counts of a package before and after the optimization.
+     */
+    public static class Report {
+        private final String pkgPath;
+        private final int instructionsBefore;
+        private final int registersBefore;
+        private int instructionsAfter;
+        private int registersAfter;
+        private int optimizedUnitCount;
+        private int foldedCount;
+        private int jumpCount;
+        private int unreachableCount;
+        private int deadCount;
+
+        Report(String pkgPath, int instructionsBefore, int registersBefore) {
+            this.pkgPath = pkgPath;
+            this.instructionsBefore = instructionsBefore;
+            this.registersBefore = registersBefore;
+        }
+
+        public int getInstructionsBefore() {
+            return instructionsBefore;
+        }
+
+        public int getInstructionsAfter() {
+            return instructionsAfter;
+        }
+
+        /**
+         * Returns the sum of the register frame sizes of the callable units before the optimization.
+         *
+         * @return number of registers
+         */
+        public int getRegistersBefore() {
+            return registersBefore;
+        }
+
+        public int getRegistersAfter() {
+            return registersAfter;
+        }
+
+        public int getOptimizedUnitCount() {
+            return optimizedUnitCount;
+        }
+
+        @Override
+        public String toString() {
+            return "package " + pkgPath + ": instructions " + instructionsBefore + " -> " + instructionsAfter
+                    + ", frame registers " + registersBefore + " -> " + registersAfter + ", folded " + foldedCount
+                    + ", jumps " + jumpCount + ", unreachable " + unreachableCount + ", dead " + deadCount
+                    + ", optimized units " + optimizedUnitCount;
+        }
+    }
+}
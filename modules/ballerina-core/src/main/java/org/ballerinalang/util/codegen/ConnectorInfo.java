@@ -44,6 +44,10 @@ public class ConnectorInfo extends StructureTypeInfo {
         return actionInfoMap.get(actionName);
     }
 
+    public ActionInfo[] getActionInfoList() {
+        return actionInfoMap.values().toArray(new ActionInfo[0]);
+    }
+
     public AttributeInfo getAttributeInfo(String attributeName) {
         return attributeInfoMap.get(attributeName);
     }
@@ -0,0 +1,96 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.values.BStruct;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code ErrorTable} is the lookup index of the error table entries of a package.
+ * <p>
+ * Entries are ordered innermost first, i.e. by the size of their instruction range, keeping the defined order
+ * among the entries of the same size. A lookup walks the entries in that order and stops at the first range that
+ * has a matching catch block, without allocating.
+ *
+ * @since 0.90
+ */
+public class ErrorTable {
+
+    private final ErrorTableEntry[] entries;
+    // Bounds of all the ranges, to skip the lookup for instructions outside try blocks
+    private final int ipFrom;
+    private final int ipTo;
+
+    public ErrorTable(List<ErrorTableEntry> errorTableEntries) {
+        entries = errorTableEntries.toArray(new ErrorTableEntry[errorTableEntries.size()]);
+        // Arrays.sort is stable for objects, hence the defined order is kept within the same range size
+        Arrays.sort(entries, Comparator.comparingInt(ErrorTableEntry::getIpSize));
+
+        int from = Integer.MAX_VALUE;
+        int to = Integer.MIN_VALUE;
+        for (ErrorTableEntry entry : entries) {
+            from = Math.min(from, entry.ipFrom);
+            to = Math.max(to, entry.ipTo);
+        }
+        ipFrom = from;
+        ipTo = to;
+    }
+
+    /**
+     * Find the error table entry which handles the given error thrown at the given instruction.
+     * <p>
+     * Among the innermost range with a matching entry, an exact type match is preferred over a structurally
+     * equivalent type or a catch all entry, which are chosen by their defined order.
+     *
+     * @param currentIP instruction pointer where the error was thrown
+     * @param error     thrown error
+     * @return matching entry, or null if the error is not handled in this package at the given instruction
+     */
+    public ErrorTableEntry getMatch(int currentIP, BStruct error) {
+        if (currentIP < ipFrom || currentIP > ipTo) {
+            return null;
+        }
+
+        BStructType errorType = (BStructType) error.getType();
+        ErrorTableEntry match = null;
+        for (ErrorTableEntry entry : entries) {
+            if (match != null && entry.getIpSize() > match.getIpSize()) {
+                // Outer ranges are not considered once an inner range has handled the error
+                return match;
+            }
+
+            if (!entry.matchRange(currentIP)) {
+                continue;
+            }
+
+            int status = entry.getMatchStatus(errorType);
+            if (status == ErrorTableEntry.MATCH_EXACT) {
+                return entry;
+            }
+
+            if (status != ErrorTableEntry.MATCH_NONE && (match == null || match.priority > entry.priority)) {
+                match = entry;
+            }
+        }
+        return match;
+    }
+}
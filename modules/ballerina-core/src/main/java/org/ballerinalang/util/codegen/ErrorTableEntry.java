@@ -22,15 +22,18 @@ import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.util.codegen.cpentries.StructureRefCPEntry;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Describes an error handing section defined using try block in a Ballerina program.
  */
 public class ErrorTableEntry {
 
+    static final int MATCH_NONE = -1;
+    static final int MATCH_EXACT = 0;
+    static final int MATCH_EQUIVALENT = 1;
+    static final int MATCH_ANY = 2;
+
     protected int ipFrom;
     protected int ipTo;
     protected int ipTarget;
@@ -41,6 +44,7 @@ public class ErrorTableEntry {
     // Cache values.
     private StructInfo error;
     private PackageInfo packageInfo;
+    private volatile MatchCache matchCache = MatchCache.EMPTY;
 
     public ErrorTableEntry(int ipFrom, int ipTo, int ipTarget, int priority, int errorStructCPEntryIndex) {
         this.ipFrom = ipFrom;
@@ -82,6 +86,10 @@ public class ErrorTableEntry {
         return errorStructCPEntryIndex;
     }
 
+    public int getIpSize() {
+        return ipTo - ipFrom;
+    }
+
     public boolean matchRange(int currentIP) {
         if (currentIP >= ipFrom && currentIP <= ipTo) {
             return true;
@@ -95,70 +103,63 @@ public class ErrorTableEntry {
 
     }
 
-    private static class MatchedEntry {
-        protected ErrorTableEntry errorTableEntry;
-        // 0 - exact, 1 - equivalent, 2 - any.
-        int status;
-        int ipSize;
+    public static ErrorTableEntry getMatch(PackageInfo packageInfo, int currentIP, final BStruct error) {
+        return packageInfo.getErrorTable().getMatch(currentIP, error);
     }
 
-    public static ErrorTableEntry getMatch(PackageInfo packageInfo, int currentIP, final BStruct error) {
-        List<ErrorTableEntry> errorTableEntries = packageInfo.getErrorTableEntriesList();
-        List<MatchedEntry> rangeMatched = new ArrayList<>();
-        errorTableEntries.stream().filter(errorTableEntry -> errorTableEntry.matchRange(currentIP)).forEach
-                (errorTableEntry -> {
-                    MatchedEntry entry = new MatchedEntry();
-                    entry.errorTableEntry = errorTableEntry;
-                    entry.ipSize = errorTableEntry.ipTo - errorTableEntry.ipFrom;
-                    if (errorTableEntry.getErrorStructCPEntryIndex() == -1) {
-                        // match any.
-                        entry.status = 2;
-                        rangeMatched.add(entry);
-                    } else if (errorTableEntry.getError().getType().equals(error.getType())) {
-                        // exact match.
-                        entry.status = 0;
-                        rangeMatched.add(entry);
-                    } else if (BLangVM.checkStructEquivalency((BStructType) error.getType(),
-                            (BStructType) errorTableEntry.getError().getType())) {
-                        entry.status = 1;
-                        rangeMatched.add(entry);
-                    }
-                });
-        if (rangeMatched.size() == 0) {
-            return null;
-        }
-        if (rangeMatched.size() == 1) {
-            return rangeMatched.get(0).errorTableEntry;
+    /**
+     * Returns how the given error type matches the error type of this entry. Results are cached per error type,
+     * as checking the structural equivalency walks all the fields of both types.
+     *
+     * @param errorType type of the thrown error
+     * @return one of {@link #MATCH_EXACT}, {@link #MATCH_EQUIVALENT}, {@link #MATCH_ANY} or {@link #MATCH_NONE}
+     */
+    int getMatchStatus(BStructType errorType) {
+        if (errorStructCPEntryIndex == -1) {
+            return MATCH_ANY;
         }
-        MatchedEntry[] matchedEntries = rangeMatched.stream().sorted(Comparator.comparingInt(o -> o.ipSize)).toArray
-                (MatchedEntry[]::new);
-        int currentSize = 0;
-        ErrorTableEntry errorTableEntry = null;
-        for (int i = 0; i < matchedEntries.length; i++) {
-            MatchedEntry entry = matchedEntries[i];
-            if (currentSize < entry.ipSize) {
-                if (errorTableEntry == null) {
-                    // Expand scope.
-                    currentSize = entry.ipSize;
-                } else {
-                    // Return best match.
-                    return errorTableEntry;
-                }
-            }
-            if (entry.status == 0) {
-                // Best case.
-                return entry.errorTableEntry;
-            } else {
-                if (errorTableEntry == null) {
-                    errorTableEntry = entry.errorTableEntry;
-                } else {
-                    if (errorTableEntry.priority > entry.errorTableEntry.priority) {
-                        // found a high order entry
-                        errorTableEntry = entry.errorTableEntry;
-                    }
-                }
+
+        // Error types are looked up by identity. The cache is replaced as a whole, so a racing update at most
+        // repeats the check.
+        MatchCache cache = matchCache;
+        for (int i = 0; i < cache.types.length; i++) {
+            if (cache.types[i] == errorType) {
+                return cache.statuses[i];
             }
         }
-        return errorTableEntry;
+
+        int status;
+        if (error.getType().equals(errorType)) {
+            status = MATCH_EXACT;
+        } else if (BLangVM.checkStructEquivalency(errorType, (BStructType) error.getType())) {
+            status = MATCH_EQUIVALENT;
+        } else {
+            status = MATCH_NONE;
+        }
+        matchCache = cache.add(errorType, status);
+        return status;
+    }
+
+    /**
+     * Immutable cache of the match results of the error types thrown within the range of an entry.
+     */
+    private static class MatchCache {
+        private static final MatchCache EMPTY = new MatchCache(new BStructType[0], new int[0]);
+
+        private final BStructType[] types;
+        private final int[] statuses;
+
+        private MatchCache(BStructType[] types, int[] statuses) {
+            this.types = types;
+            this.statuses = statuses;
+        }
+
+        MatchCache add(BStructType type, int status) {
+            BStructType[] newTypes = Arrays.copyOf(types, types.length + 1);
+            int[] newStatuses = Arrays.copyOf(statuses, statuses.length + 1);
+            newTypes[types.length] = type;
+            newStatuses[statuses.length] = status;
+            return new MatchCache(newTypes, newStatuses);
+        }
     }
 }
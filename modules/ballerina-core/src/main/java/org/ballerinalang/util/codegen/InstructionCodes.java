@@ -254,6 +254,19 @@ public interface InstructionCodes {
     int XMLATTRSTORE = 241;
     int S2QNAME = 242;
     int NEWQNAME = 243;
-    
-    int INSTRUCTION_CODE_COUNT = 244;
+
+    // Superinstructions, which stand for a sequence of instructions. These only appear in the packed instruction
+    // stream of a package, in place of the opcode of the first instruction of the sequence.
+    int ILOAD_ILOAD = 244;
+    int ILOAD_ICONST_IADD_ISTORE = 245;
+    int ILOAD_ILOAD_ICMP_BR_FALSE = 246;
+    int IEQ_BR_FALSE = 247;
+    int INE_BR_FALSE = 248;
+    int IGT_BR_FALSE = 249;
+    int IGE_BR_FALSE = 250;
+    int ILT_BR_FALSE = 251;
+    int ILE_BR_FALSE = 252;
+    int SLOAD_SADD = 253;
+
+    int INSTRUCTION_CODE_COUNT = 254;
 }
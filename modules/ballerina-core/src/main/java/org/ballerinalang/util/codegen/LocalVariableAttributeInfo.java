@@ -37,6 +37,10 @@ public class LocalVariableAttributeInfo implements AttributeInfo {
 
     protected List<LocalVariableInfo> localVariables = new ArrayList<>();
 
+    public int getAttributeNameIndex() {
+        return attributeNameIndex;
+    }
+
     public List<LocalVariableInfo> getLocalVariables() {
         return localVariables;
     }
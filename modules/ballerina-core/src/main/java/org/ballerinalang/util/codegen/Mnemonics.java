@@ -232,6 +232,17 @@ public class Mnemonics {
         mnemonics[InstructionCodes.S2QNAME] = "s2qname";
         mnemonics[InstructionCodes.XMLATTRS2MAP] = "xmlattr2map";
         mnemonics[InstructionCodes.NEWQNAME] = "qnameload";
+
+        mnemonics[InstructionCodes.ILOAD_ILOAD] = "iload_iload";
+        mnemonics[InstructionCodes.ILOAD_ICONST_IADD_ISTORE] = "iload_iconst_iadd_istore";
+        mnemonics[InstructionCodes.ILOAD_ILOAD_ICMP_BR_FALSE] = "iload_iload_icmp_br_false";
+        mnemonics[InstructionCodes.IEQ_BR_FALSE] = "ieq_br_false";
+        mnemonics[InstructionCodes.INE_BR_FALSE] = "ine_br_false";
+        mnemonics[InstructionCodes.IGT_BR_FALSE] = "igt_br_false";
+        mnemonics[InstructionCodes.IGE_BR_FALSE] = "ige_br_false";
+        mnemonics[InstructionCodes.ILT_BR_FALSE] = "ilt_br_false";
+        mnemonics[InstructionCodes.ILE_BR_FALSE] = "ile_br_false";
+        mnemonics[InstructionCodes.SLOAD_SADD] = "sload_sadd";
     }
 
     public static String getMnem(int opcode) {
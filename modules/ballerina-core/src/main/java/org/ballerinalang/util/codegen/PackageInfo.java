@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
 
 import java.util.ArrayList;
@@ -41,6 +42,10 @@ public class PackageInfo {
     private Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
+    // Created lazily, only when the packed dispatch is used
+    private PackedInstructions packedInstructions;
+    private ErrorTable errorTable;
+
     private Map<String, FunctionInfo> functionInfoMap = new LinkedHashMap<>();
 
     private Map<String, ConnectorInfo> connectorInfoMap = new HashMap<>();
@@ -84,10 +89,19 @@ public class PackageInfo {
         return constantPoolEntries.indexOf(cpEntry);
     }
 
+    List<ConstantPoolEntry> getCPEntries() {
+        return constantPoolEntries;
+    }
+
     public ConstantPoolEntry[] getConstPool() {
         return constPool;
     }
 
+    void setConstPool(List<ConstantPoolEntry> constantPoolEntries) {
+        // Entries read from a program file are already unique, hence no need to go through addCPEntry
+        this.constantPoolEntries = constantPoolEntries;
+    }
+
     public FunctionInfo getFunctionInfo(String functionName) {
         return functionInfoMap.get(functionName);
     }
@@ -108,10 +122,18 @@ public class PackageInfo {
         structInfoMap.put(structName, structInfo);
     }
 
+    public StructInfo[] getStructInfoCollection() {
+        return structInfoMap.values().toArray(new StructInfo[0]);
+    }
+
     public ConnectorInfo getConnectorInfo(String connectorName) {
         return connectorInfoMap.get(connectorName);
     }
 
+    public ConnectorInfo[] getConnectorInfoCollection() {
+        return connectorInfoMap.values().toArray(new ConnectorInfo[0]);
+    }
+
     public void addConnectorInfo(String connectorName, ConnectorInfo connectorInfo) {
         connectorInfo.setPackageInfo(this);
         connectorInfoMap.put(connectorName, connectorInfo);
@@ -139,10 +161,29 @@ public class PackageInfo {
         return instructions;
     }
 
+    public PackedInstructions getPackedInstructions() {
+        if (packedInstructions == null) {
+            packedInstructions = new PackedInstructions(instructions,
+                    ModeResolver.getInstance().isSuperinstructionsEnabled());
+        }
+        return packedInstructions;
+    }
+
     public int getInstructionCount() {
         return instructionList.size();
     }
 
+    List<Instruction> getInstructionList() {
+        return instructionList;
+    }
+
+    void setInstructionList(List<Instruction> instructionList) {
+        this.instructionList = instructionList;
+        this.packedInstructions = null;
+        // The error table caches the instruction range of the entries
+        this.errorTable = null;
+    }
+
     // LineNumberInfo
 
     public List<LineNumberInfo> getLineNumberInfoList() {
@@ -183,6 +224,14 @@ public class PackageInfo {
 
     public void addErrorTableEntry(ErrorTableEntry errorTableEntry) {
         errorTableEntriesList.add(errorTableEntry);
+        errorTable = null;
+    }
+
+    public ErrorTable getErrorTable() {
+        if (errorTable == null) {
+            errorTable = new ErrorTable(errorTableEntriesList);
+        }
+        return errorTable;
     }
 
     public ProgramFile getProgramFile() {
@@ -0,0 +1,86 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+/**
+ * {@code PackedInstructions} holds the instructions of a package flattened into a single int stream.
+ * <p>
+ * Each instruction is stored as the opcode followed by its operands. Instruction addresses are still the
+ * indexes of the instructions, hence jump targets, line numbers and error tables need no changes.
+ * The offset of each instruction in the stream is kept in a separate array.
+ * <p>
+ * Optionally the opcodes of frequent instruction sequences are replaced with superinstructions, see
+ * {@link Superinstructions}.
+ *
+ * @since 0.90
+ */
+public class PackedInstructions {
+
+    private final int[] code;
+    private final int[] offsets;
+    private int superinstructionCount;
+
+    public PackedInstructions(Instruction[] instructions) {
+        this(instructions, false);
+    }
+
+    public PackedInstructions(Instruction[] instructions, boolean useSuperinstructions) {
+        int length = 0;
+        for (Instruction instruction : instructions) {
+            length += 1 + instruction.operands.length;
+        }
+
+        code = new int[length];
+        offsets = new int[instructions.length];
+
+        int offset = 0;
+        for (int i = 0; i < instructions.length; i++) {
+            Instruction instruction = instructions[i];
+            offsets[i] = offset;
+            code[offset++] = instruction.opcode;
+            System.arraycopy(instruction.operands, 0, code, offset, instruction.operands.length);
+            offset += instruction.operands.length;
+        }
+
+        if (useSuperinstructions) {
+            superinstructionCount = Superinstructions.apply(instructions, code, offsets);
+        }
+    }
+
+    /**
+     * Returns the packed instruction stream.
+     *
+     * @return opcodes with their operands inline
+     */
+    public int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the offsets of the instructions in the packed instruction stream.
+     *
+     * @return offset of the opcode for each instruction address
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int getSuperinstructionCount() {
+        return superinstructionCount;
+    }
+}
@@ -39,4 +39,12 @@ public class ParamAnnotationAttachmentInfo {
         attachmentList.add(attachmentInfo);
     }
 
+    public int getParamIndex() {
+        return paramIdex;
+    }
+
+    public AnnotationAttachmentInfo[] getAnnotationAttachmentInfos() {
+        return attachmentList.toArray(new AnnotationAttachmentInfo[0]);
+    }
+
 }
@@ -34,4 +34,8 @@ public class ParamAnnotationAttributeInfo implements AttributeInfo {
     public void addParamAnnotationAttachmentInfo(int paramIndex, ParamAnnotationAttachmentInfo attachmentInfo) {
         attachmentInfoArray[paramIndex] = attachmentInfo;
     }
+
+    public ParamAnnotationAttachmentInfo[] getAttachmentInfoArray() {
+        return attachmentInfoArray;
+    }
 }
@@ -17,10 +17,824 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.model.NativeScope;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.symbols.BLangSymbol;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BConnectorType;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.NativeUnitProxy;
+import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.ballerinalang.runtime.worker.WorkerDataChannel;
+import org.ballerinalang.util.codegen.cpentries.ActionRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.PackageRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StructureRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.TypeCPEntry;
+import org.ballerinalang.util.codegen.cpentries.UTF8CPEntry;
+import org.ballerinalang.util.codegen.cpentries.WorkerDataChannelRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.WorkerInvokeCPEntry;
+import org.ballerinalang.util.codegen.cpentries.WorkerReplyCPEntry;
+import org.ballerinalang.util.exceptions.LinkerException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Reads a Ballerina program from a file.
+ * <p>
+ * This is the counterpart of the {@link ProgramFileWriter}. References between packages are resolved once all
+ * the packages are read and native functions and actions are loaded from the {@link NativeScope}. Hence the
+ * built-in types and the native scope should be populated before reading a program.
  *
- * @since 0.87
+ * @since 0.90
  */
 public class ProgramFileReader {
+
+    private DataInputStream dataInStream;
+    private ProgramFile programFile;
+
+    // Struct and connector types of the program, keyed by the package qualified name
+    private Map<String, BType> structureTypeMap = new HashMap<>();
+    private List<WorkerDataChannel> workerDataChannels = new ArrayList<>();
+
+    // Links to other packages, which are resolved after reading all the packages
+    private List<Runnable> linkers = new ArrayList<>();
+
+    public ProgramFile readProgram(Path programFilePath) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(programFilePath)) {
+            ProgramFile programFile = readProgram(inputStream);
+            programFile.setProgramFilePath(programFilePath);
+            return programFile;
+        }
+    }
+
+    public ProgramFile readProgram(InputStream inputStream) throws IOException {
+        dataInStream = new DataInputStream(new BufferedInputStream(inputStream));
+        programFile = new ProgramFile();
+        structureTypeMap.clear();
+        workerDataChannels.clear();
+        linkers.clear();
+
+        int magicValue = dataInStream.readInt();
+        if (magicValue != programFile.getMagicValue()) {
+            throw new LinkerException("invalid program file: unknown magic value " +
+                    Integer.toHexString(magicValue));
+        }
+
+        short version = dataInStream.readShort();
+        if (version != programFile.getVersion()) {
+            throw new LinkerException("unsupported program file version " + version +
+                    ", expected version " + programFile.getVersion());
+        }
+
+        ConstantPoolEntry[] programConstPool = readCP();
+        for (ConstantPoolEntry cpEntry : programConstPool) {
+            programFile.addCPEntry(cpEntry);
+        }
+        linkPackageRefs(programConstPool);
+
+        String mainPackageName = readString();
+        if (mainPackageName != null) {
+            programFile.setMainPackageName(mainPackageName);
+        }
+
+        String[] servicePackageNames = readStringArray();
+        if (servicePackageNames != null) {
+            for (String servicePackageName : servicePackageNames) {
+                programFile.addServicePackage(servicePackageName);
+            }
+        }
+
+        int[] globalVarIndexes = readIntArray();
+
+        int packageCount = dataInStream.readInt();
+        for (int i = 0; i < packageCount; i++) {
+            String pkgPath = readString();
+
+            int structCount = dataInStream.readInt();
+            for (int j = 0; j < structCount; j++) {
+                String structName = readString();
+                structureTypeMap.put(getQualifiedName(pkgPath, structName), new BStructType(structName, pkgPath));
+            }
+
+            int connectorCount = dataInStream.readInt();
+            for (int j = 0; j < connectorCount; j++) {
+                String connectorName = readString();
+                structureTypeMap.put(getQualifiedName(pkgPath, connectorName),
+                        new BConnectorType(connectorName, pkgPath));
+            }
+        }
+
+        for (int i = 0; i < packageCount; i++) {
+            readPackageInfo();
+        }
+
+        for (Runnable linker : linkers) {
+            linker.run();
+        }
+
+        // Error table entries refer structs of other packages. Hence these are loaded after linking.
+        for (PackageInfo packageInfo : programFile.getPackageInfoCollection()) {
+            for (ErrorTableEntry errorTableEntry : packageInfo.getErrorTableEntriesList()) {
+                errorTableEntry.setPackageInfo(packageInfo);
+            }
+        }
+
+        if (globalVarIndexes != null) {
+            programFile.setGlobalVarIndexes(globalVarIndexes);
+        }
+
+        return programFile;
+    }
+
+    private void readPackageInfo() throws IOException {
+        String pkgPath = readString();
+        PackageInfo packageInfo = new PackageInfo(pkgPath);
+        packageInfo.setProgramFile(programFile);
+        programFile.addPackageInfo(pkgPath, packageInfo);
+
+        ConstantPoolEntry[] constPool = readCP();
+        List<ConstantPoolEntry> constPoolEntries = new ArrayList<>(constPool.length);
+        for (ConstantPoolEntry cpEntry : constPool) {
+            constPoolEntries.add(cpEntry);
+        }
+        packageInfo.setConstPool(constPoolEntries);
+        linkPackageRefs(constPool);
+
+        int structCount = dataInStream.readInt();
+        for (int i = 0; i < structCount; i++) {
+            readStructInfo(packageInfo);
+        }
+
+        int connectorCount = dataInStream.readInt();
+        for (int i = 0; i < connectorCount; i++) {
+            readConnectorInfo(packageInfo);
+        }
+
+        int functionCount = dataInStream.readInt();
+        for (int i = 0; i < functionCount; i++) {
+            String funcName = readString();
+            String funcPkgPath = readString();
+            int pkgCPIndex = dataInStream.readInt();
+            int funcNameCPIndex = dataInStream.readInt();
+            FunctionInfo functionInfo = new FunctionInfo(funcPkgPath, pkgCPIndex, funcName, funcNameCPIndex);
+            functionInfo.setPackageInfo(packageInfo);
+            readCallableUnitInfo(functionInfo);
+            packageInfo.addFunctionInfo(funcName, functionInfo);
+
+            if (functionInfo.isNative()) {
+                functionInfo.setNativeFunction((AbstractNativeFunction) loadNativeUnit(
+                        new SymbolName(funcName, pkgPath)));
+            }
+        }
+
+        int serviceCount = dataInStream.readInt();
+        for (int i = 0; i < serviceCount; i++) {
+            readServiceInfo(packageInfo);
+        }
+
+        String initFunctionName = readString();
+        if (initFunctionName != null) {
+            packageInfo.setInitFunctionInfo(packageInfo.getFunctionInfo(initFunctionName));
+        }
+
+        int instructionCount = dataInStream.readInt();
+        for (int i = 0; i < instructionCount; i++) {
+            int opcode = dataInStream.readInt();
+            int[] operands = readIntArray();
+            packageInfo.addInstruction(InstructionFactory.get(opcode, operands));
+        }
+
+        int lineNumberInfoCount = dataInStream.readInt();
+        for (int i = 0; i < lineNumberInfoCount; i++) {
+            int lineNumber = dataInStream.readInt();
+            int fileIndex = dataInStream.readInt();
+            int ip = dataInStream.readInt();
+            packageInfo.addLineNumberInfo(new LineNumberInfo(lineNumber, fileIndex, ip).setPackageInfo(packageInfo));
+        }
+
+        int errorTableEntryCount = dataInStream.readInt();
+        for (int i = 0; i < errorTableEntryCount; i++) {
+            int ipFrom = dataInStream.readInt();
+            int ipTo = dataInStream.readInt();
+            int ipTarget = dataInStream.readInt();
+            int priority = dataInStream.readInt();
+            int errorStructCPEntryIndex = dataInStream.readInt();
+            packageInfo.addErrorTableEntry(new ErrorTableEntry(ipFrom, ipTo, ipTarget,
+                    priority, errorStructCPEntryIndex));
+        }
+
+        packageInfo.complete();
+    }
+
+    // Constant pool
+
+    private ConstantPoolEntry[] readCP() throws IOException {
+        int cpCount = dataInStream.readInt();
+        ConstantPoolEntry[] constPool = new ConstantPoolEntry[cpCount];
+        for (int i = 0; i < cpCount; i++) {
+            constPool[i] = readCPEntry();
+        }
+        return constPool;
+    }
+
+    private ConstantPoolEntry readCPEntry() throws IOException {
+        byte entryTypeValue = dataInStream.readByte();
+        ConstantPoolEntry.EntryType entryType = getEntryType(entryTypeValue);
+        int pkgCPIndex;
+        int nameCPIndex;
+        int[] argRegs;
+        int[] retRegs;
+        switch (entryType) {
+            case CP_ENTRY_UTF8:
+                return new UTF8CPEntry(readString());
+            case CP_ENTRY_INTEGER:
+                return new IntegerCPEntry(dataInStream.readLong());
+            case CP_ENTRY_FLOAT:
+                return new FloatCPEntry(dataInStream.readDouble());
+            case CP_ENTRY_STRING:
+                int stringCPIndex = dataInStream.readInt();
+                return new StringCPEntry(stringCPIndex, readString());
+            case CP_ENTRY_PACKAGE:
+                return new PackageRefCPEntry(dataInStream.readInt());
+            case CP_ENTRY_FUNCTION_REF:
+                pkgCPIndex = dataInStream.readInt();
+                nameCPIndex = dataInStream.readInt();
+                FunctionRefCPEntry funcRefCPEntry = new FunctionRefCPEntry(pkgCPIndex, nameCPIndex);
+                if (dataInStream.readBoolean()) {
+                    String funcPkgPath = readString();
+                    String funcName = readString();
+                    linkers.add(() -> funcRefCPEntry.setFunctionInfo(
+                            getFunctionInfo(getPackageInfo(funcPkgPath), funcName)));
+                }
+                return funcRefCPEntry;
+            case CP_ENTRY_ACTION_REF:
+                pkgCPIndex = dataInStream.readInt();
+                int connectorRefCPIndex = dataInStream.readInt();
+                nameCPIndex = dataInStream.readInt();
+                ActionRefCPEntry actionRefCPEntry = new ActionRefCPEntry(pkgCPIndex, connectorRefCPIndex,
+                        nameCPIndex);
+                if (dataInStream.readBoolean()) {
+                    String actionPkgPath = readString();
+                    String connectorName = readString();
+                    String actionName = readString();
+                    linkers.add(() -> actionRefCPEntry.setActionInfo(
+                            getActionInfo(getConnectorInfo(actionPkgPath, connectorName), actionName)));
+                }
+                return actionRefCPEntry;
+            case CP_ENTRY_STRUCT:
+                pkgCPIndex = dataInStream.readInt();
+                nameCPIndex = dataInStream.readInt();
+                StructureRefCPEntry structureRefCPEntry = new StructureRefCPEntry(pkgCPIndex, nameCPIndex);
+                byte structureKind = dataInStream.readByte();
+                if (structureKind != ProgramFileWriter.STRUCTURE_KIND_NONE) {
+                    String structurePkgPath = readString();
+                    String structureName = readString();
+                    linkers.add(() -> structureRefCPEntry.setStructureTypeInfo(
+                            structureKind == ProgramFileWriter.STRUCTURE_KIND_STRUCT ?
+                                    getStructInfo(structurePkgPath, structureName) :
+                                    getConnectorInfo(structurePkgPath, structureName)));
+                }
+                return structureRefCPEntry;
+            case CP_ENTRY_TYPE:
+                return new TypeCPEntry(readType());
+            case CP_ENTRY_FUNCTION_CALL_ARGS:
+                argRegs = readIntArray();
+                retRegs = readIntArray();
+                return new FunctionCallCPEntry(argRegs, retRegs);
+            case CP_ENTRY_WORKER_INVOKE:
+                argRegs = readIntArray();
+                retRegs = readIntArray();
+                return new WorkerInvokeCPEntry(argRegs, retRegs, readTypes());
+            case CP_ENTRY_WORKER_REPLY:
+                argRegs = readIntArray();
+                retRegs = readIntArray();
+                return new WorkerReplyCPEntry(argRegs, retRegs, readTypes());
+            case CP_ENTRY_WORKER_DATA_CHANNEL_REF:
+                pkgCPIndex = dataInStream.readInt();
+                nameCPIndex = dataInStream.readInt();
+                WorkerDataChannelRefCPEntry channelRefCPEntry = new WorkerDataChannelRefCPEntry(pkgCPIndex,
+                        nameCPIndex);
+                channelRefCPEntry.setTypes(readTypes());
+                channelRefCPEntry.setWorkerDataChannel(readWorkerDataChannel());
+                return channelRefCPEntry;
+            case CP_ENTRY_FORK_JOIN:
+                return readForkJoinCPEntry();
+            default:
+                throw new LinkerException("unsupported constant pool entry: " + entryType);
+        }
+    }
+
+    private ForkJoinCPEntry readForkJoinCPEntry() throws IOException {
+        int[] argRegs = readIntArray();
+        int[] retRegs = readIntArray();
+        ForkJoinCPEntry forkJoinCPEntry = new ForkJoinCPEntry(argRegs, retRegs);
+        forkJoinCPEntry.setTimeoutAvailable(dataInStream.readBoolean());
+
+        byte callableKind = dataInStream.readByte();
+        String parentPkgPath = readString();
+        String parentOwnerName = callableKind == ProgramFileWriter.CALLABLE_KIND_FUNCTION ? null : readString();
+        String parentName = readString();
+        linkers.add(() -> {
+            CallableUnitInfo parentCallableUnitInfo;
+            if (callableKind == ProgramFileWriter.CALLABLE_KIND_ACTION) {
+                parentCallableUnitInfo = getActionInfo(getConnectorInfo(parentPkgPath, parentOwnerName), parentName);
+            } else if (callableKind == ProgramFileWriter.CALLABLE_KIND_RESOURCE) {
+                ServiceInfo serviceInfo = getPackageInfo(parentPkgPath).getServiceInfo(parentOwnerName);
+                if (serviceInfo == null || serviceInfo.getResourceInfo(parentName) == null) {
+                    throw new LinkerException("unresolved resource: " + parentOwnerName + "." + parentName);
+                }
+                parentCallableUnitInfo = serviceInfo.getResourceInfo(parentName);
+            } else {
+                parentCallableUnitInfo = getFunctionInfo(getPackageInfo(parentPkgPath), parentName);
+            }
+            forkJoinCPEntry.setParentCallableUnitInfo(parentCallableUnitInfo);
+        });
+
+        int workerCount = dataInStream.readInt();
+        for (int i = 0; i < workerCount; i++) {
+            WorkerInfo workerInfo = readWorkerInfo();
+            forkJoinCPEntry.addWorkerInfo(workerInfo.getWorkerName(), workerInfo);
+        }
+
+        forkJoinCPEntry.setJoinType(readString());
+        forkJoinCPEntry.setJoinWorkerNames(readStringArray());
+        forkJoinCPEntry.setJoinIp(dataInStream.readInt());
+        forkJoinCPEntry.setJoinResultOffset(dataInStream.readInt());
+        forkJoinCPEntry.setTimeoutIp(dataInStream.readInt());
+        forkJoinCPEntry.setTimeoutResultOffset(dataInStream.readInt());
+        return forkJoinCPEntry;
+    }
+
+    private void linkPackageRefs(ConstantPoolEntry[] constPool) {
+        for (ConstantPoolEntry cpEntry : constPool) {
+            if (!(cpEntry instanceof PackageRefCPEntry)) {
+                continue;
+            }
+
+            PackageRefCPEntry pkgRefCPEntry = (PackageRefCPEntry) cpEntry;
+            String pkgPath = ((UTF8CPEntry) constPool[pkgRefCPEntry.getNameCPIndex()]).getValue();
+            linkers.add(() -> pkgRefCPEntry.setPackageInfo(programFile.getPackageInfo(pkgPath)));
+        }
+    }
+
+    private ConstantPoolEntry.EntryType getEntryType(byte entryTypeValue) {
+        for (ConstantPoolEntry.EntryType entryType : ConstantPoolEntry.EntryType.values()) {
+            if (entryType.getValue() == entryTypeValue) {
+                return entryType;
+            }
+        }
+
+        throw new LinkerException("invalid program file: unknown constant pool entry " + entryTypeValue);
+    }
+
+    // Structures and callable units
+
+    private void readStructInfo(PackageInfo packageInfo) throws IOException {
+        String structName = readString();
+        int pkgPathCPIndex = dataInStream.readInt();
+        int nameCPIndex = dataInStream.readInt();
+
+        StructInfo structInfo = new StructInfo(pkgPathCPIndex, nameCPIndex);
+        packageInfo.addStructInfo(structName, structInfo);
+        structInfo.setPackageInfo(packageInfo);
+
+        BStructType structType = (BStructType) structureTypeMap.get(
+                getQualifiedName(packageInfo.getPkgPath(), structName));
+        structInfo.setType(structType);
+        structInfo.setFieldCount(readIntArray());
+        structInfo.setFieldTypes(readTypes());
+
+        BStructType.StructField[] structFields = new BStructType.StructField[dataInStream.readInt()];
+        for (int i = 0; i < structFields.length; i++) {
+            BType fieldType = readType();
+            structFields[i] = new BStructType.StructField(fieldType, readString());
+        }
+
+        structType.setFieldCount(structInfo.getFieldCount());
+        structType.setStructFields(structFields);
+    }
+
+    private void readConnectorInfo(PackageInfo packageInfo) throws IOException {
+        String connectorName = readString();
+        int pkgPathCPIndex = dataInStream.readInt();
+        int nameCPIndex = dataInStream.readInt();
+
+        ConnectorInfo connectorInfo = new ConnectorInfo(pkgPathCPIndex, nameCPIndex);
+        packageInfo.addConnectorInfo(connectorName, connectorInfo);
+        connectorInfo.setType(structureTypeMap.get(getQualifiedName(packageInfo.getPkgPath(), connectorName)));
+        connectorInfo.setFieldCount(readIntArray());
+        connectorInfo.setFieldTypes(readTypes());
+        readAttributeInfoMap(connectorInfo.attributeInfoMap, null);
+
+        int actionCount = dataInStream.readInt();
+        for (int i = 0; i < actionCount; i++) {
+            String actionName = readString();
+            String actionPkgPath = readString();
+            int pkgCPIndex = dataInStream.readInt();
+            int actionNameCPIndex = dataInStream.readInt();
+            ActionInfo actionInfo = new ActionInfo(actionPkgPath, pkgCPIndex, actionName, actionNameCPIndex);
+            actionInfo.setPackageInfo(packageInfo);
+            readCallableUnitInfo(actionInfo);
+            connectorInfo.addActionInfo(actionName, actionInfo);
+            actionInfo.setConnectorInfo(connectorInfo);
+
+            if (actionInfo.isNative()) {
+                actionInfo.setNativeAction((AbstractNativeAction) loadNativeUnit(new SymbolName("NativeAction." +
+                        connectorName + "." + actionName, packageInfo.getPkgPath())));
+            }
+        }
+    }
+
+    private void readServiceInfo(PackageInfo packageInfo) throws IOException {
+        String serviceName = readString();
+        int pkgPathCPIndex = dataInStream.readInt();
+        int nameCPIndex = dataInStream.readInt();
+        String protocolPkgName = readString();
+        String protocolPkgPath = readString();
+
+        ServiceInfo serviceInfo = new ServiceInfo(pkgPathCPIndex, nameCPIndex, protocolPkgName, protocolPkgPath);
+        packageInfo.addServiceInfo(serviceName, serviceInfo);
+
+        String initFunctionName = readString();
+        if (initFunctionName != null) {
+            serviceInfo.setInitFunctionInfo(packageInfo.getFunctionInfo(initFunctionName));
+        }
+        readAttributeInfoMap(serviceInfo.attributeInfoMap, null);
+
+        int resourceCount = dataInStream.readInt();
+        for (int i = 0; i < resourceCount; i++) {
+            String resourceName = readString();
+            String resourcePkgPath = readString();
+            int pkgCPIndex = dataInStream.readInt();
+            int resNameCPIndex = dataInStream.readInt();
+            ResourceInfo resourceInfo = new ResourceInfo(resourcePkgPath, pkgCPIndex, resourceName, resNameCPIndex);
+            resourceInfo.setPackageInfo(packageInfo);
+            readCallableUnitInfo(resourceInfo);
+            resourceInfo.setParamNames(readStringArray());
+            resourceInfo.setServiceInfo(serviceInfo);
+            serviceInfo.addResourceInfo(resourceName, resourceInfo);
+        }
+    }
+
+    private void readCallableUnitInfo(CallableUnitInfo callableUnitInfo) throws IOException {
+        callableUnitInfo.setNative(dataInStream.readBoolean());
+        callableUnitInfo.setParamTypes(readTypes());
+        callableUnitInfo.setRetParamTypes(readTypes());
+        readAttributeInfoMap(callableUnitInfo.attributeInfoMap, callableUnitInfo.getCodeAttributeInfo());
+
+        if (dataInStream.readBoolean()) {
+            callableUnitInfo.setDefaultWorkerInfo(readWorkerInfo());
+        }
+
+        int workerCount = dataInStream.readInt();
+        for (int i = 0; i < workerCount; i++) {
+            WorkerInfo workerInfo = readWorkerInfo();
+            callableUnitInfo.addWorkerInfo(workerInfo.getWorkerName(), workerInfo);
+        }
+    }
+
+    private WorkerInfo readWorkerInfo() throws IOException {
+        String workerName = readString();
+        int workerNameCPIndex = dataInStream.readInt();
+        WorkerInfo workerInfo = new WorkerInfo(workerName, workerNameCPIndex);
+        workerInfo.setWorkerEndIP(dataInStream.readInt());
+        workerInfo.setWorkerDataChannelForForkJoin(readWorkerDataChannel());
+        readCodeAttributeInfo(workerInfo.getCodeAttributeInfo());
+        readAttributeInfoMap(workerInfo.getAttributeInfoMap(), workerInfo.getCodeAttributeInfo());
+        return workerInfo;
+    }
+
+    private WorkerDataChannel readWorkerDataChannel() throws IOException {
+        int channelIndex = dataInStream.readInt();
+        if (channelIndex < 0) {
+            return null;
+        }
+
+        if (channelIndex < workerDataChannels.size()) {
+            return workerDataChannels.get(channelIndex);
+        }
+
+        // First occurrence of the channel
+        String source = readString();
+        String target = readString();
+        WorkerDataChannel workerDataChannel = new WorkerDataChannel(source, target);
+        workerDataChannels.add(workerDataChannel);
+        return workerDataChannel;
+    }
+
+    // Attributes
+
+    private void readAttributeInfoMap(Map<String, AttributeInfo> attributeInfoMap,
+                                      CodeAttributeInfo codeAttributeInfo) throws IOException {
+        int attributeCount = dataInStream.readInt();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = readString();
+            switch (attributeName) {
+                case AttributeInfo.CODE_ATTRIBUTE:
+                    // Callable units and workers create their own code attribute
+                    if (codeAttributeInfo == null) {
+                        codeAttributeInfo = new CodeAttributeInfo();
+                    }
+                    readCodeAttributeInfo(codeAttributeInfo);
+                    attributeInfoMap.put(attributeName, codeAttributeInfo);
+                    break;
+                case AttributeInfo.ANNOTATIONS_ATTRIBUTE:
+                    AnnotationAttributeInfo annotationAttributeInfo = new AnnotationAttributeInfo();
+                    int attachmentCount = dataInStream.readInt();
+                    for (int j = 0; j < attachmentCount; j++) {
+                        annotationAttributeInfo.addAnnotationAttachmentInfo(readAnnotationAttachmentInfo());
+                    }
+                    attributeInfoMap.put(attributeName, annotationAttributeInfo);
+                    break;
+                case AttributeInfo.PARAMETER_ANNOTATIONS_ATTRIBUTE:
+                    attributeInfoMap.put(attributeName, readParamAnnotationAttributeInfo());
+                    break;
+                case AttributeInfo.LOCAL_VARIABLES_ATTRIBUTE:
+                    attributeInfoMap.put(attributeName, readLocalVariableAttributeInfo());
+                    break;
+                default:
+                    throw new LinkerException("invalid program file: unknown attribute " + attributeName);
+            }
+        }
+    }
+
+    private void readCodeAttributeInfo(CodeAttributeInfo codeAttributeInfo) throws IOException {
+        codeAttributeInfo.setAttributeNameIndex(dataInStream.readInt());
+        codeAttributeInfo.setMaxLongLocalVars(dataInStream.readInt());
+        codeAttributeInfo.setMaxDoubleLocalVars(dataInStream.readInt());
+        codeAttributeInfo.setMaxStringLocalVars(dataInStream.readInt());
+        codeAttributeInfo.setMaxIntLocalVars(dataInStream.readInt());
+        codeAttributeInfo.setMaxByteLocalVars(dataInStream.readInt());
+        codeAttributeInfo.setMaxBValueLocalVars(dataInStream.readInt());
+        codeAttributeInfo.setMaxLongRegs(dataInStream.readInt());
+        codeAttributeInfo.setMaxDoubleRegs(dataInStream.readInt());
+        codeAttributeInfo.setMaxStringRegs(dataInStream.readInt());
+        codeAttributeInfo.setMaxIntRegs(dataInStream.readInt());
+        codeAttributeInfo.setMaxByteRegs(dataInStream.readInt());
+        codeAttributeInfo.setMaxBValueRegs(dataInStream.readInt());
+        codeAttributeInfo.setCodeAddrs(dataInStream.readInt());
+    }
+
+    private ParamAnnotationAttributeInfo readParamAnnotationAttributeInfo() throws IOException {
+        int paramCount = dataInStream.readInt();
+        ParamAnnotationAttributeInfo attributeInfo = new ParamAnnotationAttributeInfo(paramCount);
+        for (int i = 0; i < paramCount; i++) {
+            if (!dataInStream.readBoolean()) {
+                continue;
+            }
+
+            ParamAnnotationAttachmentInfo paramAttachmentInfo =
+                    new ParamAnnotationAttachmentInfo(dataInStream.readInt());
+            int attachmentCount = dataInStream.readInt();
+            for (int j = 0; j < attachmentCount; j++) {
+                paramAttachmentInfo.addAnnotationAttachmentInfo(readAnnotationAttachmentInfo());
+            }
+            attributeInfo.addParamAnnotationAttachmentInfo(i, paramAttachmentInfo);
+        }
+        return attributeInfo;
+    }
+
+    private LocalVariableAttributeInfo readLocalVariableAttributeInfo() throws IOException {
+        LocalVariableAttributeInfo attributeInfo = new LocalVariableAttributeInfo(dataInStream.readInt());
+        int localVarCount = dataInStream.readInt();
+        for (int i = 0; i < localVarCount; i++) {
+            String varName = readString();
+            int varNameCPIndex = dataInStream.readInt();
+            int varIndex = dataInStream.readInt();
+            BType varType = readType();
+            LocalVariableInfo localVariableInfo = new LocalVariableInfo(varName, varNameCPIndex, varIndex, varType);
+
+            int attachmentIndexCount = dataInStream.readInt();
+            for (int j = 0; j < attachmentIndexCount; j++) {
+                localVariableInfo.addAttachmentIndex(dataInStream.readInt());
+            }
+            attributeInfo.addLocalVarInfo(localVariableInfo);
+        }
+        return attributeInfo;
+    }
+
+    private AnnotationAttachmentInfo readAnnotationAttachmentInfo() throws IOException {
+        String pkgPath = readString();
+        int pkgPathCPIndex = dataInStream.readInt();
+        String name = readString();
+        int nameCPIndex = dataInStream.readInt();
+        AnnotationAttachmentInfo attachmentInfo = new AnnotationAttachmentInfo(pkgPath, pkgPathCPIndex,
+                name, nameCPIndex);
+
+        int attributeValueCount = dataInStream.readInt();
+        for (int i = 0; i < attributeValueCount; i++) {
+            String attributeName = readString();
+            attachmentInfo.addAnnotationAttribute(attributeName, readAnnotationAttributeValue());
+        }
+        return attachmentInfo;
+    }
+
+    private AnnotationAttributeValue readAnnotationAttributeValue() throws IOException {
+        AnnotationAttributeValue attributeValue = new AnnotationAttributeValue();
+        int typeTag = dataInStream.readInt();
+        attributeValue.setTypeTag(typeTag);
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+                attributeValue.setIntValue(dataInStream.readLong());
+                break;
+            case TypeTags.FLOAT_TAG:
+                attributeValue.setFloatValue(dataInStream.readDouble());
+                break;
+            case TypeTags.STRING_TAG:
+                attributeValue.setStringValue(readString());
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                attributeValue.setBooleanValue(dataInStream.readBoolean());
+                break;
+            case TypeTags.ANNOTATION_TAG:
+                attributeValue.setAnnotationAttachmentValue(readAnnotationAttachmentInfo());
+                break;
+            case TypeTags.ARRAY_TAG:
+                AnnotationAttributeValue[] valueArray = new AnnotationAttributeValue[dataInStream.readInt()];
+                for (int i = 0; i < valueArray.length; i++) {
+                    valueArray[i] = readAnnotationAttributeValue();
+                }
+                attributeValue.setAttributeValueArray(valueArray);
+                break;
+            default:
+                break;
+        }
+        return attributeValue;
+    }
+
+    // Linking
+
+    private PackageInfo getPackageInfo(String pkgPath) {
+        PackageInfo packageInfo = programFile.getPackageInfo(pkgPath);
+        if (packageInfo == null) {
+            throw new LinkerException("unresolved package: " + pkgPath);
+        }
+        return packageInfo;
+    }
+
+    private FunctionInfo getFunctionInfo(PackageInfo packageInfo, String funcName) {
+        FunctionInfo functionInfo = packageInfo.getFunctionInfo(funcName);
+        if (functionInfo == null) {
+            throw new LinkerException("unresolved function: " + packageInfo.getPkgPath() + ":" + funcName);
+        }
+        return functionInfo;
+    }
+
+    private StructInfo getStructInfo(String pkgPath, String structName) {
+        StructInfo structInfo = getPackageInfo(pkgPath).getStructInfo(structName);
+        if (structInfo == null) {
+            throw new LinkerException("unresolved struct: " + pkgPath + ":" + structName);
+        }
+        return structInfo;
+    }
+
+    private ConnectorInfo getConnectorInfo(String pkgPath, String connectorName) {
+        ConnectorInfo connectorInfo = getPackageInfo(pkgPath).getConnectorInfo(connectorName);
+        if (connectorInfo == null) {
+            throw new LinkerException("unresolved connector: " + pkgPath + ":" + connectorName);
+        }
+        return connectorInfo;
+    }
+
+    private ActionInfo getActionInfo(ConnectorInfo connectorInfo, String actionName) {
+        ActionInfo actionInfo = connectorInfo.getActionInfo(actionName);
+        if (actionInfo == null) {
+            throw new LinkerException("unresolved action: " + connectorInfo.getName() + "." + actionName);
+        }
+        return actionInfo;
+    }
+
+    private Object loadNativeUnit(SymbolName symbolName) {
+        BLangSymbol nativeSymbol = NativeScope.getInstance().resolve(symbolName);
+        if (!(nativeSymbol instanceof NativeUnitProxy)) {
+            throw new LinkerException("unresolved native construct: " + symbolName);
+        }
+        return ((NativeUnitProxy) nativeSymbol).load();
+    }
+
+    // Types and primitives
+
+    private BType[] readTypes() throws IOException {
+        int typeCount = dataInStream.readInt();
+        if (typeCount < 0) {
+            return null;
+        }
+
+        BType[] types = new BType[typeCount];
+        for (int i = 0; i < typeCount; i++) {
+            types[i] = readType();
+        }
+        return types;
+    }
+
+    private BType readType() throws IOException {
+        byte typeTag = dataInStream.readByte();
+        switch (typeTag) {
+            case ProgramFileWriter.TYPE_TAG_NULL_REF:
+                return null;
+            case TypeTags.INT_TAG:
+                return BTypes.typeInt;
+            case TypeTags.FLOAT_TAG:
+                return BTypes.typeFloat;
+            case TypeTags.STRING_TAG:
+                return BTypes.typeString;
+            case TypeTags.BOOLEAN_TAG:
+                return BTypes.typeBoolean;
+            case TypeTags.BLOB_TAG:
+                return BTypes.typeBlob;
+            case TypeTags.ANY_TAG:
+                return BTypes.typeAny;
+            case TypeTags.MAP_TAG:
+                return BTypes.typeMap;
+            case TypeTags.XML_TAG:
+                return BTypes.typeXML;
+            case TypeTags.JSON_TAG:
+                return BTypes.typeJSON;
+            case TypeTags.MESSAGE_TAG:
+                return BTypes.typeMessage;
+            case TypeTags.DATATABLE_TAG:
+                return BTypes.typeDatatable;
+            case TypeTags.NULL_TAG:
+                return BTypes.typeNull;
+            case TypeTags.XML_ATTRIBUTES_TAG:
+                return BTypes.typeXMLAttributes;
+            case TypeTags.STRUCT_TAG:
+            case TypeTags.CONNECTOR_TAG:
+                String pkgPath = readString();
+                String typeName = readString();
+                BType structureType = structureTypeMap.get(getQualifiedName(pkgPath, typeName));
+                if (structureType != null) {
+                    return structureType;
+                } else if (typeTag == TypeTags.CONNECTOR_TAG && pkgPath == null) {
+                    return BTypes.typeConnector;
+                }
+                throw new LinkerException("unresolved type: " + getQualifiedName(pkgPath, typeName));
+            case TypeTags.ARRAY_TAG:
+                return new BArrayType(readType());
+            default:
+                throw new LinkerException("invalid program file: unsupported type tag " + typeTag);
+        }
+    }
+
+    private String getQualifiedName(String pkgPath, String name) {
+        return pkgPath + ":" + name;
+    }
+
+    private int[] readIntArray() throws IOException {
+        int length = dataInStream.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = dataInStream.readInt();
+        }
+        return values;
+    }
+
+    private String[] readStringArray() throws IOException {
+        int length = dataInStream.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readString();
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        int length = dataInStream.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        dataInStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
 }
@@ -17,139 +17,609 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.runtime.worker.WorkerDataChannel;
+import org.ballerinalang.util.codegen.cpentries.ActionRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
-import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry.EntryType;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
+import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
 import org.ballerinalang.util.codegen.cpentries.PackageRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StructureRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.TypeCPEntry;
 import org.ballerinalang.util.codegen.cpentries.UTF8CPEntry;
+import org.ballerinalang.util.codegen.cpentries.WorkerDataChannelRefCPEntry;
+import org.ballerinalang.util.codegen.cpentries.WorkerInvokeCPEntry;
+import org.ballerinalang.util.codegen.cpentries.WorkerReplyCPEntry;
+import org.ballerinalang.util.exceptions.LinkerException;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Writes a Ballerina program to a file.
+ * <p>
+ * The binary layout starts with the magic value and the version of the {@link ProgramFile}, followed by the
+ * program level details and a table of all the struct and connector types. Each {@link PackageInfo} is written
+ * after that. References between packages are written by name and re-linked by the {@link ProgramFileReader}.
  *
- * @since 0.87
+ * @since 0.90
  */
 public class ProgramFileWriter {
 
-    public void writeProgram(ProgramFile programFile) {
-        DataOutputStream outputStream;
-        try {
-            FileOutputStream fos = new FileOutputStream("first-prog");
-            BufferedOutputStream bos = new BufferedOutputStream(fos);
-            outputStream = new DataOutputStream(bos);
+    // Kinds of the callable units referred from fork/join constant pool entries
+    static final byte CALLABLE_KIND_FUNCTION = 1;
+    static final byte CALLABLE_KIND_ACTION = 2;
+    static final byte CALLABLE_KIND_RESOURCE = 3;
 
-            outputStream.writeInt(programFile.getMagicValue());
-            outputStream.writeShort(programFile.getVersion());
+    // Kinds of the structure types referred from structure constant pool entries
+    static final byte STRUCTURE_KIND_NONE = 0;
+    static final byte STRUCTURE_KIND_STRUCT = 1;
+    static final byte STRUCTURE_KIND_CONNECTOR = 2;
 
-            writeCP(outputStream, programFile.getConstPool());
-//            writeInstructions(outputStream, programFile.getInstructionList());
-//            writeFunctions(outputStream, programFile.getFuncInfoList());
+    // Type tag used to represent a null BType
+    static final byte TYPE_TAG_NULL_REF = 0;
 
-            outputStream.flush();
-            outputStream.close();
-        } catch (FileNotFoundException e) {
+    private DataOutputStream dataOutStream;
+
+    // Worker data channels are shared between constant pool entries and worker infos.
+    private Map<WorkerDataChannel, Integer> workerDataChannelIndexes = new IdentityHashMap<>();
+
+    public void writeProgram(ProgramFile programFile, Path programFilePath) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(programFilePath)) {
+            writeProgram(programFile, outputStream);
+        }
+    }
+
+    public void writeProgram(ProgramFile programFile, OutputStream outputStream) throws IOException {
+        dataOutStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        workerDataChannelIndexes.clear();
+
+        dataOutStream.writeInt(programFile.getMagicValue());
+        dataOutStream.writeShort(programFile.getVersion());
+
+        writeCP(programFile.getConstPool().toArray(new ConstantPoolEntry[0]));
+        writeString(programFile.getMainPackageName());
+        writeStringArray(programFile.getServicePackageNameList());
+        writeIntArray(programFile.getGlobalVarIndexes());
+
+        PackageInfo[] packageInfos = programFile.getPackageInfoCollection();
+        dataOutStream.writeInt(packageInfos.length);
+
+        // Write all the struct and connector names first, so that the types can be resolved while reading
+        for (PackageInfo packageInfo : packageInfos) {
+            writeString(packageInfo.getPkgPath());
+
+            StructInfo[] structInfos = packageInfo.getStructInfoCollection();
+            dataOutStream.writeInt(structInfos.length);
+            for (StructInfo structInfo : structInfos) {
+                writeString(structInfo.getName());
+            }
+
+            ConnectorInfo[] connectorInfos = packageInfo.getConnectorInfoCollection();
+            dataOutStream.writeInt(connectorInfos.length);
+            for (ConnectorInfo connectorInfo : connectorInfos) {
+                writeString(connectorInfo.getName());
+            }
+        }
+
+        for (PackageInfo packageInfo : packageInfos) {
+            writePackageInfo(packageInfo);
+        }
+
+        dataOutStream.flush();
+    }
+
+    private void writePackageInfo(PackageInfo packageInfo) throws IOException {
+        writeString(packageInfo.getPkgPath());
+        writeCP(packageInfo.getConstPool());
+
+        StructInfo[] structInfos = packageInfo.getStructInfoCollection();
+        dataOutStream.writeInt(structInfos.length);
+        for (StructInfo structInfo : structInfos) {
+            writeStructInfo(structInfo);
+        }
+
+        ConnectorInfo[] connectorInfos = packageInfo.getConnectorInfoCollection();
+        dataOutStream.writeInt(connectorInfos.length);
+        for (ConnectorInfo connectorInfo : connectorInfos) {
+            writeConnectorInfo(connectorInfo);
+        }
+
+        FunctionInfo[] functionInfos = packageInfo.getFunctionInfoCollection();
+        dataOutStream.writeInt(functionInfos.length);
+        for (FunctionInfo functionInfo : functionInfos) {
+            writeCallableUnitInfo(functionInfo);
+        }
+
+        ServiceInfo[] serviceInfos = packageInfo.getServiceInfoList();
+        dataOutStream.writeInt(serviceInfos.length);
+        for (ServiceInfo serviceInfo : serviceInfos) {
+            writeServiceInfo(serviceInfo);
+        }
+
+        FunctionInfo initFunctionInfo = packageInfo.getInitFunctionInfo();
+        writeString(initFunctionInfo != null ? initFunctionInfo.getName() : null);
+
+        Instruction[] instructions = packageInfo.getInstructions();
+        dataOutStream.writeInt(instructions.length);
+        for (Instruction instruction : instructions) {
+            dataOutStream.writeInt(instruction.getOpcode());
+            writeIntArray(instruction.getOperands());
+        }
+
+        List<LineNumberInfo> lineNumberInfos = packageInfo.getLineNumberInfoList();
+        dataOutStream.writeInt(lineNumberInfos.size());
+        for (LineNumberInfo lineNumberInfo : lineNumberInfos) {
+            dataOutStream.writeInt(lineNumberInfo.getLineNumber());
+            dataOutStream.writeInt(lineNumberInfo.getFileIndex());
+            dataOutStream.writeInt(lineNumberInfo.getIp());
+        }
+
+        List<ErrorTableEntry> errorTableEntries = packageInfo.getErrorTableEntriesList();
+        dataOutStream.writeInt(errorTableEntries.size());
+        for (ErrorTableEntry errorTableEntry : errorTableEntries) {
+            dataOutStream.writeInt(errorTableEntry.ipFrom);
+            dataOutStream.writeInt(errorTableEntry.ipTo);
+            dataOutStream.writeInt(errorTableEntry.ipTarget);
+            dataOutStream.writeInt(errorTableEntry.priority);
+            dataOutStream.writeInt(errorTableEntry.errorStructCPEntryIndex);
+        }
+    }
+
+    // Constant pool
+
+    private void writeCP(ConstantPoolEntry[] constPool) throws IOException {
+        dataOutStream.writeInt(constPool.length);
+        for (ConstantPoolEntry cpEntry : constPool) {
+            writeCPEntry(cpEntry);
+        }
+    }
+
+    private void writeCPEntry(ConstantPoolEntry cpEntry) throws IOException {
+        dataOutStream.writeByte(cpEntry.getEntryType().getValue());
+        switch (cpEntry.getEntryType()) {
+            case CP_ENTRY_UTF8:
+                writeString(((UTF8CPEntry) cpEntry).getValue());
+                break;
+            case CP_ENTRY_INTEGER:
+                dataOutStream.writeLong(((IntegerCPEntry) cpEntry).getValue());
+                break;
+            case CP_ENTRY_FLOAT:
+                dataOutStream.writeDouble(((FloatCPEntry) cpEntry).getValue());
+                break;
+            case CP_ENTRY_STRING:
+                StringCPEntry stringCPEntry = (StringCPEntry) cpEntry;
+                dataOutStream.writeInt(stringCPEntry.getStringCPIndex());
+                writeString(stringCPEntry.getValue());
+                break;
+            case CP_ENTRY_PACKAGE:
+                dataOutStream.writeInt(((PackageRefCPEntry) cpEntry).getNameCPIndex());
+                break;
+            case CP_ENTRY_FUNCTION_REF:
+                FunctionRefCPEntry funcRefCPEntry = (FunctionRefCPEntry) cpEntry;
+                dataOutStream.writeInt(funcRefCPEntry.getPackageCPIndex());
+                dataOutStream.writeInt(funcRefCPEntry.getNameCPIndex());
+                FunctionInfo functionInfo = funcRefCPEntry.getFunctionInfo();
+                dataOutStream.writeBoolean(functionInfo != null);
+                if (functionInfo != null) {
+                    writeString(functionInfo.getPackageInfo().getPkgPath());
+                    writeString(functionInfo.getName());
+                }
+                break;
+            case CP_ENTRY_ACTION_REF:
+                ActionRefCPEntry actionRefCPEntry = (ActionRefCPEntry) cpEntry;
+                dataOutStream.writeInt(actionRefCPEntry.getPackageCPIndex());
+                dataOutStream.writeInt(actionRefCPEntry.getConnectorRefCPIndex());
+                dataOutStream.writeInt(actionRefCPEntry.getNameCPIndex());
+                ActionInfo actionInfo = actionRefCPEntry.getActionInfo();
+                dataOutStream.writeBoolean(actionInfo != null);
+                if (actionInfo != null) {
+                    writeString(actionInfo.getPackageInfo().getPkgPath());
+                    writeString(actionInfo.getConnectorInfo().getName());
+                    writeString(actionInfo.getName());
+                }
+                break;
+            case CP_ENTRY_STRUCT:
+                StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) cpEntry;
+                dataOutStream.writeInt(structureRefCPEntry.getPackageCPIndex());
+                dataOutStream.writeInt(structureRefCPEntry.getNameCPIndex());
+                writeStructureTypeRef(structureRefCPEntry.getStructureTypeInfo());
+                break;
+            case CP_ENTRY_TYPE:
+                writeType(((TypeCPEntry) cpEntry).getType());
+                break;
+            case CP_ENTRY_FUNCTION_CALL_ARGS:
+                FunctionCallCPEntry funcCallCPEntry = (FunctionCallCPEntry) cpEntry;
+                writeIntArray(funcCallCPEntry.getArgRegs());
+                writeIntArray(funcCallCPEntry.getRetRegs());
+                break;
+            case CP_ENTRY_WORKER_INVOKE:
+                WorkerInvokeCPEntry workerInvokeCPEntry = (WorkerInvokeCPEntry) cpEntry;
+                writeIntArray(workerInvokeCPEntry.getArgRegs());
+                writeIntArray(workerInvokeCPEntry.getRetRegs());
+                writeTypes(workerInvokeCPEntry.getbTypes());
+                break;
+            case CP_ENTRY_WORKER_REPLY:
+                WorkerReplyCPEntry workerReplyCPEntry = (WorkerReplyCPEntry) cpEntry;
+                writeIntArray(workerReplyCPEntry.getArgRegs());
+                writeIntArray(workerReplyCPEntry.getRetRegs());
+                writeTypes(workerReplyCPEntry.getTypes());
+                break;
+            case CP_ENTRY_WORKER_DATA_CHANNEL_REF:
+                WorkerDataChannelRefCPEntry channelRefCPEntry = (WorkerDataChannelRefCPEntry) cpEntry;
+                dataOutStream.writeInt(channelRefCPEntry.getPackageCPIndex());
+                dataOutStream.writeInt(channelRefCPEntry.getNameCPIndex());
+                writeTypes(channelRefCPEntry.getTypes());
+                writeWorkerDataChannel(channelRefCPEntry.getWorkerDataChannel());
+                break;
+            case CP_ENTRY_FORK_JOIN:
+                writeForkJoinCPEntry((ForkJoinCPEntry) cpEntry);
+                break;
+            default:
+                throw new LinkerException("unsupported constant pool entry: " + cpEntry.getEntryType());
+        }
+    }
+
+    private void writeForkJoinCPEntry(ForkJoinCPEntry forkJoinCPEntry) throws IOException {
+        writeIntArray(forkJoinCPEntry.getArgRegs());
+        writeIntArray(forkJoinCPEntry.getRetRegs());
+        dataOutStream.writeBoolean(forkJoinCPEntry.isTimeoutAvailable());
+        writeCallableUnitRef(forkJoinCPEntry.getParentCallableUnitInfo());
+
+        Map<String, WorkerInfo> workerInfoMap = forkJoinCPEntry.getWorkerInfoMap();
+        dataOutStream.writeInt(workerInfoMap.size());
+        for (WorkerInfo workerInfo : workerInfoMap.values()) {
+            writeWorkerInfo(workerInfo);
+        }
+
+        writeString(forkJoinCPEntry.getJoinType());
+        writeStringArray(forkJoinCPEntry.getJoinWorkerNames());
+        dataOutStream.writeInt(forkJoinCPEntry.getJoinIp());
+        dataOutStream.writeInt(forkJoinCPEntry.getJoinResultOffset());
+        dataOutStream.writeInt(forkJoinCPEntry.getTimeoutIp());
+        dataOutStream.writeInt(forkJoinCPEntry.getTimeoutResultOffset());
+    }
+
+    private void writeCallableUnitRef(CallableUnitInfo callableUnitInfo) throws IOException {
+        if (callableUnitInfo instanceof ActionInfo) {
+            dataOutStream.writeByte(CALLABLE_KIND_ACTION);
+            writeString(callableUnitInfo.getPackageInfo().getPkgPath());
+            writeString(((ActionInfo) callableUnitInfo).getConnectorInfo().getName());
+        } else if (callableUnitInfo instanceof ResourceInfo) {
+            dataOutStream.writeByte(CALLABLE_KIND_RESOURCE);
+            writeString(callableUnitInfo.getPackageInfo().getPkgPath());
+            writeString(((ResourceInfo) callableUnitInfo).getServiceInfo().getName());
+        } else {
+            dataOutStream.writeByte(CALLABLE_KIND_FUNCTION);
+            writeString(callableUnitInfo.getPackageInfo().getPkgPath());
+        }
+
+        writeString(callableUnitInfo.getName());
+    }
+
+    private void writeStructureTypeRef(StructureTypeInfo structureTypeInfo) throws IOException {
+        if (structureTypeInfo instanceof StructInfo) {
+            dataOutStream.writeByte(STRUCTURE_KIND_STRUCT);
+        } else if (structureTypeInfo instanceof ConnectorInfo) {
+            dataOutStream.writeByte(STRUCTURE_KIND_CONNECTOR);
+        } else {
+            dataOutStream.writeByte(STRUCTURE_KIND_NONE);
+            return;
+        }
+
+        writeString(structureTypeInfo.getPackageInfo().getPkgPath());
+        writeString(structureTypeInfo.getName());
+    }
+
+    // Structures and callable units
+
+    private void writeStructInfo(StructInfo structInfo) throws IOException {
+        writeString(structInfo.getName());
+        dataOutStream.writeInt(structInfo.pkgPathCPIndex);
+        dataOutStream.writeInt(structInfo.nameCPIndex);
+        writeIntArray(structInfo.getFieldCount());
+        writeTypes(structInfo.getFieldTypes());
+
+        BStructType.StructField[] structFields = ((BStructType) structInfo.getType()).getStructFields();
+        dataOutStream.writeInt(structFields.length);
+        for (BStructType.StructField structField : structFields) {
+            writeType(structField.getFieldType());
+            writeString(structField.getFieldName());
+        }
+    }
+
+    private void writeConnectorInfo(ConnectorInfo connectorInfo) throws IOException {
+        writeString(connectorInfo.getName());
+        dataOutStream.writeInt(connectorInfo.pkgPathCPIndex);
+        dataOutStream.writeInt(connectorInfo.nameCPIndex);
+        writeIntArray(connectorInfo.getFieldCount());
+        writeTypes(connectorInfo.getFieldTypes());
+        writeAttributeInfoMap(connectorInfo.attributeInfoMap);
+
+        ActionInfo[] actionInfos = connectorInfo.getActionInfoList();
+        dataOutStream.writeInt(actionInfos.length);
+        for (ActionInfo actionInfo : actionInfos) {
+            writeCallableUnitInfo(actionInfo);
+        }
+    }
+
+    private void writeServiceInfo(ServiceInfo serviceInfo) throws IOException {
+        writeString(serviceInfo.getName());
+        dataOutStream.writeInt(serviceInfo.pkgPathCPIndex);
+        dataOutStream.writeInt(serviceInfo.nameCPIndex);
+        writeString(serviceInfo.getProtocolPkgName());
+        writeString(serviceInfo.getProtocolPkgPath());
+
+        FunctionInfo initFunctionInfo = serviceInfo.getInitFunctionInfo();
+        writeString(initFunctionInfo != null ? initFunctionInfo.getName() : null);
+        writeAttributeInfoMap(serviceInfo.attributeInfoMap);
+
+        ResourceInfo[] resourceInfos = serviceInfo.getResourceInfoList();
+        dataOutStream.writeInt(resourceInfos.length);
+        for (ResourceInfo resourceInfo : resourceInfos) {
+            writeCallableUnitInfo(resourceInfo);
+            writeStringArray(resourceInfo.getParamNames());
+        }
+    }
+
+    private void writeCallableUnitInfo(CallableUnitInfo callableUnitInfo) throws IOException {
+        writeString(callableUnitInfo.getName());
+        writeString(callableUnitInfo.getPkgPath());
+        dataOutStream.writeInt(callableUnitInfo.getPackageCPIndex());
+        dataOutStream.writeInt(callableUnitInfo.getNameCPIndex());
+        dataOutStream.writeBoolean(callableUnitInfo.isNative());
+        writeTypes(callableUnitInfo.getParamTypes());
+        writeTypes(callableUnitInfo.getRetParamTypes());
+        writeAttributeInfoMap(callableUnitInfo.attributeInfoMap);
+
+        WorkerInfo defaultWorkerInfo = callableUnitInfo.getDefaultWorkerInfo();
+        dataOutStream.writeBoolean(defaultWorkerInfo != null);
+        if (defaultWorkerInfo != null) {
+            writeWorkerInfo(defaultWorkerInfo);
+        }
+
+        Map<String, WorkerInfo> workerInfoMap = callableUnitInfo.getWorkerInfoMap();
+        dataOutStream.writeInt(workerInfoMap.size());
+        for (WorkerInfo workerInfo : workerInfoMap.values()) {
+            writeWorkerInfo(workerInfo);
+        }
+    }
+
+    private void writeWorkerInfo(WorkerInfo workerInfo) throws IOException {
+        writeString(workerInfo.getWorkerName());
+        dataOutStream.writeInt(workerInfo.getWorkerNameCPIndex());
+        dataOutStream.writeInt(workerInfo.getWorkerEndIP());
+        writeWorkerDataChannel(workerInfo.getWorkerDataChannelForForkJoin());
+        writeCodeAttributeInfo(workerInfo.getCodeAttributeInfo());
+        writeAttributeInfoMap(workerInfo.getAttributeInfoMap());
+    }
+
+    private void writeWorkerDataChannel(WorkerDataChannel workerDataChannel) throws IOException {
+        if (workerDataChannel == null) {
+            dataOutStream.writeInt(-1);
             return;
-        } catch (IOException e) {
+        }
+
+        Integer channelIndex = workerDataChannelIndexes.get(workerDataChannel);
+        if (channelIndex != null) {
+            dataOutStream.writeInt(channelIndex);
             return;
         }
+
+        // First occurrence of the channel. Write the channel details as well.
+        channelIndex = workerDataChannelIndexes.size();
+        workerDataChannelIndexes.put(workerDataChannel, channelIndex);
+        dataOutStream.writeInt(channelIndex);
+        writeString(workerDataChannel.getSource());
+        writeString(workerDataChannel.getTarget());
     }
 
-    private void writeCP(DataOutputStream outputStream, List<ConstantPoolEntry> constPool) throws IOException {
-        outputStream.writeInt(constPool.size());
+    // Attributes
 
-        for (ConstantPoolEntry cpEntry : constPool) {
-            switch (cpEntry.getEntryType()) {
-                case CP_ENTRY_UTF8:
-                    outputStream.writeByte(EntryType.CP_ENTRY_UTF8.getValue());
-                    String stringVal = ((UTF8CPEntry) cpEntry).getValue();
-                    byte[] bytes = toUTF(stringVal);
-                    outputStream.writeChar(bytes.length);
-                    outputStream.write(bytes);
-                    break;
-                case CP_ENTRY_PACKAGE:
-                    outputStream.writeByte(EntryType.CP_ENTRY_PACKAGE.getValue());
-                    int nameIndex = ((PackageRefCPEntry) cpEntry).getNameCPIndex();
-                    outputStream.writeInt(nameIndex);
-                    break;
-                case CP_ENTRY_INTEGER:
-                    outputStream.writeByte(EntryType.CP_ENTRY_INTEGER.getValue());
-                    long longVal = ((IntegerCPEntry) cpEntry).getValue();
-                    outputStream.writeLong(longVal);
-                    break;
-                case CP_ENTRY_FLOAT:
-                    outputStream.writeByte(EntryType.CP_ENTRY_INTEGER.getValue());
-                    double doubleVal = ((IntegerCPEntry) cpEntry).getValue();
-                    outputStream.writeDouble(doubleVal);
-                    break;
-                case CP_ENTRY_STRING:
-                    outputStream.writeByte(EntryType.CP_ENTRY_STRING.getValue());
-                    nameIndex = ((StringCPEntry) cpEntry).getStringCPIndex();
-                    outputStream.writeInt(nameIndex);
-//                case CP_ENTRY_NAME_AND_TYPE:
-//                    outputStream.writeByte(EntryType.CP_ENTRY_NAME_AND_TYPE.getValue());
-//                    NameAndTypeCPEntry nameAndTypeCPEntry = (NameAndTypeCPEntry) cpEntry;
-////                    nameAndTypeCPEntry.
-//                case CP_ENTRY_FUNCTION_REF:
-//                    outputStream.writeByte(EntryType.CP_ENTRY_FUNCTION_REF.getValue());
-//                default:
+    private void writeAttributeInfoMap(Map<String, AttributeInfo> attributeInfoMap) throws IOException {
+        dataOutStream.writeInt(attributeInfoMap.size());
+        for (Map.Entry<String, AttributeInfo> entry : attributeInfoMap.entrySet()) {
+            writeString(entry.getKey());
+            AttributeInfo attributeInfo = entry.getValue();
+            if (attributeInfo instanceof CodeAttributeInfo) {
+                writeCodeAttributeInfo((CodeAttributeInfo) attributeInfo);
+            } else if (attributeInfo instanceof AnnotationAttributeInfo) {
+                List<AnnotationAttachmentInfo> attachmentInfos =
+                        ((AnnotationAttributeInfo) attributeInfo).getAnnotationAttachmentInfo();
+                dataOutStream.writeInt(attachmentInfos.size());
+                for (AnnotationAttachmentInfo attachmentInfo : attachmentInfos) {
+                    writeAnnotationAttachmentInfo(attachmentInfo);
+                }
+            } else if (attributeInfo instanceof ParamAnnotationAttributeInfo) {
+                writeParamAnnotationAttributeInfo((ParamAnnotationAttributeInfo) attributeInfo);
+            } else if (attributeInfo instanceof LocalVariableAttributeInfo) {
+                writeLocalVariableAttributeInfo((LocalVariableAttributeInfo) attributeInfo);
+            } else {
+                throw new LinkerException("unsupported attribute: " + entry.getKey());
+            }
+        }
+    }
+
+    private void writeCodeAttributeInfo(CodeAttributeInfo codeAttributeInfo) throws IOException {
+        dataOutStream.writeInt(codeAttributeInfo.getAttributeNameIndex());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxLongLocalVars());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxDoubleLocalVars());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxStringLocalVars());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxIntLocalVars());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxByteLocalVars());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxRefLocalVars());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxLongRegs());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxDoubleRegs());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxStringRegs());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxIntRegs());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxByteRegs());
+        dataOutStream.writeInt(codeAttributeInfo.getMaxRefRegs());
+        dataOutStream.writeInt(codeAttributeInfo.getCodeAddrs());
+    }
+
+    private void writeParamAnnotationAttributeInfo(ParamAnnotationAttributeInfo attributeInfo) throws IOException {
+        ParamAnnotationAttachmentInfo[] paramAttachmentInfos = attributeInfo.getAttachmentInfoArray();
+        dataOutStream.writeInt(paramAttachmentInfos.length);
+        for (ParamAnnotationAttachmentInfo paramAttachmentInfo : paramAttachmentInfos) {
+            dataOutStream.writeBoolean(paramAttachmentInfo != null);
+            if (paramAttachmentInfo == null) {
+                continue;
+            }
+
+            dataOutStream.writeInt(paramAttachmentInfo.getParamIndex());
+            AnnotationAttachmentInfo[] attachmentInfos = paramAttachmentInfo.getAnnotationAttachmentInfos();
+            dataOutStream.writeInt(attachmentInfos.length);
+            for (AnnotationAttachmentInfo attachmentInfo : attachmentInfos) {
+                writeAnnotationAttachmentInfo(attachmentInfo);
+            }
+        }
+    }
 
+    private void writeLocalVariableAttributeInfo(LocalVariableAttributeInfo attributeInfo) throws IOException {
+        dataOutStream.writeInt(attributeInfo.getAttributeNameIndex());
+        List<LocalVariableInfo> localVariableInfos = attributeInfo.getLocalVariables();
+        dataOutStream.writeInt(localVariableInfos.size());
+        for (LocalVariableInfo localVariableInfo : localVariableInfos) {
+            writeString(localVariableInfo.getVarName());
+            dataOutStream.writeInt(localVariableInfo.getVariableNameCPIndex());
+            dataOutStream.writeInt(localVariableInfo.getVariableIndex());
+            writeType(localVariableInfo.getVariableType());
+            dataOutStream.writeInt(localVariableInfo.attachmentsIndex.size());
+            for (int attachmentIndex : localVariableInfo.attachmentsIndex) {
+                dataOutStream.writeInt(attachmentIndex);
             }
         }
     }
 
-    private void writeFunctions(DataOutputStream outputStream,
-                                List<FunctionInfo> functionInfoList) throws IOException {
-        outputStream.writeShort(functionInfoList.size());
-        for (FunctionInfo functionInfo : functionInfoList) {
-            outputStream.writeInt(functionInfo.getPackageCPIndex());
-//            outputStream.writeInt(functionInfo.getNameAndTypeIndex());
+    private void writeAnnotationAttachmentInfo(AnnotationAttachmentInfo attachmentInfo) throws IOException {
+        writeString(attachmentInfo.getPkgPath());
+        dataOutStream.writeInt(attachmentInfo.pkgPathCPIndex);
+        writeString(attachmentInfo.getName());
+        dataOutStream.writeInt(attachmentInfo.nameCPIndex);
 
-            CodeAttributeInfo codeAttribute = functionInfo.codeAttributeInfo;
+        Map<String, AnnotationAttributeValue> attributeValueMap = attachmentInfo.getAttributeValueMap();
+        dataOutStream.writeInt(attributeValueMap.size());
+        for (Map.Entry<String, AnnotationAttributeValue> entry : attributeValueMap.entrySet()) {
+            writeString(entry.getKey());
+            writeAnnotationAttributeValue(entry.getValue());
+        }
+    }
 
-//            outputStream.writeShort(functionInfo.getAttributeInfoList().size());
-            outputStream.writeInt(codeAttribute.getAttributeNameIndex());
-            outputStream.writeInt(codeAttribute.getMaxIntRegs());
-            outputStream.writeInt(codeAttribute.getMaxLongRegs());
-            outputStream.writeInt(codeAttribute.getMaxStringRegs());
-            outputStream.writeInt(codeAttribute.getMaxRefRegs());
-            outputStream.writeInt(codeAttribute.getCodeAddrs());
+    private void writeAnnotationAttributeValue(AnnotationAttributeValue attributeValue) throws IOException {
+        int typeTag = attributeValue.getTypeTag();
+        dataOutStream.writeInt(typeTag);
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+                dataOutStream.writeLong(attributeValue.getIntValue());
+                break;
+            case TypeTags.FLOAT_TAG:
+                dataOutStream.writeDouble(attributeValue.getFloatValue());
+                break;
+            case TypeTags.STRING_TAG:
+                writeString(attributeValue.getStringValue());
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                dataOutStream.writeBoolean(attributeValue.isBooleanValue());
+                break;
+            case TypeTags.ANNOTATION_TAG:
+                writeAnnotationAttachmentInfo(attributeValue.getAnnotationAttachmentValue());
+                break;
+            case TypeTags.ARRAY_TAG:
+                AnnotationAttributeValue[] valueArray = attributeValue.getAttributeValueArray();
+                dataOutStream.writeInt(valueArray.length);
+                for (AnnotationAttributeValue value : valueArray) {
+                    writeAnnotationAttributeValue(value);
+                }
+                break;
+            default:
+                break;
         }
     }
 
-    private void writeAttributes(DataOutputStream outputStream,
-                                 List<AttributeInfo> attributeInfoList) throws IOException {
-        outputStream.writeShort(attributeInfoList.size());
+    // Types and primitives
 
+    private void writeTypes(BType[] types) throws IOException {
+        if (types == null) {
+            dataOutStream.writeInt(-1);
+            return;
+        }
+
+        dataOutStream.writeInt(types.length);
+        for (BType type : types) {
+            writeType(type);
+        }
     }
 
-    private void writeInstructions(DataOutputStream outputStream,
-                                   List<Instruction> instructionList) throws IOException {
-        ByteArrayOutputStream byteAOS = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(byteAOS);
-        for (Instruction instruction : instructionList) {
-            dos.writeByte(instruction.opcode);
-            int[] operands = instruction.operands;
-            for (int operand : operands) {
-                dos.writeInt(operand);
-            }
+    private void writeType(BType type) throws IOException {
+        if (type == null) {
+            dataOutStream.writeByte(TYPE_TAG_NULL_REF);
+            return;
+        }
+
+        int typeTag = type.getTag();
+        dataOutStream.writeByte(typeTag);
+        switch (typeTag) {
+            case TypeTags.STRUCT_TAG:
+            case TypeTags.CONNECTOR_TAG:
+                writeString(type.getPackagePath());
+                writeString(type.getName());
+                break;
+            case TypeTags.ARRAY_TAG:
+                writeType(((BArrayType) type).getElementType());
+                break;
+            default:
+                break;
         }
-        byte[] code = byteAOS.toByteArray();
-        outputStream.writeInt(code.length);
-        outputStream.write(code);
     }
 
-    private byte[] toUTF(String value) throws IOException {
-        ByteArrayOutputStream byteAOS = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(byteAOS);
-        dos.writeUTF(value);
-        return byteAOS.toByteArray();
+    private void writeIntArray(int[] values) throws IOException {
+        if (values == null) {
+            dataOutStream.writeInt(-1);
+            return;
+        }
+
+        dataOutStream.writeInt(values.length);
+        for (int value : values) {
+            dataOutStream.writeInt(value);
+        }
+    }
+
+    private void writeStringArray(String[] values) throws IOException {
+        if (values == null) {
+            dataOutStream.writeInt(-1);
+            return;
+        }
+
+        dataOutStream.writeInt(values.length);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        // DataOutputStream.writeUTF limits strings to 64K, hence the length prefixed UTF-8 bytes
+        if (value == null) {
+            dataOutStream.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dataOutStream.writeInt(bytes.length);
+        dataOutStream.write(bytes);
     }
 }
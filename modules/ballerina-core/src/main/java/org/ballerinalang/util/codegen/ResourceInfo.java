@@ -17,6 +17,9 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+
 import java.util.Objects;
 
 /**
@@ -28,6 +31,8 @@ public class ResourceInfo extends CallableUnitInfo {
 
     protected String[] paramNames;
     private ServiceInfo serviceInfo;
+    // Local variable index of each parameter, within the local variables of its type
+    private int[] paramLocalVarIndexes;
 
     public ResourceInfo(String pkgPath, int pkgCPIndex, String actionName, int resNameCPIndex) {
         this.pkgPath = pkgPath;
@@ -66,4 +71,40 @@ public class ResourceInfo extends CallableUnitInfo {
     public void setParamNames(String[] paramNames) {
         this.paramNames = paramNames;
     }
+
+    /**
+     * Returns the local variable index of each parameter, within the local variables of the parameter's type.
+     * Parameters of types other than string, boolean, float and int are given the index -1.
+     *
+     * @return local variable indexes of the parameters
+     */
+    public int[] getParamLocalVarIndexes() {
+        if (paramLocalVarIndexes != null) {
+            return paramLocalVarIndexes;
+        }
+
+        BType[] paramTypes = getParamTypes();
+        int[] indexes = new int[paramTypes.length];
+        int stringIndex = 0;
+        int intIndex = 0;
+        int doubleIndex = 0;
+        int longIndex = 0;
+        for (int i = 0; i < paramTypes.length; i++) {
+            BType paramType = paramTypes[i];
+            if (paramType == BTypes.typeString) {
+                indexes[i] = stringIndex++;
+            } else if (paramType == BTypes.typeBoolean) {
+                indexes[i] = intIndex++;
+            } else if (paramType == BTypes.typeFloat) {
+                indexes[i] = doubleIndex++;
+            } else if (paramType == BTypes.typeInt) {
+                indexes[i] = longIndex++;
+            } else {
+                indexes[i] = -1;
+            }
+        }
+
+        paramLocalVarIndexes = indexes;
+        return paramLocalVarIndexes;
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.codegen;
+
+/**
+ * {@code Superinstructions} selects the superinstructions of a packed instruction stream.
+ * <p>
+ * A superinstruction replaces the opcode of the first instruction of a sequence in the packed stream. The operands
+ * of the instructions and the opcodes of the other instructions of the sequence are kept in place, hence the VM
+ * executes the whole sequence with a single dispatch, while a jump into the middle of the sequence still executes
+ * the original instructions. Only instructions which cannot fail are fused.
+ * <p>
+ * The sequences are the most frequent ones emitted by the code generator for local variable arithmetic, conditions
+ * of if and while statements and string concatenation. Sequences are selected from the start of the stream, preferring
+ * the longer ones, and never overlap.
+ *
+ * @since 0.90
+ */
+public class Superinstructions {
+
+    private static final int[] ILOAD = {InstructionCodes.ILOAD};
+    private static final int[] ICONST = {InstructionCodes.ICONST, InstructionCodes.ICONST_0,
+            InstructionCodes.ICONST_1, InstructionCodes.ICONST_2, InstructionCodes.ICONST_3,
+            InstructionCodes.ICONST_4, InstructionCodes.ICONST_5};
+    private static final int[] IADD = {InstructionCodes.IADD};
+    private static final int[] ISTORE = {InstructionCodes.ISTORE};
+    private static final int[] ICMP = {InstructionCodes.IEQ, InstructionCodes.INE, InstructionCodes.IGT,
+            InstructionCodes.IGE, InstructionCodes.ILT, InstructionCodes.ILE};
+    private static final int[] BR_FALSE = {InstructionCodes.BR_FALSE};
+    private static final int[] SLOAD = {InstructionCodes.SLOAD};
+    private static final int[] SLOAD_SCONST = {InstructionCodes.SLOAD, InstructionCodes.SCONST};
+    private static final int[] SADD = {InstructionCodes.SADD};
+
+    // Superinstructions of the comparisons in ICMP, in the same order
+    private static final int[] ICMP_BR_FALSE = {InstructionCodes.IEQ_BR_FALSE, InstructionCodes.INE_BR_FALSE,
+            InstructionCodes.IGT_BR_FALSE, InstructionCodes.IGE_BR_FALSE, InstructionCodes.ILT_BR_FALSE,
+            InstructionCodes.ILE_BR_FALSE};
+
+    // Sequences in the order of preference
+    private static final Sequence[] SEQUENCES = {
+            new Sequence(new int[]{InstructionCodes.ILOAD_ICONST_IADD_ISTORE}, ILOAD, ICONST, IADD, ISTORE),
+            new Sequence(new int[]{InstructionCodes.ILOAD_ILOAD_ICMP_BR_FALSE}, ILOAD, ILOAD, ICMP, BR_FALSE),
+            new Sequence(new int[]{InstructionCodes.SLOAD_SADD}, SLOAD, SLOAD_SCONST, SADD),
+            new Sequence(ICMP_BR_FALSE, ICMP, BR_FALSE),
+            new Sequence(new int[]{InstructionCodes.ILOAD_ILOAD}, ILOAD, ILOAD)
+    };
+
+    /**
+     * Replace the opcodes of the first instructions of the selected sequences in a packed instruction stream.
+     *
+     * @param instructions instructions of the package
+     * @param code         packed instruction stream of the instructions
+     * @param offsets      offsets of the instructions in the packed stream
+     * @return number of superinstructions in the packed stream
+     */
+    public static int apply(Instruction[] instructions, int[] code, int[] offsets) {
+        int count = 0;
+        int ip = 0;
+        while (ip < instructions.length) {
+            Sequence sequence = match(instructions, ip);
+            if (sequence == null) {
+                ip++;
+                continue;
+            }
+
+            code[offsets[ip]] = sequence.getSuperinstruction(instructions[ip].opcode);
+            ip += sequence.opcodes.length;
+            count++;
+        }
+        return count;
+    }
+
+    private static Sequence match(Instruction[] instructions, int ip) {
+        for (Sequence sequence : SEQUENCES) {
+            if (sequence.matches(instructions, ip)) {
+                return sequence;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opcodes allowed at each position of a sequence, and the superinstructions of the sequence for each opcode
+     * allowed at the first position.
+     */
+    private static class Sequence {
+        private final int[] superinstructions;
+        private final int[][] opcodes;
+
+        Sequence(int[] superinstructions, int[]... opcodes) {
+            this.superinstructions = superinstructions;
+            this.opcodes = opcodes;
+        }
+
+        boolean matches(Instruction[] instructions, int ip) {
+            if (ip + opcodes.length > instructions.length) {
+                return false;
+            }
+            for (int i = 0; i < opcodes.length; i++) {
+                if (indexOf(opcodes[i], instructions[ip + i].opcode) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int getSuperinstruction(int firstOpcode) {
+            return superinstructions.length == 1 ? superinstructions[0]
+                    : superinstructions[indexOf(opcodes[0], firstOpcode)];
+        }
+
+        private static int indexOf(int[] opcodes, int opcode) {
+            for (int i = 0; i < opcodes.length; i++) {
+                if (opcodes[i] == opcode) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
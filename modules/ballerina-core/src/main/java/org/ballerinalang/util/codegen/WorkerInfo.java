@@ -16,6 +16,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
 import org.ballerinalang.runtime.worker.WorkerDataChannel;
 
 import java.util.HashMap;
@@ -40,6 +41,11 @@ public class WorkerInfo {
 
     private Map<String, AttributeInfo> attributeInfoMap = new HashMap<>();
 
+    // Profile of the tiered execution. The counters are not synchronized, as they only need to be approximate.
+    private int invocationCount;
+    private int backEdgeCount;
+    private volatile CompiledCode compiledCode;
+
     public WorkerInfo(String workerName, int workerNameCPIndex) {
         this.workerName = workerName;
         this.workerNameCPIndex = workerNameCPIndex;
@@ -50,6 +56,10 @@ public class WorkerInfo {
         return workerName;
     }
 
+    public int getWorkerNameCPIndex() {
+        return workerNameCPIndex;
+    }
+
     public CodeAttributeInfo getCodeAttributeInfo() {
         return codeAttributeInfo;
     }
@@ -66,6 +76,10 @@ public class WorkerInfo {
         attributeInfoMap.put(attributeName, attributeInfo);
     }
 
+    public Map<String, AttributeInfo> getAttributeInfoMap() {
+        return attributeInfoMap;
+    }
+
     public WorkerDataChannel getWorkerDataChannelForForkJoin() {
         return workerDataChannelForForkJoin;
     }
@@ -81,4 +95,26 @@ public class WorkerInfo {
     public void setWorkerEndIP(int workerEndIP) {
         this.workerEndIP = workerEndIP;
     }
+
+    public int incrementInvocationCount() {
+        return ++invocationCount;
+    }
+
+    public int incrementBackEdgeCount() {
+        return ++backEdgeCount;
+    }
+
+    /**
+     * Returns the JVM bytecode compiled from the instructions of this worker.
+     *
+     * @return the compiled code, {@link CompiledCode#INTERPRETED} if the worker could not be compiled, or null if
+     * the worker is not compiled yet
+     */
+    public CompiledCode getCompiledCode() {
+        return compiledCode;
+    }
+
+    public void setCompiledCode(CompiledCode compiledCode) {
+        this.compiledCode = compiledCode;
+    }
 }
@@ -66,7 +66,7 @@ public class ActionRefCPEntry implements ConstantPoolEntry {
     }
 
     public EntryType getEntryType() {
-        return EntryType.CP_ENTRY_FUNCTION_REF;
+        return EntryType.CP_ENTRY_ACTION_REF;
     }
 
     @Override
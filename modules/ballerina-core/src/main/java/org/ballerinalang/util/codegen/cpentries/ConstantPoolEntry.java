@@ -37,14 +37,15 @@ public interface ConstantPoolEntry {
         CP_ENTRY_NAME_AND_TYPE((byte) 10),
         CP_ENTRY_PACKAGE((byte) 11),
         CP_ENTRY_FUNCTION_REF((byte) 12),
-        CP_ENTRY_ACTION_REF((byte) 12),
+        CP_ENTRY_ACTION_REF((byte) 20),
         CP_ENTRY_FUNCTION_CALL_ARGS((byte) 13),
         CP_ENTRY_FUNCTION_RET((byte) 14),
         CP_ENTRY_STRUCT((byte) 15),
         CP_ENTRY_TYPE((byte) 16),
         CP_ENTRY_WORKER_INVOKE((byte) 17),
         CP_ENTRY_WORKER_REPLY((byte) 18),
-        CP_ENTRY_FORK_JOIN((byte) 19);
+        CP_ENTRY_FORK_JOIN((byte) 19),
+        CP_ENTRY_WORKER_DATA_CHANNEL_REF((byte) 21);
 
         byte value;
 
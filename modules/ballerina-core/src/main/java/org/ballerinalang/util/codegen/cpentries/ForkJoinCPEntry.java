@@ -17,12 +17,10 @@
  */
 package org.ballerinalang.util.codegen.cpentries;
 
-import org.ballerinalang.model.statements.ForkJoinStmt;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -37,21 +35,25 @@ public class ForkJoinCPEntry implements ConstantPoolEntry {
     // Registers to which return  values to be copied
     private int[] retRegs;
 
-    protected Map<String, WorkerInfo> workerInfoMap = new HashMap<>();
+    // Workers are kept in the order they are defined in the fork statement
+    protected Map<String, WorkerInfo> workerInfoMap = new LinkedHashMap<>();
 
-    protected ForkJoinStmt forkJoinStmt;
     private boolean isTimeoutAvailable;
     private CallableUnitInfo parentCallableUnitInfo;
 
-    public ForkJoinCPEntry(int[] argRegs, int[] retRegs, ForkJoinStmt forkJoinStmt) {
-        this.argRegs = argRegs;
-        this.retRegs = retRegs;
-        this.forkJoinStmt = forkJoinStmt;
-    }
+    // Join block details. "all" or "any" join type and the workers to wait on
+    private String joinType;
+    private String[] joinWorkerNames = new String[0];
+    private int joinIp = -1;
+    private int joinResultOffset = -1;
 
+    // Timeout block details
+    private int timeoutIp = -1;
+    private int timeoutResultOffset = -1;
 
-    public ForkJoinStmt getForkJoinStmt() {
-        return forkJoinStmt;
+    public ForkJoinCPEntry(int[] argRegs, int[] retRegs) {
+        this.argRegs = argRegs;
+        this.retRegs = retRegs;
     }
 
 
@@ -88,20 +90,6 @@ public class ForkJoinCPEntry implements ConstantPoolEntry {
         return workerInfoMap;
     }
 
-    @Override
-    public int hashCode() {
-        int[] combined = new int[argRegs.length + retRegs.length];
-        System.arraycopy(argRegs, 0, combined, 0, argRegs.length);
-        System.arraycopy(retRegs, 0, combined, argRegs.length, retRegs.length);
-        return Arrays.hashCode(combined);
-    }
-
-    @Override
-    public boolean equals(Object obj) {
-        return obj instanceof ForkJoinCPEntry && Arrays.equals(argRegs, ((ForkJoinCPEntry) obj).argRegs)
-                && Arrays.equals(retRegs, ((ForkJoinCPEntry) obj).retRegs);
-    }
-
     public CallableUnitInfo getParentCallableUnitInfo() {
         return parentCallableUnitInfo;
     }
@@ -110,4 +98,51 @@ public class ForkJoinCPEntry implements ConstantPoolEntry {
         this.parentCallableUnitInfo = parentCallableUnitInfo;
     }
 
+    public String getJoinType() {
+        return joinType;
+    }
+
+    public void setJoinType(String joinType) {
+        this.joinType = joinType;
+    }
+
+    public String[] getJoinWorkerNames() {
+        return joinWorkerNames;
+    }
+
+    public void setJoinWorkerNames(String[] joinWorkerNames) {
+        this.joinWorkerNames = joinWorkerNames;
+    }
+
+    public int getJoinIp() {
+        return joinIp;
+    }
+
+    public void setJoinIp(int joinIp) {
+        this.joinIp = joinIp;
+    }
+
+    public int getJoinResultOffset() {
+        return joinResultOffset;
+    }
+
+    public void setJoinResultOffset(int joinResultOffset) {
+        this.joinResultOffset = joinResultOffset;
+    }
+
+    public int getTimeoutIp() {
+        return timeoutIp;
+    }
+
+    public void setTimeoutIp(int timeoutIp) {
+        this.timeoutIp = timeoutIp;
+    }
+
+    public int getTimeoutResultOffset() {
+        return timeoutResultOffset;
+    }
+
+    public void setTimeoutResultOffset(int timeoutResultOffset) {
+        this.timeoutResultOffset = timeoutResultOffset;
+    }
 }
@@ -39,6 +39,14 @@ public class StructureRefCPEntry implements ConstantPoolEntry {
         this.nameCPIndex = nameCPIndex;
     }
 
+    public int getPackageCPIndex() {
+        return packageCPIndex;
+    }
+
+    public int getNameCPIndex() {
+        return nameCPIndex;
+    }
+
     public StructureTypeInfo getStructureTypeInfo() {
         return structureTypeInfo;
     }
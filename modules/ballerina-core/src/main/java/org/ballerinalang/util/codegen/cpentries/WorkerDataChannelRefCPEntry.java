@@ -59,7 +59,7 @@ public class WorkerDataChannelRefCPEntry implements ConstantPoolEntry {
     }
 
     public EntryType getEntryType() {
-        return EntryType.CP_ENTRY_FUNCTION_REF;
+        return EntryType.CP_ENTRY_WORKER_DATA_CHANNEL_REF;
     }
 
     @Override
@@ -39,7 +39,12 @@ public enum RuntimeErrors {
     JSON_GET_ERROR("json.get.error", "RUNTIME_0014"),
     ARRAY_TYPE_MISMATCH("from.and.to.array.type.mismatch", "RUNTIME_0015"),
     SERVER_CONNECTOR_ALREADY_EXIST("server.connector.already.exist", "RUNTIME_0016"),
-    INVALID_SERVICE_PROTOCOL("invalid.service.protocol", "RUNTIME_0017");
+    INVALID_SERVICE_PROTOCOL("invalid.service.protocol", "RUNTIME_0017"),
+    STACK_OVERFLOW("stack.overflow", "RUNTIME_0018"),
+    WORKER_SEND_TIMEOUT("worker.send.timeout", "RUNTIME_0019"),
+    WORKER_RECEIVE_TIMEOUT("worker.receive.timeout", "RUNTIME_0020"),
+    WORKER_SEND_INTERRUPTED("worker.send.interrupted", "RUNTIME_0021"),
+    WORKER_RECEIVE_INTERRUPTED("worker.receive.interrupted", "RUNTIME_0022");
     
     private String errorMsgKey;
     private String errorCode;
@@ -20,30 +20,113 @@ package org.ballerinalang.util.program;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BallerinaFile;
 import org.ballerinalang.model.builder.BLangModelBuilder;
+import org.ballerinalang.runtime.Constants;
 import org.ballerinalang.util.exceptions.ParserException;
 import org.ballerinalang.util.parser.BallerinaLexer;
 import org.ballerinalang.util.parser.BallerinaParser;
 import org.ballerinalang.util.parser.BallerinaParserErrorStrategy;
 import org.ballerinalang.util.parser.antlr4.BLangAntlr4Listener;
+import org.ballerinalang.util.repository.PackageRepository;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- *
+ * This class contains a set of static methods to parse Ballerina source files, and to build the model of the parsed
+ * files.
+ * <p>
+ * Source files are parsed concurrently on a fork-join pool, as parsing does not depend on the other files. The model
+ * of the files is built by walking the parse trees in the order of the files, hence the symbols are defined and the
+ * errors are reported in the same order as parsing the files one by one.
  */
 public class BLangFiles {
 
+    // Pool which parses the source files, or null if the files are parsed by the calling thread
+    private static final ForkJoinPool parserPool = createParserPool();
+
     public static BallerinaFile loadFile(String sourceFileName,
                                          Path packagePath,
                                          InputStream inputStream,
                                          BLangPackage.PackageBuilder packageBuilder) {
+        return buildFile(parseFile(sourceFileName, packagePath, inputStream), packageBuilder);
+    }
+
+    /**
+     * Returns whether the source files are parsed concurrently.
+     *
+     * @return true if the source files are parsed concurrently
+     */
+    static boolean isParallelParsingEnabled() {
+        return parserPool != null;
+    }
+
+    /**
+     * Start parsing the source files of a package.
+     *
+     * @param pkgSource source files of the package
+     * @return the parsed files, in the order of the source files
+     */
+    static List<CompletableFuture<ParsedFile>> parseFiles(PackageRepository.PackageSource pkgSource) {
+        Path packagePath = pkgSource.getPackagePath();
+        Map<String, InputStream> sourceFileStreamMap = pkgSource.getSourceFileStreamMap();
+        List<CompletableFuture<ParsedFile>> parsedFiles = new ArrayList<>(sourceFileStreamMap.size());
+        for (Map.Entry<String, InputStream> entry : sourceFileStreamMap.entrySet()) {
+            if (parserPool == null || sourceFileStreamMap.size() == 1) {
+                parsedFiles.add(parseFileNow(entry.getKey(), packagePath, entry.getValue()));
+            } else {
+                parsedFiles.add(CompletableFuture.supplyAsync(
+                        () -> parseFile(entry.getKey(), packagePath, entry.getValue()), parserPool));
+            }
+        }
+        return parsedFiles;
+    }
+
+    /**
+     * Wait for a source file to be parsed, and build the model of the file.
+     *
+     * @param parsedFile     parsed file
+     * @param packageBuilder builder of the package of the file
+     * @return the model of the file
+     */
+    static BallerinaFile buildFile(CompletableFuture<ParsedFile> parsedFile,
+                                   BLangPackage.PackageBuilder packageBuilder) {
+        try {
+            return buildFile(parsedFile.join(), packageBuilder);
+        } catch (CompletionException e) {
+            // Report the error of the parser as if the file was parsed by this thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<ParsedFile> parseFileNow(String sourceFileName, Path packagePath,
+                                                              InputStream inputStream) {
+        CompletableFuture<ParsedFile> parsedFile = new CompletableFuture<>();
+        try {
+            parsedFile.complete(parseFile(sourceFileName, packagePath, inputStream));
+        } catch (RuntimeException e) {
+            parsedFile.completeExceptionally(e);
+        }
+        return parsedFile;
+    }
 
+    private static ParsedFile parseFile(String sourceFileName, Path packagePath, InputStream inputStream) {
         Path sourceFilePath;
         if (packagePath == null || packagePath.toString().equals(".")) {
             sourceFilePath = Paths.get(sourceFileName);
@@ -63,12 +146,7 @@ public class BLangFiles {
 
             BallerinaParser ballerinaParser = new BallerinaParser(ballerinaToken);
             ballerinaParser.setErrorHandler(new BallerinaParserErrorStrategy());
-
-            BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, sourceFileName);
-            BLangAntlr4Listener antlr4Listener = new BLangAntlr4Listener(bLangModelBuilder, sourceFilePath);
-            ballerinaParser.addParseListener(antlr4Listener);
-            ballerinaParser.compilationUnit();
-            return bLangModelBuilder.build();
+            return new ParsedFile(sourceFileName, sourceFilePath, ballerinaParser.compilationUnit());
 
         } catch (IOException e) {
             throw new IllegalStateException("error in reading source file '" +
@@ -78,4 +156,33 @@ public class BLangFiles {
             throw new ParserException(e.getMessage(), e);
         }
     }
+
+    private static BallerinaFile buildFile(ParsedFile parsedFile, BLangPackage.PackageBuilder packageBuilder) {
+        BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, parsedFile.sourceFileName);
+        BLangAntlr4Listener antlr4Listener = new BLangAntlr4Listener(bLangModelBuilder, parsedFile.sourceFilePath);
+        ParseTreeWalker.DEFAULT.walk(antlr4Listener, parsedFile.compilationUnit);
+        return bLangModelBuilder.build();
+    }
+
+    private static ForkJoinPool createParserPool() {
+        int parallelism = Integer.getInteger(Constants.SYSTEM_PROP_COMPILER_PARALLELISM,
+                Runtime.getRuntime().availableProcessors());
+        return parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Parse tree of a source file, whose model is not built yet.
+     */
+    static class ParsedFile {
+        private final String sourceFileName;
+        private final Path sourceFilePath;
+        private final BallerinaParser.CompilationUnitContext compilationUnit;
+
+        ParsedFile(String sourceFileName, Path sourceFilePath,
+                   BallerinaParser.CompilationUnitContext compilationUnit) {
+            this.sourceFileName = sourceFileName;
+            this.sourceFilePath = sourceFilePath;
+            this.compilationUnit = compilationUnit;
+        }
+    }
 }
@@ -31,12 +31,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class contains a set of static methods to operate on {@code BLangPackage} objects. This class contains methods
@@ -49,26 +51,50 @@ public class BLangPackages {
     public static BLangPackage loadPackage(Path packagePath,
                                            PackageRepository packageRepo,
                                            BLangProgram bLangProgram) {
-        return loadPackage(packagePath, packageRepo, bLangProgram, new LinkedHashSet<>());
+        return loadPackage(packagePath, packageRepo, bLangProgram, new LinkedHashSet<>(), new HashMap<>());
     }
 
     private static BLangPackage loadPackage(Path packagePath,
                                             PackageRepository packageRepo,
                                             BLangProgram bLangProgram,
-                                            LinkedHashSet<SymbolName> currentDepPath) {
+                                            LinkedHashSet<SymbolName> currentDepPath,
+                                            Map<Path, ParsedPackage> parsedPackages) {
 
-        // Load package details (input streams of source files) from the given package repository
-        PackageRepository.PackageSource pkgSource = packageRepo.loadPackage(packagePath);
-
-        if (pkgSource.getSourceFileStreamMap().isEmpty()) {
-            throw new RuntimeException("no bal files in the package: " + packagePath.toString());
+        // Use the source files parsed ahead by the importing package, if they are from the same repository
+        ParsedPackage parsedPackage = parsedPackages.remove(packagePath);
+        if (parsedPackage == null || parsedPackage.packageRepo != packageRepo) {
+            parsedPackage = parsePackage(packagePath, packageRepo);
+        }
+        if (parsedPackage.error != null) {
+            throw parsedPackage.error;
         }
 
+        PackageRepository.PackageSource pkgSource = parsedPackage.pkgSource;
         String pkgPathStr = getPackagePathFromPath(packagePath);
         BLangPackage.PackageBuilder packageBuilder =
                 new BLangPackage.PackageBuilder(pkgPathStr, pkgSource.getPackageRepository(), bLangProgram);
 
-        return loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
+        return loadPackageInternal(pkgSource, parsedPackage.parsedFiles, packageBuilder, bLangProgram,
+                currentDepPath, parsedPackages);
+    }
+
+    /**
+     * Load the source files of a package from the given package repository, and start parsing them. Errors are
+     * kept until the package is loaded, so that they are reported in the same order as loading packages one by one.
+     */
+    private static ParsedPackage parsePackage(Path packagePath, PackageRepository packageRepo) {
+        try {
+            // Load package details (input streams of source files) from the given package repository
+            PackageRepository.PackageSource pkgSource = packageRepo.loadPackage(packagePath);
+
+            if (pkgSource.getSourceFileStreamMap().isEmpty()) {
+                throw new RuntimeException("no bal files in the package: " + packagePath.toString());
+            }
+
+            return new ParsedPackage(packageRepo, pkgSource, BLangFiles.parseFiles(pkgSource), null);
+        } catch (RuntimeException e) {
+            return new ParsedPackage(packageRepo, null, null, e);
+        }
     }
 
     public static BLangPackage loadFile(Path filePath, PackageRepository packageRepo, BLangProgram bLangProgram) {
@@ -78,7 +104,8 @@ public class BLangPackages {
 
         LinkedHashSet<SymbolName> currentDepPath = new LinkedHashSet<>();
         // Resolve dependent packages of this package
-        return loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
+        return loadPackageInternal(pkgSource, BLangFiles.parseFiles(pkgSource), packageBuilder, bLangProgram,
+                currentDepPath, new HashMap<>());
     }
 
     public static Path getPathFromPackagePath(String packagePath) {
@@ -106,17 +133,22 @@ public class BLangPackages {
     }
 
     private static BLangPackage loadPackageInternal(PackageRepository.PackageSource pkgSource,
+                                                    List<CompletableFuture<BLangFiles.ParsedFile>> parsedFiles,
                                                     BLangPackage.PackageBuilder packageBuilder,
                                                     BLangProgram bLangProgram,
-                                                    LinkedHashSet<SymbolName> currentDepPath) {
+                                                    LinkedHashSet<SymbolName> currentDepPath,
+                                                    Map<Path, ParsedPackage> parsedPackages) {
 
         Path packagePath = pkgSource.getPackagePath();
         String pkgPathStr = getPackagePathFromPath(packagePath);
-        packageBuilder.setBallerinaFileList(pkgSource.getSourceFileStreamMap().entrySet()
-                .stream()
-                .map(entry -> BLangFiles.loadFile(entry.getKey(), packagePath, entry.getValue(), packageBuilder))
-                .peek(bFile -> validatePackagePathInFile(pkgPathStr, packagePath, bFile))
-                .collect(Collectors.toList()));
+        // Build the files one by one in the order of the source files, while the rest of them are being parsed
+        List<BallerinaFile> ballerinaFiles = new ArrayList<>(parsedFiles.size());
+        for (CompletableFuture<BLangFiles.ParsedFile> parsedFile : parsedFiles) {
+            BallerinaFile bFile = BLangFiles.buildFile(parsedFile, packageBuilder);
+            validatePackagePathInFile(pkgPathStr, packagePath, bFile);
+            ballerinaFiles.add(bFile);
+        }
+        packageBuilder.setBallerinaFileList(ballerinaFiles);
 
         BLangPackage bLangPackage = packageBuilder.build();
         // Check for a dependency cycle
@@ -127,7 +159,7 @@ public class BLangPackages {
         // Mark the node in the current path
         currentDepPath.add(bLangPackage.getSymbolName());
         // Resolve dependent packages of this package
-        BLangPackage result = resolveDependencies(bLangPackage, bLangProgram, currentDepPath);
+        BLangPackage result = resolveDependencies(bLangPackage, bLangProgram, currentDepPath, parsedPackages);
         // Remove the node marking from the current path
         currentDepPath.remove(bLangPackage.getSymbolName());
         return result;
@@ -145,7 +177,20 @@ public class BLangPackages {
     }
 
     private static BLangPackage resolveDependencies(BLangPackage parentPackage, BLangProgram bLangProgram,
-                                                    LinkedHashSet<SymbolName> currentDepPath) {
+                                                    LinkedHashSet<SymbolName> currentDepPath,
+                                                    Map<Path, ParsedPackage> parsedPackages) {
+        // Start parsing the imported packages which are not loaded yet, so that they are parsed concurrently.
+        // The packages are still loaded one by one below, in the order of the imports.
+        if (BLangFiles.isParallelParsingEnabled()) {
+            for (ImportPackage importPackage : parentPackage.getImportPackages()) {
+                Path packagePath = getPathFromPackagePath(importPackage.getSymbolName().getName());
+                if (bLangProgram.resolve(importPackage.getSymbolName()) == null
+                        && !parsedPackages.containsKey(packagePath)) {
+                    parsedPackages.put(packagePath, parsePackage(packagePath, parentPackage.getPackageRepository()));
+                }
+            }
+        }
+
         for (ImportPackage importPackage : parentPackage.getImportPackages()) {
 
             // Check whether this package is already resolved.
@@ -155,7 +200,7 @@ public class BLangPackages {
 
             if (dependentPkg == null) {
                 dependentPkg = loadPackage(packagePath, parentPackage.getPackageRepository(),
-                        bLangProgram, currentDepPath);
+                        bLangProgram, currentDepPath, parsedPackages);
             }
 
             // Define package in the program scope
@@ -206,4 +251,21 @@ public class BLangPackages {
         return pkgSet.toArray(pkgArray);
     }
 
+    /**
+     * Source files of a package which are being parsed, or the error in loading the source files.
+     */
+    private static class ParsedPackage {
+        private final PackageRepository packageRepo;
+        private final PackageRepository.PackageSource pkgSource;
+        private final List<CompletableFuture<BLangFiles.ParsedFile>> parsedFiles;
+        private final RuntimeException error;
+
+        ParsedPackage(PackageRepository packageRepo, PackageRepository.PackageSource pkgSource,
+                      List<CompletableFuture<BLangFiles.ParsedFile>> parsedFiles, RuntimeException error) {
+            this.packageRepo = packageRepo;
+            this.pkgSource = pkgSource;
+            this.parsedFiles = parsedFiles;
+            this.error = error;
+        }
+    }
 }
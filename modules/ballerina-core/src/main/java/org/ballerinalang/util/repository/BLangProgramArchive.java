@@ -47,6 +47,8 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
     public static final String BAL_INF_DIR_NAME = "BAL_INF";
     public static final String BALLERINA_CONF = "ballerina.conf";
     public static final String BALLERINA_CONF_FILE_PATH = "/" + BAL_INF_DIR_NAME + "/" + BALLERINA_CONF;
+    public static final String PROGRAM_FILE = "program.bvm";
+    public static final String PROGRAM_FILE_PATH = "/" + BAL_INF_DIR_NAME + "/" + PROGRAM_FILE;
     public static final String BAL_VERSION_TEXT = "ballerina-version: 0.8.0";
     public static final String MAIN_PACKAGE_LINE_PREFIX = "main-function";
     public static final String SERVICE_PACKAGE_PREFIX = "services";
@@ -54,6 +56,7 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
     private Path archivePath;
     private Map<String, List<Path>> packageFilesMap;
     private FileSystem zipFS;
+    private Path programFilePath;
     private String[] entryPoints;
     private BLangProgram.Category programCategory;
 
@@ -66,6 +69,18 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
         return entryPoints;
     }
 
+    public boolean hasProgramFile() {
+        return programFilePath != null;
+    }
+
+    public InputStream getProgramFileInputStream() {
+        if (programFilePath == null) {
+            throw new IllegalStateException("compiled program not found in archive: " + archivePath);
+        }
+
+        return getInputStream(programFilePath);
+    }
+
     public void loadArchive() throws IOException {
         try {
             Map<String, String> zipFSEnv = new HashMap<>();
@@ -147,6 +162,11 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
                     return FileVisitResult.CONTINUE;
                 }
 
+                if (filePath.toString().equals(PROGRAM_FILE_PATH)) {
+                    programFilePath = filePath;
+                    return FileVisitResult.CONTINUE;
+                }
+
                 if (filePath.getFileName().toString().endsWith(BLangPrograms.BSOURCE_FILE_EXT)) {
                     filePathList.add(filePath);
                 }
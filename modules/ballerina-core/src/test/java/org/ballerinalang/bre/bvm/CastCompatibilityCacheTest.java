@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.types.BStructType;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link CastCompatibilityCache}.
+ * <p>
+ * Each test uses its own cache, so that the counts are not affected by the casts of other tests.
+ *
+ * @since 0.90
+ */
+public class CastCompatibilityCacheTest {
+
+    private CastCompatibilityCache cache;
+    private BStructType addressType;
+
+    @BeforeMethod
+    public void setup() {
+        cache = new CastCompatibilityCache();
+        addressType = new BStructType("Address", null);
+        addressType.setStructFields(new BStructType.StructField[0]);
+    }
+
+    @Test(description = "Test caching the result of an equivalency check")
+    public void testCachedResult() {
+        BStructType personType = createStructType("Person", "address", "office");
+        BStructType studentType = createStructType("Student", "address");
+
+        Assert.assertTrue(cache.isStructEquivalent(personType, studentType));
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 0);
+
+        Assert.assertTrue(cache.isStructEquivalent(personType, studentType));
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+    @Test(description = "Test caching the source and target types of a check in order")
+    public void testDirection() {
+        BStructType personType = createStructType("Person", "address", "office");
+        BStructType studentType = createStructType("Student", "address");
+
+        Assert.assertTrue(cache.isStructEquivalent(personType, studentType));
+        Assert.assertFalse(cache.isStructEquivalent(studentType, personType));
+        Assert.assertFalse(cache.isStructEquivalent(studentType, personType));
+        Assert.assertEquals(cache.getMissCount(), 2);
+        Assert.assertEquals(cache.getHitCount(), 1);
+    }
+
+    @Test(description = "Test comparing the types of a check by identity")
+    public void testTypeIdentity() {
+        BStructType personType = createStructType("Person", "address");
+        BStructType otherPersonType = createStructType("Person", "home");
+        BStructType studentType = createStructType("Student", "address");
+
+        Assert.assertTrue(cache.isStructEquivalent(personType, studentType));
+        Assert.assertFalse(cache.isStructEquivalent(otherPersonType, studentType));
+        Assert.assertEquals(cache.getMissCount(), 2);
+        Assert.assertEquals(cache.size(), 2);
+    }
+
+    @Test(description = "Test clearing the cache once it is full")
+    public void testBoundedSize() {
+        BStructType targetType = createStructType("Target", "address");
+        for (int i = 0; i < CastCompatibilityCache.MAX_ENTRIES; i++) {
+            cache.isStructEquivalent(createStructType("Source" + i, "address"), targetType);
+        }
+        Assert.assertEquals(cache.size(), CastCompatibilityCache.MAX_ENTRIES);
+
+        BStructType sourceType = createStructType("Source", "address");
+        Assert.assertTrue(cache.isStructEquivalent(sourceType, targetType));
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertTrue(cache.isStructEquivalent(sourceType, targetType));
+        Assert.assertEquals(cache.getHitCount(), 1);
+    }
+
+    private BStructType createStructType(String typeName, String... fieldNames) {
+        BStructType structType = new BStructType(typeName, null);
+        BStructType.StructField[] fields = new BStructType.StructField[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            fields[i] = new BStructType.StructField(addressType, fieldNames[i]);
+        }
+        structType.setStructFields(fields);
+        return structType;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.statements;
+
+import org.ballerinalang.bre.bvm.ControlStackNew;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for recursive function calls and the depth limit of the control stack.
+ *
+ * @since 0.90
+ */
+public class RecursionDepthTest {
+
+    private ProgramFile programFile;
+
+    @BeforeClass
+    public void setup() {
+        programFile = BTestUtils.getProgramFile("lang/statements/recursion-depth.bal");
+    }
+
+    @Test(description = "Test growing the control stack with a deep recursion")
+    public void testDeepRecursion() {
+        BValue[] args = {new BInteger(1000)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testDeepRecursion", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 500500);
+    }
+
+    @Test(description = "Test catching the error of an unbounded recursion")
+    public void testStackOverflow() {
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testStackOverflow", new BValue[0]);
+        Assert.assertEquals(returns[0].stringValue(), "stack overflow: call depth exceeds the limit of "
+                + ControlStackNew.getMaxStackDepth() + " frames");
+    }
+}
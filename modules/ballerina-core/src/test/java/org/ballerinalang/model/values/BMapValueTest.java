@@ -79,6 +79,39 @@ public class BMapValueTest   {
         assertEquals(map.size(), 101);
     }
 
+    @Test(description = "Test a map larger than the former maximum capacity")
+    public void testLargeBMap() {
+        BMap<String, BInteger> map = new BMap<>();
+        for (int i = 0; i < 100000; i++) {
+            map.put("key" + i, new BInteger(i));
+        }
+        assertEquals(map.size(), 100000);
+        assertEquals(map.get("key65536"), new BInteger(65536));
+
+        for (int i = 0; i < 100000; i += 2) {
+            map.remove("key" + i);
+        }
+        assertEquals(map.size(), 50000);
+        Assert.assertNull(map.get("key65536"));
+        assertEquals(map.get("key65537"), new BInteger(65537));
+    }
+
+    @Test(description = "Test the insertion order of a map after removing and adding keys")
+    public void testBMapInsertionOrder() {
+        BMap<String, BInteger> map = new BMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, new BInteger(i));
+        }
+        for (int i = 0; i < 18; i++) {
+            map.remove("key" + i);
+        }
+        map.put("key0", new BInteger(0));
+        map.put("key18", new BInteger(100));
+
+        assertEquals(map.keySet().toArray(), new String[]{"key18", "key19", "key0"});
+        assertEquals(map.stringValue(), "{\"key18\":100,\"key19\":19,\"key0\":0}");
+    }
+
     @Test
     void testGrammar() {
         programFile = BTestUtils.getProgramFile("lang/values/map-value.bal");
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Test cases for the thread pool of the fork-join workers.
+ *
+ * @since 0.90
+ */
+public class BLangForkJoinPoolTest {
+
+    private BLangForkJoinPool pool;
+
+    @BeforeClass
+    public void setup() {
+        // A single thread, so that a nested fork-join needs a spare thread to complete
+        pool = new BLangForkJoinPool(1, "test-fork-join");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test(description = "Test a fork-join executed by a worker of another fork-join")
+    public void testNestedInvokeAll() throws Exception {
+        Callable<Integer> nestedForkJoin = () -> {
+            List<Future<Integer>> futures = pool.invokeAll(Arrays.asList(() -> 1, () -> 2), 10, TimeUnit.SECONDS);
+            return futures.get(0).get() + futures.get(1).get();
+        };
+
+        List<Future<Integer>> futures = pool.invokeAll(Arrays.asList(nestedForkJoin, nestedForkJoin), 10,
+                TimeUnit.SECONDS);
+        Assert.assertEquals(futures.get(0).get().intValue(), 3);
+        Assert.assertEquals(futures.get(1).get().intValue(), 3);
+        Assert.assertTrue(pool.getCompletedTaskCount() >= 6);
+    }
+
+    @Test(description = "Test a fork-join any executed by a worker of another fork-join")
+    public void testNestedInvokeAny() throws Exception {
+        Callable<String> nestedForkJoin = () -> pool.invokeAny(Arrays.asList(() -> {
+            throw new IllegalStateException("failed worker");
+        }, () -> "done"), 10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(pool.invokeAny(Arrays.asList(nestedForkJoin), 10, TimeUnit.SECONDS), "done");
+    }
+
+    @Test(description = "Test cancelling the workers which are not done before the timeout")
+    public void testInvokeAllTimeout() throws Exception {
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        List<Future<Integer>> futures = pool.invokeAll(Arrays.asList(() -> 1, () -> {
+            neverReleased.await();
+            return 2;
+        }), 100, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(futures.get(0).get().intValue(), 1);
+        Assert.assertTrue(futures.get(1).isCancelled());
+        try {
+            futures.get(1).get();
+            Assert.fail("a cancelled worker returned a result");
+        } catch (CancellationException e) {
+            // The worker timed out
+        }
+    }
+
+    @Test(description = "Test a fork-join any when none of the workers are done before the timeout",
+            expectedExceptions = TimeoutException.class)
+    public void testInvokeAnyTimeout() throws Exception {
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        pool.invokeAny(Arrays.asList(() -> {
+            neverReleased.await();
+            return 1;
+        }), 100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(description = "Test a fork-join any when all the workers fail", expectedExceptions = ExecutionException.class)
+    public void testInvokeAnyFailure() throws Exception {
+        pool.invokeAny(Arrays.<Callable<Integer>>asList(() -> {
+            throw new IllegalStateException("failed worker");
+        }), 10, TimeUnit.SECONDS);
+    }
+}
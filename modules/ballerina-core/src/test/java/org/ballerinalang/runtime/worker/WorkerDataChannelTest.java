@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.worker;
+
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test cases for the data channels between workers.
+ *
+ * @since 0.90
+ */
+public class WorkerDataChannelTest {
+
+    private static final Object[] MESSAGE = new Object[0];
+
+    @Test(description = "Test a sender waiting while the channel is full")
+    public void testSendToFullChannel() throws Exception {
+        WorkerDataChannel channel = new WorkerDataChannel("W1", "W2", 2, 10);
+        channel.putData(MESSAGE);
+        channel.putData(MESSAGE);
+        Assert.assertEquals(channel.getPendingCount(), 2);
+        Assert.assertEquals(channel.getSendWaitCount(), 0);
+
+        CompletableFuture<Void> sender = CompletableFuture.runAsync(() -> channel.putData(MESSAGE));
+        waitFor(() -> channel.getSendWaitCount() == 1);
+        // Nothing is received until the sender waits, so it cannot have sent yet
+        Assert.assertFalse(sender.isDone(), "sent to a full channel");
+        Assert.assertEquals(channel.getPendingCount(), 2);
+
+        Assert.assertSame(channel.takeData(), MESSAGE);
+        sender.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(channel.getPendingCount(), 2);
+        Assert.assertEquals(channel.getSentCount(), 3);
+        Assert.assertEquals(channel.getReceivedCount(), 1);
+        Assert.assertEquals(channel.getTimeoutCount(), 0);
+    }
+
+    @Test(description = "Test a receiver waiting while the channel is empty")
+    public void testReceiveFromEmptyChannel() throws Exception {
+        WorkerDataChannel channel = new WorkerDataChannel("W1", "W2", 2, 10);
+        CompletableFuture<Object[]> receiver = CompletableFuture.supplyAsync(channel::takeData);
+        waitFor(() -> channel.getReceiveWaitCount() == 1);
+        Assert.assertFalse(receiver.isDone(), "received from an empty channel");
+
+        channel.putData(MESSAGE);
+        Assert.assertSame(receiver.get(10, TimeUnit.SECONDS), MESSAGE);
+        Assert.assertEquals(channel.getSentCount(), 1);
+        Assert.assertEquals(channel.getReceivedCount(), 1);
+        Assert.assertEquals(channel.getSendWaitCount(), 0);
+        Assert.assertEquals(channel.getPendingCount(), 0);
+    }
+
+    @Test(description = "Test sending to a channel which stays full until the timeout")
+    public void testSendTimeout() {
+        WorkerDataChannel channel = new WorkerDataChannel("W1", "W2", 1, 1);
+        channel.putData(MESSAGE);
+        try {
+            channel.putData(MESSAGE);
+            Assert.fail("sent to a full channel");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(),
+                    "timed out after 1 seconds sending data to the worker channel 'W1->W2'");
+        }
+        Assert.assertEquals(channel.getSentCount(), 1);
+        Assert.assertEquals(channel.getSendWaitCount(), 1);
+        Assert.assertEquals(channel.getTimeoutCount(), 1);
+        Assert.assertEquals(channel.getPendingCount(), 1);
+    }
+
+    @Test(description = "Test receiving from a channel which stays empty until the timeout")
+    public void testReceiveTimeout() {
+        WorkerDataChannel channel = new WorkerDataChannel("W1", "W2", 1, 1);
+        try {
+            channel.takeData();
+            Assert.fail("received from an empty channel");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(),
+                    "timed out after 1 seconds receiving data from the worker channel 'W1->W2'");
+        }
+        Assert.assertEquals(channel.getReceivedCount(), 0);
+        Assert.assertEquals(channel.getReceiveWaitCount(), 1);
+        Assert.assertEquals(channel.getTimeoutCount(), 1);
+    }
+
+    @Test(description = "Test interrupting a sender waiting while the channel is full")
+    public void testInterruptedSend() throws Exception {
+        WorkerDataChannel channel = new WorkerDataChannel("W1", "W2", 1, 10);
+        channel.putData(MESSAGE);
+        InterruptedWorker sender = new InterruptedWorker(() -> channel.putData(MESSAGE));
+        sender.start();
+        waitFor(() -> channel.getSendWaitCount() == 1);
+        sender.interrupt();
+        sender.join(TimeUnit.SECONDS.toMillis(10));
+
+        Assert.assertNotNull(sender.error, "send was not interrupted");
+        Assert.assertEquals(sender.error.getMessage(),
+                "interrupted while sending data to the worker channel 'W1->W2'");
+        Assert.assertTrue(sender.interrupted, "interrupt status was cleared");
+        Assert.assertEquals(channel.getSentCount(), 1);
+        Assert.assertEquals(channel.getPendingCount(), 1);
+    }
+
+    @Test(description = "Test interrupting a receiver waiting while the channel is empty")
+    public void testInterruptedReceive() throws Exception {
+        WorkerDataChannel channel = new WorkerDataChannel("W1", "W2", 1, 10);
+        InterruptedWorker receiver = new InterruptedWorker(channel::takeData);
+        receiver.start();
+        waitFor(() -> channel.getReceiveWaitCount() == 1);
+        receiver.interrupt();
+        receiver.join(TimeUnit.SECONDS.toMillis(10));
+
+        Assert.assertNotNull(receiver.error, "receive was not interrupted");
+        Assert.assertEquals(receiver.error.getMessage(),
+                "interrupted while receiving data from the worker channel 'W1->W2'");
+        Assert.assertTrue(receiver.interrupted, "interrupt status was cleared");
+        Assert.assertEquals(channel.getReceivedCount(), 0);
+        Assert.assertEquals(channel.getTimeoutCount(), 0);
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.isMet()) {
+            Assert.assertTrue(System.nanoTime() < deadline, "timed out waiting for the channel");
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+
+    /**
+     * Thread which records the error of its task and its interrupt status after the error.
+     */
+    private static class InterruptedWorker extends Thread {
+        private final Runnable task;
+        private volatile BallerinaException error;
+        private volatile boolean interrupted;
+
+        InterruptedWorker(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (BallerinaException e) {
+                error = e;
+                interrupted = Thread.currentThread().isInterrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.services.dispatchers.http;
+
+import org.ballerinalang.services.dispatchers.uri.URIUtil;
+import org.ballerinalang.util.codegen.ServiceInfo;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test cases for finding the base path of a request path.
+ *
+ * @since 0.90
+ */
+public class BasePathIndexTest {
+
+    @Test(description = "Test finding the most specific base path")
+    public void testMostSpecificBasePath() {
+        BasePathIndex index = createIndex("/echo", "/echo/v2", "/Products");
+
+        Assert.assertEquals(index.findBasePath("/echo"), "/echo");
+        Assert.assertEquals(index.findBasePath("/echo/message"), "/echo");
+        Assert.assertEquals(index.findBasePath("/echo/v2/message"), "/echo/v2");
+        Assert.assertEquals(index.findBasePath("/products/123"), "/Products");
+        Assert.assertNull(index.findBasePath("/echoes"));
+        Assert.assertNull(index.findBasePath("/"));
+    }
+
+    @Test(description = "Test falling back to the default base path")
+    public void testDefaultBasePath() {
+        BasePathIndex index = createIndex("/", "/echo");
+
+        Assert.assertEquals(index.findBasePath("/echo/message"), "/echo");
+        Assert.assertEquals(index.findBasePath("/other/message"), "/");
+        Assert.assertEquals(index.findBasePath("/"), "/");
+    }
+
+    @Test(description = "Test matching base paths by whole segments from the start of the request path")
+    public void testSegmentPrefixMatching() {
+        BasePathIndex index = createIndex("/", "/echo", "/echo/v2");
+
+        Assert.assertEquals(index.findBasePath("/ECHO/Message"), "/echo");
+        Assert.assertEquals(index.findBasePath("/echo/V2"), "/echo/v2");
+        // A base path which is only contained in the request path, or a part of a segment, is not matched
+        Assert.assertEquals(index.findBasePath("/api/echo/message"), "/");
+        Assert.assertEquals(index.findBasePath("/echoes/message"), "/");
+        Assert.assertEquals(index.findBasePath("/echo/v2beta/message"), "/echo");
+    }
+
+    @Test(description = "Test finding the request URIs which are taken without parsing")
+    public void testPlainPathAndQuery() {
+        for (String uri : new String[]{"/echo/message", "/echo/message?a=b&c=d", "/products/123;v=2?q=a:b@c",
+                "/echo/message?"}) {
+            Assert.assertTrue(URIUtil.isPlainPathAndQuery(uri), uri);
+            URI parsedUri = URI.create(uri);
+            int queryIndex = uri.indexOf('?');
+            Assert.assertEquals(queryIndex < 0 ? uri : uri.substring(0, queryIndex), parsedUri.getPath());
+            Assert.assertEquals(queryIndex < 0 ? null : uri.substring(queryIndex + 1), parsedUri.getQuery());
+        }
+
+        for (String uri : new String[]{"", "echo", "/echo%20message", "/echo message", "/echo#fragment",
+                "/echo?q=\u00e9", "http://localhost/echo"}) {
+            Assert.assertFalse(URIUtil.isPlainPathAndQuery(uri), uri);
+        }
+    }
+
+    @Test(description = "Test removing consecutive slashes of a request URI")
+    public void testRemoveDuplicateSlashes() {
+        String uri = "/echo/message?a=b";
+        Assert.assertSame(URIUtil.removeDuplicateSlashes(uri), uri);
+        Assert.assertEquals(URIUtil.removeDuplicateSlashes("//echo///message//"), "/echo/message/");
+    }
+
+    private BasePathIndex createIndex(String... basePaths) {
+        Map<String, ServiceInfo> services = new HashMap<>();
+        for (String basePath : basePaths) {
+            services.put(basePath, null);
+        }
+        return new BasePathIndex(services);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.services.dispatchers.session;
+
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of generating session ids from many threads.
+ * <p>
+ * It is not a part of the unit tests, and runs with the benchmark profile: {@code mvn test -Pbenchmark}.
+ *
+ * @since 0.90
+ */
+public class SessionIdGeneratorBenchmark {
+
+    private static final int THREAD_COUNT = 32;
+    private static final int IDS_PER_THREAD = 100000;
+
+    @Test(description = "Benchmark generating session ids with 32 threads")
+    public void benchmarkConcurrentSessionCreation() throws Exception {
+        SessionIdGenerator generator = new SessionIdGenerator();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                Callable<Long> task = () -> {
+                    start.await();
+                    long startTime = System.nanoTime();
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        generator.generateSessionId();
+                    }
+                    return System.nanoTime() - startTime;
+                };
+                results.add(executor.submit(task));
+            }
+
+            start.countDown();
+            long maxTime = 0;
+            for (Future<Long> result : results) {
+                maxTime = Math.max(maxTime, result.get());
+            }
+            Reporter.log("generated " + THREAD_COUNT * IDS_PER_THREAD + " session ids with " + THREAD_COUNT
+                    + " threads in " + TimeUnit.NANOSECONDS.toMillis(maxTime) + " ms", true);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
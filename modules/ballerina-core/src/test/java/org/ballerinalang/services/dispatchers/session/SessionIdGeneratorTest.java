@@ -0,0 +1,91 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.services.dispatchers.session;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test cases for the session id generator.
+ *
+ * @since 0.90
+ */
+public class SessionIdGeneratorTest {
+
+    private static final int THREAD_COUNT = 4;
+    private static final int IDS_PER_THREAD = 1000;
+
+    @Test(description = "Test the format of the generated session ids")
+    public void testSessionIdFormat() {
+        SessionIdGenerator generator = new SessionIdGenerator();
+        String id = generator.generateSessionId();
+        Assert.assertEquals(id.length(), 32);
+        Assert.assertTrue(id.matches("[0-9A-F]+"), "invalid session id " + id);
+
+        generator.setSessionIdLength(8);
+        Assert.assertEquals(generator.generateSessionId().length(), 16);
+    }
+
+    @Test(description = "Test generating session ids across reseeding of the generator")
+    public void testReseed() {
+        SessionIdGenerator generator = new SessionIdGenerator();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < SessionIdGenerator.RESEED_INTERVAL + 100; i++) {
+            Assert.assertTrue(ids.add(generator.generateSessionId()), "duplicate session id");
+        }
+    }
+
+    @Test(description = "Test generating unique session ids from many threads")
+    public void testConcurrentSessionCreation() throws Exception {
+        SessionIdGenerator generator = new SessionIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        ids.add(generator.generateSessionId());
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            Assert.assertEquals(ids.size(), THREAD_COUNT * IDS_PER_THREAD, "duplicate session ids generated");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
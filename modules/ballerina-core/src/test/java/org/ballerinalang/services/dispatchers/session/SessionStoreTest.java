@@ -0,0 +1,311 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.services.dispatchers.session;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.services.dispatchers.http.HTTPSession;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for the session stores.
+ *
+ * @since 0.90
+ */
+public class SessionStoreTest {
+
+    @Test(description = "Test expiring the inactive sessions")
+    public void testExpireSessions() {
+        ShardedSessionStore store = new ShardedSessionStore(4, 10, false, 100);
+        HTTPSession shortLived = createSession("short", 1);
+        HTTPSession longLived = createSession("long", 900);
+        store.add(shortLived);
+        store.add(longLived);
+
+        store.expireSessions(shortLived.getLastAccessedTime() + 500);
+        Assert.assertSame(store.get("short"), shortLived);
+        Assert.assertEquals(store.size(), 2);
+
+        store.expireSessions(shortLived.getLastAccessedTime() + 1500);
+        Assert.assertNull(store.get("short"));
+        Assert.assertFalse(shortLived.isValid());
+        Assert.assertSame(store.get("long"), longLived);
+        Assert.assertEquals(store.size(), 1);
+    }
+
+    @Test(description = "Test expiring sessions scheduled beyond the first level of the timing wheel")
+    public void testExpireSessionsOfHigherLevels() {
+        ShardedSessionStore store = new ShardedSessionStore(1, 10, false, 10);
+        HTTPSession session = createSession("session", 60);
+        store.add(session);
+
+        store.expireSessions(session.getLastAccessedTime() + 59_000);
+        Assert.assertSame(store.get("session"), session);
+
+        store.expireSessions(session.getLastAccessedTime() + 60_100);
+        Assert.assertNull(store.get("session"));
+    }
+
+    @Test(description = "Test expiring a session after its max inactive interval is shortened")
+    public void testShortenedMaxInactiveInterval() {
+        ShardedSessionStore store = new ShardedSessionStore(1, 10, false, 100);
+        HTTPSession session = createSession("session", 900);
+        store.add(session);
+
+        session.setMaxInactiveInterval(1);
+        store.reschedule(session);
+        store.expireSessions(session.getLastAccessedTime() + 1500);
+        Assert.assertNull(store.get("session"));
+        Assert.assertFalse(session.isValid());
+    }
+
+    @Test(description = "Test keeping a session after its max inactive interval is lengthened")
+    public void testLengthenedMaxInactiveInterval() {
+        ShardedSessionStore store = new ShardedSessionStore(1, 10, false, 100);
+        HTTPSession session = createSession("session", 1);
+        store.add(session);
+
+        session.setMaxInactiveInterval(900);
+        store.reschedule(session);
+        store.expireSessions(session.getLastAccessedTime() + 1500);
+        Assert.assertSame(store.get("session"), session);
+
+        // The session was checked early, and is scheduled again for its new deadline
+        store.expireSessions(session.getLastAccessedTime() + 900_100);
+        Assert.assertNull(store.get("session"));
+    }
+
+    @Test(description = "Test expiry checks do not change the eviction order")
+    public void testExpiryKeepsEvictionOrder() throws InterruptedException {
+        ShardedSessionStore store = new ShardedSessionStore(1, 2, true, 10);
+        HTTPSession s1 = createSession("s1", 1);
+        HTTPSession s2 = createSession("s2", 900);
+        store.add(s1);
+        store.add(s2);
+
+        // s1 is due at its original deadline, but not expired as it was accessed since
+        Thread.sleep(50);
+        s1.setAccessed();
+        store.expireSessions(s1.getCreationTime() + 1020);
+        Assert.assertEquals(store.size(), 2);
+
+        store.add(createSession("s3", 900));
+        Assert.assertNull(store.get("s1"));
+        Assert.assertSame(store.get("s2"), s2);
+    }
+
+    @Test(description = "Test adding sessions to a full store concurrently")
+    public void testConcurrentAddToFullStore() throws Exception {
+        ShardedSessionStore store = new ShardedSessionStore(4, 10, false, 1000);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            HTTPSession session = createSession("session" + i, 900);
+            tasks.add(() -> {
+                start.await();
+                try {
+                    store.add(session);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            });
+        }
+
+        int added = 0;
+        for (Boolean result : invokeAll(tasks, start)) {
+            added += result ? 1 : 0;
+        }
+        Assert.assertEquals(added, 10);
+        Assert.assertEquals(store.size(), 10);
+    }
+
+    @Test(description = "Test adding sessions to a full store",
+            expectedExceptions = IllegalStateException.class,
+            expectedExceptionsMessageRegExp = "Failed to create session: Too many active sessions")
+    public void testFullStore() {
+        ShardedSessionStore store = new ShardedSessionStore(2, 2, false, 1000);
+        store.add(createSession("s1", 900));
+        store.add(createSession("s2", 900));
+        store.add(createSession("s3", 900));
+    }
+
+    @Test(description = "Test evicting the least recently used session from a full store")
+    public void testEvictWhenFull() {
+        ShardedSessionStore store = new ShardedSessionStore(1, 2, true, 1000);
+        HTTPSession s1 = createSession("s1", 900);
+        store.add(s1);
+        store.add(createSession("s2", 900));
+        store.get("s1");
+        store.add(createSession("s3", 900));
+
+        Assert.assertEquals(store.size(), 2);
+        Assert.assertSame(store.get("s1"), s1);
+        Assert.assertNull(store.get("s2"));
+        Assert.assertNotNull(store.get("s3"));
+    }
+
+    @Test(description = "Test spilling sessions to a file and reading them back")
+    public void testSpillSessions() throws IOException {
+        MappedFileSessionStore store = createFileStore(1024 * 1024, 1);
+        HTTPSession s1 = createSession("s1", 900);
+        s1.setAttribute("name", new BString("ballerina"));
+        s1.setAttribute("count", new BInteger(7));
+        store.add(s1);
+        store.add(createSession("s2", 900));
+
+        Assert.assertEquals(store.getSpilledSessionCount(), 1);
+        Assert.assertEquals(store.size(), 2);
+
+        Session restored = store.get("s1");
+        Assert.assertNotNull(restored);
+        Assert.assertFalse(restored.isNew());
+        Assert.assertEquals(restored.getPath(), "/");
+        Assert.assertEquals(restored.getCreationTime(), s1.getCreationTime());
+        Assert.assertEquals(restored.getAttributeValue("name").stringValue(), "ballerina");
+        Assert.assertEquals(((BInteger) restored.getAttributeValue("count")).intValue(), 7);
+        Assert.assertEquals(store.getSpilledSessionCount(), 1);
+        Assert.assertNotNull(store.get("s2"));
+
+        store.remove("s1");
+        Assert.assertNull(store.get("s1"));
+        store.close();
+    }
+
+    @Test(description = "Test looking up a spilled session concurrently")
+    public void testConcurrentRestore() throws Exception {
+        MappedFileSessionStore store = createFileStore(1024 * 1024, 1);
+        store.add(createSession("s1", 900));
+        store.add(createSession("s2", 900));
+        Assert.assertEquals(store.getSpilledSessionCount(), 1);
+
+        List<Callable<Session>> tasks = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 16; i++) {
+            tasks.add(() -> {
+                start.await();
+                return store.get("s1");
+            });
+        }
+
+        // Every lookup finds the one restored instance, rather than missing it while another lookup restores it
+        List<Session> sessions = invokeAll(tasks, start);
+        Assert.assertNotNull(sessions.get(0));
+        for (Session session : sessions) {
+            Assert.assertSame(session, sessions.get(0));
+        }
+        Assert.assertEquals(store.size(), 2);
+        Assert.assertEquals(store.getSpilledSessionCount(), 1);
+        store.close();
+    }
+
+    @Test(description = "Test reusing the space of the spill file")
+    public void testSpillFileCompaction() throws IOException {
+        MappedFileSessionStore store = createFileStore(512, 1);
+        List<HTTPSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            HTTPSession session = createSession("session" + i, 900);
+            session.setAttribute("value", new BString("value" + i));
+            sessions.add(session);
+            // Adding a session spills the previous one, and removing the one before it leaves a dead record
+            store.add(session);
+            store.remove("session" + (i - 2));
+        }
+
+        // The file holds only a few records, hence every session is spilled only by reusing the dead records
+        for (HTTPSession session : sessions) {
+            Assert.assertTrue(session.isValid(), session.getId());
+        }
+        Assert.assertEquals(store.getSpilledSessionCount(), 1);
+        Session last = store.get("session48");
+        Assert.assertNotNull(last);
+        Assert.assertEquals(last.getAttributeValue("value").stringValue(), "value48");
+        store.close();
+    }
+
+    @Test(description = "Test evicting sessions when the spill file is full")
+    public void testFullSpillFile() throws IOException {
+        MappedFileSessionStore store = createFileStore(512, 1);
+        List<HTTPSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            HTTPSession session = createSession("session" + i, 900);
+            session.setAttribute("value", new BString("value" + i));
+            sessions.add(session);
+            store.add(session);
+        }
+
+        // The sessions spilled before the file is full are kept, and the ones evicted after it are invalidated
+        int spilledCount = store.getSpilledSessionCount();
+        Assert.assertTrue(spilledCount > 0);
+        Assert.assertTrue(spilledCount < 19);
+        Assert.assertEquals(store.size(), spilledCount + 1);
+        for (int i = 0; i < sessions.size(); i++) {
+            Assert.assertEquals(sessions.get(i).isValid(), i < spilledCount || i == 19, "session" + i);
+        }
+
+        Assert.assertNull(store.get("session" + spilledCount));
+        Session first = store.get("session0");
+        Assert.assertNotNull(first);
+        Assert.assertEquals(first.getAttributeValue("value").stringValue(), "value0");
+        store.close();
+    }
+
+    private static HTTPSession createSession(String id, int maxInactiveInterval) {
+        HTTPSession session = new HTTPSession(id, maxInactiveInterval, "/");
+        session.setManager(SessionManager.getInstance());
+        return session;
+    }
+
+    private static <T> List<T> invokeAll(List<Callable<T>> tasks, CountDownLatch start) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static MappedFileSessionStore createFileStore(int capacity, int maxInMemorySessions)
+            throws IOException {
+        File file = File.createTempFile("sessions", ".dat");
+        file.deleteOnExit();
+        return new MappedFileSessionStore(file.toPath(), capacity, 1, maxInMemorySessions, 1000,
+                SessionManager.getInstance());
+    }
+}
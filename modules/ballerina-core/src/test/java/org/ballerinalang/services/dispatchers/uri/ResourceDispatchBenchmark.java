@@ -0,0 +1,116 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.services.dispatchers.uri;
+
+import org.ballerinalang.services.dispatchers.http.Constants;
+import org.ballerinalang.services.dispatchers.uri.parser.Literal;
+import org.ballerinalang.services.dispatchers.uri.parser.Node;
+import org.ballerinalang.services.dispatchers.uri.parser.URITemplateParser;
+import org.ballerinalang.util.codegen.AnnotationAttachmentInfo;
+import org.ballerinalang.util.codegen.AnnotationAttributeInfo;
+import org.ballerinalang.util.codegen.AttributeInfo;
+import org.ballerinalang.util.codegen.ResourceInfo;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Benchmark of finding the resource of a request with the compiled router and with the syntax tree of a service.
+ * <p>
+ * It is not a part of the unit tests, and runs with the benchmark profile: {@code mvn test -Pbenchmark}.
+ *
+ * @since 0.90
+ */
+public class ResourceDispatchBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int REQUESTS = 200000;
+
+    @Test(description = "Benchmark dispatching requests to services with 10, 100 and 1,000 resources")
+    public void benchmarkDispatch() throws URITemplateException {
+        for (int resourceCount : new int[]{10, 100, 1000}) {
+            URITemplate uriTemplate = new URITemplate(new Literal("/"));
+            Node syntaxTree = new Literal("/");
+            String[] paths = new String[resourceCount];
+            for (int i = 0; i < resourceCount; i++) {
+                String template;
+                switch (i % 3) {
+                    case 0:
+                        template = "/products" + i;
+                        paths[i] = template;
+                        break;
+                    case 1:
+                        template = "/products" + i + "/{productId}";
+                        paths[i] = "/products" + i + "/PID" + i;
+                        break;
+                    default:
+                        template = "/products" + i + "/{productId}/items/{itemId}";
+                        paths[i] = "/products" + i + "/PID" + i + "/items/ID" + i;
+                        break;
+                }
+                ResourceInfo resource = createResource();
+                uriTemplate.parse(template, resource);
+                new URITemplateParser(syntaxTree).parse(uriTemplate.removeTheFirstAndLastBackSlash(template),
+                        resource);
+            }
+
+            CarbonMessage cMsg = new DefaultCarbonMessage();
+            cMsg.setProperty(Constants.HTTP_METHOD, Constants.HTTP_METHOD_GET);
+            Map<String, String> variables = new HashMap<>();
+            for (String path : paths) {
+                variables.clear();
+                Assert.assertSame(uriTemplate.matches(path, variables, cMsg),
+                        syntaxTree.matchAll(path, new HashMap<>(), cMsg, 0), path);
+            }
+
+            long routerTime = 0;
+            long syntaxTreeTime = 0;
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long startTime = System.nanoTime();
+                for (int i = 0; i < REQUESTS; i++) {
+                    variables.clear();
+                    uriTemplate.matches(paths[i % resourceCount], variables, cMsg);
+                }
+                routerTime = System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                for (int i = 0; i < REQUESTS; i++) {
+                    syntaxTree.matchAll(paths[i % resourceCount], new HashMap<>(), cMsg, 0);
+                }
+                syntaxTreeTime = System.nanoTime() - startTime;
+            }
+            Reporter.log(resourceCount + " resources: compiled router " + routerTime / REQUESTS + " ns/request, "
+                    + "syntax tree " + syntaxTreeTime / REQUESTS + " ns/request", true);
+        }
+    }
+
+    private ResourceInfo createResource() {
+        ResourceInfo resource = new ResourceInfo("test", -1, "resource", -1);
+        AnnotationAttributeInfo attributeInfo = new AnnotationAttributeInfo();
+        attributeInfo.addAnnotationAttachmentInfo(
+                new AnnotationAttachmentInfo(Constants.HTTP_PACKAGE_PATH, -1, Constants.HTTP_METHOD_GET, -1));
+        resource.addAttributeInfo(AttributeInfo.ANNOTATIONS_ATTRIBUTE, attributeInfo);
+        return resource;
+    }
+}
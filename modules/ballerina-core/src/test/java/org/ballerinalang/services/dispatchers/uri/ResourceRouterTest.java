@@ -0,0 +1,194 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.services.dispatchers.uri;
+
+import org.ballerinalang.services.dispatchers.http.Constants;
+import org.ballerinalang.services.dispatchers.uri.parser.Literal;
+import org.ballerinalang.services.dispatchers.uri.parser.Node;
+import org.ballerinalang.services.dispatchers.uri.parser.URITemplateParser;
+import org.ballerinalang.util.codegen.AnnotationAttachmentInfo;
+import org.ballerinalang.util.codegen.AnnotationAttributeInfo;
+import org.ballerinalang.util.codegen.AttributeInfo;
+import org.ballerinalang.util.codegen.ResourceInfo;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for matching request paths with the compiled resource templates of a service.
+ *
+ * @since 0.90
+ */
+public class ResourceRouterTest {
+
+    private static final String[] TEMPLATES = {
+            "/", "/products", "/products/{productId}", "/products/{productId}/{regId}",
+            "/products/{productId}/{regId}/item", "/products/{productId}/reg", "/products/{productId}/{regId}/*",
+            "/orders/{orderId:5}", "/orders/latest", "/files/*"
+    };
+
+    @Test(description = "Test matching request paths with literal segments, path params and wildcards")
+    public void testRoute() throws URITemplateException {
+        List<ResourceInfo> resources = createResources(TEMPLATES.length, Constants.HTTP_METHOD_GET);
+        ResourceRouter router = ResourceRouter.compile(Arrays.asList(TEMPLATES), resources);
+        Assert.assertNotNull(router);
+
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertSame(route(router, "/", variables), resources.get(0));
+        Assert.assertSame(route(router, "/products", variables), resources.get(1));
+        Assert.assertSame(route(router, "/products/PID123", variables), resources.get(2));
+        Assert.assertEquals(variables.get("productId"), "PID123");
+
+        variables.clear();
+        Assert.assertSame(route(router, "/products/PID123/RID123", variables), resources.get(3));
+        Assert.assertEquals(variables.get("productId"), "PID123");
+        Assert.assertEquals(variables.get("regId"), "RID123");
+        Assert.assertSame(route(router, "/products/PID123/RID123/item", variables), resources.get(4));
+        Assert.assertSame(route(router, "/products/PID123/RID123/other/segments", variables), resources.get(6));
+
+        // Literal segments are tried before path params
+        variables.clear();
+        Assert.assertSame(route(router, "/products/PID123/reg", variables), resources.get(5));
+        Assert.assertNull(variables.get("regId"));
+        Assert.assertSame(route(router, "/orders/latest", variables), resources.get(8));
+        Assert.assertSame(route(router, "/orders/ID123", variables), resources.get(7));
+        Assert.assertEquals(variables.get("orderId"), "ID123");
+        Assert.assertSame(route(router, "/files/a/b/c", variables), resources.get(9));
+
+        Assert.assertNull(route(router, "/prod/PID123", variables));
+        Assert.assertNull(route(router, "/orders/ID12", variables));
+        Assert.assertNull(route(router, "/orders/latest/item", variables));
+        Assert.assertNull(route(router, "/files", variables));
+    }
+
+    @Test(description = "Test that path param values are decoded and do not contain reserved characters")
+    public void testPathParamValues() throws URITemplateException {
+        List<ResourceInfo> resources = createResources(1, Constants.HTTP_METHOD_GET);
+        ResourceRouter router = ResourceRouter.compile(Arrays.asList("/products/{productId}"), resources);
+
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertSame(route(router, "/products/PID%20123", variables), resources.get(0));
+        Assert.assertEquals(variables.get("productId"), "PID 123");
+        Assert.assertNull(route(router, "/products/PID:123", variables));
+        Assert.assertNull(route(router, "/products/PID,123", variables));
+    }
+
+    @Test(description = "Test matching the same requests with the compiled router and the syntax tree")
+    public void testSameAsSyntaxTree() throws URITemplateException {
+        List<ResourceInfo> resources = createResources(TEMPLATES.length, Constants.HTTP_METHOD_GET);
+        URITemplate uriTemplate = new URITemplate(new Literal("/"));
+        Node syntaxTree = new Literal("/");
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            uriTemplate.parse(TEMPLATES[i], resources.get(i));
+            new URITemplateParser(syntaxTree).parse(uriTemplate.removeTheFirstAndLastBackSlash(TEMPLATES[i]),
+                    resources.get(i));
+        }
+
+        for (String path : new String[]{"/", "/products", "/products/PID123", "/products/PID123/RID123",
+                "/products/PID123/RID123/item", "/products/PID123/reg", "/products/PID123/RID123/a/b",
+                "/orders/ID123", "/orders/latest", "/orders/ID12", "/files/a/b", "/prod/PID123",
+                "/products/PID123/RID123/ID/item"}) {
+            Map<String, String> routed = new HashMap<>();
+            Map<String, String> matched = new HashMap<>();
+            CarbonMessage cMsg = createMessage(Constants.HTTP_METHOD_GET);
+            Assert.assertSame(uriTemplate.matches(path, routed, cMsg), syntaxTree.matchAll(path, matched, cMsg, 0),
+                    path);
+            Assert.assertEquals(routed, matched, path);
+        }
+    }
+
+    @Test(description = "Test selecting the resource of the request method")
+    public void testMethods() throws URITemplateException {
+        List<ResourceInfo> resources = new ArrayList<>();
+        resources.add(createResource(Constants.HTTP_METHOD_GET));
+        resources.add(createResource(Constants.HTTP_METHOD_POST));
+        resources.add(createResource());
+        ResourceRouter router = ResourceRouter.compile(Arrays.asList("/echo", "/echo", "/default"), resources);
+
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertSame(router.route("/echo", variables, createMessage(Constants.HTTP_METHOD_GET)),
+                resources.get(0));
+        Assert.assertSame(router.route("/echo", variables, createMessage(Constants.HTTP_METHOD_POST)),
+                resources.get(1));
+        // A resource without a method annotation serves GET requests
+        Assert.assertSame(router.route("/default", variables, createMessage("get")), resources.get(2));
+
+        CarbonMessage cMsg = createMessage(Constants.HTTP_METHOD_PUT);
+        try {
+            router.route("/echo", variables, cMsg);
+            Assert.fail("Expected the request to be rejected");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(cMsg.getProperty(Constants.HTTP_STATUS_CODE), 405);
+        }
+    }
+
+    @Test(description = "Test that templates with other expressions are left to the syntax tree")
+    public void testUncompiledTemplates() throws URITemplateException {
+        List<ResourceInfo> resources = createResources(1, Constants.HTTP_METHOD_GET);
+        for (String template : new String[]{"/products/{abc}+{xyz}", "/products/id{productId}", "/{+path}",
+                "/products/{a,b}", "/products/{id}/{id}", "/products/item*"}) {
+            Assert.assertNull(ResourceRouter.compile(Arrays.asList(template), resources), template);
+        }
+
+        URITemplate uriTemplate = new URITemplate(new Literal("/"));
+        uriTemplate.parse("/products/{abc}+{xyz}", resources.get(0));
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertSame(uriTemplate.matches("/products/a+b", variables,
+                createMessage(Constants.HTTP_METHOD_GET)), resources.get(0));
+        Assert.assertEquals(variables.get("abc"), "a");
+        Assert.assertEquals(variables.get("xyz"), "b");
+    }
+
+    private ResourceInfo route(ResourceRouter router, String path, Map<String, String> variables) {
+        return router.route(path, variables, createMessage(Constants.HTTP_METHOD_GET));
+    }
+
+    private CarbonMessage createMessage(String method) {
+        CarbonMessage cMsg = new DefaultCarbonMessage();
+        cMsg.setProperty(Constants.HTTP_METHOD, method);
+        return cMsg;
+    }
+
+    private List<ResourceInfo> createResources(int count, String method) {
+        List<ResourceInfo> resources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            resources.add(createResource(method));
+        }
+        return resources;
+    }
+
+    private ResourceInfo createResource(String... methods) {
+        ResourceInfo resource = new ResourceInfo("test", -1, "resource", -1);
+        AnnotationAttributeInfo attributeInfo = new AnnotationAttributeInfo();
+        for (String method : methods) {
+            attributeInfo.addAnnotationAttachmentInfo(
+                    new AnnotationAttachmentInfo(Constants.HTTP_PACKAGE_PATH, -1, method, -1));
+        }
+        resource.addAttributeInfo(AttributeInfo.ANNOTATIONS_ATTRIBUTE, attributeInfo);
+        return resource;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the optimization of the generated instructions.
+ *
+ * @since 0.90
+ */
+public class CodeOptimizerTest {
+
+    @Test(description = "Test folding constants and removing the unused registers")
+    public void testFoldConstants() {
+        PackageInfo packageInfo = new PackageInfo("test");
+        CodeAttributeInfo codeAttributeInfo = addFunction(packageInfo,
+                new Instruction(InstructionCodes.ICONST_2, 0),
+                new Instruction(InstructionCodes.ICONST_3, 1),
+                new Instruction(InstructionCodes.IADD, 0, 1, 2),
+                new Instruction(InstructionCodes.IGT, 2, 1, 0),
+                new Instruction(InstructionCodes.BR_FALSE, 0, 7),
+                new Instruction(InstructionCodes.IRET, 0, 2),
+                new Instruction(InstructionCodes.RET),
+                new Instruction(InstructionCodes.ICONST_0, 3),
+                new Instruction(InstructionCodes.IRET, 0, 3),
+                new Instruction(InstructionCodes.RET));
+        codeAttributeInfo.setMaxLongRegs(4);
+        codeAttributeInfo.setMaxIntRegs(1);
+
+        CodeOptimizer.Report report = new CodeOptimizer(packageInfo).optimize();
+        packageInfo.complete();
+
+        assertInstructions(packageInfo.getInstructions(),
+                new Instruction(InstructionCodes.ICONST_5, 0),
+                new Instruction(InstructionCodes.IRET, 0, 0),
+                new Instruction(InstructionCodes.RET));
+        Assert.assertEquals(codeAttributeInfo.getMaxLongRegs(), 1);
+        Assert.assertEquals(codeAttributeInfo.getMaxIntRegs(), 0);
+        Assert.assertEquals(report.getInstructionsBefore(), 10);
+        Assert.assertEquals(report.getInstructionsAfter(), 3);
+        Assert.assertEquals(report.getRegistersBefore(), 5);
+        Assert.assertEquals(report.getRegistersAfter(), 1);
+    }
+
+    @Test(description = "Test propagating constants through local variables and coalescing registers")
+    public void testCoalesceRegisters() {
+        PackageInfo packageInfo = new PackageInfo("test");
+        CodeAttributeInfo codeAttributeInfo = addFunction(packageInfo,
+                new Instruction(InstructionCodes.ICONST_1, 0),
+                new Instruction(InstructionCodes.ISTORE, 0, 0),
+                new Instruction(InstructionCodes.ICONST_2, 1),
+                new Instruction(InstructionCodes.ISTORE, 1, 1),
+                new Instruction(InstructionCodes.ILOAD, 0, 2),
+                new Instruction(InstructionCodes.ILOAD, 1, 3),
+                new Instruction(InstructionCodes.IADD, 2, 3, 4),
+                new Instruction(InstructionCodes.IRET, 0, 4),
+                new Instruction(InstructionCodes.RET));
+        codeAttributeInfo.setMaxLongRegs(5);
+
+        new CodeOptimizer(packageInfo).optimize();
+        packageInfo.complete();
+
+        assertInstructions(packageInfo.getInstructions(),
+                new Instruction(InstructionCodes.ICONST_1, 0),
+                new Instruction(InstructionCodes.ISTORE, 0, 0),
+                new Instruction(InstructionCodes.ICONST_2, 0),
+                new Instruction(InstructionCodes.ISTORE, 0, 1),
+                new Instruction(InstructionCodes.ICONST_3, 0),
+                new Instruction(InstructionCodes.IRET, 0, 0),
+                new Instruction(InstructionCodes.RET));
+        Assert.assertEquals(codeAttributeInfo.getMaxLongRegs(), 1);
+    }
+
+    @Test(description = "Test threading jumps and relocating the addresses of the package")
+    public void testThreadJumps() {
+        PackageInfo packageInfo = new PackageInfo("test");
+        CodeAttributeInfo codeAttributeInfo = addFunction(packageInfo,
+                new Instruction(InstructionCodes.ILOAD, 0, 0),
+                new Instruction(InstructionCodes.ICONST_0, 1),
+                new Instruction(InstructionCodes.IGT, 0, 1, 0),
+                new Instruction(InstructionCodes.BR_FALSE, 0, 6),
+                new Instruction(InstructionCodes.ICONST_1, 2),
+                new Instruction(InstructionCodes.GOTO, 7),
+                new Instruction(InstructionCodes.GOTO, 8),
+                new Instruction(InstructionCodes.IRET, 0, 2),
+                new Instruction(InstructionCodes.RET));
+        codeAttributeInfo.setMaxLongRegs(3);
+        codeAttributeInfo.setMaxIntRegs(1);
+        packageInfo.addLineNumberInfo(new LineNumberInfo(4, 0, 7));
+        packageInfo.addErrorTableEntry(new ErrorTableEntry(4, 7, 8, 0, -1));
+
+        new CodeOptimizer(packageInfo).optimize();
+        packageInfo.complete();
+
+        // The conditional branch goes straight to the return, and the jumps to the next instruction are removed
+        assertInstructions(packageInfo.getInstructions(),
+                new Instruction(InstructionCodes.ILOAD, 0, 0),
+                new Instruction(InstructionCodes.ICONST_0, 1),
+                new Instruction(InstructionCodes.IGT, 0, 1, 0),
+                new Instruction(InstructionCodes.BR_FALSE, 0, 6),
+                new Instruction(InstructionCodes.ICONST_1, 0),
+                new Instruction(InstructionCodes.IRET, 0, 0),
+                new Instruction(InstructionCodes.RET));
+        Assert.assertEquals(packageInfo.getLineNumberInfoList().get(0).getIp(), 5);
+        ErrorTableEntry entry = packageInfo.getErrorTableEntriesList().get(0);
+        Assert.assertEquals(entry.ipFrom, 4);
+        Assert.assertEquals(entry.ipTo, 5);
+        Assert.assertEquals(entry.ipTarget, 6);
+    }
+
+    @Test(description = "Test executing optimized programs")
+    public void testOptimizedPrograms() {
+        ModeResolver.getInstance().setCodeOptimizationEnabled(true);
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/statements/if-stmt.bal");
+
+        BValue[] args = {new BInteger(10), new BInteger(10), new BInteger(20)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 110);
+
+        args = new BValue[]{new BInteger(11), new BInteger(10), new BInteger(20)};
+        returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 210);
+
+        programFile = BTestUtils.getProgramFile("lang/statements/while-stmt.bal");
+        args = new BValue[]{new BInteger(10), new BInteger(1)};
+        returns = BLangFunctions.invokeNew(programFile, "testWhileStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 100);
+
+        programFile = BTestUtils.getProgramFile("lang/structs/struct-with-indexed-access.bal");
+        returns = BLangFunctions.invokeNew(programFile, "testStructOfStruct");
+        Assert.assertEquals(returns[0].stringValue(), "USA");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ModeResolver.getInstance().setCodeOptimizationEnabled(false);
+    }
+
+    private static CodeAttributeInfo addFunction(PackageInfo packageInfo, Instruction... instructions) {
+        FunctionInfo functionInfo = new FunctionInfo("test", 0, "testFunction", 0);
+        WorkerInfo workerInfo = new WorkerInfo("default", 0);
+        functionInfo.setDefaultWorkerInfo(workerInfo);
+        packageInfo.addFunctionInfo("testFunction", functionInfo);
+
+        CodeAttributeInfo codeAttributeInfo = workerInfo.getCodeAttributeInfo();
+        codeAttributeInfo.setCodeAddrs(packageInfo.getInstructionCount());
+        for (Instruction instruction : instructions) {
+            packageInfo.addInstruction(instruction);
+        }
+        return codeAttributeInfo;
+    }
+
+    private static void assertInstructions(Instruction[] actual, Instruction... expected) {
+        Assert.assertEquals(actual.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(actual[i].getOpcode(), expected[i].getOpcode(), "opcode at " + i);
+            Assert.assertEquals(actual[i].getOperands(), expected[i].getOperands(), "operands at " + i);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Benchmark of executing hot functions in the interpreter and in the tiered execution mode.
+ * <p>
+ * It is not a part of the unit tests, and runs with the benchmark profile: {@code mvn test -Pbenchmark}.
+ *
+ * @since 0.90
+ */
+public class JITCompilerBenchmark {
+
+    private static final String HOT_FUNCTIONS = "lang/functions/hot-functions.bal";
+    private static final int WARMUP_ROUNDS = 5;
+
+    @Test(description = "Benchmark hot functions in the interpreted and in the tiered execution modes")
+    public void benchmarkHotFunctions() {
+        ModeResolver.getInstance().setTieredExecutionEnabled(false);
+        ProgramFile interpreted = BTestUtils.getProgramFile(HOT_FUNCTIONS);
+        ModeResolver.getInstance().setTieredExecutionEnabled(true);
+        ProgramFile tiered = BTestUtils.getProgramFile(HOT_FUNCTIONS);
+
+        benchmark(interpreted, tiered, "sumTo", new BInteger(200000));
+        benchmark(interpreted, tiered, "checksum", new BInteger(200000));
+        benchmark(interpreted, tiered, "countEven", new BInteger(20000));
+        benchmark(interpreted, tiered, "repeatString", new BString("ab"), new BInteger(20000));
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ModeResolver.getInstance().setTieredExecutionEnabled(false);
+    }
+
+    private static void benchmark(ProgramFile interpreted, ProgramFile tiered, String functionName,
+                                  BValue... args) {
+        long interpretedTime = 0;
+        long tieredTime = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            ModeResolver.getInstance().setTieredExecutionEnabled(false);
+            long startTime = System.nanoTime();
+            BLangFunctions.invokeNew(interpreted, functionName, args);
+            interpretedTime = System.nanoTime() - startTime;
+
+            ModeResolver.getInstance().setTieredExecutionEnabled(true);
+            startTime = System.nanoTime();
+            BLangFunctions.invokeNew(tiered, functionName, args);
+            tieredTime = System.nanoTime() - startTime;
+        }
+        Reporter.log(functionName + ": interpreted in " + interpretedTime / 1000000 + " ms, compiled in "
+                + tieredTime / 1000000 + " ms", true);
+    }
+}
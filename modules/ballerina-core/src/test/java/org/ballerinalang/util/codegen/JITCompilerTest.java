@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.jit.CompiledCode;
+import org.ballerinalang.bre.bvm.jit.JITCompiler;
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for compiling hot workers to JVM bytecode, and executing them in the tiered execution mode.
+ *
+ * @since 0.90
+ */
+public class JITCompilerTest {
+
+    private static final String HOT_FUNCTIONS = "lang/functions/hot-functions.bal";
+
+    @Test(description = "Test compiling and executing a loop")
+    public void testCompileLoop() {
+        PackageInfo packageInfo = new PackageInfo("test");
+        int cpIndex = packageInfo.addCPEntry(new IntegerCPEntry(1000000007L));
+        WorkerInfo workerInfo = addFunction(packageInfo,
+                new Instruction(InstructionCodes.ICONST_0, 0),
+                new Instruction(InstructionCodes.ISTORE, 0, 1),
+                new Instruction(InstructionCodes.ICONST_0, 0),
+                new Instruction(InstructionCodes.ISTORE, 0, 2),
+                new Instruction(InstructionCodes.ILOAD, 2, 0),
+                new Instruction(InstructionCodes.ILOAD, 0, 1),
+                new Instruction(InstructionCodes.ILT, 0, 1, 0),
+                new Instruction(InstructionCodes.BR_FALSE, 0, 19),
+                new Instruction(InstructionCodes.ILOAD, 1, 0),
+                new Instruction(InstructionCodes.ILOAD, 2, 1),
+                new Instruction(InstructionCodes.IADD, 0, 1, 2),
+                new Instruction(InstructionCodes.ICONST, cpIndex, 3),
+                new Instruction(InstructionCodes.IMOD, 2, 3, 2),
+                new Instruction(InstructionCodes.ISTORE, 2, 1),
+                new Instruction(InstructionCodes.ILOAD, 2, 0),
+                new Instruction(InstructionCodes.ICONST_1, 1),
+                new Instruction(InstructionCodes.IADD, 0, 1, 2),
+                new Instruction(InstructionCodes.ISTORE, 2, 2),
+                new Instruction(InstructionCodes.GOTO, 4),
+                new Instruction(InstructionCodes.ILOAD, 1, 0),
+                new Instruction(InstructionCodes.IRET, 0, 0),
+                new Instruction(InstructionCodes.RET));
+        packageInfo.complete();
+
+        CompiledCode compiledCode = JITCompiler.compile(packageInfo, workerInfo);
+        Assert.assertNotSame(compiledCode, CompiledCode.INTERPRETED);
+
+        long[] longRegs = new long[4];
+        long[] longLocalVars = {100000, 0, 0};
+        Context context = new Context();
+        // Runs the loop, and returns to the interpreter at the return instruction
+        int ip = exec(compiledCode, longRegs, longLocalVars, context, 0);
+        Assert.assertEquals(ip, 20);
+        Assert.assertEquals(longLocalVars[1], 4999950000L % 1000000007L);
+
+        // Instructions which are not compiled are returned to the interpreter
+        Assert.assertEquals(exec(compiledCode, longRegs, longLocalVars, context, 21), 21);
+
+        // The division by zero is left to the interpreter, which raises the error
+        longLocalVars[2] = 0;
+        longRegs[3] = 0;
+        Assert.assertEquals(exec(compiledCode, longRegs, longLocalVars, context, 12), 12);
+
+        // A loop of a cancelled context stops at the backward jump
+        context.setCancelled(true);
+        Assert.assertEquals(exec(compiledCode, longRegs, longLocalVars, context, 4), -1);
+    }
+
+    @Test(description = "Test executing hot functions in the tiered execution mode")
+    public void testHotFunctions() {
+        ProgramFile interpreted = BTestUtils.getProgramFile(HOT_FUNCTIONS);
+        ModeResolver.getInstance().setTieredExecutionEnabled(true);
+        ProgramFile tiered = BTestUtils.getProgramFile(HOT_FUNCTIONS);
+
+        assertSameResults(interpreted, tiered, "sumTo", new BInteger(200000));
+        assertSameResults(interpreted, tiered, "checksum", new BInteger(200000));
+        assertSameResults(interpreted, tiered, "countEven", new BInteger(20000));
+        assertSameResults(interpreted, tiered, "repeatString", new BString("ab"), new BInteger(20000));
+
+        PackageInfo packageInfo = tiered.getPackageInfo(tiered.getMainPackageName());
+        for (String functionName : new String[]{"sumTo", "checksum", "countEven", "isEven", "repeatString"}) {
+            CompiledCode compiledCode = packageInfo.getFunctionInfo(functionName).getDefaultWorkerInfo()
+                    .getCompiledCode();
+            Assert.assertNotNull(compiledCode, functionName + " is not compiled");
+            Assert.assertNotSame(compiledCode, CompiledCode.INTERPRETED, functionName + " is not compiled");
+        }
+    }
+
+    @Test(description = "Test a division by zero in compiled code", expectedExceptions = BLangRuntimeException.class)
+    public void testDivideByZero() {
+        ModeResolver.getInstance().setTieredExecutionEnabled(true);
+        ProgramFile programFile = BTestUtils.getProgramFile(HOT_FUNCTIONS);
+
+        BValue[] args = {new BInteger(10), new BInteger(3), new BInteger(20000)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "divideLoop", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+
+        args = new BValue[]{new BInteger(10), new BInteger(0), new BInteger(1)};
+        BLangFunctions.invokeNew(programFile, "divideLoop", args);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ModeResolver.getInstance().setTieredExecutionEnabled(false);
+    }
+
+    private static void assertSameResults(ProgramFile interpreted, ProgramFile tiered, String functionName,
+                                          BValue... args) {
+        ModeResolver.getInstance().setTieredExecutionEnabled(false);
+        BValue[] expected = BLangFunctions.invokeNew(interpreted, functionName, args);
+
+        ModeResolver.getInstance().setTieredExecutionEnabled(true);
+        // The first run compiles the function, and the second one runs the compiled code from the start
+        BLangFunctions.invokeNew(tiered, functionName, args);
+        BValue[] actual = BLangFunctions.invokeNew(tiered, functionName, args);
+
+        Assert.assertEquals(actual.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(actual[i].stringValue(), expected[i].stringValue(), functionName);
+        }
+    }
+
+    private static int exec(CompiledCode compiledCode, long[] longRegs, long[] longLocalVars, Context context,
+                            int ip) {
+        return compiledCode.exec(longRegs, new double[0], new String[0], new int[1], new BRefType[0],
+                longLocalVars, new double[0], new String[0], new int[0], new BRefType[0], context, ip);
+    }
+
+    private static WorkerInfo addFunction(PackageInfo packageInfo, Instruction... instructions) {
+        FunctionInfo functionInfo = new FunctionInfo("test", 0, "testFunction", 0);
+        WorkerInfo workerInfo = new WorkerInfo("default", 0);
+        functionInfo.setDefaultWorkerInfo(workerInfo);
+        packageInfo.addFunctionInfo("testFunction", functionInfo);
+
+        workerInfo.getCodeAttributeInfo().setCodeAddrs(packageInfo.getInstructionCount());
+        for (Instruction instruction : instructions) {
+            packageInfo.addInstruction(instruction);
+        }
+        return workerInfo;
+    }
+}
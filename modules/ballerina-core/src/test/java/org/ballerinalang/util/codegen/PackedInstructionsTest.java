@@ -0,0 +1,97 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for executing programs with the packed instruction dispatch of the VM.
+ *
+ * @since 0.90
+ */
+public class PackedInstructionsTest {
+
+    @BeforeClass
+    public void setup() {
+        ModeResolver.getInstance().setPackedDispatchEnabled(true);
+    }
+
+    @Test(description = "Test packing the instructions of a package")
+    public void testPackedInstructions() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/statements/if-stmt.bal");
+        PackageInfo packageInfo = programFile.getPackageInfo(programFile.getMainPackageName());
+        Instruction[] instructions = packageInfo.getInstructions();
+        PackedInstructions packedInstructions = packageInfo.getPackedInstructions();
+
+        Assert.assertEquals(packedInstructions.getOffsets().length, instructions.length);
+        for (int i = 0; i < instructions.length; i++) {
+            int offset = packedInstructions.getOffsets()[i];
+            Assert.assertEquals(packedInstructions.getCode()[offset], instructions[i].getOpcode());
+            for (int j = 0; j < instructions[i].getOperands().length; j++) {
+                Assert.assertEquals(packedInstructions.getCode()[offset + 1 + j], instructions[i].getOperands()[j]);
+            }
+        }
+    }
+
+    @Test(description = "Test executing branches with the packed dispatch")
+    public void testBranches() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/statements/if-stmt.bal");
+
+        BValue[] args = {new BInteger(10), new BInteger(10), new BInteger(20)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 110);
+
+        args = new BValue[]{new BInteger(11), new BInteger(10), new BInteger(20)};
+        returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 210);
+    }
+
+    @Test(description = "Test executing loops with the packed dispatch")
+    public void testLoops() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/statements/while-stmt.bal");
+
+        BValue[] args = {new BInteger(10), new BInteger(1)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testWhileStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 100);
+
+        args = new BValue[]{new BInteger(1)};
+        returns = BLangFunctions.invokeNew(programFile, "testWhileScope", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 200);
+    }
+
+    @Test(description = "Test executing function calls with the packed dispatch")
+    public void testFunctionCalls() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/structs/struct-with-indexed-access.bal");
+
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testStructOfStruct");
+        Assert.assertEquals(returns[0].stringValue(), "USA");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ModeResolver.getInstance().setPackedDispatchEnabled(false);
+    }
+}
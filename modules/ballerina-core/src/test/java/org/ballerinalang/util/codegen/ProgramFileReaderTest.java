@@ -0,0 +1,98 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.LinkerException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Test cases for writing a compiled program to a program file and reading it back.
+ *
+ * @since 0.90
+ */
+public class ProgramFileReaderTest {
+
+    @Test(description = "Test executing structs of a program read from a program file")
+    public void testStructsAfterReading() throws IOException {
+        ProgramFile programFile = writeAndRead(
+                BTestUtils.getProgramFile("lang/structs/struct-with-indexed-access.bal"));
+
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testCreateStruct");
+        Assert.assertTrue(returns[0] instanceof BString);
+        Assert.assertEquals(returns[0].stringValue(), "Jack");
+
+        Assert.assertTrue(returns[1] instanceof BMap);
+        BMap<String, ?> adrsMap = ((BMap) returns[1]);
+        Assert.assertEquals(adrsMap.get("country"), new BString("USA"));
+
+        Assert.assertTrue(returns[2] instanceof BInteger);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 25);
+
+        returns = BLangFunctions.invokeNew(programFile, "testStructOfStruct");
+        Assert.assertEquals(returns[0].stringValue(), "USA");
+    }
+
+    @Test(description = "Test executing branches of a program read from a program file")
+    public void testBranchesAfterReading() throws IOException {
+        ProgramFile programFile = writeAndRead(BTestUtils.getProgramFile("lang/statements/if-stmt.bal"));
+
+        BValue[] args = {new BInteger(10), new BInteger(10), new BInteger(20)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 110);
+
+        args = new BValue[]{new BInteger(11), new BInteger(10), new BInteger(20)};
+        returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 210);
+    }
+
+    @Test(description = "Test writing a program read from a program file")
+    public void testRewriteProgramFile() throws IOException {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/structs/struct-with-indexed-access.bal");
+        byte[] programBytes = write(programFile);
+        byte[] rewrittenBytes = write(new ProgramFileReader().readProgram(new ByteArrayInputStream(programBytes)));
+        Assert.assertEquals(rewrittenBytes.length, programBytes.length);
+    }
+
+    @Test(description = "Test reading an invalid program file",
+            expectedExceptions = {LinkerException.class},
+            expectedExceptionsMessageRegExp = "invalid program file: unknown magic value .*")
+    public void testInvalidMagicValue() throws IOException {
+        new ProgramFileReader().readProgram(new ByteArrayInputStream(new byte[]{0, 0, 0, 1, 0, 6}));
+    }
+
+    private ProgramFile writeAndRead(ProgramFile programFile) throws IOException {
+        return new ProgramFileReader().readProgram(new ByteArrayInputStream(write(programFile)));
+    }
+
+    private byte[] write(ProgramFile programFile) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new ProgramFileWriter().writeProgram(programFile, outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for executing programs with the superinstructions of the packed instruction dispatch.
+ *
+ * @since 0.90
+ */
+public class SuperinstructionsTest {
+
+    @BeforeClass
+    public void setup() {
+        ModeResolver.getInstance().setPackedDispatchEnabled(true);
+        ModeResolver.getInstance().setSuperinstructionsEnabled(true);
+    }
+
+    @Test(description = "Test selecting the superinstructions of a packed instruction stream")
+    public void testSelectSuperinstructions() {
+        Instruction[] instructions = {
+                new Instruction(InstructionCodes.ILOAD, 0, 0),
+                new Instruction(InstructionCodes.ICONST_1, 1),
+                new Instruction(InstructionCodes.IADD, 0, 1, 2),
+                new Instruction(InstructionCodes.ISTORE, 2, 0),
+                new Instruction(InstructionCodes.ILOAD, 0, 0),
+                new Instruction(InstructionCodes.ILOAD, 1, 1),
+                new Instruction(InstructionCodes.ILT, 0, 1, 0),
+                new Instruction(InstructionCodes.BR_FALSE, 0, 0),
+                new Instruction(InstructionCodes.SLOAD, 0, 0),
+                new Instruction(InstructionCodes.SLOAD, 1, 1),
+                new Instruction(InstructionCodes.IGE, 0, 1, 0),
+                new Instruction(InstructionCodes.BR_FALSE, 0, 0),
+                new Instruction(InstructionCodes.RET)};
+        PackedInstructions packedInstructions = new PackedInstructions(instructions, true);
+        int[] code = packedInstructions.getCode();
+        int[] offsets = packedInstructions.getOffsets();
+
+        Assert.assertEquals(packedInstructions.getSuperinstructionCount(), 3);
+        Assert.assertEquals(code[offsets[0]], InstructionCodes.ILOAD_ICONST_IADD_ISTORE);
+        Assert.assertEquals(code[offsets[4]], InstructionCodes.ILOAD_ILOAD_ICMP_BR_FALSE);
+        Assert.assertEquals(code[offsets[10]], InstructionCodes.IGE_BR_FALSE);
+        // Only the first opcode of a sequence is replaced, so that jumps into a sequence still work
+        for (int ip : new int[]{1, 2, 3, 5, 6, 7, 8, 9, 11, 12}) {
+            Assert.assertEquals(code[offsets[ip]], instructions[ip].getOpcode());
+        }
+        for (int ip = 0; ip < instructions.length; ip++) {
+            for (int j = 0; j < instructions[ip].getOperands().length; j++) {
+                Assert.assertEquals(code[offsets[ip] + 1 + j], instructions[ip].getOperands()[j]);
+            }
+        }
+        Assert.assertEquals(Mnemonics.getMnem(InstructionCodes.SLOAD_SADD), "sload_sadd");
+    }
+
+    @Test(description = "Test executing branches with superinstructions")
+    public void testBranches() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/statements/if-stmt.bal");
+        PackageInfo packageInfo = programFile.getPackageInfo(programFile.getMainPackageName());
+        Assert.assertTrue(packageInfo.getPackedInstructions().getSuperinstructionCount() > 0);
+
+        BValue[] args = {new BInteger(10), new BInteger(10), new BInteger(20)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 110);
+
+        args = new BValue[]{new BInteger(11), new BInteger(10), new BInteger(20)};
+        returns = BLangFunctions.invokeNew(programFile, "testIfStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 210);
+
+        programFile = BTestUtils.getProgramFile("lang/expressions/greater-less-than-expr.bal");
+        long[][] ranges = {{-5, 1}, {0, 1}, {50, 2}, {100, 3}};
+        for (long[] range : ranges) {
+            returns = BLangFunctions.invokeNew(programFile, "testIntRanges", new BValue[]{new BInteger(range[0])});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), range[1]);
+        }
+    }
+
+    @Test(description = "Test executing loops with superinstructions")
+    public void testLoops() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/statements/while-stmt.bal");
+
+        BValue[] args = {new BInteger(10), new BInteger(1)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "testWhileStmt", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 100);
+
+        args = new BValue[]{new BInteger(1)};
+        returns = BLangFunctions.invokeNew(programFile, "testWhileScope", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 200);
+    }
+
+    @Test(description = "Test executing string concatenation with superinstructions")
+    public void testStringConcat() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/expressions/add-expr.bal");
+
+        BValue[] args = {new BString("WSO2"), new BString(" Inc.")};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "stringAdd", args);
+        Assert.assertEquals(returns[0].stringValue(), "WSO2 Inc.");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        ModeResolver.getInstance().setSuperinstructionsEnabled(false);
+        ModeResolver.getInstance().setPackedDispatchEnabled(false);
+    }
+}
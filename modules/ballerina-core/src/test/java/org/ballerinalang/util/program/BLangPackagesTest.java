@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.exceptions.ParserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Test cases for loading packages with multiple source files, which are parsed concurrently.
+ *
+ * @since 0.90
+ */
+public class BLangPackagesTest {
+
+    private static final String MAIN_PACKAGE = "lang.packages.multifile.main";
+
+    @Test(description = "Test loading a package, which refers to other files and imported packages")
+    public void testLoadMultiFilePackage() {
+        ProgramFile programFile = BTestUtils.getProgramFile("lang/packages/multifile/main");
+        BValue[] args = {new BInteger(3), new BInteger(4)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, MAIN_PACKAGE, "describe", args);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(), "sum: 17");
+    }
+
+    @Test(description = "Test a syntax error in one of the source files of a package",
+            expectedExceptions = {ParserException.class},
+            expectedExceptionsMessageRegExp = "lang[/\\\\]packages[/\\\\]parseerror[/\\\\]invalid-functions.bal:5:0: " +
+                    "missing ';' before '}'")
+    public void testParseErrorInPackage() {
+        BTestUtils.getProgramFile("lang/packages/parseerror");
+    }
+
+    @Test(description = "Test printing the time taken by each phase of compiling a program")
+    public void testPrintPhaseTimes() throws URISyntaxException {
+        Path programPath = Paths.get(BTestUtils.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        ByteArrayOutputStream phaseTimes = new ByteArrayOutputStream();
+        new BLangProgramLoader().printPhaseTimes(new PrintStream(phaseTimes, true))
+                .loadProgramFile(programPath, Paths.get("lang/packages/multifile/main"));
+
+        String[] lines = phaseTimes.toString().split("\\R");
+        Assert.assertEquals(lines.length, 3);
+        Assert.assertTrue(lines[0].matches("ballerina: parsed and loaded packages in \\d+ ms"), lines[0]);
+        Assert.assertTrue(lines[1].matches("ballerina: analyzed semantics in \\d+ ms"), lines[1]);
+        Assert.assertTrue(lines[2].matches("ballerina: generated code in \\d+ ms"), lines[2]);
+    }
+}
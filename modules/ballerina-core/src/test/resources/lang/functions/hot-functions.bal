@@ -0,0 +1,55 @@
+function sumTo(int n) (int) {
+    int sum = 0;
+    int i = 1;
+    while (i <= n) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function checksum(int n) (int) {
+    int hash = 7;
+    int i = 0;
+    while (i < n) {
+        hash = (hash * 31 + i) % 1000003;
+        i = i + 1;
+    }
+    return hash;
+}
+
+function isEven(int n) (boolean) {
+    return n % 2 == 0;
+}
+
+function countEven(int n) (int) {
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        if (isEven(i)) {
+            count = count + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+function repeatString(string s, int n) (string) {
+    string result = "";
+    int i = 0;
+    while (i < n) {
+        result = result + s;
+        i = i + 1;
+    }
+    return result;
+}
+
+function divideLoop(int a, int b, int n) (int) {
+    int q = 0;
+    int i = 0;
+    while (i < n) {
+        q = a / b;
+        i = i + 1;
+    }
+    return q;
+}
@@ -0,0 +1,9 @@
+package lang.packages.multifile.main;
+
+import lang.packages.multifile.numbers;
+import lang.packages.multifile.strings;
+
+function describe(int a, int b) (string) {
+    int sum = numbers:add(a, b);
+    return strings:concat(prefix, formatValue(sum + offset));
+}
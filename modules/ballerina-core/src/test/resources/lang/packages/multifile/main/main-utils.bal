@@ -0,0 +1,6 @@
+package lang.packages.multifile.main;
+
+function formatValue(int value) (string) {
+    string result = "" + value;
+    return result;
+}
@@ -0,0 +1,5 @@
+package lang.packages.multifile.main;
+
+string prefix = "sum: ";
+
+int offset = 10;
@@ -0,0 +1,5 @@
+package lang.packages.multifile.numbers;
+
+function add(int a, int b) (int) {
+    return a + b;
+}
@@ -0,0 +1,5 @@
+package lang.packages.multifile.strings;
+
+function concat(string a, string b) (string) {
+    return a + b;
+}
@@ -0,0 +1,5 @@
+package lang.packages.parseerror;
+
+function getOtherValue() (int) {
+    return 2
+}
@@ -0,0 +1,5 @@
+package lang.packages.parseerror;
+
+function getValue() (int) {
+    return 1;
+}
@@ -0,0 +1,26 @@
+import ballerina.lang.errors;
+
+function sum(int n) (int) {
+    if (n == 0) {
+        return 0;
+    }
+    return n + sum(n - 1);
+}
+
+function recurse(int n) (int) {
+    return recurse(n + 1);
+}
+
+function testDeepRecursion(int n) (int) {
+    return sum(n);
+}
+
+function testStackOverflow() (string) {
+    string msg = "none";
+    try {
+        int i = recurse(0);
+    } catch (errors:Error err) {
+        msg = err.msg;
+    }
+    return msg;
+}
@@ -35,16 +35,17 @@ public class BallerinaLogFormatter extends Formatter {
     private static final String format = BLogManager.getLogManager().getProperty(
             BallerinaLogFormatter.class.getCanonicalName() + ".format");
 
+    private static final LogFormatTemplate template = format == null ? null : LogFormatTemplate.compile(format);
+
     @Override
     public String format(LogRecord record) {
         String source = "";
         if (record.getLoggerName().length() > BLogManager.LOGGER_PREFIX_LENGTH) {
             source = record.getLoggerName().substring(BLogManager.LOGGER_PREFIX_LENGTH);
         }
-        return String.format(format,
-                             new Date(record.getMillis()),
-                             BLogLevelMapper.getBallerinaLogLevel(record.getLevel()),
-                             source,
-                             record.getMessage());
+        return template.format(new Date(record.getMillis()),
+                               BLogLevelMapper.getBallerinaLogLevel(record.getLevel()),
+                               source,
+                               record.getMessage());
     }
 }
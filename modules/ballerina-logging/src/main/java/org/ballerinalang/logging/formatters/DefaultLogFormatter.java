@@ -37,6 +37,8 @@ public class DefaultLogFormatter extends Formatter {
     private static final String format = BLogManager.getLogManager().getProperty(
             DefaultLogFormatter.class.getCanonicalName() + ".format");
 
+    private static final LogFormatTemplate template = format == null ? null : LogFormatTemplate.compile(format);
+
     @Override
     public String format(LogRecord record) {
         String source = record.getLoggerName();
@@ -49,11 +51,10 @@ public class DefaultLogFormatter extends Formatter {
             ex = stringWriter.toString();
         }
 
-        return String.format(format,
-                             new Date(record.getMillis()),
-                             BLogLevelMapper.getBallerinaLogLevel(record.getLevel()),
-                             source,
-                             record.getMessage(),
-                             ex);
+        return template.format(new Date(record.getMillis()),
+                               BLogLevelMapper.getBallerinaLogLevel(record.getLevel()),
+                               source,
+                               record.getMessage(),
+                               ex);
     }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.logging.formatters;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link java.util.Formatter} format string compiled once into a list of segments, to format log records without
+ * parsing the format string for every record.
+ * <p>
+ * Literal text, {@code %n}, {@code %%}, string conversions with an optional width, precision and '-' flag, and the
+ * numeric date and time conversions are rendered directly. The date and time fields are computed once per second of
+ * the timestamp. Any other conversion is rendered with {@link String#format}, so a template produces the same
+ * output as {@code String.format(format, args)}.
+ *
+ * @since 0.90
+ */
+public class LogFormatTemplate {
+
+    // Same syntax as the format specifiers of java.util.Formatter
+    private static final Pattern SPECIFIER =
+            Pattern.compile("%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+    private static final String DATE_CONVERSIONS = "YymdeHkIlMSLFTRDsQ";
+
+    private final String format;
+    private final Segment[] segments;
+    private volatile CachedSecond cachedSecond;
+
+    private LogFormatTemplate(String format, Segment[] segments) {
+        this.format = format;
+        this.segments = segments;
+    }
+
+    /**
+     * Compile a format string.
+     *
+     * @param format format string, in the syntax of {@link java.util.Formatter}
+     * @return compiled template
+     */
+    public static LogFormatTemplate compile(String format) {
+        List<Segment> segments = new ArrayList<>();
+        Matcher matcher = SPECIFIER.matcher(format);
+        int position = 0;
+        int ordinaryIndex = 0;
+        int lastIndex = 0;
+        while (matcher.find()) {
+            if (matcher.start() > position) {
+                segments.add(new LiteralSegment(format.substring(position, matcher.start())));
+            }
+            position = matcher.end();
+
+            String flags = matcher.group(2) == null ? "" : matcher.group(2);
+            char conversion = matcher.group(6).charAt(0);
+            if (matcher.group(5) == null && conversion == 'n') {
+                segments.add(new LiteralSegment(System.lineSeparator()));
+                continue;
+            } else if (matcher.group(5) == null && conversion == '%') {
+                segments.add(new LiteralSegment("%"));
+                continue;
+            }
+
+            int argIndex;
+            if (matcher.group(1) != null) {
+                argIndex = Integer.parseInt(matcher.group(1).substring(0, matcher.group(1).length() - 1));
+            } else if (flags.indexOf('<') >= 0) {
+                argIndex = lastIndex;
+            } else {
+                argIndex = ++ordinaryIndex;
+            }
+            lastIndex = argIndex;
+            flags = flags.replace("<", "");
+            int width = matcher.group(3) == null ? -1 : Integer.parseInt(matcher.group(3));
+            int precision = matcher.group(4) == null ? -1 : Integer.parseInt(matcher.group(4).substring(1));
+
+            String specifier = "%" + argIndex + "$" + flags + (width < 0 ? "" : width)
+                    + (precision < 0 ? "" : "." + precision)
+                    + (matcher.group(5) == null ? "" : matcher.group(5)) + conversion;
+            if (matcher.group(5) == null && conversion == 's'
+                    && (flags.isEmpty() || (flags.equals("-") && width >= 0))) {
+                segments.add(new StringSegment(specifier, argIndex - 1, width, precision, !flags.isEmpty()));
+            } else if ("t".equals(matcher.group(5)) && flags.isEmpty() && width < 0
+                    && DATE_CONVERSIONS.indexOf(conversion) >= 0) {
+                segments.add(new DateSegment(specifier, argIndex - 1, conversion));
+            } else {
+                segments.add(new FallbackSegment(specifier));
+            }
+        }
+
+        if (position < format.length()) {
+            segments.add(new LiteralSegment(format.substring(position)));
+        }
+        return new LogFormatTemplate(format, segments.toArray(new Segment[segments.size()]));
+    }
+
+    /**
+     * Format the given arguments.
+     *
+     * @param args arguments referenced by the format string
+     * @return formatted string
+     */
+    public String format(Object... args) {
+        StringBuilder builder = new StringBuilder(128);
+        for (Segment segment : segments) {
+            segment.append(this, builder, args);
+        }
+        return builder.toString();
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    private CachedSecond getCachedSecond(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        CachedSecond cached = cachedSecond;
+        if (cached == null || cached.second != second) {
+            cached = new CachedSecond(second);
+            cachedSecond = cached;
+        }
+        return cached;
+    }
+
+    private static long toMillis(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private static void appendPadded(StringBuilder builder, int value, int digits) {
+        for (int limit = 10; digits > 1; digits--, limit *= 10) {
+            if (value < limit) {
+                builder.append('0');
+            }
+        }
+        builder.append(value);
+    }
+
+    /**
+     * Part of a compiled template.
+     */
+    private interface Segment {
+        void append(LogFormatTemplate template, StringBuilder builder, Object[] args);
+    }
+
+    private static class LiteralSegment implements Segment {
+        private final String text;
+
+        LiteralSegment(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void append(LogFormatTemplate template, StringBuilder builder, Object[] args) {
+            builder.append(text);
+        }
+    }
+
+    private static class StringSegment implements Segment {
+        private final String specifier;
+        private final int argIndex;
+        private final int width;
+        private final int precision;
+        private final boolean leftJustify;
+
+        StringSegment(String specifier, int argIndex, int width, int precision, boolean leftJustify) {
+            this.specifier = specifier;
+            this.argIndex = argIndex;
+            this.width = width;
+            this.precision = precision;
+            this.leftJustify = leftJustify;
+        }
+
+        @Override
+        public void append(LogFormatTemplate template, StringBuilder builder, Object[] args) {
+            if (argIndex >= args.length) {
+                builder.append(String.format(specifier, args));
+                return;
+            }
+
+            String value = String.valueOf(args[argIndex]);
+            if (precision >= 0 && value.length() > precision) {
+                value = value.substring(0, precision);
+            }
+
+            int padding = width - value.length();
+            if (!leftJustify) {
+                for (int i = 0; i < padding; i++) {
+                    builder.append(' ');
+                }
+            }
+            builder.append(value);
+            if (leftJustify) {
+                for (int i = 0; i < padding; i++) {
+                    builder.append(' ');
+                }
+            }
+        }
+    }
+
+    private static class DateSegment implements Segment {
+        private final int argIndex;
+        private final char conversion;
+        private final String specifier;
+
+        DateSegment(String specifier, int argIndex, char conversion) {
+            this.specifier = specifier;
+            this.argIndex = argIndex;
+            this.conversion = conversion;
+        }
+
+        @Override
+        public void append(LogFormatTemplate template, StringBuilder builder, Object[] args) {
+            long millis = argIndex < args.length ? toMillis(args[argIndex]) : Long.MIN_VALUE;
+            if (millis == Long.MIN_VALUE) {
+                builder.append(String.format(specifier, args));
+                return;
+            }
+
+            CachedSecond time = template.getCachedSecond(millis);
+            switch (conversion) {
+                case 'Y':
+                    appendPadded(builder, time.year, 4);
+                    break;
+                case 'y':
+                    appendPadded(builder, time.year % 100, 2);
+                    break;
+                case 'm':
+                    appendPadded(builder, time.month, 2);
+                    break;
+                case 'd':
+                    appendPadded(builder, time.day, 2);
+                    break;
+                case 'e':
+                    builder.append(time.day);
+                    break;
+                case 'H':
+                    appendPadded(builder, time.hour, 2);
+                    break;
+                case 'k':
+                    builder.append(time.hour);
+                    break;
+                case 'I':
+                    appendPadded(builder, time.hour % 12 == 0 ? 12 : time.hour % 12, 2);
+                    break;
+                case 'l':
+                    builder.append(time.hour % 12 == 0 ? 12 : time.hour % 12);
+                    break;
+                case 'M':
+                    appendPadded(builder, time.minute, 2);
+                    break;
+                case 'S':
+                    appendPadded(builder, time.secondOfMinute, 2);
+                    break;
+                case 'L':
+                    appendPadded(builder, (int) Math.floorMod(millis, 1000L), 3);
+                    break;
+                case 'F':
+                    appendPadded(builder, time.year, 4);
+                    builder.append('-');
+                    appendPadded(builder, time.month, 2);
+                    builder.append('-');
+                    appendPadded(builder, time.day, 2);
+                    break;
+                case 'T':
+                case 'R':
+                    appendPadded(builder, time.hour, 2);
+                    builder.append(':');
+                    appendPadded(builder, time.minute, 2);
+                    if (conversion == 'T') {
+                        builder.append(':');
+                        appendPadded(builder, time.secondOfMinute, 2);
+                    }
+                    break;
+                case 'D':
+                    appendPadded(builder, time.month, 2);
+                    builder.append('/');
+                    appendPadded(builder, time.day, 2);
+                    builder.append('/');
+                    appendPadded(builder, time.year % 100, 2);
+                    break;
+                case 's':
+                    builder.append(time.second);
+                    break;
+                case 'Q':
+                    builder.append(millis);
+                    break;
+                default:
+                    builder.append(String.format(specifier, args));
+            }
+        }
+    }
+
+    private static class FallbackSegment implements Segment {
+        private final String specifier;
+
+        FallbackSegment(String specifier) {
+            this.specifier = specifier;
+        }
+
+        @Override
+        public void append(LogFormatTemplate template, StringBuilder builder, Object[] args) {
+            builder.append(String.format(specifier, args));
+        }
+    }
+
+    /**
+     * Date and time fields of a second, in the default time zone.
+     */
+    private static class CachedSecond {
+        private final long second;
+        private final int year;
+        private final int month;
+        private final int day;
+        private final int hour;
+        private final int minute;
+        private final int secondOfMinute;
+
+        CachedSecond(long second) {
+            this.second = second;
+            ZonedDateTime time = Instant.ofEpochSecond(second).atZone(ZoneId.systemDefault());
+            year = time.getYear();
+            month = time.getMonthValue();
+            day = time.getDayOfMonth();
+            hour = time.getHour();
+            minute = time.getMinute();
+            secondOfMinute = time.getSecond();
+        }
+    }
+}
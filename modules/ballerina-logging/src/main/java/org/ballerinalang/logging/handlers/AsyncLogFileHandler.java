@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.logging.handlers;
+
+import org.ballerinalang.logging.util.LogRecordRingBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * A file handler which formats and writes the log records on a background thread.
+ * <p>
+ * Records are handed to the writer thread through a bounded lock-free ring buffer, so logging threads do not contend
+ * on the lock and the file of a {@link java.util.logging.FileHandler}. The writer drains the records in batches and
+ * writes each batch to the file channel at once. When the buffer is full the {@link OverflowPolicy} decides whether
+ * the logging thread waits, or the record is dropped.
+ * <p>
+ * The handler is configured through the following properties, prefixed by the class name of the handler:
+ * <ul>
+ * <li>pattern - path of the log file (required)</li>
+ * <li>append - whether to append to an existing file (defaults to true)</li>
+ * <li>level, formatter, encoding - as for the other handlers</li>
+ * <li>bufferSize - capacity of the ring buffer (defaults to 8192)</li>
+ * <li>batchSize - maximum number of records written at once (defaults to 256)</li>
+ * <li>overflowPolicy - BLOCK, DROP or SAMPLE (defaults to BLOCK)</li>
+ * <li>sampleRate - with the SAMPLE policy, one in this many records is kept when the buffer is full (defaults to
+ * 10)</li>
+ * </ul>
+ *
+ * @since 0.90
+ */
+public class AsyncLogFileHandler extends Handler {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Action taken when a record is published while the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the writer frees a slot.
+         */
+        BLOCK,
+        /**
+         * Drop the record.
+         */
+        DROP,
+        /**
+         * Keep one in every sampleRate records, waiting for a slot, and drop the rest.
+         */
+        SAMPLE
+    }
+
+    private final LogRecordRingBuffer<LogRecord> buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final FileChannel channel;
+    private final Thread writer;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    // Number of records taken from the buffer and written to the channel. Only written by the writer thread.
+    private volatile long writtenCount;
+    private volatile boolean closed;
+
+    // Only used by the writer thread
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private CharsetEncoder encoder;
+
+    /**
+     * Create a handler configured by the log manager properties of its class.
+     *
+     * @throws IOException if the log file cannot be opened
+     */
+    public AsyncLogFileHandler() throws IOException {
+        LogManager manager = LogManager.getLogManager();
+        String prefix = getClass().getName();
+        String pattern = manager.getProperty(prefix + ".pattern");
+        if (pattern == null || pattern.isEmpty()) {
+            throw new IOException("log file pattern is not set for " + prefix);
+        }
+
+        buffer = new LogRecordRingBuffer<>(getIntProperty(manager, prefix + ".bufferSize", DEFAULT_BUFFER_SIZE));
+        batchSize = getIntProperty(manager, prefix + ".batchSize", DEFAULT_BATCH_SIZE);
+        String policy = manager.getProperty(prefix + ".overflowPolicy");
+        overflowPolicy = policy == null ? OverflowPolicy.BLOCK : OverflowPolicy.valueOf(policy.trim().toUpperCase());
+        sampleRate = getIntProperty(manager, prefix + ".sampleRate", DEFAULT_SAMPLE_RATE);
+        channel = openChannel(Paths.get(pattern), !"false".equals(manager.getProperty(prefix + ".append")));
+
+        String level = manager.getProperty(prefix + ".level");
+        setLevel(level == null ? Level.ALL : Level.parse(level.trim()));
+        setFormatter(createFormatter(manager.getProperty(prefix + ".formatter")));
+        String encoding = manager.getProperty(prefix + ".encoding");
+        if (encoding != null) {
+            setEncoding(encoding);
+        }
+        writer = startWriter();
+    }
+
+    /**
+     * Create a handler with the given settings, and the level, formatter and encoding set on it later.
+     *
+     * @param file           log file
+     * @param append         whether to append to an existing file
+     * @param bufferSize     capacity of the ring buffer
+     * @param batchSize      maximum number of records written at once
+     * @param overflowPolicy action taken when the buffer is full
+     * @param sampleRate     one in this many records is kept when the buffer is full, with the SAMPLE policy
+     * @throws IOException if the log file cannot be opened
+     */
+    public AsyncLogFileHandler(Path file, boolean append, int bufferSize, int batchSize,
+                               OverflowPolicy overflowPolicy, int sampleRate) throws IOException {
+        this.buffer = new LogRecordRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.channel = openChannel(file, append);
+        setFormatter(new SimpleFormatter());
+        writer = startWriter();
+    }
+
+    private static FileChannel openChannel(Path file, boolean append) throws IOException {
+        if (append) {
+            return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private Thread startWriter() {
+        Thread thread = new Thread(this::writeRecords, "ballerina-async-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+
+        // The source class and method are inferred from the stack of the calling thread, so infer them before the
+        // record is handed over to the writer thread
+        record.getSourceClassName();
+        if (buffer.offer(record)) {
+            return;
+        }
+
+        long overflow = overflowCount.incrementAndGet();
+        if (overflowPolicy == OverflowPolicy.DROP
+                || (overflowPolicy == OverflowPolicy.SAMPLE && overflow % sampleRate != 0)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+
+        while (!buffer.offer(record)) {
+            if (closed) {
+                return;
+            }
+            LockSupport.unpark(writer);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Wait until the records published so far are written to the file.
+     */
+    @Override
+    public void flush() {
+        long target = buffer.getProducedCount();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT;
+        while (writtenCount < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_WAIT);
+        }
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        if (closed) {
+            return;
+        }
+
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(FLUSH_TIMEOUT));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+
+    /**
+     * Returns the number of records dropped because the buffer was full.
+     *
+     * @return dropped record count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void writeRecords() {
+        while (true) {
+            int count = writeBatch();
+            if (count == 0) {
+                if (closed && buffer.isEmpty()) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_WAIT);
+            }
+        }
+    }
+
+    private int writeBatch() {
+        int count = 0;
+        LogRecord record;
+        while (count < batchSize && (record = buffer.poll()) != null) {
+            count++;
+            String message;
+            try {
+                message = getFormatter().format(record);
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.FORMAT_FAILURE);
+                continue;
+            }
+            encode(message);
+        }
+
+        if (writeBuffer.position() > 0) {
+            write();
+        }
+        writtenCount += count;
+        return count;
+    }
+
+    private void encode(String message) {
+        CharsetEncoder charsetEncoder = getEncoder();
+        CharBuffer chars = CharBuffer.wrap(message);
+        while (true) {
+            CoderResult result = charsetEncoder.encode(chars, writeBuffer, true);
+            if (result.isOverflow()) {
+                write();
+            } else {
+                if (result.isError()) {
+                    try {
+                        result.throwException();
+                    } catch (CharacterCodingException e) {
+                        reportError(null, e, ErrorManager.FORMAT_FAILURE);
+                    }
+                }
+                break;
+            }
+        }
+        charsetEncoder.reset();
+    }
+
+    private void write() {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+        writeBuffer.clear();
+    }
+
+    private CharsetEncoder getEncoder() {
+        if (encoder == null) {
+            Charset charset = getEncoding() == null ? Charset.defaultCharset() : Charset.forName(getEncoding());
+            encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return encoder;
+    }
+
+    private static int getIntProperty(LogManager manager, String name, int defaultValue) {
+        String value = manager.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Formatter createFormatter(String className) {
+        if (className == null) {
+            return new SimpleFormatter();
+        }
+        try {
+            return (Formatter) ClassLoader.getSystemClassLoader().loadClass(className.trim()).newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return new SimpleFormatter();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.logging.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer with many producers and a single consumer.
+ * <p>
+ * Each slot carries a sequence number. A producer claims the next position by a compare-and-set on the tail, and
+ * publishes the element by advancing the sequence of its slot. The consumer takes the element once the sequence of
+ * the slot shows it is published, and frees the slot for the producer one lap ahead.
+ *
+ * @param <E> type of the elements
+ * @since 0.90
+ */
+public class LogRecordRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only written by the consumer
+    private volatile long head;
+
+    /**
+     * Create a ring buffer.
+     *
+     * @param capacity capacity of the buffer, rounded up to a power of two
+     */
+    public LogRecordRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        mask = size - 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element, if the buffer is not full. May be called by any thread.
+     *
+     * @param element element to add
+     * @return true if the element was added
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long diff = sequences.get(slot) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest element. Must only be called by the consumer thread.
+     *
+     * @return the oldest element, or null if the buffer is empty
+     */
+    public E poll() {
+        long position = head;
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+
+        E element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Returns the number of elements added so far, including the ones being published.
+     *
+     * @return number of claimed positions
+     */
+    public long getProducedCount() {
+        return tail.get();
+    }
+
+    /**
+     * Returns the number of elements removed so far.
+     *
+     * @return number of consumed positions
+     */
+    public long getConsumedCount() {
+        return head;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public boolean isEmpty() {
+        return head == tail.get();
+    }
+}
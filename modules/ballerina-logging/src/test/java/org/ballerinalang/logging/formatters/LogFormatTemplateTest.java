@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.logging.formatters;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+/**
+ * Test cases for the compiled log format templates.
+ *
+ * @since 0.90
+ */
+public class LogFormatTemplateTest {
+
+    private static final String[] FORMATS = {
+            "%1$tY-%1$tm-%1$td %1$tH:%1$tM:%1$tS,%1$tL %2$-5s [%3$s] - %4$s %5$s %n",
+            "[%1$tF %1$tT] %2$s %3$s: %4$s%n",
+            "%s %s %s %s",
+            "%1$tD %1$tR %1$tI %1$tl %1$ty %1$te %1$tk %1$ts %1$tQ %2$.3s|%3$10s|%4$-10s|",
+            "%1$tb %1$tZ %1$tz %2$S %<s 100%%",
+            "%1$s %1$tc %1$10s|%2$s"
+    };
+
+    @Test(description = "Test that the templates format the same way as String.format")
+    public void testFormat() {
+        long[] times = {0, 1500000000123L, 1508332800999L, System.currentTimeMillis()};
+        for (String format : FORMATS) {
+            LogFormatTemplate template = LogFormatTemplate.compile(format);
+            for (long time : times) {
+                Object[] args = {time, "INFO", "ballerina.test", "a log message", ""};
+                Assert.assertEquals(template.format(args), String.format(format, args), format);
+
+                Object[] dateArgs = {new Date(time), "WARN", "pkg", "another message", "x"};
+                Assert.assertEquals(template.format(dateArgs), String.format(format, dateArgs), format);
+            }
+        }
+    }
+
+    @Test(description = "Test that invalid conversions fail as with String.format",
+          expectedExceptions = java.util.UnknownFormatConversionException.class)
+    public void testInvalidConversion() {
+        LogFormatTemplate.compile("%1$q").format("value");
+    }
+}
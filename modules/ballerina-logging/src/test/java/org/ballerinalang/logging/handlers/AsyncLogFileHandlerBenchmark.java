@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.logging.handlers;
+
+import org.ballerinalang.logging.handlers.AsyncLogFileHandler.OverflowPolicy;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Benchmark of writing records from many threads with the asynchronous log file handler and with the file handler.
+ * <p>
+ * It is not a part of the unit tests, and runs with the benchmark profile: {@code mvn test -Pbenchmark}.
+ *
+ * @since 0.90
+ */
+public class AsyncLogFileHandlerBenchmark {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int RECORDS_PER_THREAD = 20000;
+
+    @Test(description = "Benchmark the throughput of the asynchronous handler against the file handler")
+    public void benchmarkThroughput() throws Exception {
+        Path syncFile = createLogFile();
+        FileHandler fileHandler = new FileHandler(syncFile.toString());
+        fileHandler.setFormatter(new MessageFormatter());
+        long syncTime = publish(fileHandler);
+        fileHandler.close();
+
+        Path asyncFile = createLogFile();
+        AsyncLogFileHandler asyncHandler = new AsyncLogFileHandler(asyncFile, false,
+                AsyncLogFileHandler.DEFAULT_BUFFER_SIZE, AsyncLogFileHandler.DEFAULT_BATCH_SIZE,
+                OverflowPolicy.BLOCK, 10);
+        asyncHandler.setFormatter(new MessageFormatter());
+        long asyncTime = publish(asyncHandler);
+        asyncHandler.close();
+
+        Assert.assertEquals(Files.readAllLines(asyncFile, Charset.defaultCharset()).size(),
+                THREAD_COUNT * RECORDS_PER_THREAD);
+        Reporter.log(THREAD_COUNT * RECORDS_PER_THREAD + " records: file handler " + syncTime / 1000000
+                + " ms, async handler " + asyncTime / 1000000 + " ms", true);
+    }
+
+    private static long publish(Handler handler) throws InterruptedException {
+        Set<Thread> threads = new HashSet<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            int threadIndex = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < RECORDS_PER_THREAD; j++) {
+                    handler.publish(new LogRecord(Level.INFO, "record " + threadIndex + "-" + j));
+                }
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static Path createLogFile() throws IOException {
+        File file = File.createTempFile("ballerina-async-log", ".log");
+        file.deleteOnExit();
+        return file.toPath();
+    }
+
+    /**
+     * Formats a record as its message on a line.
+     */
+    private static class MessageFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return record.getMessage() + System.lineSeparator();
+        }
+    }
+}
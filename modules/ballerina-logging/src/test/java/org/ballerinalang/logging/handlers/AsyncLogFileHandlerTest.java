@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.logging.handlers;
+
+import org.ballerinalang.logging.handlers.AsyncLogFileHandler.OverflowPolicy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Test cases for the asynchronous log file handler.
+ *
+ * @since 0.90
+ */
+public class AsyncLogFileHandlerTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    @Test(description = "Test writing records from many threads without losing any")
+    public void testWriteRecords() throws Exception {
+        Path file = createLogFile();
+        AsyncLogFileHandler handler = new AsyncLogFileHandler(file, false, 256, 64, OverflowPolicy.BLOCK, 10);
+        handler.setFormatter(new MessageFormatter());
+
+        publish(handler, THREAD_COUNT, 5000);
+        handler.close();
+
+        List<String> lines = Files.readAllLines(file, Charset.defaultCharset());
+        Assert.assertEquals(lines.size(), THREAD_COUNT * 5000);
+        Assert.assertEquals(new HashSet<>(lines).size(), THREAD_COUNT * 5000);
+        Assert.assertEquals(handler.getDroppedCount(), 0);
+    }
+
+    @Test(description = "Test dropping records when the buffer is full")
+    public void testDropOverflow() throws Exception {
+        Path file = createLogFile();
+        AsyncLogFileHandler handler = new AsyncLogFileHandler(file, false, 4, 4, OverflowPolicy.DROP, 10);
+        handler.setFormatter(new MessageFormatter());
+
+        publish(handler, THREAD_COUNT, 5000);
+        handler.close();
+
+        List<String> lines = Files.readAllLines(file, Charset.defaultCharset());
+        Assert.assertEquals(lines.size() + handler.getDroppedCount(), THREAD_COUNT * 5000);
+    }
+
+    @Test(description = "Test appending to an existing log file and the level of the handler")
+    public void testAppend() throws Exception {
+        Path file = createLogFile();
+        Files.write(file, ("existing" + System.lineSeparator()).getBytes(Charset.defaultCharset()));
+        AsyncLogFileHandler handler = new AsyncLogFileHandler(file, true, 16, 4, OverflowPolicy.BLOCK, 10);
+        handler.setFormatter(new MessageFormatter());
+        handler.setLevel(Level.INFO);
+
+        handler.publish(new LogRecord(Level.FINE, "ignored"));
+        handler.publish(new LogRecord(Level.INFO, "appended"));
+        handler.flush();
+
+        List<String> lines = Files.readAllLines(file, Charset.defaultCharset());
+        Assert.assertEquals(lines.toArray(), new String[]{"existing", "appended"});
+        handler.close();
+    }
+
+    @Test(description = "Test inferring the source of a record on the thread which logged it")
+    public void testSourceOfRecord() throws Exception {
+        Path file = createLogFile();
+        AsyncLogFileHandler handler = new AsyncLogFileHandler(file, false, 16, 4, OverflowPolicy.BLOCK, 10);
+        handler.setFormatter(new SourceFormatter());
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+
+        logger.info("message");
+        handler.close();
+
+        List<String> lines = Files.readAllLines(file, Charset.defaultCharset());
+        Assert.assertEquals(lines.toArray(),
+                new String[]{AsyncLogFileHandlerTest.class.getName() + " testSourceOfRecord message"});
+    }
+
+    private static void publish(Handler handler, int threadCount, int recordsPerThread)
+            throws InterruptedException {
+        Set<Thread> threads = new HashSet<>();
+        for (int i = 0; i < threadCount; i++) {
+            int threadIndex = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    handler.publish(new LogRecord(Level.INFO, "record " + threadIndex + "-" + j));
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static Path createLogFile() throws IOException {
+        File file = File.createTempFile("ballerina-async-log", ".log");
+        file.deleteOnExit();
+        return file.toPath();
+    }
+
+    /**
+     * Formats a record as its message on a line.
+     */
+    private static class MessageFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return record.getMessage() + System.lineSeparator();
+        }
+    }
+
+    /**
+     * Formats a record as its source class, source method and message on a line.
+     */
+    private static class SourceFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return record.getSourceClassName() + " " + record.getSourceMethodName() + " " + record.getMessage()
+                    + System.lineSeparator();
+        }
+    }
+}
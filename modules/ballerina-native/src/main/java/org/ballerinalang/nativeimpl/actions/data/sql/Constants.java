@@ -102,4 +102,6 @@ public final class Constants {
     public static final String CONNECTOR_NAME = "ClientConnector";
     public static final String DATASOURCE_KEY = "datasource_key";
     public static final String TIMEZONE_UTC = "UTC";
+    // Connector option for the number of rows fetched from the database at a time when reading a datatable
+    public static final String FETCH_SIZE = "fetchSize";
 }
@@ -89,35 +89,77 @@ public class SQLDataIterator implements DataIterator {
 
     @Override
     public String getString(String columnName) {
+        return getString(findColumn(columnName));
+    }
+
+    @Override
+    public long getInt(String columnName) {
+        return getInt(findColumn(columnName));
+    }
+
+    @Override
+    public double getFloat(String columnName) {
+        return getFloat(findColumn(columnName));
+    }
+
+    @Override
+    public boolean getBoolean(String columnName) {
+        return getBoolean(findColumn(columnName));
+    }
+
+    @Override
+    public String getObjectAsString(String columnName) {
+        return getObjectAsString(findColumn(columnName));
+    }
+
+    @Override
+    public BValue get(String columnName, int type) {
+        return get(findColumn(columnName), type);
+    }
+
+    @Override
+    public Map<String, Object> getArray(String columnName) {
+        Map<String, Object> resultMap = new HashMap<>();
+        Object[] objArray = getArray(findColumn(columnName));
+        if (objArray != null) {
+            for (int i = 0; i < objArray.length; i++) {
+                resultMap.put(String.valueOf(i), objArray[i]);
+            }
+        }
+        return resultMap;
+    }
+
+    @Override
+    public String getString(int columnIndex) {
         try {
-            return rs.getString(columnName);
+            return rs.getString(columnIndex);
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
         }
     }
 
     @Override
-    public long getInt(String columnName) {
+    public long getInt(int columnIndex) {
         try {
-            return rs.getLong(columnName);
+            return rs.getLong(columnIndex);
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
         }
     }
 
     @Override
-    public double getFloat(String columnName) {
+    public double getFloat(int columnIndex) {
         try {
-            return rs.getDouble(columnName);
+            return rs.getDouble(columnIndex);
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
         }
     }
 
     @Override
-    public boolean getBoolean(String columnName) {
+    public boolean getBoolean(int columnIndex) {
         try {
-            return rs.getBoolean(columnName);
+            return rs.getBoolean(columnIndex);
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
         }
@@ -144,9 +186,9 @@ public class SQLDataIterator implements DataIterator {
     }
 
     @Override
-    public String getObjectAsString(String columnName) {
+    public String getObjectAsString(int columnIndex) {
         try {
-            Object object = rs.getObject(columnName);
+            Object object = rs.getObject(columnIndex);
             if (object != null) {
                 return getString(object);
             } else {
@@ -159,29 +201,29 @@ public class SQLDataIterator implements DataIterator {
 
     // Below method doesn't support streaming.
     @Override
-    public BValue get(String columnName, int type) {
+    public BValue get(int columnIndex, int type) {
         try {
             switch (type) {
             case Types.BLOB:
             case Types.BINARY:
             case Types.LONGVARBINARY:
             case Types.VARBINARY:
-                Blob value = rs.getBlob(columnName);
+                Blob value = rs.getBlob(columnIndex);
                 return new BBlob(value.getBytes(1L, (int) value.length()));
             case Types.CLOB:
-                return getBString(rs.getClob(columnName));
+                return getBString(rs.getClob(columnIndex));
             case Types.NCLOB:
-                return getBString(rs.getNClob(columnName));
+                return getBString(rs.getNClob(columnIndex));
             case Types.DATE:
-                return getBString(rs.getDate(columnName));
+                return getBString(rs.getDate(columnIndex));
             case Types.TIME:
             case Types.TIME_WITH_TIMEZONE:
-                return getBString(rs.getTime(columnName, utcCalendar));
+                return getBString(rs.getTime(columnIndex, utcCalendar));
             case Types.TIMESTAMP:
             case Types.TIMESTAMP_WITH_TIMEZONE:
-                return getBString(rs.getTimestamp(columnName, utcCalendar));
+                return getBString(rs.getTimestamp(columnIndex, utcCalendar));
             case Types.ROWID:
-                return new BString(new String(rs.getRowId(columnName).getBytes(), "UTF-8"));
+                return new BString(new String(rs.getRowId(columnIndex).getBytes(), "UTF-8"));
             }
         } catch (SQLException e) {
             throw new BallerinaException("failed to get the value of " + type + ": " + e.getMessage(), e);
@@ -192,20 +234,24 @@ public class SQLDataIterator implements DataIterator {
     }
 
     @Override
-    public Map<String, Object> getArray(String columnName) {
-        Map<String, Object> resultMap = new HashMap<>();
+    public Object[] getArray(int columnIndex) {
         try {
-            Array array = rs.getArray(columnName);
-            if (!rs.wasNull()) {
-                Object[] objArray = (Object[]) array.getArray();
-                for (int i = 0; i < objArray.length; i++) {
-                    resultMap.put(String.valueOf(i), objArray[i]);
-                }
+            Array array = rs.getArray(columnIndex);
+            if (rs.wasNull()) {
+                return null;
             }
+            return (Object[]) array.getArray();
+        } catch (SQLException e) {
+            throw new BallerinaException(e.getMessage(), e);
+        }
+    }
+
+    private int findColumn(String columnName) {
+        try {
+            return rs.findColumn(columnName);
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
         }
-        return resultMap;
     }
 
     private BValue getBString(Clob clob) throws SQLException {
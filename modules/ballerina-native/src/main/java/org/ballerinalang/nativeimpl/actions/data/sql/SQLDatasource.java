@@ -47,6 +47,7 @@ public class SQLDatasource implements BValue {
     private String databaseName;
     private String connectorId;
     private boolean xaConn;
+    private int fetchSize;
 
     public String getDatabaseName() {
         return databaseName;
@@ -56,6 +57,10 @@ public class SQLDatasource implements BValue {
 
     public boolean init(BMap options) {
         buildDataSource(options);
+        BValue fetchSizeValue = options.get(Constants.FETCH_SIZE);
+        if (fetchSizeValue != null) {
+            fetchSize = Integer.parseInt(fetchSizeValue.stringValue());
+        }
         connectorId = UUID.randomUUID().toString();
         xaConn = isXADataSource();
         try (Connection con = getSQLConnection()) {
@@ -76,6 +81,15 @@ public class SQLDatasource implements BValue {
         }
     }
 
+    /**
+     * Returns the number of rows to be fetched from the database at a time when reading a datatable.
+     *
+     * @return fetch size, or 0 to use the default of the driver
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
     public String getConnectorId() {
         return this.connectorId;
     }
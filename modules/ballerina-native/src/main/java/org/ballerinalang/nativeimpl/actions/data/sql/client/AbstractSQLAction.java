@@ -239,7 +239,17 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
                 stmt.close();
             }
         } else {
-            stmt = conn.prepareStatement(query);
+            stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            int fetchSize = datasource.getFetchSize();
+            if (fetchSize > 0) {
+                // To fulfill OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE findbugs validation.
+                try {
+                    stmt.setFetchSize(fetchSize);
+                } catch (SQLException e) {
+                    stmt.close();
+                    throw e;
+                }
+            }
         }
         return stmt;
     }
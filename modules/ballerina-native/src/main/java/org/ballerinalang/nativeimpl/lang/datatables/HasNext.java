@@ -52,6 +52,6 @@ public class HasNext extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         BDataTable dataTable = (BDataTable) getRefArgument(ctx, 0);
-        return getBValues(new BBoolean(dataTable.hasNext()));
+        return getBValues(new BBoolean(dataTable.hasNext(ctx.isInTransaction())));
     }
 }
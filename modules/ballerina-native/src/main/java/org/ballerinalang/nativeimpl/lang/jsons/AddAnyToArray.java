@@ -19,10 +19,8 @@
 package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.WriteContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BBoolean;
@@ -73,18 +71,18 @@ public class AddAnyToArray extends AbstractJSONFunction {
             BValue value = getRefArgument(ctx, 1);
 
             // Adding the value to JSON Array
-            WriteContext jsonCtx = JsonPath.parse(json.value());
+            CompiledJsonPath compiledPath = CompiledJsonPath.compile(jsonPath);
 
             if (value instanceof BInteger) {
-                jsonCtx.add(jsonPath, ((BInteger) value).intValue());
+                compiledPath.add(json.value(), ((BInteger) value).intValue());
             } else if (value instanceof BFloat) {
-                jsonCtx.add(jsonPath, ((BFloat) value).floatValue());
+                compiledPath.add(json.value(), ((BFloat) value).floatValue());
             } else if (value instanceof BBoolean) {
-                jsonCtx.add(jsonPath, ((BBoolean) value).booleanValue());
+                compiledPath.add(json.value(), ((BBoolean) value).booleanValue());
             } else if (value instanceof BString) {
-                jsonCtx.add(jsonPath, value.stringValue());
+                compiledPath.add(json.value(), value.stringValue());
             } else if (value instanceof BJSON) {
-                jsonCtx.add(jsonPath, ((BJSON) value).value());
+                compiledPath.add(json.value(), ((BJSON) value).value());
             }
         } catch (PathNotFoundException e) {
             ErrorHandler.handleNonExistingJsonpPath(OPERATION, jsonPath, e);
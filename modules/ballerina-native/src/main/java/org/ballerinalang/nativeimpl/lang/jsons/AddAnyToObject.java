@@ -19,10 +19,8 @@
 package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.WriteContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BBoolean;
@@ -77,18 +75,18 @@ public class AddAnyToObject extends AbstractJSONFunction {
             BValue value = getRefArgument(ctx, 1);
 
             // Adding the value to JSON Object
-            WriteContext jsonCtx = JsonPath.parse(json.value());
+            CompiledJsonPath compiledPath = CompiledJsonPath.compile(jsonPath);
 
             if (value instanceof BInteger) {
-                jsonCtx.put(jsonPath, key, ((BInteger) value).intValue());
+                compiledPath.put(json.value(), key, ((BInteger) value).intValue());
             } else if (value instanceof BFloat) {
-                jsonCtx.put(jsonPath, key, ((BFloat) value).floatValue());
+                compiledPath.put(json.value(), key, ((BFloat) value).floatValue());
             } else if (value instanceof BBoolean) {
-                jsonCtx.put(jsonPath, key, ((BBoolean) value).booleanValue());
+                compiledPath.put(json.value(), key, ((BBoolean) value).booleanValue());
             } else if (value instanceof BString) {
-                jsonCtx.put(jsonPath, key, value.stringValue());
+                compiledPath.put(json.value(), key, value.stringValue());
             } else if (value instanceof BJSON) {
-                jsonCtx.put(jsonPath, key, ((BJSON) value).value());
+                compiledPath.put(json.value(), key, ((BJSON) value).value());
             }
         } catch (PathNotFoundException e) {
             ErrorHandler.handleNonExistingJsonpPath(OPERATION, jsonPath, e);
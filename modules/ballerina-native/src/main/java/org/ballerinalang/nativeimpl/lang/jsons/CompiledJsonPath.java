@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.jsons;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code CompiledJsonPath} is a jsonpath compiled once and cached by the path string.
+ * <p>
+ * Paths made only of field names and array indexes, such as {@code $.order.items[0]['sku']}, are evaluated by
+ * walking the Jackson tree directly. When such a walk does not find the element, and for all the other paths, the
+ * operation is delegated to the compiled jayway path, so the results and errors are the same as with jayway.
+ *
+ * @since 0.90
+ */
+public class CompiledJsonPath {
+
+    private static final PatternCache<CompiledJsonPath> cache =
+            new PatternCache<>(CompiledJsonPath::new, PatternCache.CACHE_SIZE);
+
+    // Same provider as the default jayway configuration of the JSON functions
+    private static final JsonProvider jsonProvider = new JacksonJsonNodeJsonProvider();
+
+    private final JsonPath path;
+    // Field names and array indexes of a simple path, or null if the path is not simple
+    private final Object[] steps;
+
+    private CompiledJsonPath(String path) {
+        this.path = JsonPath.compile(path);
+        this.steps = parseSteps(path);
+    }
+
+    /**
+     * Returns the compiled form of the given jsonpath.
+     *
+     * @param path jsonpath
+     * @return compiled path
+     * @throws com.jayway.jsonpath.InvalidPathException if the path is not valid
+     */
+    public static CompiledJsonPath compile(String path) {
+        return cache.get(path);
+    }
+
+    public static PatternCache<CompiledJsonPath> getCache() {
+        return cache;
+    }
+
+    public boolean isSimple() {
+        return steps != null;
+    }
+
+    /**
+     * Read the element matching this path.
+     *
+     * @param json JSON to read from
+     * @param <T>  expected type of the result
+     * @return matching element
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(JsonNode json) {
+        if (steps != null) {
+            JsonNode element = walk(json, steps.length);
+            if (element != null && !element.isNull()) {
+                return (T) element;
+            }
+        }
+        return JsonPath.parse(json).read(path);
+    }
+
+    /**
+     * Replace the element matching this path.
+     *
+     * @param json  JSON to update
+     * @param value new value
+     */
+    public void set(JsonNode json, Object value) {
+        if (steps != null) {
+            JsonNode parent = walk(json, steps.length - 1);
+            Object key = steps[steps.length - 1];
+            if (hasChild(parent, key)) {
+                if (key instanceof Integer) {
+                    jsonProvider.setArrayIndex(parent, (Integer) key, value);
+                } else {
+                    jsonProvider.setProperty(parent, key, value);
+                }
+                return;
+            }
+        }
+        JsonPath.parse(json).set(path, value);
+    }
+
+    /**
+     * Remove the element matching this path.
+     *
+     * @param json JSON to update
+     */
+    public void delete(JsonNode json) {
+        if (steps != null) {
+            JsonNode parent = walk(json, steps.length - 1);
+            Object key = steps[steps.length - 1];
+            if (hasChild(parent, key)) {
+                jsonProvider.removeProperty(parent, key);
+                return;
+            }
+        }
+        JsonPath.parse(json).delete(path);
+    }
+
+    /**
+     * Add a value to the array matching this path.
+     *
+     * @param json  JSON to update
+     * @param value value to add
+     */
+    public void add(JsonNode json, Object value) {
+        JsonPath.parse(json).add(path, value);
+    }
+
+    /**
+     * Add or replace a field of the object matching this path.
+     *
+     * @param json  JSON to update
+     * @param key   name of the field
+     * @param value value of the field
+     */
+    public void put(JsonNode json, String key, Object value) {
+        JsonPath.parse(json).put(path, key, value);
+    }
+
+    /**
+     * Walk the given number of steps from the root, returning null if a step does not match.
+     */
+    private JsonNode walk(JsonNode json, int stepCount) {
+        JsonNode node = json;
+        for (int i = 0; i < stepCount && node != null; i++) {
+            Object step = steps[i];
+            if (step instanceof Integer) {
+                node = node.isArray() ? node.get((Integer) step) : null;
+            } else {
+                node = node.isObject() ? node.get((String) step) : null;
+            }
+        }
+        return node;
+    }
+
+    private static boolean hasChild(JsonNode parent, Object key) {
+        if (parent == null) {
+            return false;
+        } else if (key instanceof Integer) {
+            return parent.isArray() && (Integer) key < parent.size();
+        }
+        return parent.isObject() && parent.has((String) key);
+    }
+
+    /**
+     * Parse a path made only of field names and array indexes.
+     *
+     * @return field names and array indexes, or null if the path has any other kind of step
+     */
+    private static Object[] parseSteps(String path) {
+        if (path.isEmpty() || path.charAt(0) != '$') {
+            return null;
+        }
+
+        List<Object> steps = new ArrayList<>();
+        int length = path.length();
+        int i = 1;
+        while (i < length) {
+            char c = path.charAt(i);
+            int start = ++i;
+            if (c == '.') {
+                while (i < length && isNameChar(path.charAt(i))) {
+                    i++;
+                }
+                if (i == start) {
+                    return null;
+                }
+                steps.add(path.substring(start, i));
+            } else if (c == '[' && i < length && path.charAt(i) == '\'') {
+                start = ++i;
+                while (i < length && isNameChar(path.charAt(i))) {
+                    i++;
+                }
+                if (i == start || i + 1 >= length || path.charAt(i) != '\'' || path.charAt(i + 1) != ']') {
+                    return null;
+                }
+                steps.add(path.substring(start, i));
+                i += 2;
+            } else if (c == '[') {
+                while (i < length && Character.isDigit(path.charAt(i))) {
+                    i++;
+                }
+                if (i == start || i - start > 9 || i >= length || path.charAt(i) != ']') {
+                    return null;
+                }
+                steps.add(Integer.parseInt(path.substring(start, i)));
+                i++;
+            } else {
+                return null;
+            }
+        }
+
+        return steps.isEmpty() ? null : steps.toArray();
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
@@ -20,10 +20,8 @@ package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.ReadContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BBoolean;
@@ -70,8 +68,7 @@ public class GetBoolean extends AbstractJSONFunction {
             jsonPath = getStringArgument(ctx, 0);
             
             // Getting the value from JSON
-            ReadContext jsonCtx = JsonPath.parse(json.value());
-            JsonNode element = jsonCtx.read(jsonPath);
+            JsonNode element = CompiledJsonPath.compile(jsonPath).read(json.value());
             if (element == null) {
                 throw new BallerinaException("No matching element found for jsonpath: " + jsonPath);
             } else if (element.isValueNode()) {
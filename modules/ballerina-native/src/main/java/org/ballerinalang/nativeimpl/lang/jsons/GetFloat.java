@@ -20,10 +20,8 @@ package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.ReadContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BFloat;
@@ -71,8 +69,7 @@ public class GetFloat extends AbstractJSONFunction {
 
 
             // Getting the value from JSON
-            ReadContext jsonCtx = JsonPath.parse(json.value());
-            Object elementObj = jsonCtx.read(jsonPath);
+            Object elementObj = CompiledJsonPath.compile(jsonPath).read(json.value());
             if (elementObj == null) {
                 throw new BallerinaException("No matching element found for jsonpath: " + jsonPath);
             } else if (elementObj instanceof JsonNode) {
@@ -19,10 +19,8 @@
 package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.WriteContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BJSON;
@@ -62,8 +60,7 @@ public class Remove extends AbstractJSONFunction {
             jsonPath = getStringArgument(ctx, 0);
 
             // Removing the element
-            WriteContext jsonCtx = JsonPath.parse(json.value());
-            jsonCtx.delete(jsonPath);
+            CompiledJsonPath.compile(jsonPath).delete(json.value());
         } catch (PathNotFoundException e) {
             ErrorHandler.handleNonExistingJsonpPath(OPERATION, jsonPath, e);
         } catch (InvalidPathException e) {
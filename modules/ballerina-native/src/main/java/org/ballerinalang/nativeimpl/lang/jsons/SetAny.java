@@ -19,10 +19,8 @@
 package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.WriteContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BBoolean;
@@ -72,18 +70,18 @@ public class SetAny extends AbstractJSONFunction {
             BValue value = getRefArgument(ctx, 1);
 
             // Setting the value to JSON
-            WriteContext jsonCtx = JsonPath.parse(json.value());
+            CompiledJsonPath compiledPath = CompiledJsonPath.compile(jsonPath);
 
             if (value instanceof BInteger) {
-                jsonCtx.set(jsonPath, ((BInteger) value).intValue());
+                compiledPath.set(json.value(), ((BInteger) value).intValue());
             } else if (value instanceof BFloat) {
-                jsonCtx.set(jsonPath, ((BFloat) value).floatValue());
+                compiledPath.set(json.value(), ((BFloat) value).floatValue());
             } else if (value instanceof BBoolean) {
-                jsonCtx.set(jsonPath, ((BBoolean) value).booleanValue());
+                compiledPath.set(json.value(), ((BBoolean) value).booleanValue());
             } else if (value instanceof BString) {
-                jsonCtx.set(jsonPath, value.stringValue());
+                compiledPath.set(json.value(), value.stringValue());
             } else if (value instanceof BJSON) {
-                jsonCtx.set(jsonPath, ((BJSON) value).value());
+                compiledPath.set(json.value(), ((BJSON) value).value());
             }
         } catch (PathNotFoundException e) {
             ErrorHandler.handleNonExistingJsonpPath(OPERATION, jsonPath, e);
@@ -13,6 +13,8 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
+import org.ballerinalang.util.exceptions.BallerinaException;
 
 /**
  * Get the Headers of the Message.
@@ -38,12 +40,20 @@ public class GetHeader extends AbstractNativeFunction {
     public BValue[] execute(Context ctx) {
         BMessage msg = (BMessage) getRefArgument(ctx, 0);
         String headerName = getStringArgument(ctx, 0);
-        String headerValue = msg.getHeader(headerName);
+        return getBValues(new BString(getHeader(msg, headerName)));
+    }
 
+    @TypedNativeFunction
+    public static String getHeader(BMessage msg, String headerName) {
+        if (msg == null) {
+            throw new BallerinaException("argument 0 is null");
+        }
+
+        String headerValue = msg.getHeader(headerName);
         if (headerValue == null) {
             //TODO: should NOT handle error for null headers, need to return `ballerina null`
             ErrorHandler.handleUndefineHeader(headerName);
         }
-        return getBValues(new BString(headerValue));
+        return headerValue;
     }
 }
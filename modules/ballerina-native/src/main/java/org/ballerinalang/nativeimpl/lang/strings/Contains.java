@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:contains.
@@ -54,11 +55,11 @@ public class Contains extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String subString = getStringArgument(context, 1);
-
-        BBoolean isContains = new BBoolean(param1.contains(subString));
-        return getBValues(isContains);
+        return getBValues(new BBoolean(contains(getStringArgument(context, 0), getStringArgument(context, 1))));
+    }
 
+    @TypedNativeFunction
+    public static boolean contains(String mainString, String subString) {
+        return mainString.contains(subString);
     }
 }
@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:equalsIgnoreCase.
@@ -54,11 +55,13 @@ public class EqualsIgnoreCase extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String string1 = getStringArgument(context, 0);
+        String mainString = getStringArgument(context, 0);
         String anotherString = getStringArgument(context, 1);
+        return getBValues(new BBoolean(equalsIgnoreCase(mainString, anotherString)));
+    }
 
-        BBoolean booleanValue = new BBoolean(string1.equalsIgnoreCase(anotherString));
-        return getBValues(booleanValue);
-
+    @TypedNativeFunction
+    public static boolean equalsIgnoreCase(String mainString, String anotherString) {
+        return mainString.equalsIgnoreCase(anotherString);
     }
 }
@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:hasSuffix.
@@ -54,10 +55,11 @@ public class HasSuffix extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String suffix = getStringArgument(context, 1);
+        return getBValues(new BBoolean(hasSuffix(getStringArgument(context, 0), getStringArgument(context, 1))));
+    }
 
-        BBoolean booleanValue = new BBoolean(param1.endsWith(suffix));
-        return getBValues(booleanValue);
+    @TypedNativeFunction
+    public static boolean hasSuffix(String mainString, String suffix) {
+        return mainString.endsWith(suffix);
     }
 }
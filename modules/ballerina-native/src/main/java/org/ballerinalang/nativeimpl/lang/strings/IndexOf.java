@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:indexOf.
@@ -54,10 +55,11 @@ public class IndexOf extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String subString = getStringArgument(context, 1);
+        return getBValues(new BInteger(indexOf(getStringArgument(context, 0), getStringArgument(context, 1))));
+    }
 
-        BInteger intValue = new BInteger(param1.indexOf(subString));
-        return getBValues(intValue);
+    @TypedNativeFunction
+    public static long indexOf(String mainString, String subString) {
+        return mainString.indexOf(subString);
     }
 }
@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:lastIndexOf.
@@ -54,10 +55,11 @@ public class LastIndexOf extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String subString = getStringArgument(context, 1);
+        return getBValues(new BInteger(lastIndexOf(getStringArgument(context, 0), getStringArgument(context, 1))));
+    }
 
-        BInteger bInteger = new BInteger(param1.lastIndexOf(subString));
-        return getBValues(bInteger);
+    @TypedNativeFunction
+    public static long lastIndexOf(String mainString, String subString) {
+        return mainString.lastIndexOf(subString);
     }
 }
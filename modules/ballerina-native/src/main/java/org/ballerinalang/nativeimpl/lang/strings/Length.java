@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:length.
@@ -51,8 +52,11 @@ public class Length extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        BInteger intValue = new BInteger(param1.length());
-        return getBValues(intValue);
+        return getBValues(new BInteger(length(getStringArgument(context, 0))));
+    }
+
+    @TypedNativeFunction
+    public static long length(String s) {
+        return s.length();
     }
 }
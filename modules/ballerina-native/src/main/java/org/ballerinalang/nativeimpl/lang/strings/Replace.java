@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:replace.
@@ -60,8 +61,11 @@ public class Replace extends AbstractNativeFunction {
         String mainString = getStringArgument(context, 0);
         String replacePattern = getStringArgument(context, 1);
         String replaceWith = getStringArgument(context, 2);
+        return getBValues(new BString(replace(mainString, replacePattern, replaceWith)));
+    }
 
-        String replacedString = mainString.replace(replacePattern, replaceWith);
-        return getBValues(new BString(replacedString));
+    @TypedNativeFunction
+    public static String replace(String mainString, String replacePattern, String replaceWith) {
+        return mainString.replace(replacePattern, replaceWith);
     }
 }
@@ -22,6 +22,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
@@ -61,7 +62,7 @@ public class ReplaceAll extends AbstractNativeFunction {
         String replacePattern = getStringArgument(context, 1);
         String replaceWith = getStringArgument(context, 2);
 
-        String replacedString = mainString.replaceAll(replacePattern, replaceWith);
+        String replacedString = PatternCache.REGEX.get(replacePattern).matcher(mainString).replaceAll(replaceWith);
         return getBValues(new BString(replacedString));
     }
 }
@@ -10,6 +10,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
@@ -44,7 +45,11 @@ public class SubString extends AbstractNativeFunction {
 
         long fromLong = getIntArgument(context, 0);
         long toLong = getIntArgument(context, 1);
+        return getBValues(new BString(subString(initialString, fromLong, toLong)));
+    }
 
+    @TypedNativeFunction
+    public static String subString(String initialString, long fromLong, long toLong) {
         if (toLong != (int) toLong) {
             throw BLangExceptionHelper
                     .getRuntimeException(RuntimeErrors.INDEX_NUMBER_TOO_LARGE, toLong);
@@ -61,7 +66,6 @@ public class SubString extends AbstractNativeFunction {
             throw new BallerinaException("String index out of range. Actual:" + initialString.length() +
                     " requested: " + from + " to " + to);
         }
-        BString subString = new BString(initialString.substring(from, to));
-        return getBValues(subString);
+        return initialString.substring(from, to);
     }
 }
@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 import java.util.Locale;
 
@@ -53,8 +54,11 @@ public class ToLowerCase extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        BString lowerCaseString = new BString(param1.toLowerCase(Locale.getDefault()));
-        return getBValues(lowerCaseString);
+        return getBValues(new BString(toLowerCase(getStringArgument(context, 0))));
+    }
+
+    @TypedNativeFunction
+    public static String toLowerCase(String s) {
+        return s.toLowerCase(Locale.getDefault());
     }
 }
@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 import java.util.Locale;
 
@@ -53,8 +54,11 @@ public class ToUpperCase extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        BString upperCaseString = new BString(param1.toUpperCase(Locale.getDefault()));
-        return getBValues(upperCaseString);
+        return getBValues(new BString(toUpperCase(getStringArgument(context, 0))));
+    }
+
+    @TypedNativeFunction
+    public static String toUpperCase(String s) {
+        return s.toUpperCase(Locale.getDefault());
     }
 }
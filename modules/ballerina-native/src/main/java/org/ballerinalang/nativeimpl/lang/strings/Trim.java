@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Native function ballerina.model.strings:trim.
@@ -51,8 +52,11 @@ public class Trim extends AbstractNativeFunction {
 
     @Override
     public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        BString trimmedString = new BString(param1.trim());
-        return getBValues(trimmedString);
+        return getBValues(new BString(trim(getStringArgument(context, 0))));
+    }
+
+    @TypedNativeFunction
+    public static String trim(String s) {
+        return s.trim();
     }
 }
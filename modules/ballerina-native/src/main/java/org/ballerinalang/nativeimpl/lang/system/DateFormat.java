@@ -22,6 +22,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
@@ -45,14 +46,14 @@ import java.util.TimeZone;
 
 public class DateFormat extends AbstractNativeFunction {
 
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
     @Override public BValue[] execute(Context context) {
 
         String format = getStringArgument(context, 0);
-        final Date date = new Date();
-        final TimeZone timeZone = TimeZone.getTimeZone("GMT");
-        final SimpleDateFormat dateFormat = new SimpleDateFormat(format);
-        dateFormat.setTimeZone(timeZone);
-        final String amzDate = dateFormat.format(date);
+        final SimpleDateFormat dateFormat = PatternCache.SIMPLE_DATE_FORMAT.get(format).get();
+        dateFormat.setTimeZone(GMT);
+        final String amzDate = dateFormat.format(new Date());
 
         return getBValues(new BString(amzDate));
     }
@@ -20,6 +20,7 @@ package org.ballerinalang.nativeimpl.lang.time;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BLangVMStructs;
 import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.StructInfo;
@@ -71,7 +72,7 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
         long milliSeconds;
         BStruct timezone;
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            DateTimeFormatter formatter = PatternCache.DATE_TIME_FORMAT.get(pattern);
             ZonedDateTime zonedDateTime = ZonedDateTime.parse(dateValue, formatter);
             milliSeconds = zonedDateTime.toInstant().toEpochMilli();
             ZoneId zoneId = zonedDateTime.getZone();
@@ -88,7 +89,7 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
         String formattedString;
         try {
             ZonedDateTime dateTime = getZonedDateTime(timeStruct);
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(pattern);
+            DateTimeFormatter dateTimeFormatter = PatternCache.DATE_TIME_FORMAT.get(pattern);
             formattedString =  dateTime.format(dateTimeFormatter);
         } catch (IllegalArgumentException e) {
             throw new BallerinaException("invalid pattern for formatting " + pattern);
@@ -178,6 +179,9 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
     }
 
     private ZonedDateTime getZonedDateTime(BStruct timeStruct) {
+        if (timeStruct == null) {
+            throw new BallerinaException("time value is null");
+        }
         ZonedDateTime dateTime = (ZonedDateTime) timeStruct.getNativeData(KEY_ZONED_DATETIME);
         if (dateTime != null) {
             return dateTime;
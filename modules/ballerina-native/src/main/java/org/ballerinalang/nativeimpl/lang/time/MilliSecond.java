@@ -27,6 +27,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Get the milli second value for the given time.
@@ -50,6 +51,11 @@ public class MilliSecond extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BInteger(getMilliSecond(timeStruct))};
+        return new BValue[]{new BInteger(milliSecond(timeStruct))};
+    }
+
+    @TypedNativeFunction
+    public long milliSecond(BStruct timeStruct) {
+        return getMilliSecond(timeStruct);
     }
 }
@@ -27,6 +27,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Get the month value for the given time.
@@ -50,6 +51,11 @@ public class Month extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BInteger(getMonth(timeStruct))};
+        return new BValue[]{new BInteger(month(timeStruct))};
+    }
+
+    @TypedNativeFunction
+    public long month(BStruct timeStruct) {
+        return getMonth(timeStruct);
     }
 }
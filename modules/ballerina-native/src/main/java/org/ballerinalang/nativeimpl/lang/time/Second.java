@@ -27,6 +27,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Get the second value for the given time.
@@ -50,6 +51,11 @@ public class Second extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BInteger(getSecond(timeStruct))};
+        return new BValue[]{new BInteger(second(timeStruct))};
+    }
+
+    @TypedNativeFunction
+    public long second(BStruct timeStruct) {
+        return getSecond(timeStruct);
     }
 }
@@ -27,6 +27,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.natives.annotations.TypedNativeFunction;
 
 /**
  * Get the week day of the given time.
@@ -50,6 +51,11 @@ public class WeekDay extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BString(getWeekDay(timeStruct))};
+        return new BValue[]{new BString(weekDay(timeStruct))};
+    }
+
+    @TypedNativeFunction
+    public String weekDay(BStruct timeStruct) {
+        return getWeekDay(timeStruct);
     }
 }
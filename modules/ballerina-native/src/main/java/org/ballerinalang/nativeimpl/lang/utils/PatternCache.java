@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.utils;
+
+import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * {@code PatternCache} is a bounded cache of objects compiled from pattern strings, such as regular expressions and
+ * date-time formats, shared by the native functions.
+ * <p>
+ * Lookups do not lock. When the cache grows beyond its size, entries are evicted in the approximate least recently
+ * used order of a second chance (clock) policy: an entry used since the last pass of the eviction hand is skipped
+ * once. Patterns which fail to compile are not cached.
+ *
+ * @param <V> type of the compiled objects
+ * @since 0.90
+ */
+public class PatternCache<V> {
+
+    /**
+     * Name of the system property holding the maximum number of entries of each cache.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "ballerina.lang.patternCacheSize";
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * Configured maximum number of entries of each cache.
+     */
+    public static final int CACHE_SIZE = Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+
+    public static final PatternCache<Pattern> REGEX = new PatternCache<>(Pattern::compile, CACHE_SIZE);
+
+    public static final PatternCache<DateTimeFormatter> DATE_TIME_FORMAT =
+            new PatternCache<>(DateTimeFormatter::ofPattern, CACHE_SIZE);
+
+    /**
+     * Cache of {@link SimpleDateFormat}s. Since they are not thread safe, each thread formats with its own copy.
+     */
+    public static final PatternCache<ThreadLocal<SimpleDateFormat>> SIMPLE_DATE_FORMAT =
+            new PatternCache<>(PatternCache::compileSimpleDateFormat, CACHE_SIZE);
+
+    private final Function<String, V> compiler;
+    private final int maxSize;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private Iterator<Entry<V>> evictionHand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PatternCache(Function<String, V> compiler, int maxSize) {
+        this.compiler = compiler;
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /**
+     * Returns the compiled form of the given pattern, compiling it if it is not cached.
+     *
+     * @param pattern pattern string
+     * @return compiled pattern
+     */
+    public V get(String pattern) {
+        Entry<V> entry = entries.get(pattern);
+        if (entry != null) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.value;
+        }
+
+        misses.increment();
+        V value = compiler.apply(pattern);
+        if (entries.putIfAbsent(pattern, new Entry<>(value)) == null && entries.size() > maxSize) {
+            evict();
+        }
+        return value;
+    }
+
+    private synchronized void evict() {
+        while (entries.size() > maxSize) {
+            if (evictionHand == null || !evictionHand.hasNext()) {
+                evictionHand = entries.values().iterator();
+                if (!evictionHand.hasNext()) {
+                    return;
+                }
+            }
+
+            Entry<V> entry = evictionHand.next();
+            if (entry.referenced) {
+                entry.referenced = false;
+            } else {
+                evictionHand.remove();
+            }
+        }
+    }
+
+    private static ThreadLocal<SimpleDateFormat> compileSimpleDateFormat(String pattern) {
+        // Parse the pattern once, so that an invalid one fails here and is not cached
+        SimpleDateFormat dateFormat = new SimpleDateFormat(pattern);
+        return ThreadLocal.withInitial(() -> (SimpleDateFormat) dateFormat.clone());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of the lookups which found the pattern in the cache.
+     *
+     * @return hit rate between 0 and 1, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Cached compiled pattern.
+     *
+     * @param <V> type of the compiled object
+     */
+    private static class Entry<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -26,11 +26,11 @@ import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.services.dispatchers.ws.WebSocketBroadcaster;
 import org.ballerinalang.services.dispatchers.ws.WebSocketConnectionManager;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.IOException;
-import java.util.List;
+import java.util.Collection;
 import javax.websocket.Session;
 
 /**
@@ -60,19 +60,12 @@ public class BroadcastText extends AbstractNativeFunction {
 
         String text = getStringArgument(context, 0);
         String serviceName = context.getServiceInfo().getName();
-        List<Session> sessions = WebSocketConnectionManager.getInstance().getBroadcastConnectionList(serviceName);
+        Collection<Session> sessions = WebSocketConnectionManager.getInstance()
+                .getBroadcastConnections(serviceName);
         if (sessions == null) {
             throw new BallerinaException("Cannot find a broadcast list for the service: " + serviceName);
         }
-        sessions.forEach(
-                session -> {
-                    try {
-                        session.getBasicRemote().sendText(text);
-                    } catch (IOException e) {
-                        throw new BallerinaException("IO exception occurred during broadcasting text", e, context);
-                    }
-                }
-        );
+        WebSocketBroadcaster.getInstance().broadcast(sessions, text);
         return VOID_RETURN;
     }
 }
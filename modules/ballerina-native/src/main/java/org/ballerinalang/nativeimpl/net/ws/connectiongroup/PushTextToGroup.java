@@ -26,11 +26,11 @@ import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.services.dispatchers.ws.WebSocketBroadcaster;
 import org.ballerinalang.services.dispatchers.ws.WebSocketConnectionManager;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.IOException;
-import java.util.List;
+import java.util.Collection;
 import javax.websocket.Session;
 
 /**
@@ -62,20 +62,13 @@ public class PushTextToGroup extends AbstractNativeFunction {
 
         String connectionGroupName = getStringArgument(context, 0);
         String text = getStringArgument(context, 1);
-        List<Session> sessions = WebSocketConnectionManager.getInstance().getConnectionGroup(connectionGroupName);
+        Collection<Session> sessions = WebSocketConnectionManager.getInstance()
+                .getConnectionGroupConnections(connectionGroupName);
         if (sessions == null) {
             throw new BallerinaException("Connection group name " + connectionGroupName +
                                                  " not exists. Cannot push text to group");
         }
-        sessions.forEach(
-                session -> {
-                    try {
-                        session.getBasicRemote().sendText(text);
-                    } catch (IOException e) {
-                        throw new BallerinaException("IO exception occurred during broadcasting text", e, context);
-                    }
-                }
-        );
+        WebSocketBroadcaster.getInstance().broadcast(sessions, text);
         return VOID_RETURN;
     }
 }
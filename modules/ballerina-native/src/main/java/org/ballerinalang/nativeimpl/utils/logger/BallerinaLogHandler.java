@@ -23,6 +23,9 @@ import org.ballerinalang.logging.BLogManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * This class is responsible for selecting the appropriate logger for a particular log statement.
  *
@@ -31,6 +34,9 @@ import org.slf4j.LoggerFactory;
 public class BallerinaLogHandler {
     private static final Logger ballerinaRootLogger = LoggerFactory.getLogger(BLogManager.BALLERINA_ROOT_LOGGER_NAME);
 
+    // Loggers of the packages, by the package path
+    private static final Map<String, Logger> packageLoggers = new ConcurrentHashMap<>();
+
     public static Logger getLogger(Context ctx) {
         String packageDirPath =
                 ctx.getControlStackNew().getStack()[ctx.getControlStackNew().fp - 1].getCallableUnitInfo()
@@ -39,8 +45,8 @@ public class BallerinaLogHandler {
         if (".".equals(packageDirPath) || packageDirPath == null) {
             return ballerinaRootLogger;
         } else {
-            // TODO: Refactor this later
-            return LoggerFactory.getLogger(ballerinaRootLogger.getName() + "." + packageDirPath);
+            return packageLoggers.computeIfAbsent(packageDirPath,
+                    path -> LoggerFactory.getLogger(ballerinaRootLogger.getName() + "." + path));
         }
     }
 }
@@ -79,6 +79,20 @@ public class TryCatchThrowStmtTest {
                 "Try block didn't execute fully.");
     }
 
+    @Test(description = "Test matching different error types thrown repeatedly from the same try block")
+    public void testRepeatedTryCatch() {
+        for (int i = 0; i < 3; i++) {
+            BValue[] returns = BLangFunctions.invokeNew(programFile, "testTryCatch", new BValue[]{new BInteger(15)});
+            Assert.assertEquals(returns[0].stringValue(),
+                    "start insideTry insideInnerTry onError innerTestErrorCatch:test innerFinally TestErrorCatch" +
+                            " Finally End");
+
+            returns = BLangFunctions.invokeNew(programFile, "testTryCatch", new BValue[]{new BInteger(-1)});
+            Assert.assertEquals(returns[0].stringValue(),
+                    "start insideTry insideInnerTry onInputError innerFinally ErrorCatch Finally End");
+        }
+    }
+
     @Test(description = "Test throw statement in a function.")
     public void testTryCatch() {
         BValue[] args = {new BInteger(15)};
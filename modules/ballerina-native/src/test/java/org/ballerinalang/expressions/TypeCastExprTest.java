@@ -18,6 +18,8 @@
 package org.ballerinalang.expressions;
 
 
+import org.ballerinalang.bre.bvm.BLangVM;
+import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BFloatArray;
@@ -29,6 +31,7 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.util.BTestUtils;
+import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
 import org.ballerinalang.util.exceptions.SemanticException;
@@ -508,6 +511,20 @@ public class TypeCastExprTest {
         BTestUtils.getProgramFile("lang/expressions/type/cast/map-to-json-error.bal");
     }
 
+    @Test(description = "Test caching the struct equivalency checks")
+    public void testStructEquivalencyCache() {
+        PackageInfo packageInfo = bLangProgram.getPackageInfo(bLangProgram.getMainPackageName());
+        BStructType personType = (BStructType) packageInfo.getStructInfo("Person").getType();
+        BStructType studentType = (BStructType) packageInfo.getStructInfo("Student").getType();
+
+        // The same results are expected whether or not an earlier check has cached them
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(BLangVM.checkStructEquivalency(personType, studentType));
+            Assert.assertFalse(BLangVM.checkStructEquivalency(studentType, personType));
+            Assert.assertTrue(BLangVM.checkStructEquivalency(personType, personType));
+        }
+    }
+
     @Test(description = "Test casting struct stored as any to struct")
     public void testStructAsAnyToStruct() {
         BValue[] returns = BLangFunctions.invokeNew(bLangProgram, "testStructAsAnyToStruct");
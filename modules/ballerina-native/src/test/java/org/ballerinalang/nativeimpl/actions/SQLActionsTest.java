@@ -96,6 +96,16 @@ public class SQLActionsTest {
         Assert.assertEquals(retValue.stringValue(), expected);
     }
 
+    @Test(groups = "ConnectorTest")
+    public void testSelectWithFetchSize() {
+        BValue[] returns = BLangFunctions.invokeNew(bLangProgram, "testSelectWithFetchSize");
+        Assert.assertEquals(returns.length, 4);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        Assert.assertEquals(returns[1].stringValue(), "Hello");
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 9223372036854774807L);
+        Assert.assertEquals(((BInteger) returns[3]).intValue(), 0);
+    }
+
     @Test(groups = "ConnectorTest for int float types")
     public void testSelectIntFloatData() {
         BValue[] returns = BLangFunctions.invokeNew(bLangProgram, "testSelectIntFloatData");
@@ -0,0 +1,207 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.nativeimpl.actions;
+
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BDataTable;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLDataIterator;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasource;
+import org.ballerinalang.nativeimpl.util.SQLDBUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Test class for reading a datatable through the SQL data iterator.
+ *
+ * @since 0.90
+ */
+public class SQLDataIteratorTest {
+    private static final String DB_NAME = "TEST_SQL_DATA_ITERATOR";
+    private static final String JDBC_URL = "jdbc:hsqldb:file:" + SQLDBUtils.DB_DIRECTORY + DB_NAME;
+    private static final String SELECT_QUERY = "SELECT string_type, int_type, double_type, long_type "
+            + "FROM DataTypeTable WHERE row_id <= 2 ORDER BY row_id";
+
+    @BeforeClass()
+    public void setup() {
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/SQLConnectorDataFile.sql");
+    }
+
+    @Test(description = "Check reading the columns by position gives the same values as reading them by name.")
+    public void testPositionalColumnAccess() throws SQLException {
+        Connection conn = DriverManager.getConnection(JDBC_URL, "SA", "");
+        PreparedStatement stmt = conn.prepareStatement(SELECT_QUERY);
+        SQLDataIterator iterator = new SQLDataIterator(conn, stmt, stmt.executeQuery(), getUTCCalendar());
+        try {
+            Assert.assertTrue(iterator.next());
+            Assert.assertEquals(iterator.getString(1), "Hello");
+            Assert.assertEquals(iterator.getString(1), iterator.getString("STRING_TYPE"));
+            Assert.assertEquals(iterator.getInt(2), 10);
+            Assert.assertEquals(iterator.getInt(2), iterator.getInt("INT_TYPE"));
+            Assert.assertEquals(iterator.getFloat(3), 2139095039D);
+            Assert.assertEquals(iterator.getFloat(3), iterator.getFloat("DOUBLE_TYPE"));
+            Assert.assertEquals(iterator.getInt(4), 9223372036854774807L);
+            Assert.assertEquals(iterator.getInt(4), iterator.getInt("LONG_TYPE"));
+        } finally {
+            iterator.close(false);
+        }
+    }
+
+    @Test(description = "Check the row struct of a datatable is filled by column position for each row.")
+    public void testDatatableRowsByPosition() throws SQLException {
+        BDataTable dataTable = createDataTable();
+
+        Assert.assertTrue(dataTable.hasNext(false));
+        BStruct row = dataTable.getNext(false);
+        Assert.assertEquals(row.getStringField(0), "Hello");
+        Assert.assertEquals(row.getIntField(0), 10);
+        Assert.assertEquals(row.getFloatField(0), 2139095039D);
+        Assert.assertEquals(row.getIntField(1), 9223372036854774807L);
+
+        // The second row has only the row_id, so the reused struct must not keep the values of the first row
+        Assert.assertTrue(dataTable.hasNext(false));
+        row = dataTable.getNext(false);
+        Assert.assertNull(row.getStringField(0));
+        Assert.assertEquals(row.getIntField(0), 0);
+        Assert.assertEquals(row.getFloatField(0), 0D);
+        Assert.assertEquals(row.getIntField(1), 0);
+
+        Assert.assertFalse(dataTable.hasNext(false));
+    }
+
+    @Test(description = "Check the result set, statement and connection are closed once all the rows are read.")
+    public void testCloseAtEndOfData() throws SQLException {
+        Connection conn = DriverManager.getConnection(JDBC_URL, "SA", "");
+        PreparedStatement stmt = conn.prepareStatement(SELECT_QUERY, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(1);
+        ResultSet rs = stmt.executeQuery();
+        BDataTable dataTable = new BDataTable(new SQLDataIterator(conn, stmt, rs, getUTCCalendar()),
+                getColumnDefinitions());
+
+        int rowCount = 0;
+        while (dataTable.hasNext(false)) {
+            dataTable.getNext(false);
+            Assert.assertFalse(rs.isClosed());
+            rowCount++;
+        }
+        Assert.assertEquals(rowCount, 2);
+        Assert.assertTrue(rs.isClosed());
+        Assert.assertTrue(stmt.isClosed());
+        Assert.assertTrue(conn.isClosed());
+        // Once closed, the datatable stays at the end of data without touching the released result set
+        Assert.assertFalse(dataTable.hasNext(false));
+    }
+
+    @Test(description = "Check the result set and statement are closed, but not the connection, within a transaction.")
+    public void testCloseAtEndOfDataInTransaction() throws SQLException {
+        Connection conn = DriverManager.getConnection(JDBC_URL, "SA", "");
+        try {
+            PreparedStatement stmt = conn.prepareStatement(SELECT_QUERY);
+            ResultSet rs = stmt.executeQuery();
+            BDataTable dataTable = new BDataTable(new SQLDataIterator(conn, stmt, rs, getUTCCalendar()),
+                    getColumnDefinitions());
+            while (dataTable.hasNext(true)) {
+                dataTable.getNext(true);
+            }
+            Assert.assertTrue(rs.isClosed());
+            Assert.assertTrue(stmt.isClosed());
+            Assert.assertFalse(conn.isClosed());
+        } finally {
+            conn.close();
+        }
+    }
+
+    @Test(description = "Check the fetchSize connector option.")
+    public void testFetchSizeOption() {
+        SQLDatasource datasource = new SQLDatasource();
+        BMap<String, BValue> options = new BMap<>();
+        options.put("jdbcUrl", new BString(JDBC_URL));
+        options.put("username", new BString("SA"));
+        options.put("password", new BString(""));
+        options.put("maximumPoolSize", new BInteger(1));
+        options.put(Constants.FETCH_SIZE, new BInteger(25));
+        datasource.init(options);
+        try {
+            Assert.assertEquals(datasource.getFetchSize(), 25);
+        } finally {
+            datasource.closeConnectionPool();
+        }
+    }
+
+    @Test(description = "Check the fetch size is left to the driver when the fetchSize option is not given.")
+    public void testDefaultFetchSize() {
+        SQLDatasource datasource = new SQLDatasource();
+        BMap<String, BValue> options = new BMap<>();
+        options.put("jdbcUrl", new BString(JDBC_URL));
+        options.put("username", new BString("SA"));
+        options.put("password", new BString(""));
+        options.put("maximumPoolSize", new BInteger(1));
+        datasource.init(options);
+        try {
+            Assert.assertEquals(datasource.getFetchSize(), 0);
+        } finally {
+            datasource.closeConnectionPool();
+        }
+    }
+
+    @AfterSuite
+    public void cleanup() {
+        SQLDBUtils.deleteDirectory(new File(SQLDBUtils.DB_DIRECTORY));
+    }
+
+    private BDataTable createDataTable() throws SQLException {
+        Connection conn = DriverManager.getConnection(JDBC_URL, "SA", "");
+        PreparedStatement stmt = conn.prepareStatement(SELECT_QUERY);
+        return new BDataTable(new SQLDataIterator(conn, stmt, stmt.executeQuery(), getUTCCalendar()),
+                getColumnDefinitions());
+    }
+
+    private static List<BDataTable.ColumnDefinition> getColumnDefinitions() {
+        List<BDataTable.ColumnDefinition> columnDefs = new ArrayList<>();
+        columnDefs.add(new BDataTable.ColumnDefinition("STRING_TYPE", TypeEnum.STRING, Types.VARCHAR));
+        columnDefs.add(new BDataTable.ColumnDefinition("INT_TYPE", TypeEnum.INT, Types.INTEGER));
+        columnDefs.add(new BDataTable.ColumnDefinition("DOUBLE_TYPE", TypeEnum.FLOAT, Types.DOUBLE));
+        columnDefs.add(new BDataTable.ColumnDefinition("LONG_TYPE", TypeEnum.INT, Types.BIGINT));
+        return columnDefs;
+    }
+
+    private static Calendar getUTCCalendar() {
+        return Calendar.getInstance(TimeZone.getTimeZone(Constants.TIMEZONE_UTC));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.JsonPath;
+import org.ballerinalang.nativeimpl.lang.jsons.CompiledJsonPath;
+import org.ballerinalang.nativeimpl.lang.jsons.GetJSON;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Benchmark of reading and updating JSON payloads with compiled paths and with jayway.
+ * <p>
+ * It is not a part of the unit tests, and runs with the benchmark profile: {@code mvn test -Pbenchmark}.
+ *
+ * @since 0.90
+ */
+public class CompiledJsonPathBenchmark {
+
+    private static final String READ_PATH = "$.items[3].details.sku";
+    private static final String WRITE_PATH = "$.items[5].details.quantity";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeClass
+    public void setup() {
+        // Creating a JSON function configures jayway to use the Jackson provider
+        new GetJSON();
+    }
+
+    @Test(description = "Benchmark compiled paths against jayway for 1 KB and 100 KB payloads")
+    public void benchmarkReadAndWrite() {
+        benchmark(createPayload(8), 20000);
+        benchmark(createPayload(800), 2000);
+    }
+
+    private void benchmark(JsonNode json, int iterations) {
+        String payloadSize = json.toString().length() / 1024 + " KB";
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            JsonPath.parse(json).read(READ_PATH);
+            JsonPath.parse(json).set(WRITE_PATH, i);
+        }
+        long jaywayTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            CompiledJsonPath.compile(READ_PATH).read(json);
+            CompiledJsonPath.compile(WRITE_PATH).set(json, i);
+        }
+        long compiledTime = System.nanoTime() - startTime;
+
+        Assert.assertEquals(json.get("items").get(5).get("details").get("quantity").asInt(), iterations - 1);
+        Reporter.log(payloadSize + " payload, " + iterations + " reads and writes: jayway " + jaywayTime / 1000000
+                + " ms, compiled paths " + compiledTime / 1000000 + " ms", true);
+    }
+
+    private JsonNode createPayload(int itemCount) {
+        ObjectNode json = mapper.createObjectNode();
+        ArrayNode items = json.putArray("items");
+        for (int i = 0; i < itemCount; i++) {
+            ObjectNode item = items.addObject();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            ObjectNode details = item.putObject("details");
+            details.put("sku", "SKU-" + i);
+            details.put("quantity", i % 10);
+            details.put("price", i * 1.5);
+        }
+        return json;
+    }
+}
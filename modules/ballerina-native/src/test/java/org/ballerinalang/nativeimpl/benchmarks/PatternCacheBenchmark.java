@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.benchmarks;
+
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark of replacing with a cached pattern and with a pattern compiled for every call.
+ * <p>
+ * It is not a part of the unit tests, and runs with the benchmark profile: {@code mvn test -Pbenchmark}.
+ *
+ * @since 0.90
+ */
+public class PatternCacheBenchmark {
+
+    private static final String REGEX = "[a-c]{3}\\s(is|was)";
+    private static final String INPUT = "abc is not abc as abc was anymore";
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ITERATIONS = 100000;
+
+    @Test(description = "Benchmark replacing with a cached pattern against recompiling it for every call")
+    public void benchmarkCachedReplace() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        String expected = INPUT.replaceAll(REGEX, "xyz");
+        Assert.assertEquals(cache.get(REGEX).matcher(INPUT).replaceAll("xyz"), expected);
+
+        long uncachedTime = 0;
+        long cachedTime = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                INPUT.replaceAll(REGEX, "xyz");
+            }
+            uncachedTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                cache.get(REGEX).matcher(INPUT).replaceAll("xyz");
+            }
+            cachedTime = System.nanoTime() - startTime;
+        }
+        Reporter.log("replaceAll: uncached " + uncachedTime / ITERATIONS + " ns/call, cached "
+                + cachedTime / ITERATIONS + " ns/call", true);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.functions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import org.ballerinalang.nativeimpl.lang.jsons.CompiledJsonPath;
+import org.ballerinalang.nativeimpl.lang.jsons.GetJSON;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * Test cases for the compiled jsonpaths used by the JSON functions.
+ */
+public class CompiledJsonPathTest {
+
+    private static final String JSON = "{\"name\":{\"fname\":\"Jack\",\"lname\":\"Taylor\"}, \"state\":\"CA\", "
+            + "\"age\":20, \"married\":true, \"children\":[{\"name\":\"Jill\",\"age\":5},{\"name\":\"Tom\",\"age\":8}]}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeClass
+    public void setup() {
+        // Creating a JSON function configures jayway to use the Jackson provider
+        new GetJSON();
+    }
+
+    @Test(description = "Test reading simple paths without jayway")
+    public void testReadSimplePath() throws IOException {
+        JsonNode json = mapper.readTree(JSON);
+        CompiledJsonPath path = CompiledJsonPath.compile("$.children[1]['name']");
+        Assert.assertTrue(path.isSimple());
+        Assert.assertEquals(((JsonNode) path.read(json)).asText(), "Tom");
+        Assert.assertSame(CompiledJsonPath.compile("$.children[1]['name']"), path);
+
+        Assert.assertEquals(((JsonNode) CompiledJsonPath.compile("$.name.fname").read(json)).asText(), "Jack");
+        Assert.assertEquals(((JsonNode) CompiledJsonPath.compile("$.age").read(json)).asInt(), 20);
+    }
+
+    @Test(description = "Test reading paths which are evaluated by jayway")
+    public void testReadComplexPath() throws IOException {
+        JsonNode json = mapper.readTree(JSON);
+        String[] paths = {"$.children[*].name", "$..age", "$.children[?(@.age > 6)]", "$.children.length()",
+                "$.children[-1].name", "$['name','state']"};
+        for (String path : paths) {
+            CompiledJsonPath compiledPath = CompiledJsonPath.compile(path);
+            Assert.assertFalse(compiledPath.isSimple(), path);
+            Object expected = JsonPath.parse(json).read(path);
+            Object actual = compiledPath.read(json);
+            Assert.assertEquals(actual, expected, path);
+        }
+    }
+
+    @Test(description = "Test reading a simple path which does not exist",
+          expectedExceptions = PathNotFoundException.class)
+    public void testReadMissingPath() throws IOException {
+        CompiledJsonPath.compile("$.name.mname").read(mapper.readTree(JSON));
+    }
+
+    @Test(description = "Test that invalid paths are not cached", expectedExceptions = InvalidPathException.class)
+    public void testInvalidPath() {
+        int size = CompiledJsonPath.getCache().size();
+        try {
+            CompiledJsonPath.compile("$.children[");
+        } finally {
+            Assert.assertEquals(CompiledJsonPath.getCache().size(), size);
+        }
+    }
+
+    @Test(description = "Test updating and removing elements on simple paths")
+    public void testMutateSimplePath() throws IOException {
+        JsonNode json = mapper.readTree(JSON);
+        CompiledJsonPath.compile("$.name.fname").set(json, "Jill");
+        CompiledJsonPath.compile("$.children[0].age").set(json, 6);
+        CompiledJsonPath.compile("$.married").delete(json);
+        CompiledJsonPath.compile("$.children[1]").delete(json);
+
+        Assert.assertEquals(json.get("name").get("fname").asText(), "Jill");
+        Assert.assertEquals(json.get("children").get(0).get("age").asInt(), 6);
+        Assert.assertFalse(json.has("married"));
+        Assert.assertEquals(json.get("children").size(), 1);
+
+        JsonNode expected = mapper.readTree(JSON);
+        JsonPath.parse(expected).set("$.name.fname", "Jill").set("$.children[0].age", 6).delete("$.married")
+                .delete("$.children[1]");
+        Assert.assertEquals(json, expected);
+    }
+
+    @Test(description = "Test adding elements through compiled paths")
+    public void testAddElements() throws IOException {
+        JsonNode json = mapper.readTree(JSON);
+        CompiledJsonPath.compile("$.children").add(json, "Bob");
+        CompiledJsonPath.compile("$.name").put(json, "mname", "Paul");
+
+        Assert.assertEquals(json.get("children").get(2).asText(), "Bob");
+        Assert.assertEquals(json.get("name").get("mname").asText(), "Paul");
+    }
+
+    @Test(description = "Test reading and updating simple paths of a large payload")
+    public void testLargePayload() {
+        JsonNode json = createPayload(800);
+        Assert.assertEquals(((JsonNode) CompiledJsonPath.compile("$.items[3].details.sku").read(json)).asText(),
+                "SKU-3");
+        CompiledJsonPath.compile("$.items[5].details.quantity").set(json, 42);
+        Assert.assertEquals(json.get("items").get(5).get("details").get("quantity").asInt(), 42);
+        Assert.assertEquals(json.get("items").get(6).get("details").get("quantity").asInt(), 6);
+    }
+
+    private JsonNode createPayload(int itemCount) {
+        ObjectNode json = mapper.createObjectNode();
+        ArrayNode items = json.putArray("items");
+        for (int i = 0; i < itemCount; i++) {
+            ObjectNode item = items.addObject();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            ObjectNode details = item.putObject("details");
+            details.put("sku", "SKU-" + i);
+            details.put("quantity", i % 10);
+            details.put("price", i * 1.5);
+        }
+        return json;
+    }
+}
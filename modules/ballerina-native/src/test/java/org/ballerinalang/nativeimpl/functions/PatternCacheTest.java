@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.functions;
+
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Test cases for the cache of compiled patterns used by the native functions.
+ */
+public class PatternCacheTest {
+
+    private static final String REGEX = "[a-c]{3}\\s(is|was)";
+
+    @Test(description = "Test looking up cached patterns")
+    public void testCacheHits() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        Pattern pattern = cache.get(REGEX);
+        Assert.assertSame(cache.get(REGEX), pattern);
+        Assert.assertSame(cache.get(REGEX), pattern);
+
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 2);
+        Assert.assertEquals(cache.getHitRate(), 2.0 / 3);
+    }
+
+    @Test(description = "Test evicting patterns when the cache is full")
+    public void testEviction() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        for (int i = 0; i < 100; i++) {
+            cache.get("a{" + i + "}");
+            // Keep using this pattern, so that it is never the least recently used one
+            cache.get(REGEX);
+        }
+
+        Assert.assertEquals(cache.size(), 4);
+        long misses = cache.getMissCount();
+        cache.get(REGEX);
+        Assert.assertEquals(cache.getMissCount(), misses);
+    }
+
+    @Test(description = "Test that invalid patterns are not cached", expectedExceptions = PatternSyntaxException.class)
+    public void testInvalidPattern() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 4);
+        try {
+            cache.get("[a-");
+        } finally {
+            Assert.assertEquals(cache.size(), 0);
+        }
+    }
+
+    @Test(description = "Test formatting with a cached SimpleDateFormat of each thread")
+    public void testSimpleDateFormatPerThread() throws InterruptedException, ExecutionException {
+        String format = "yyyyMMdd'T'HHmmss'Z' EEE";
+        SimpleDateFormat dateFormat = PatternCache.SIMPLE_DATE_FORMAT.get(format).get();
+        Assert.assertSame(PatternCache.SIMPLE_DATE_FORMAT.get(format).get(), dateFormat);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SimpleDateFormat otherDateFormat =
+                    executor.submit(() -> PatternCache.SIMPLE_DATE_FORMAT.get(format).get()).get();
+            Assert.assertNotSame(otherDateFormat, dateFormat);
+        } finally {
+            executor.shutdown();
+        }
+
+        Date date = new Date(1500000000000L);
+        SimpleDateFormat expected = new SimpleDateFormat(format);
+        expected.setTimeZone(TimeZone.getTimeZone("GMT"));
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        Assert.assertEquals(dateFormat.format(date), expected.format(date));
+    }
+
+    @Test(description = "Test that invalid date formats are not cached",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidSimpleDateFormat() {
+        int size = PatternCache.SIMPLE_DATE_FORMAT.size();
+        try {
+            PatternCache.SIMPLE_DATE_FORMAT.get("yyyy-bb");
+        } finally {
+            Assert.assertEquals(PatternCache.SIMPLE_DATE_FORMAT.size(), size);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+*   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.nativeimpl.functions;
+
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.GlobalScope;
+import org.ballerinalang.model.NativeScope;
+import org.ballerinalang.model.NativeUnit;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.symbols.BLangSymbol;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.BuiltInNativeConstructLoader;
+import org.ballerinalang.natives.NativeFunctionInvoker;
+import org.ballerinalang.natives.NativePackageProxy;
+import org.ballerinalang.natives.NativeUnitProxy;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for invoking native functions through their generated invokers.
+ */
+public class TypedNativeFunctionTest {
+
+    private NativeScope nativeScope;
+
+    @BeforeClass
+    public void setup() {
+        nativeScope = NativeScope.getInstance();
+        BuiltInNativeConstructLoader.loadConstructs(nativeScope);
+        BTypes.loadBuiltInTypes(GlobalScope.getInstance());
+    }
+
+    @Test
+    public void testIntReturn() {
+        NativeFunctionInvoker invoker = loadInvoker("ballerina.lang.strings", "length");
+        Assert.assertNotNull(invoker);
+
+        StackFrame callerSF = new StackFrame((PackageInfo) null, -1, new int[0]);
+        callerSF.setStringRegs(new String[]{"", "WSO2 Inc."});
+        callerSF.setLongRegs(new long[3]);
+        invoker.invoke(null, callerSF, new int[]{1}, new int[]{2});
+        Assert.assertEquals(callerSF.getLongRegs()[2], 9);
+    }
+
+    @Test
+    public void testIntArguments() {
+        NativeFunctionInvoker invoker = loadInvoker("ballerina.lang.strings", "subString");
+        Assert.assertNotNull(invoker);
+
+        StackFrame callerSF = new StackFrame((PackageInfo) null, -1, new int[0]);
+        callerSF.setStringRegs(new String[]{"", "WSO2 Inc."});
+        callerSF.setLongRegs(new long[]{0, 5, 8});
+        invoker.invoke(null, callerSF, new int[]{1, 1, 2}, new int[]{0});
+        Assert.assertEquals(callerSF.getStringRegs()[0], "Inc");
+    }
+
+    @Test
+    public void testBooleanReturn() {
+        NativeFunctionInvoker invoker = loadInvoker("ballerina.lang.strings", "hasPrefix");
+        Assert.assertNotNull(invoker);
+
+        StackFrame callerSF = new StackFrame((PackageInfo) null, -1, new int[0]);
+        callerSF.setStringRegs(new String[]{"WSO2", "WSO2 Inc."});
+        callerSF.setIntRegs(new int[]{0});
+        invoker.invoke(null, callerSF, new int[]{1, 0}, new int[]{0});
+        Assert.assertEquals(callerSF.getIntRegs()[0], 1);
+    }
+
+    @Test
+    public void testUntypedFunction() {
+        Assert.assertNull(loadInvoker("ballerina.lang.strings", "split"));
+    }
+
+    private NativeFunctionInvoker loadInvoker(String pkgPath, String functionName) {
+        BLangSymbol pkgSymbol = nativeScope.resolve(new SymbolName(pkgPath));
+        Assert.assertTrue(pkgSymbol instanceof NativePackageProxy);
+
+        BLangPackage bLangPkg = ((NativePackageProxy) pkgSymbol).load();
+        BLangSymbol nativeFunctionSymbol = bLangPkg.resolve(new SymbolName(functionName));
+        Assert.assertTrue(nativeFunctionSymbol instanceof NativeUnitProxy);
+
+        NativeUnit nativeUnit = ((NativeUnitProxy) nativeFunctionSymbol).load();
+        return ((AbstractNativeFunction) nativeUnit).getInvoker();
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.nativeimpl.functions.ws;
+
+import org.ballerinalang.services.dispatchers.ws.WebSocketBroadcaster;
+import org.ballerinalang.services.dispatchers.ws.WebSocketBroadcaster.SlowConsumerPolicy;
+import org.ballerinalang.testutils.ws.MockBasicRemoteEndpoint;
+import org.ballerinalang.testutils.ws.MockWebSocketSession;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+
+/**
+ * Test broadcasting text to many WebSocket connections.
+ */
+public class WebSocketBroadcasterTest {
+
+    private static final long TIMEOUT = 10;  // In seconds
+
+    @Test(description = "Test a broadcast which is sent in parallel by the thread pool")
+    public void testParallelBroadcast() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(4, 16, SlowConsumerPolicy.DROP);
+        List<MockWebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sessions.add(new MockWebSocketSession("session" + i));
+        }
+
+        CompletionListener listener = new CompletionListener(1);
+        broadcaster.broadcast(new ArrayList<>(sessions), "hello", listener);
+        listener.await();
+        broadcaster.shutdown();
+
+        Assert.assertEquals(listener.failures.get(), 0);
+        Assert.assertEquals(broadcaster.getFanOutLatency().getCount(), 1);
+        for (MockWebSocketSession session : sessions) {
+            Assert.assertEquals(session.getTextReceived(), "hello", "text not received by " + session.getId());
+        }
+        Assert.assertEquals(broadcaster.getDroppedCount(), 0);
+    }
+
+    @Test(description = "Test a broadcast which continues after a failed send, and reports the failure")
+    public void testFailedSend() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(1, 16, SlowConsumerPolicy.EVICT);
+        MockWebSocketSession session1 = new MockWebSocketSession("session1");
+        MockWebSocketSession failingSession = new FailingWebSocketSession("failing");
+        MockWebSocketSession session2 = new MockWebSocketSession("session2");
+
+        CompletionListener listener = new CompletionListener(1);
+        broadcaster.broadcast(Arrays.asList(session1, failingSession, session2), "hello", listener);
+        listener.await();
+        broadcaster.shutdown();
+
+        Assert.assertEquals(listener.failures.get(), 1);
+        Assert.assertEquals(listener.failure.get().getMessage(), "connection reset");
+        Assert.assertEquals(session1.getTextReceived(), "hello");
+        Assert.assertEquals(session2.getTextReceived(), "hello");
+        Assert.assertEquals(broadcaster.getFailedCount(), 1);
+        Assert.assertEquals(broadcaster.getEvictedCount(), 1);
+        Assert.assertFalse(failingSession.isOpen());
+        Assert.assertEquals(broadcaster.getFanOutLatency().getCount(), 1);
+    }
+
+    @Test(description = "Test dropping messages to a connection with too many pending sends")
+    public void testDropSlowConsumer() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(1, 0, SlowConsumerPolicy.DROP);
+        MockWebSocketSession session = new MockWebSocketSession("session");
+        List<Session> sessions = new ArrayList<>();
+        sessions.add(session);
+
+        // Nothing is queued, hence the broadcast completes before it returns
+        CompletionListener listener = new CompletionListener(1);
+        broadcaster.broadcast(sessions, "hello", listener);
+        Assert.assertEquals(listener.completed.getCount(), 0);
+        broadcaster.shutdown();
+
+        Assert.assertEquals(listener.failures.get(), 0);
+        Assert.assertNull(session.getTextReceived());
+        Assert.assertEquals(broadcaster.getDroppedCount(), 1);
+        Assert.assertTrue(session.isOpen());
+    }
+
+    @Test(description = "Test concurrent broadcasts are sent to a connection one at a time, in order")
+    public void testSerializedSends() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(4, 1000, SlowConsumerPolicy.DROP);
+        RecordingWebSocketSession session = new RecordingWebSocketSession("session", null);
+        List<Session> sessions = Collections.singletonList(session);
+
+        CompletionListener listener = new CompletionListener(200);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String prefix = "thread" + i + "-";
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 50; j++) {
+                    broadcaster.broadcast(sessions, prefix + j, listener);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        listener.await();
+        broadcaster.shutdown();
+
+        Assert.assertEquals(listener.failures.get(), 0);
+        Assert.assertFalse(session.overlapped.get(), "sends to the connection overlapped");
+        Assert.assertEquals(session.texts.size(), 200);
+        for (int i = 0; i < 4; i++) {
+            int expected = 0;
+            for (String text : session.texts) {
+                if (text.startsWith("thread" + i + "-")) {
+                    Assert.assertEquals(text, "thread" + i + "-" + expected++);
+                }
+            }
+            Assert.assertEquals(expected, 50);
+        }
+    }
+
+    @Test(description = "Test bounding the messages waiting for a connection which is still sending")
+    public void testBoundedPendingSends() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(2, 2, SlowConsumerPolicy.DROP);
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingWebSocketSession session = new RecordingWebSocketSession("session", gate);
+
+        // The broadcasts return while the first send is blocked
+        CompletionListener listener = new CompletionListener(2);
+        broadcaster.broadcast(Collections.singletonList(session), "first", listener);
+        session.sending.await();
+
+        // Two of these three messages wait and the last one is dropped
+        broadcaster.broadcast(Arrays.asList(session, session, session), "second", listener);
+        Assert.assertEquals(broadcaster.getDroppedCount(), 1);
+        Assert.assertEquals(listener.completed.getCount(), 2);
+
+        gate.countDown();
+        listener.await();
+        broadcaster.shutdown();
+
+        Assert.assertEquals(session.texts, Arrays.asList("first", "second", "second"));
+        Assert.assertFalse(session.overlapped.get());
+    }
+
+    @Test(description = "Test dropping the messages of a connection when the queue of the pool is full")
+    public void testDropWhenPoolIsFull() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(1, 16, SlowConsumerPolicy.DROP);
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingWebSocketSession blocked = new RecordingWebSocketSession("blocked", gate);
+        CompletionListener listener = new CompletionListener(2);
+        broadcaster.broadcast(Collections.singletonList(blocked), "first", listener);
+        blocked.sending.await();
+
+        // The only thread of the pool is blocked, hence the drain tasks fill the queue of the pool and the
+        // messages of the connections after that are dropped
+        List<MockWebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) {
+            sessions.add(new MockWebSocketSession("session" + i));
+        }
+        broadcaster.broadcast(new ArrayList<>(sessions), "second", listener);
+        int droppedCount = broadcaster.getDroppedCount();
+        Assert.assertTrue(droppedCount > 0);
+
+        gate.countDown();
+        listener.await();
+        broadcaster.shutdown();
+
+        int receivedCount = 0;
+        for (MockWebSocketSession session : sessions) {
+            Assert.assertTrue(session.isOpen());
+            if (session.getTextReceived() != null) {
+                receivedCount++;
+            }
+        }
+        Assert.assertEquals(receivedCount + droppedCount, sessions.size());
+        Assert.assertEquals(listener.failures.get(), 0);
+    }
+
+    @Test(description = "Test evicting the connections of a broadcast rejected by the pool")
+    public void testEvictWhenRejected() throws InterruptedException {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster(1, 16, SlowConsumerPolicy.EVICT);
+        broadcaster.shutdown();
+        MockWebSocketSession session1 = new MockWebSocketSession("session1");
+        MockWebSocketSession session2 = new MockWebSocketSession("session2");
+
+        CompletionListener listener = new CompletionListener(1);
+        broadcaster.broadcast(Arrays.asList(session1, session2), "hello", listener);
+        listener.await();
+
+        Assert.assertEquals(broadcaster.getDroppedCount(), 2);
+        Assert.assertEquals(broadcaster.getEvictedCount(), 2);
+        Assert.assertFalse(session1.isOpen());
+        Assert.assertFalse(session2.isOpen());
+        Assert.assertNull(session1.getTextReceived());
+    }
+
+    /**
+     * Listener which counts the completed broadcasts and their failures.
+     */
+    private static class CompletionListener implements WebSocketBroadcaster.BroadcastListener {
+
+        private final CountDownLatch completed;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        CompletionListener(int broadcastCount) {
+            completed = new CountDownLatch(broadcastCount);
+        }
+
+        @Override
+        public void completed(int failures, Throwable failure) {
+            this.failures.addAndGet(failures);
+            this.failure.compareAndSet(null, failure);
+            completed.countDown();
+        }
+
+        void await() throws InterruptedException {
+            Assert.assertTrue(completed.await(TIMEOUT, TimeUnit.SECONDS), "broadcasts not completed");
+        }
+    }
+
+    /**
+     * Session whose sends always fail.
+     */
+    private static class FailingWebSocketSession extends MockWebSocketSession {
+
+        private final MockBasicRemoteEndpoint remoteEndpoint = new MockBasicRemoteEndpoint() {
+            @Override
+            public void sendText(String text) throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        FailingWebSocketSession(String id) {
+            super(id);
+        }
+
+        @Override
+        public RemoteEndpoint.Basic getBasicRemote() {
+            return remoteEndpoint;
+        }
+    }
+
+    /**
+     * Session which records every text sent to it, and whether two sends ever overlapped.
+     */
+    private static class RecordingWebSocketSession extends MockWebSocketSession {
+
+        private final List<String> texts = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicBoolean overlapped = new AtomicBoolean();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final MockBasicRemoteEndpoint remoteEndpoint;
+
+        RecordingWebSocketSession(String id, CountDownLatch gate) {
+            super(id);
+            remoteEndpoint = new MockBasicRemoteEndpoint() {
+                @Override
+                public void sendText(String text) throws IOException {
+                    if (inFlight.incrementAndGet() > 1) {
+                        overlapped.set(true);
+                    }
+                    try {
+                        sending.countDown();
+                        if (gate != null) {
+                            gate.await();
+                        }
+                        Thread.yield();
+                        texts.add(text);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public RemoteEndpoint.Basic getBasicRemote() {
+            return remoteEndpoint;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.service;
+
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.testutils.EnvironmentInitializer;
+import org.ballerinalang.testutils.MessageUtils;
+import org.ballerinalang.testutils.Services;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+/**
+ * Test cases for finding the service of a request by its base path.
+ * <p>
+ * A base path is matched by whole path segments from the start of the request path, ignoring the case, and the
+ * longest matching base path wins. Requests without a matching base path go to the service on "/".
+ *
+ * @since 0.90
+ */
+public class BasePathDispatchingTest {
+
+    private ProgramFile programFile;
+
+    @BeforeClass
+    public void setup() {
+        programFile = EnvironmentInitializer.setupProgramFile("lang/service/base-path-dispatching.bal");
+    }
+
+    @Test(description = "Test dispatching to the longest matching base path")
+    public void testMostSpecificBasePath() {
+        assertDispatchedTo("/dispatch/message", "dispatch");
+        assertDispatchedTo("/dispatch/v2/message", "dispatchV2");
+        assertDispatchedTo("/dispatch/v3/message", "dispatch");
+    }
+
+    @Test(description = "Test dispatching a request path which differs in case from the base path")
+    public void testCaseInsensitiveBasePath() {
+        assertDispatchedTo("/DISPATCH/message", "dispatch");
+        assertDispatchedTo("/Dispatch/V2/message", "dispatchV2");
+    }
+
+    @Test(description = "Test dispatching a request path with consecutive slashes and a query")
+    public void testSlashesAndQuery() {
+        assertDispatchedTo("//dispatch///v2//message", "dispatchV2");
+        assertDispatchedTo("/dispatch/v2/message?path=/dispatch", "dispatchV2");
+        assertDispatchedTo("/dispatch/v2/message%20one", "dispatchV2");
+    }
+
+    @Test(description = "Test dispatching a request path which contains a base path, but does not start with it")
+    public void testBasePathNotAtStart() {
+        assertDispatchedTo("/api/dispatch/message", "root");
+        assertDispatchedTo("/other/dispatch/v2/message", "root");
+    }
+
+    @Test(description = "Test dispatching a request path whose segment only starts with a base path")
+    public void testPartialSegment() {
+        assertDispatchedTo("/dispatcher/message", "root");
+        assertDispatchedTo("/dispatch/v2beta/message", "dispatch");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        EnvironmentInitializer.cleanup(programFile);
+    }
+
+    private static void assertDispatchedTo(String path, String serviceName) {
+        CarbonMessage cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        CarbonMessage response = Services.invoke(cMsg);
+
+        Assert.assertNotNull(response, "Response message not found");
+        BJSON bJson = (BJSON) response.getMessageDataSource();
+        Assert.assertEquals(bJson.value().get("service").asText(), serviceName,
+                "Request " + path + " dispatched to the wrong service");
+    }
+}
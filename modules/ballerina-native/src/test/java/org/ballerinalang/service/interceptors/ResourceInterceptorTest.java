@@ -19,6 +19,8 @@ package org.ballerinalang.service.interceptors;
 
 import org.ballerinalang.runtime.config.BLangConfigurationManager;
 import org.ballerinalang.runtime.config.ConfigConstants;
+import org.ballerinalang.runtime.interceptors.InterceptorChain;
+import org.ballerinalang.runtime.interceptors.InterceptorInvoker;
 import org.ballerinalang.runtime.message.StringDataSource;
 import org.ballerinalang.runtime.model.BLangRuntimeRegistry;
 import org.ballerinalang.testutils.EnvironmentInitializer;
@@ -32,6 +34,9 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.wso2.carbon.messaging.CarbonMessage;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Test Cases for testing resource interceptors.
  */
@@ -56,12 +61,26 @@ public class ResourceInterceptorTest {
 
     @Test(priority = 0)
     public void testSuccessfulRequestIntercept() {
+        // The registry is shared by the tests of the JVM, so only the requests of this test are counted
+        InterceptorChain interceptorChain = BLangRuntimeRegistry.getInstance().getServerConnector("http")
+                .getInterceptorChain();
+        Map<InterceptorInvoker, Long> counts = new HashMap<>();
+        for (InterceptorInvoker invoker : interceptorChain.getRequestInterceptors()) {
+            counts.put(invoker, invoker.getLatencyHistogram().getCount());
+        }
+
         CarbonMessage cMsg = MessageUtils.generateHTTPMessage("/echo/message", "POST");
         cMsg.setHeader("username", "admin");
         cMsg.setHeader("password", "admin");
         CarbonMessage response = Services.invoke(cMsg);
         String value = response.getHeader("test");
         Assert.assertEquals(value, "req1 res1 (1) res2");
+
+        Assert.assertFalse(counts.isEmpty());
+        for (InterceptorInvoker invoker : interceptorChain.getRequestInterceptors()) {
+            Assert.assertEquals(invoker.getLatencyHistogram().getCount() - counts.get(invoker), 1,
+                    invoker.getFunctionName());
+        }
     }
 
     @Test(priority = 1)
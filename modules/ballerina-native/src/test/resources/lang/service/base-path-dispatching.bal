@@ -0,0 +1,41 @@
+import ballerina.net.http;
+import ballerina.lang.messages;
+
+@http:config {basePath:"/dispatch"}
+service<http> dispatch {
+
+    @http:GET{}
+    @http:Path {value:"/*"}
+    resource echo (message m) {
+        message response = {};
+        json responseJson = {"service":"dispatch"};
+        messages:setJsonPayload(response, responseJson);
+        reply response;
+    }
+}
+
+@http:config {basePath:"/dispatch/v2"}
+service<http> dispatchV2 {
+
+    @http:GET{}
+    @http:Path {value:"/*"}
+    resource echo (message m) {
+        message response = {};
+        json responseJson = {"service":"dispatchV2"};
+        messages:setJsonPayload(response, responseJson);
+        reply response;
+    }
+}
+
+@http:config {basePath:"/"}
+service<http> root {
+
+    @http:GET{}
+    @http:Path {value:"/*"}
+    resource echo (message m) {
+        message response = {};
+        json responseJson = {"service":"root"};
+        messages:setJsonPayload(response, responseJson);
+        reply response;
+    }
+}
@@ -26,6 +26,13 @@ struct ResultArrayType {
     map FLOAT_ARRAY;
 }
 
+struct ResultMixedOrder {
+    string STRING_TYPE;
+    int INT_TYPE;
+    float DOUBLE_TYPE;
+    int LONG_TYPE;
+}
+
 function testInsertTableData () (int) {
     map propertiesMap = {"jdbcUrl":"jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
                         "username":"SA", "password":"", "maximumPoolSize":1};
@@ -902,4 +909,28 @@ function testDateTimeOutParams (int time, int date, int timestamp) (int count) {
     }
     sql:ClientConnector.close(testDB);
     return;
-}
\ No newline at end of file
+}
+
+function testSelectWithFetchSize () (int count, string firstString, int firstLong, int lastInt) {
+    map propertiesMap = {"jdbcUrl":"jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+                        "username":"SA", "password":"", "maximumPoolSize":1, "fetchSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+
+    sql:Parameter[] parameters = [];
+    errors:TypeCastError err;
+    ResultMixedOrder rs;
+    datatable dt = sql:ClientConnector.select (testDB, "SELECT string_type, int_type, double_type, long_type
+              from DataTypeTable where row_id <= 2 order by row_id", parameters);
+    while (datatables:hasNext(dt)) {
+        any dataStruct = datatables:next(dt);
+        rs, err = (ResultMixedOrder) dataStruct;
+        if (count == 0) {
+            firstString = rs.STRING_TYPE;
+            firstLong = rs.LONG_TYPE;
+        }
+        lastInt = rs.INT_TYPE;
+        count = count + 1;
+    }
+    sql:ClientConnector.close (testDB);
+    return;
+}
@@ -39,9 +39,12 @@ import java.util.List;
 class BProgramRunner {
     private static Path programDirPath = Paths.get(System.getProperty("user.dir"));
     private static PrintStream outStream = System.out;
+    private static PrintStream errStream = System.err;
 
-    static void runMain(Path sourceFilePath, List<String> args) {
-        ProgramFile programFile = new BLangProgramLoader().loadMainProgramFile(programDirPath, sourceFilePath);
+    static void runMain(Path sourceFilePath, List<String> args, boolean printPhaseTimes) {
+        ProgramFile programFile = new BLangProgramLoader()
+                .printPhaseTimes(printPhaseTimes ? errStream : null)
+                .loadMainProgramFile(programDirPath, sourceFilePath);
 
         // Load Client Connectors
         BallerinaConnectorManager.getInstance().initializeClientConnectors(new MessageProcessor());
@@ -51,13 +54,15 @@ class BProgramRunner {
         Runtime.getRuntime().exit(0);
     }
 
-    static void runServices(Path[] serviceFilePaths) {
+    static void runServices(Path[] serviceFilePaths, boolean printPhaseTimes) {
         BallerinaConnectorManager.getInstance().initialize(new MessageProcessor());
         // TODO : Fix this properly.
         BLangRuntimeRegistry.getInstance().initialize();
         for (Path servicePath : serviceFilePaths) {
             // TODO Handle errors
-            ProgramFile programFile = new BLangProgramLoader().loadServiceProgramFile(programDirPath, servicePath);
+            ProgramFile programFile = new BLangProgramLoader()
+                    .printPhaseTimes(printPhaseTimes ? errStream : null)
+                    .loadServiceProgramFile(programDirPath, servicePath);
 
             outStream.println("ballerina: deploying service(s) in '" + servicePath + "'");
             new BLangProgramRunner().startServices(programFile);
@@ -282,6 +282,10 @@ public class Main {
         @Parameter(names = "--ballerina.debug", hidden = true, description = "remote debugging port")
         private String ballerinaDebugPort;
 
+        @Parameter(names = "--print-phase-times", hidden = true,
+                description = "print the time taken by each phase of loading the program")
+        private boolean printPhaseTimes;
+
         public void execute() {
             if (helpFlag) {
                 String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(parentCmdParser, "main");
@@ -304,7 +308,7 @@ public class Main {
                 System.setProperty(SYSTEM_PROP_BAL_DEBUG, ballerinaDebugPort);
             }
             Path sourcePath = Paths.get(argList.get(0));
-            BProgramRunner.runMain(sourcePath, programArgs);
+            BProgramRunner.runMain(sourcePath, programArgs, printPhaseTimes);
         }
 
         @Override
@@ -352,6 +356,10 @@ public class Main {
         @Parameter(names = "--ballerina.debug", hidden = true, description = "remote debugging port")
         private String ballerinaDebugPort;
 
+        @Parameter(names = "--print-phase-times", hidden = true,
+                description = "print the time taken by each phase of loading the program")
+        private boolean printPhaseTimes;
+
         public void execute() {
             if (helpFlag) {
                 String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(parentCmdParser, "service");
@@ -374,7 +382,7 @@ public class Main {
                                     .filter(path -> path.getFileName().toString()
                                             .endsWith(BLangProgram.Category.SERVICE_PROGRAM.getExtension()))
                                     .map(currentDir::relativize).toArray(Path[]::new);
-                    BProgramRunner.runServices(paths);
+                    BProgramRunner.runServices(paths, printPhaseTimes);
                     return;
                 } catch (NoSuchFileException e) {
                     throw new IllegalArgumentException("no such file or directory: " + serviceRootPath);
@@ -398,7 +406,7 @@ public class Main {
             if (null != ballerinaDebugPort) {
                 System.setProperty(SYSTEM_PROP_BAL_DEBUG, ballerinaDebugPort);
             }
-            BProgramRunner.runServices(paths);
+            BProgramRunner.runServices(paths, printPhaseTimes);
         }
 
         @Override